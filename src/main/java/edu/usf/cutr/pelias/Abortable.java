@@ -0,0 +1,29 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias;
+
+/**
+ * Aborts the connection of a call from another thread, registered by a Transport via CallContext.setAbortable()
+ */
+public interface Abortable {
+
+    /**
+     * Aborts the connection, releasing it rather than returning it to a connection pool.  Any thread blocked
+     * connecting to the server or reading the response is unblocked with an IOException.  Must be threadsafe and must
+     * not block.
+     */
+    void abort();
+}
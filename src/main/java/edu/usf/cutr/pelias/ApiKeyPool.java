@@ -0,0 +1,272 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A pool of API keys shared by the calls of a PeliasClient, for throughput beyond the rate limit of a single key.  Each
+ * key has its own quota, enforced by a token bucket, and each call uses the key with the most remaining budget - the
+ * api_key parameter of the request is replaced, so requests can be built with any key.  When no key has budget left, a
+ * call waits for one (up to its deadline) rather than being rejected by the server.
+ * <p>
+ * A key the server rejects with HTTP 401 (invalid) or 429 (rate limited) is removed from rotation for the ejection
+ * time, or for the Retry-After time of a 429 response, and the call is retried with another key.
+ * <p>
+ * Calls wait on a ReentrantLock rather than a monitor, so waiting virtual threads don't pin their carrier threads.
+ */
+public class ApiKeyPool {
+
+    private static final long DEFAULT_EJECTION_MILLIS = 60000;
+
+    private final Key[] mKeys;
+    private final long mEjectionNanos;
+    private final ReentrantLock mLock = new ReentrantLock();
+    // Signalled when a waiting call is aborted
+    private final Condition mAborted = mLock.newCondition();
+    // Where the search for the next key starts, so keys with equal budgets take turns
+    private int mNext;
+
+    private static class Key {
+        final String mApiKey;
+        final double mCapacity;
+        final double mPermitsPerNano;
+        double mPermits;
+        long mRefilledNanos;
+        boolean mEjected;
+        long mEjectedUntilNanos;
+
+        Key(String apiKey, long requests, long periodNanos) {
+            mApiKey = apiKey;
+            mCapacity = requests;
+            mPermitsPerNano = (double) requests / periodNanos;
+            mPermits = requests;
+            mRefilledNanos = System.nanoTime();
+        }
+
+        void refill(long now) {
+            mPermits = Math.min(mCapacity, mPermits + (now - mRefilledNanos) * mPermitsPerNano);
+            mRefilledNanos = now;
+        }
+    }
+
+    public static class Builder {
+        private final List<Key> mKeys = new ArrayList<Key>();
+        private long mEjectionMillis = DEFAULT_EJECTION_MILLIS;
+
+        /**
+         * Adds a key to the pool with its quota - e.g., addKey(key, 10, 1, TimeUnit.SECONDS) for a key limited to 10
+         * requests per second.  Up to the full quota may be used in a burst.
+         *
+         * @param apiKey   the API key
+         * @param requests the number of requests the key may make in each period
+         * @param period   the length of the period
+         * @param unit     the unit of the period
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder addKey(String apiKey, long requests, long period, TimeUnit unit) {
+            if (apiKey == null) {
+                throw new IllegalArgumentException("apiKey must not be null");
+            }
+            if (requests <= 0 || period <= 0) {
+                throw new IllegalArgumentException("requests and period must be positive");
+            }
+            mKeys.add(new Key(apiKey, requests, unit.toNanos(period)));
+            return this;
+        }
+
+        /**
+         * Sets how long a key the server rejects is removed from rotation, unless a 429 response says when to retry
+         * (default is 60 seconds)
+         *
+         * @param time the time a rejected key is removed from rotation
+         * @param unit the unit of the time
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setEjectionTime(long time, TimeUnit unit) {
+            if (time < 0) {
+                throw new IllegalArgumentException("time must not be negative");
+            }
+            mEjectionMillis = unit.toMillis(time);
+            return this;
+        }
+
+        /**
+         * Builds the ApiKeyPool using the specified parameters
+         *
+         * @return the ApiKeyPool using the specified parameters
+         */
+        public ApiKeyPool build() {
+            if (mKeys.isEmpty()) {
+                throw new IllegalStateException("At least one key must be added");
+            }
+            return new ApiKeyPool(this);
+        }
+    }
+
+    private ApiKeyPool(Builder builder) {
+        mKeys = builder.mKeys.toArray(new Key[builder.mKeys.size()]);
+        mEjectionNanos = TimeUnit.MILLISECONDS.toNanos(builder.mEjectionMillis);
+    }
+
+    /**
+     * Takes one request from the budget of the key with the most remaining budget, waiting until a key has budget if
+     * none does
+     *
+     * @param context the state of the call, whose deadline and cancellation end the wait
+     * @return the API key to use
+     * @throws IOException if the call is aborted or passes its deadline while waiting, or the thread is interrupted
+     */
+    String acquire(CallContext context) throws IOException {
+        context.setAbortable(new Abortable() {
+            @Override
+            public void abort() {
+                mLock.lock();
+                try {
+                    mAborted.signalAll();
+                } finally {
+                    mLock.unlock();
+                }
+            }
+        });
+        mLock.lock();
+        try {
+            while (true) {
+                context.checkAborted();
+                long now = System.nanoTime();
+                int best = -1;
+                long waitNanos = Long.MAX_VALUE;
+                for (int i = 0; i < mKeys.length; i++) {
+                    int index = (mNext + i) % mKeys.length;
+                    Key key = mKeys[index];
+                    if (key.mEjected) {
+                        if (now - key.mEjectedUntilNanos < 0) {
+                            waitNanos = Math.min(waitNanos, key.mEjectedUntilNanos - now);
+                            continue;
+                        }
+                        key.mEjected = false;
+                    }
+                    key.refill(now);
+                    if (key.mPermits >= 1) {
+                        if (best < 0 || key.mPermits > mKeys[best].mPermits) {
+                            best = index;
+                        }
+                    } else {
+                        waitNanos = Math.min(waitNanos, (long) Math.ceil((1 - key.mPermits) / key.mPermitsPerNano));
+                    }
+                }
+                if (best >= 0) {
+                    mKeys[best].mPermits -= 1;
+                    mNext = (best + 1) % mKeys.length;
+                    return mKeys[best].mApiKey;
+                }
+                if (context.getDeadlineNanos() != Long.MAX_VALUE) {
+                    // Wakes at the deadline so checkAborted() times the call out
+                    waitNanos = Math.min(waitNanos, context.getDeadlineNanos() - now + 1);
+                }
+                try {
+                    mAborted.awaitNanos(Math.max(waitNanos, TimeUnit.MILLISECONDS.toNanos(1)));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted waiting for an API key");
+                }
+            }
+        } finally {
+            mLock.unlock();
+        }
+    }
+
+    /**
+     * Removes the key from rotation if the server rejected it (HTTP 401 or 429)
+     *
+     * @param apiKey the key used for the request
+     * @param e      the error response
+     * @return true if the key was removed from rotation, so the request may be retried with another key
+     */
+    boolean reject(String apiKey, HttpStatusException e) {
+        if (e.getStatusCode() != 401 && e.getStatusCode() != 429) {
+            return false;
+        }
+        mLock.lock();
+        try {
+            for (Key key : mKeys) {
+                if (key.mApiKey.equals(apiKey)) {
+                    long ejectionNanos = e.getStatusCode() == 429 && e.getRetryAfterSeconds() >= 0
+                            ? TimeUnit.SECONDS.toNanos(e.getRetryAfterSeconds()) : mEjectionNanos;
+                    key.mEjected = true;
+                    key.mEjectedUntilNanos = System.nanoTime() + ejectionNanos;
+                    // Don't burst against the limit when the key returns
+                    key.mPermits = 0;
+                    key.mRefilledNanos = key.mEjectedUntilNanos;
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            mLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of keys in the pool
+     *
+     * @return the number of keys in the pool
+     */
+    public int size() {
+        return mKeys.length;
+    }
+
+    /**
+     * Returns the number of keys currently in rotation, i.e. that haven't been rejected by the server recently
+     *
+     * @return the number of keys currently in rotation
+     */
+    public int getAvailableKeyCount() {
+        mLock.lock();
+        try {
+            long now = System.nanoTime();
+            int available = 0;
+            for (Key key : mKeys) {
+                if (!key.mEjected || now - key.mEjectedUntilNanos >= 0) {
+                    available++;
+                }
+            }
+            return available;
+        } finally {
+            mLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the URL with its api_key parameter replaced, or added if it has none
+     *
+     * @param url    the request URL
+     * @param apiKey the API key to use
+     * @return the URL with the API key
+     * @throws MalformedURLException if the resulting URL is invalid
+     */
+    static URL withApiKey(URL url, String apiKey) throws MalformedURLException {
+        return PeliasRequest.withParameter(url, "api_key", apiKey);
+    }
+}
@@ -0,0 +1,333 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias;
+
+import edu.usf.cutr.pelias.util.FeatureUtils;
+import org.geojson.Feature;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Speculatively fetches autocomplete results for the prefixes a user is most likely to type next, while they pause, so
+ * the next keystroke is answered from the client's cache.  Likely next characters are taken from the names and labels
+ * of the current results that the text is a prefix of, weighted by rank - e.g., after "tam" returns Tampa, Tampa Bay
+ * and Tamarac, "tamp" is the most likely next prefix.
+ * <p>
+ * Each user's typing is a Session.  Prefetches are BATCH requests, so a PeliasClient with a concurrency limit runs them
+ * behind interactive calls, and each Session has a strict budget of prefetches.  The client must have a cache.
+ */
+public class AutocompletePrefetcher {
+
+    private static final long DEFAULT_IDLE_DELAY_MILLIS = 100;
+    private static final int DEFAULT_PREFETCHES_PER_KEYSTROKE = 2;
+    private static final int DEFAULT_MAX_PREFETCHES_PER_SESSION = 20;
+
+    private final PeliasClient mClient;
+    private final long mIdleDelayMillis;
+    private final int mPrefetchesPerKeystroke;
+    private final int mMaxPrefetchesPerSession;
+
+    public static class Builder {
+        private final PeliasClient mClient;
+        private long mIdleDelayMillis = DEFAULT_IDLE_DELAY_MILLIS;
+        private int mPrefetchesPerKeystroke = DEFAULT_PREFETCHES_PER_KEYSTROKE;
+        private int mMaxPrefetchesPerSession = DEFAULT_MAX_PREFETCHES_PER_SESSION;
+
+        /**
+         * A Builder for a prefetcher whose sessions make their calls via the client
+         *
+         * @param client the client that makes the calls, which must have a cache
+         */
+        public Builder(PeliasClient client) {
+            if (client.getCache() == null) {
+                throw new IllegalArgumentException("The client must have a cache to hold prefetched responses");
+            }
+            mClient = client;
+        }
+
+        /**
+         * Sets how long after a response the user must be idle before its likely next prefixes are prefetched (default
+         * is 100 ms).  A keystroke within the delay cancels the prefetch.
+         *
+         * @param delay the idle time before prefetching
+         * @param unit  the unit of the delay
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setIdleDelay(long delay, TimeUnit unit) {
+            mIdleDelayMillis = unit.toMillis(delay);
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of next prefixes prefetched after each response (default is 2)
+         *
+         * @param prefetches the maximum number of next prefixes prefetched after each response
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setPrefetchesPerKeystroke(int prefetches) {
+            if (prefetches < 0) {
+                throw new IllegalArgumentException("prefetches must not be negative");
+            }
+            mPrefetchesPerKeystroke = prefetches;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of prefetches made by each Session (default is 20)
+         *
+         * @param prefetches the maximum number of prefetches made by each Session
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setMaxPrefetchesPerSession(int prefetches) {
+            if (prefetches < 0) {
+                throw new IllegalArgumentException("prefetches must not be negative");
+            }
+            mMaxPrefetchesPerSession = prefetches;
+            return this;
+        }
+
+        /**
+         * Builds the AutocompletePrefetcher using the specified parameters
+         *
+         * @return the AutocompletePrefetcher using the specified parameters
+         */
+        public AutocompletePrefetcher build() {
+            return new AutocompletePrefetcher(this);
+        }
+    }
+
+    private AutocompletePrefetcher(Builder builder) {
+        mClient = builder.mClient;
+        mIdleDelayMillis = builder.mIdleDelayMillis;
+        mPrefetchesPerKeystroke = builder.mPrefetchesPerKeystroke;
+        mMaxPrefetchesPerSession = builder.mMaxPrefetchesPerSession;
+    }
+
+    /**
+     * Starts a session for one user's typing
+     *
+     * @return a new session
+     */
+    public Session newSession() {
+        return new Session();
+    }
+
+    /**
+     * The autocomplete calls of one user, e.g. while they type into one search box.  Threadsafe.
+     */
+    public class Session {
+        // Prefetches not yet used by a call, by cache key
+        private final Map<String, PeliasClient.CallTask> mInFlight = new HashMap<String, PeliasClient.CallTask>();
+        private final Set<String> mPrefetched = new HashSet<String>();
+        private ScheduledFuture<?> mScheduled;
+        private int mPrefetchCount;
+        private int mHitCount;
+
+        private Session() {
+        }
+
+        /**
+         * Makes the autocomplete call via the client, and prefetches the likely next prefixes once the user is idle.
+         * A call for a prefix whose prefetch is already running waits for the prefetch rather than making another
+         * request.  Prefetches still queued behind other calls are cancelled, as the user has moved on, and the call
+         * is made at its own priority - INTERACTIVE by default for autocomplete requests.
+         *
+         * @param request the autocomplete request for the text the user has typed
+         * @return the response
+         * @throws IOException if there is an exception making the request or reading the response from the server
+         */
+        public PeliasResponse call(PeliasRequest request) throws IOException {
+            String key = request.getUrl().toString();
+            PeliasClient.CallTask prefetch;
+            synchronized (this) {
+                // The user is typing again
+                if (mScheduled != null) {
+                    mScheduled.cancel(false);
+                    mScheduled = null;
+                }
+                prefetch = mInFlight.remove(key);
+                if (prefetch != null && !prefetch.isStarted() && prefetch.cancel(true)) {
+                    // Waiting for a queued prefetch could take longer than calling at the user's priority
+                    forget(key);
+                    prefetch = null;
+                }
+                cancelQueued();
+                if (mPrefetched.contains(key)) {
+                    mHitCount++;
+                }
+            }
+            PeliasResponse response = null;
+            if (prefetch != null) {
+                try {
+                    response = prefetch.get();
+                } catch (ExecutionException e) {
+                    // Made again below, reporting its own failure
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted waiting for a prefetched response");
+                }
+            }
+            if (response == null) {
+                response = mClient.call(request);
+            }
+            schedulePrefetch(request, response);
+            return response;
+        }
+
+        /**
+         * Returns the number of prefetches this session has made
+         *
+         * @return the number of prefetches this session has made
+         */
+        public synchronized int getPrefetchCount() {
+            return mPrefetchCount;
+        }
+
+        /**
+         * Returns the number of calls for a prefix this session had prefetched
+         *
+         * @return the number of calls for a prefix this session had prefetched
+         */
+        public synchronized int getHitCount() {
+            return mHitCount;
+        }
+
+        private synchronized void schedulePrefetch(final PeliasRequest request, PeliasResponse response) {
+            int budget = Math.min(mPrefetchesPerKeystroke, mMaxPrefetchesPerSession - mPrefetchCount);
+            String text = request.getText();
+            if (budget <= 0 || text == null) {
+                return;
+            }
+            final List<PeliasRequest> prefetches = new ArrayList<PeliasRequest>(budget);
+            for (String prefix : nextPrefixes(text, response.getFeatures())) {
+                if (prefetches.size() == budget) {
+                    break;
+                }
+                PeliasRequest prefetch;
+                try {
+                    prefetch = request.withText(prefix);
+                } catch (IOException e) {
+                    continue;
+                }
+                if (!mPrefetched.contains(prefetch.getUrl().toString())) {
+                    prefetches.add(prefetch);
+                }
+            }
+            if (prefetches.isEmpty()) {
+                return;
+            }
+            mScheduled = mClient.getScheduler().schedule(new Runnable() {
+                @Override
+                public void run() {
+                    prefetch(prefetches);
+                }
+            }, mIdleDelayMillis, TimeUnit.MILLISECONDS);
+        }
+
+        private synchronized void prefetch(List<PeliasRequest> prefetches) {
+            for (PeliasRequest prefetch : prefetches) {
+                if (mPrefetchCount >= mMaxPrefetchesPerSession) {
+                    return;
+                }
+                String key = prefetch.getUrl().toString();
+                if (mPrefetched.add(key)) {
+                    mPrefetchCount++;
+                    mInFlight.put(key, mClient.submitCall(prefetch));
+                }
+            }
+        }
+
+        /**
+         * Cancels the prefetches still waiting for a call slot, and forgets the done ones, whose responses are in the
+         * cache if they succeeded
+         */
+        private void cancelQueued() {
+            Iterator<Map.Entry<String, PeliasClient.CallTask>> i = mInFlight.entrySet().iterator();
+            while (i.hasNext()) {
+                Map.Entry<String, PeliasClient.CallTask> entry = i.next();
+                PeliasClient.CallTask prefetch = entry.getValue();
+                if (prefetch.isDone()) {
+                    i.remove();
+                } else if (!prefetch.isStarted() && prefetch.cancel(true)) {
+                    i.remove();
+                    forget(entry.getKey());
+                }
+            }
+        }
+
+        /**
+         * Forgets a prefetch that was cancelled before it was made, returning it to the budget
+         */
+        private void forget(String key) {
+            mPrefetched.remove(key);
+            mPrefetchCount--;
+        }
+    }
+
+    /**
+     * Returns the prefixes the user is likely to type next, most likely first.  Each result whose name or label
+     * continues the text votes for its next character, with a weight of 1 / rank.
+     *
+     * @param text     the text typed so far
+     * @param features the results for the text, in rank order
+     * @return the likely next prefixes, most likely first
+     */
+    static List<String> nextPrefixes(String text, Feature[] features) {
+        final Map<String, Double> scores = new LinkedHashMap<String, Double>();
+        if (features == null || text.isEmpty()) {
+            return new ArrayList<String>();
+        }
+        // Users who type in lower case keep doing so
+        boolean lowerCase = text.equals(text.toLowerCase());
+        for (int rank = 0; rank < features.length; rank++) {
+            Set<String> votes = new HashSet<String>(2);
+            for (String property : new String[]{"name", "label"}) {
+                String value = FeatureUtils.getString(features[rank], property);
+                if (value != null && value.length() > text.length()
+                        && value.regionMatches(true, 0, text, 0, text.length())) {
+                    char next = value.charAt(text.length());
+                    votes.add(text + (lowerCase ? Character.toLowerCase(next) : next));
+                }
+            }
+            for (String prefix : votes) {
+                Double score = scores.get(prefix);
+                scores.put(prefix, (score != null ? score : 0d) + 1d / (rank + 1));
+            }
+        }
+        List<String> prefixes = new ArrayList<String>(scores.keySet());
+        Collections.sort(prefixes, new Comparator<String>() {
+            @Override
+            public int compare(String a, String b) {
+                return Double.compare(scores.get(b), scores.get(a));
+            }
+        });
+        return prefixes;
+    }
+}
@@ -32,6 +32,8 @@ public class AutocompleteRequest extends PeliasRequest {
             super(apiKey, text);
             // Set the default API URL for Autocomplete requests
             mApiEndPoint = "https://search.mapzen.com/v1/autocomplete";
+            // Autocomplete runs while a user types
+            mPriority = Priority.INTERACTIVE;
         }
 
         /**
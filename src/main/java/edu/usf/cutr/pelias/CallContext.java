@@ -0,0 +1,282 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The state of a single call made by a PeliasClient, passed to the Transport.  Carries the timeouts the transport must
+ * apply, and lets the transport register an Abortable so the call can be aborted from another thread when its deadline
+ * passes or it is cancelled, even while the transport is still connecting or waiting for the response.
+ */
+public class CallContext {
+
+    private final PeliasRequest mRequest;
+    private final CallListener mListener;
+    private final CallProfiler mProfiler;
+    private final int mConnectTimeoutMillis;
+    private final int mReadTimeoutMillis;
+    private final long mTimeoutMillis;
+    private final long mDeadlineNanos;
+    // When the call was submitted, or made if it is synchronous
+    private final long mSubmittedNanos;
+    private volatile IOException mAbortReason;
+    private Abortable mAbortable;
+    // Phase timestamps, only taken when there is a listener
+    private long mStartNanos = CallTimings.NONE;
+    private long mConnectionAcquiredNanos = CallTimings.NONE;
+    private long mRequestSentNanos = CallTimings.NONE;
+    private long mFirstByteNanos = CallTimings.NONE;
+    private long mLastReadNanos = CallTimings.NONE;
+    private long mBodyReadNanos = CallTimings.NONE;
+    private long mParseCompleteNanos = CallTimings.NONE;
+    // Thread counters, only read when there is a profiler
+    private CallProfiler.Sample mSample;
+
+    /**
+     * @param request              the request being made
+     * @param listener             the listener notified of the phases of the call, or null for none
+     * @param profiler             the profiler that records the CPU time and allocations of the call, or null for none
+     * @param connectTimeoutMillis the connect timeout, or 0 for none
+     * @param readTimeoutMillis    the read timeout, or 0 for none
+     * @param timeoutMillis        the total timeout of the call starting now, or 0 for none
+     */
+    CallContext(PeliasRequest request, CallListener listener, CallProfiler profiler, int connectTimeoutMillis,
+                int readTimeoutMillis, long timeoutMillis) {
+        mRequest = request;
+        mListener = listener;
+        mProfiler = profiler;
+        mConnectTimeoutMillis = connectTimeoutMillis;
+        mReadTimeoutMillis = readTimeoutMillis;
+        mTimeoutMillis = timeoutMillis;
+        mSubmittedNanos = System.nanoTime();
+        mDeadlineNanos = timeoutMillis > 0 ? mSubmittedNanos + TimeUnit.MILLISECONDS.toNanos(timeoutMillis)
+                : Long.MAX_VALUE;
+    }
+
+    /**
+     * Returns the maximum time to wait for a connection
+     *
+     * @return the maximum time to wait for a connection in milliseconds, or 0 to wait indefinitely
+     */
+    public int getConnectTimeoutMillis() {
+        return mConnectTimeoutMillis;
+    }
+
+    /**
+     * Returns the maximum time to wait for the first byte of the response and between subsequent reads
+     *
+     * @return the maximum time to wait for the first byte and between reads in milliseconds, or 0 to wait indefinitely
+     */
+    public int getReadTimeoutMillis() {
+        return mReadTimeoutMillis;
+    }
+
+    /**
+     * Registers the Abortable that aborts the connection of this call.  Transports should register it before blocking
+     * on the connection.  If the call has already been aborted, the Abortable is aborted immediately and the reason is
+     * thrown.
+     *
+     * @param abortable aborts the connection of this call
+     * @throws IOException if the call has already been aborted
+     */
+    public void setAbortable(Abortable abortable) throws IOException {
+        synchronized (this) {
+            if (mAbortReason == null) {
+                mAbortable = abortable;
+                return;
+            }
+        }
+        abortable.abort();
+        throw mAbortReason;
+    }
+
+    /**
+     * Throws if the call has been aborted, its deadline has passed or the calling thread has been interrupted
+     *
+     * @throws IOException if the call should not continue
+     */
+    public void checkAborted() throws IOException {
+        if (mAbortReason != null) {
+            throw mAbortReason;
+        }
+        if (mDeadlineNanos != Long.MAX_VALUE && System.nanoTime() - mDeadlineNanos > 0) {
+            timeout();
+            throw mAbortReason;
+        }
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("Call interrupted");
+        }
+    }
+
+    /**
+     * Reports that the transport has a connection to the server, either newly opened or reused from its pool
+     */
+    public void connectionAcquired() {
+        if (mListener != null) {
+            mConnectionAcquiredNanos = System.nanoTime();
+            mListener.connectionAcquired(mRequest, mConnectionAcquiredNanos);
+        }
+    }
+
+    /**
+     * Reports that the transport has sent the request
+     */
+    public void requestSent() {
+        if (mListener != null) {
+            mRequestSentNanos = System.nanoTime();
+            mListener.requestSent(mRequest, mRequestSentNanos);
+        }
+    }
+
+    /**
+     * Reports that the transport has received the start of the response, such as the status line
+     */
+    public void firstByteReceived() {
+        if (mListener != null) {
+            mFirstByteNanos = System.nanoTime();
+            mListener.firstByteReceived(mRequest, mFirstByteNanos);
+        }
+    }
+
+    /**
+     * Reports that the call has started
+     */
+    void start() {
+        if (mProfiler != null) {
+            mSample = mProfiler.start();
+        }
+        if (mListener != null) {
+            mStartNanos = System.nanoTime();
+            mListener.callStart(mRequest, mSubmittedNanos, mStartNanos);
+        }
+    }
+
+    /**
+     * Attributes the CPU time and allocations of the call from now on to a phase, when there is a profiler
+     *
+     * @param phase the phase the call is entering
+     */
+    void enter(CallProfiler.Phase phase) {
+        if (mSample != null) {
+            mSample.enter(phase);
+        }
+    }
+
+    /**
+     * Records that bytes of the response body were received
+     */
+    void bytesReceived() {
+        if (mListener != null) {
+            mLastReadNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Reports that the response body has been read, when it is closed
+     */
+    void bodyRead() {
+        if (mListener != null && mBodyReadNanos == CallTimings.NONE && mLastReadNanos != CallTimings.NONE) {
+            mBodyReadNanos = mLastReadNanos;
+            mListener.bodyRead(mRequest, mBodyReadNanos);
+        }
+    }
+
+    /**
+     * Reports that the response has been parsed
+     */
+    void parseComplete() {
+        if (mListener != null) {
+            mParseCompleteNanos = System.nanoTime();
+            mListener.parseComplete(mRequest, mParseCompleteNanos);
+        }
+    }
+
+    /**
+     * Reports that the call completed successfully
+     */
+    void end() {
+        if (mSample != null) {
+            mProfiler.record(mRequest, mSample, false);
+        }
+        if (mListener != null) {
+            mListener.callEnd(mRequest, timings());
+        }
+    }
+
+    /**
+     * Reports that the call failed
+     *
+     * @param e the exception the call failed with
+     */
+    void failed(IOException e) {
+        if (mSample != null) {
+            mProfiler.record(mRequest, mSample, true);
+        }
+        if (mListener != null) {
+            mListener.callFailed(mRequest, timings(), e);
+        }
+    }
+
+    private CallTimings timings() {
+        return new CallTimings(mSubmittedNanos, mStartNanos, mConnectionAcquiredNanos, mRequestSentNanos,
+                mFirstByteNanos, mBodyReadNanos, mParseCompleteNanos, System.nanoTime());
+    }
+
+    /**
+     * Returns the reason the call was aborted
+     *
+     * @return the reason the call was aborted, or null if it hasn't been aborted
+     */
+    IOException getAbortReason() {
+        return mAbortReason;
+    }
+
+    long getDeadlineNanos() {
+        return mDeadlineNanos;
+    }
+
+    /**
+     * Aborts the call because its deadline has passed
+     */
+    void timeout() {
+        abort(new SocketTimeoutException("Call exceeded its deadline of " + mTimeoutMillis + " ms"));
+    }
+
+    /**
+     * Aborts the call because it was cancelled
+     */
+    void cancel() {
+        abort(new InterruptedIOException("Call cancelled"));
+    }
+
+    private void abort(IOException reason) {
+        Abortable abortable;
+        synchronized (this) {
+            if (mAbortReason != null) {
+                return;
+            }
+            mAbortReason = reason;
+            abortable = mAbortable;
+        }
+        if (abortable != null) {
+            abortable.abort();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias;
+
+import java.io.IOException;
+
+/**
+ * Receives the phases of each call made by a PeliasClient, for debugging individual slow calls.  Register one via
+ * PeliasClient.Builder.setCallListener() - when none is registered, no timestamps are taken.
+ * <p>
+ * Timestamps are System.nanoTime() values.  Calls can be concurrent, so methods may be called from several threads at
+ * once.  The per-call methods are called as each phase completes; callEnd() and callFailed() receive the timings of the
+ * whole call, which is usually all a listener needs.  Methods should return quickly, as they run on the calling thread.
+ * Override the methods of interest - the defaults do nothing.
+ */
+public abstract class CallListener {
+
+    /**
+     * Called when a call starts
+     *
+     * @param request        the request
+     * @param submittedNanos when the call was submitted, or made if it is synchronous
+     * @param startNanos     when the call started
+     */
+    public void callStart(PeliasRequest request, long submittedNanos, long startNanos) {
+    }
+
+    /**
+     * Called when the transport has a connection to the server, either newly opened or reused from its pool
+     *
+     * @param request   the request
+     * @param nanoTime  when the connection was acquired
+     */
+    public void connectionAcquired(PeliasRequest request, long nanoTime) {
+    }
+
+    /**
+     * Called when the transport has sent the request
+     *
+     * @param request  the request
+     * @param nanoTime when the request was sent
+     */
+    public void requestSent(PeliasRequest request, long nanoTime) {
+    }
+
+    /**
+     * Called when the start of the response has been received
+     *
+     * @param request  the request
+     * @param nanoTime when the start of the response was received
+     */
+    public void firstByteReceived(PeliasRequest request, long nanoTime) {
+    }
+
+    /**
+     * Called when the response body has been read.  The body is parsed as it is read, so the time is when the last
+     * bytes of the body were received.
+     *
+     * @param request  the request
+     * @param nanoTime when the last bytes of the body were received
+     */
+    public void bodyRead(PeliasRequest request, long nanoTime) {
+    }
+
+    /**
+     * Called when the response has been parsed
+     *
+     * @param request  the request
+     * @param nanoTime when parsing completed
+     */
+    public void parseComplete(PeliasRequest request, long nanoTime) {
+    }
+
+    /**
+     * Called when a call completes successfully, including calls answered from the cache
+     *
+     * @param request the request
+     * @param timings the timings of the call
+     */
+    public void callEnd(PeliasRequest request, CallTimings timings) {
+    }
+
+    /**
+     * Called when a call fails
+     *
+     * @param request the request
+     * @param timings the timings of the phases the call completed
+     * @param e       the exception the call failed with
+     */
+    public void callFailed(PeliasRequest request, CallTimings timings, IOException e) {
+    }
+}
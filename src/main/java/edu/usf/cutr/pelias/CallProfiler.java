@@ -0,0 +1,335 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Records the CPU time and bytes allocated by each call made by a PeliasClient, in total and per phase, aggregated by
+ * request type - the API endpoint, e.g. "search" or "autocomplete".  Register one via
+ * PeliasClient.Builder.setCallProfiler() - when none is registered, no counters are read.
+ * <p>
+ * Counters are read from the ThreadMXBean of the calling thread, so only work done on that thread is counted: work done
+ * on other threads, such as by an asynchronous transport's own threads, isn't, and calls that move between threads
+ * (e.g., features published to a Subscriber on another thread) aren't recorded.  Calls answered from the cache are
+ * recorded, with nothing in the read and parse phases.  Calls made on virtual threads, which the JVM doesn't keep
+ * these counters for, aren't recorded either - including calls submitted to the default executor on Java 21 and
+ * higher, so profile with an executor of platform threads there.  Reading the counters costs about a microsecond of CPU
+ * a few times per call, so a profiler is meant for measuring rather than left on in production.
+ * <p>
+ * Allocated bytes require a HotSpot-based JVM - check isSupported() before creating a profiler.
+ */
+public class CallProfiler {
+
+    /**
+     * The phases of a call, in the order they start
+     */
+    public enum Phase {
+        /**
+         * Preparing the request - the cache lookup, API key and URL used for the call
+         */
+        URL,
+        /**
+         * Opening the connection and reading the response body, including waiting for the server
+         */
+        READ,
+        /**
+         * Parsing and processing the response, and anything else the call does between reads
+         */
+        PARSE
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final ConcurrentMap<String, Stats> mStats = new ConcurrentHashMap<String, Stats>();
+
+    /**
+     * The totals of the calls of one request type.  Totals are updated as calls complete, so can be read at any time.
+     */
+    public static class Stats {
+        private final AtomicLong mCallCount = new AtomicLong();
+        private final AtomicLong mFailedCount = new AtomicLong();
+        private final AtomicLongArray mCpuNanos = new AtomicLongArray(PHASES.length);
+        private final AtomicLongArray mAllocatedBytes = new AtomicLongArray(PHASES.length);
+
+        /**
+         * Returns the number of calls recorded, including failed calls
+         *
+         * @return the number of calls recorded, including failed calls
+         */
+        public long getCallCount() {
+            return mCallCount.get();
+        }
+
+        /**
+         * Returns the number of calls recorded that failed
+         *
+         * @return the number of calls recorded that failed
+         */
+        public long getFailedCount() {
+            return mFailedCount.get();
+        }
+
+        /**
+         * Returns the CPU time of all calls recorded
+         *
+         * @return the CPU time of all calls recorded in nanoseconds
+         */
+        public long getCpuNanos() {
+            long total = 0;
+            for (Phase phase : PHASES) {
+                total += getCpuNanos(phase);
+            }
+            return total;
+        }
+
+        /**
+         * Returns the CPU time of a phase of all calls recorded
+         *
+         * @param phase the phase
+         * @return the CPU time of the phase in nanoseconds
+         */
+        public long getCpuNanos(Phase phase) {
+            return mCpuNanos.get(phase.ordinal());
+        }
+
+        /**
+         * Returns the bytes allocated by all calls recorded
+         *
+         * @return the bytes allocated by all calls recorded
+         */
+        public long getAllocatedBytes() {
+            long total = 0;
+            for (Phase phase : PHASES) {
+                total += getAllocatedBytes(phase);
+            }
+            return total;
+        }
+
+        /**
+         * Returns the bytes allocated in a phase of all calls recorded
+         *
+         * @param phase the phase
+         * @return the bytes allocated in the phase
+         */
+        public long getAllocatedBytes(Phase phase) {
+            return mAllocatedBytes.get(phase.ordinal());
+        }
+
+        /**
+         * Returns the mean bytes allocated per call, which is the number to hold a regression check to
+         *
+         * @return the mean bytes allocated per call, or 0 if no calls have been recorded
+         */
+        public long getAllocatedBytesPerCall() {
+            long calls = getCallCount();
+            return calls == 0 ? 0 : getAllocatedBytes() / calls;
+        }
+
+        /**
+         * Returns the mean CPU time per call
+         *
+         * @return the mean CPU time per call in nanoseconds, or 0 if no calls have been recorded
+         */
+        public long getCpuNanosPerCall() {
+            long calls = getCallCount();
+            return calls == 0 ? 0 : getCpuNanos() / calls;
+        }
+
+        void add(Sample sample, boolean failed) {
+            for (int i = 0; i < PHASES.length; i++) {
+                mCpuNanos.addAndGet(i, sample.mCpuNanos[i]);
+                mAllocatedBytes.addAndGet(i, sample.mAllocatedBytes[i]);
+            }
+            if (failed) {
+                mFailedCount.incrementAndGet();
+            }
+            mCallCount.incrementAndGet();
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder("Stats{calls=").append(getCallCount())
+                    .append(", failed=").append(getFailedCount())
+                    .append(", cpuPerCall=").append(getCpuNanosPerCall()).append("ns")
+                    .append(", allocatedPerCall=").append(getAllocatedBytesPerCall()).append("B");
+            for (Phase phase : PHASES) {
+                builder.append(", ").append(phase.name().toLowerCase()).append("=")
+                        .append(getCpuNanos(phase)).append("ns/").append(getAllocatedBytes(phase)).append("B");
+            }
+            return builder.append('}').toString();
+        }
+    }
+
+    /**
+     * The counters of a single call, which attributes the CPU time and allocations since the last phase change to the
+     * phase that was current.  Only used by the thread that started the call.
+     */
+    static class Sample {
+        private final Thread mThread = Thread.currentThread();
+        private final long[] mCpuNanos = new long[PHASES.length];
+        private final long[] mAllocatedBytes = new long[PHASES.length];
+        private Phase mPhase = Phase.URL;
+        private long mLastCpuNanos;
+        private long mLastAllocatedBytes;
+        private boolean mMoved;
+        // The JVM doesn't count the thread's CPU time or allocations, e.g. a virtual thread
+        private boolean mUncounted;
+
+        Sample() {
+            mLastCpuNanos = Counters.THREADS.getCurrentThreadCpuTime();
+            mLastAllocatedBytes = Counters.allocatedBytes(mThread);
+            mUncounted = mLastCpuNanos == -1 || mLastAllocatedBytes == -1;
+        }
+
+        /**
+         * Ends the current phase and starts another
+         *
+         * @param phase the phase to start, or null to end the call
+         */
+        void enter(Phase phase) {
+            if (mPhase == phase || mMoved || mUncounted) {
+                return;
+            }
+            if (Thread.currentThread() != mThread) {
+                mMoved = true;
+                return;
+            }
+            long cpuNanos = Counters.THREADS.getCurrentThreadCpuTime();
+            long allocatedBytes = Counters.allocatedBytes(mThread);
+            if (cpuNanos == -1 || allocatedBytes == -1) {
+                mUncounted = true;
+                return;
+            }
+            if (mPhase != null) {
+                mCpuNanos[mPhase.ordinal()] += cpuNanos - mLastCpuNanos;
+                mAllocatedBytes[mPhase.ordinal()] += allocatedBytes - mLastAllocatedBytes;
+            }
+            mLastCpuNanos = cpuNanos;
+            mLastAllocatedBytes = allocatedBytes;
+            mPhase = phase;
+        }
+    }
+
+    /**
+     * The thread counters, in their own class so the management classes are only loaded when a profiler is used
+     */
+    private static class Counters {
+        static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+        static boolean isSupported() {
+            return THREADS.isThreadCpuTimeSupported() && THREADS instanceof com.sun.management.ThreadMXBean
+                    && ((com.sun.management.ThreadMXBean) THREADS).isThreadAllocatedMemorySupported();
+        }
+
+        static void enable() {
+            THREADS.setThreadCpuTimeEnabled(true);
+            ((com.sun.management.ThreadMXBean) THREADS).setThreadAllocatedMemoryEnabled(true);
+        }
+
+        static long allocatedBytes(Thread thread) {
+            return ((com.sun.management.ThreadMXBean) THREADS).getThreadAllocatedBytes(thread.getId());
+        }
+    }
+
+    /**
+     * Creates a profiler, enabling the JVM's thread CPU time and allocation counters if they are disabled
+     *
+     * @throws UnsupportedOperationException if the JVM doesn't support thread CPU time and allocation counters
+     */
+    public CallProfiler() {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException("Thread CPU time and allocation counters are not supported");
+        }
+        Counters.enable();
+    }
+
+    /**
+     * Returns whether this JVM supports the thread CPU time and allocation counters a profiler reads
+     *
+     * @return true if this JVM supports the thread CPU time and allocation counters a profiler reads
+     */
+    public static boolean isSupported() {
+        try {
+            return Counters.isSupported();
+        } catch (LinkageError e) {
+            // No java.lang.management (e.g., Android) or com.sun.management
+            return false;
+        }
+    }
+
+    /**
+     * Returns the totals of the calls of a request type
+     *
+     * @param type the request type, which is the last segment of the API endpoint, e.g. "search" or "autocomplete"
+     * @return the totals of the calls of the request type, or null if none have been recorded
+     */
+    public Stats getStats(String type) {
+        return mStats.get(type);
+    }
+
+    /**
+     * Returns the totals of the calls of each request type recorded
+     *
+     * @return the totals of the calls of each request type recorded, by request type in alphabetical order
+     */
+    public Map<String, Stats> getStats() {
+        return Collections.unmodifiableMap(new TreeMap<String, Stats>(mStats));
+    }
+
+    /**
+     * Discards the totals recorded so far, e.g. after warming up
+     */
+    public void reset() {
+        mStats.clear();
+    }
+
+    /**
+     * Starts the counters of a call on the calling thread
+     */
+    Sample start() {
+        return new Sample();
+    }
+
+    /**
+     * Adds the counters of a completed call to the totals of its request type
+     */
+    void record(PeliasRequest request, Sample sample, boolean failed) {
+        sample.enter(null);
+        if (sample.mMoved || sample.mUncounted) {
+            return;
+        }
+        String path = request.getUrl().getPath();
+        String type = path.substring(path.lastIndexOf('/') + 1);
+        Stats stats = mStats.get(type);
+        if (stats == null) {
+            Stats created = new Stats();
+            stats = mStats.putIfAbsent(type, created);
+            if (stats == null) {
+                stats = created;
+            }
+        }
+        stats.add(sample, failed);
+    }
+}
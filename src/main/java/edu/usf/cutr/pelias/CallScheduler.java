@@ -0,0 +1,207 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias;
+
+import edu.usf.cutr.pelias.PeliasRequest.Priority;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the number of calls a PeliasClient runs at once, with a queue per Priority.  Some of the concurrency is
+ * reserved for INTERACTIVE calls, so they can start even while BATCH calls use everything else, and waiting INTERACTIVE
+ * calls start ahead of waiting BATCH calls - except that every INTERACTIVE_WEIGHT-th free slot goes to a waiting BATCH
+ * call, so a stream of interactive calls can't starve batch work entirely.
+ */
+class CallScheduler {
+
+    static final int INTERACTIVE_WEIGHT = 8;
+
+    private final int mMaxCalls;
+    private final int mMaxBatchCalls;
+    private final ArrayDeque<Runnable> mInteractive = new ArrayDeque<Runnable>();
+    private final ArrayDeque<Runnable> mBatch = new ArrayDeque<Runnable>();
+    private int mRunning;
+    private int mRunningBatch;
+    // INTERACTIVE calls started in a row while BATCH calls were waiting
+    private int mInteractiveStreak;
+
+    /**
+     * @param maxCalls            the maximum number of calls running at once
+     * @param reservedInteractive the number of those calls that only INTERACTIVE calls may use
+     */
+    CallScheduler(int maxCalls, int reservedInteractive) {
+        mMaxCalls = maxCalls;
+        mMaxBatchCalls = maxCalls - reservedInteractive;
+    }
+
+    /**
+     * Runs the task on the executor when its turn comes, releasing its slot when it finishes
+     *
+     * @param priority the scheduling class of the call
+     * @param task     the call
+     * @param executor the executor that runs the call
+     */
+    void submit(final Priority priority, final FutureTask<?> task, final Executor executor) {
+        final Runnable release = new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    // Returns immediately if the task was cancelled while waiting
+                    task.run();
+                } finally {
+                    release(priority);
+                }
+            }
+        };
+        enqueue(priority, new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    executor.execute(release);
+                } catch (RejectedExecutionException e) {
+                    // The executor has been shut down
+                    task.cancel(false);
+                    release(priority);
+                }
+            }
+        });
+    }
+
+    /**
+     * Blocks the calling thread until the call's turn comes.  The caller must call release() when the call finishes.
+     *
+     * @param priority the scheduling class of the call
+     * @param context  the state of the call, whose deadline ends the wait
+     * @throws IOException if the call passes its deadline while waiting, or the thread is interrupted
+     */
+    void acquire(Priority priority, CallContext context) throws IOException {
+        final CountDownLatch turn = new CountDownLatch(1);
+        Runnable waiter = new Runnable() {
+            @Override
+            public void run() {
+                turn.countDown();
+            }
+        };
+        enqueue(priority, waiter);
+        boolean started;
+        try {
+            if (context.getDeadlineNanos() == Long.MAX_VALUE) {
+                turn.await();
+                started = true;
+            } else {
+                started = turn.await(context.getDeadlineNanos() - System.nanoTime(), TimeUnit.NANOSECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            started = false;
+        }
+        if (!started) {
+            withdraw(priority, waiter);
+            context.checkAborted();
+            throw new InterruptedIOException("Interrupted waiting for a call slot");
+        }
+    }
+
+    /**
+     * Frees the slot of a finished call, starting the next waiting call
+     *
+     * @param priority the scheduling class of the finished call
+     */
+    void release(Priority priority) {
+        List<Runnable> started;
+        synchronized (this) {
+            mRunning--;
+            if (priority == Priority.BATCH) {
+                mRunningBatch--;
+            }
+            started = next();
+        }
+        start(started);
+    }
+
+    /**
+     * Returns the number of calls waiting for a slot
+     *
+     * @param priority the scheduling class
+     * @return the number of calls of the scheduling class waiting for a slot
+     */
+    synchronized int getWaitingCount(Priority priority) {
+        return priority == Priority.INTERACTIVE ? mInteractive.size() : mBatch.size();
+    }
+
+    private void enqueue(Priority priority, Runnable start) {
+        List<Runnable> started;
+        synchronized (this) {
+            (priority == Priority.INTERACTIVE ? mInteractive : mBatch).add(start);
+            started = next();
+        }
+        start(started);
+    }
+
+    private void withdraw(Priority priority, Runnable start) {
+        synchronized (this) {
+            if ((priority == Priority.INTERACTIVE ? mInteractive : mBatch).remove(start)) {
+                return;
+            }
+        }
+        // Its turn came just as it gave up
+        release(priority);
+    }
+
+    /**
+     * Takes the calls that can start now from the queues, counting them as running
+     */
+    private List<Runnable> next() {
+        List<Runnable> started = null;
+        while (mRunning < mMaxCalls) {
+            boolean batchMayStart = !mBatch.isEmpty() && mRunningBatch < mMaxBatchCalls;
+            Runnable start;
+            if (!mInteractive.isEmpty() && (!batchMayStart || mInteractiveStreak < INTERACTIVE_WEIGHT)) {
+                start = mInteractive.poll();
+                mInteractiveStreak = batchMayStart ? mInteractiveStreak + 1 : 0;
+            } else if (batchMayStart) {
+                start = mBatch.poll();
+                mRunningBatch++;
+                mInteractiveStreak = 0;
+            } else {
+                break;
+            }
+            mRunning++;
+            if (started == null) {
+                started = new ArrayList<Runnable>(1);
+            }
+            started.add(start);
+        }
+        return started;
+    }
+
+    private static void start(List<Runnable> started) {
+        if (started != null) {
+            for (Runnable start : started) {
+                start.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Wraps the response stream of a single call, failing reads once the call's deadline has passed or the call has been
+ * aborted, so Jackson stops parsing promptly.  Also records when the body was received, for the CallListener, and
+ * attributes the time spent in reads to the read phase, for the CallProfiler.
+ */
+class CallStream extends FilterInputStream {
+
+    private final CallContext mContext;
+
+    CallStream(InputStream in, CallContext context) {
+        super(in);
+        mContext = context;
+    }
+
+    @Override
+    public int read() throws IOException {
+        mContext.checkAborted();
+        mContext.enter(CallProfiler.Phase.READ);
+        try {
+            int read = super.read();
+            if (read >= 0) {
+                mContext.bytesReceived();
+            }
+            return read;
+        } catch (IOException e) {
+            throw abortReasonOr(e);
+        } finally {
+            mContext.enter(CallProfiler.Phase.PARSE);
+        }
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        mContext.checkAborted();
+        mContext.enter(CallProfiler.Phase.READ);
+        try {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                mContext.bytesReceived();
+            }
+            return read;
+        } catch (IOException e) {
+            throw abortReasonOr(e);
+        } finally {
+            mContext.enter(CallProfiler.Phase.PARSE);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        mContext.bodyRead();
+        super.close();
+    }
+
+    /**
+     * Reports why the call was aborted rather than the socket exception caused by aborting it
+     */
+    private IOException abortReasonOr(IOException e) {
+        IOException reason = mContext.getAbortReason();
+        return reason != null ? reason : e;
+    }
+}
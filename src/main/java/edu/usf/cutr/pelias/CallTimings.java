@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The System.nanoTime() at which each phase of a call completed, or NONE for phases the call didn't reach or the
+ * transport doesn't report (e.g., a call answered from the cache doesn't connect).  The durations attribute a slow
+ * call to waiting before it started, connecting, the server, transferring the response or parsing it.
+ */
+public class CallTimings {
+
+    /**
+     * The timestamp of a phase the call didn't reach or the transport doesn't report
+     */
+    public static final long NONE = Long.MIN_VALUE;
+
+    private final long mSubmittedNanos;
+    private final long mStartNanos;
+    private final long mConnectionAcquiredNanos;
+    private final long mRequestSentNanos;
+    private final long mFirstByteNanos;
+    private final long mBodyReadNanos;
+    private final long mParseCompleteNanos;
+    private final long mEndNanos;
+
+    CallTimings(long submittedNanos, long startNanos, long connectionAcquiredNanos, long requestSentNanos,
+                long firstByteNanos, long bodyReadNanos, long parseCompleteNanos, long endNanos) {
+        mSubmittedNanos = submittedNanos;
+        mStartNanos = startNanos;
+        mConnectionAcquiredNanos = connectionAcquiredNanos;
+        mRequestSentNanos = requestSentNanos;
+        mFirstByteNanos = firstByteNanos;
+        mBodyReadNanos = bodyReadNanos;
+        mParseCompleteNanos = parseCompleteNanos;
+        mEndNanos = endNanos;
+    }
+
+    public long getSubmittedNanos() {
+        return mSubmittedNanos;
+    }
+
+    public long getStartNanos() {
+        return mStartNanos;
+    }
+
+    public long getConnectionAcquiredNanos() {
+        return mConnectionAcquiredNanos;
+    }
+
+    public long getRequestSentNanos() {
+        return mRequestSentNanos;
+    }
+
+    public long getFirstByteNanos() {
+        return mFirstByteNanos;
+    }
+
+    public long getBodyReadNanos() {
+        return mBodyReadNanos;
+    }
+
+    public long getParseCompleteNanos() {
+        return mParseCompleteNanos;
+    }
+
+    public long getEndNanos() {
+        return mEndNanos;
+    }
+
+    /**
+     * Returns the time from submitting or making the call to starting it, e.g. waiting in an executor's queue or for
+     * a call slot
+     *
+     * @return the time from submitting the call to starting it in nanoseconds
+     */
+    public long getQueueNanos() {
+        return between(mSubmittedNanos, mStartNanos);
+    }
+
+    /**
+     * Returns the time to acquire a connection - near zero when a pooled connection was reused
+     *
+     * @return the time to acquire a connection in nanoseconds, or -1 if not reported
+     */
+    public long getConnectNanos() {
+        return between(mStartNanos, mConnectionAcquiredNanos);
+    }
+
+    /**
+     * Returns the time from sending the request to receiving the start of the response, which is dominated by the
+     * server's processing time.  For transports that don't report when the request was sent (e.g., the default
+     * UrlConnectionTransport), it is measured from when the connection was acquired instead.
+     *
+     * @return the time to first byte in nanoseconds, or -1 if not reported
+     */
+    public long getServerNanos() {
+        return between(mRequestSentNanos != NONE ? mRequestSentNanos : mConnectionAcquiredNanos, mFirstByteNanos);
+    }
+
+    /**
+     * Returns the time from the start of the response to its last bytes - network transfer, plus any time parsing
+     * holds up reading
+     *
+     * @return the time to transfer the response in nanoseconds, or -1 if not reported
+     */
+    public long getTransferNanos() {
+        return between(mFirstByteNanos, mBodyReadNanos);
+    }
+
+    /**
+     * Returns the time parsing continued after the last bytes of the response were received
+     *
+     * @return the time parsing continued after the response was received in nanoseconds, or -1 if not reported
+     */
+    public long getParseNanos() {
+        return between(mBodyReadNanos, mParseCompleteNanos);
+    }
+
+    /**
+     * Returns the total time of the call
+     *
+     * @return the total time of the call in nanoseconds
+     */
+    public long getTotalNanos() {
+        return between(mStartNanos, mEndNanos);
+    }
+
+    private static long between(long from, long to) {
+        return from != NONE && to != NONE ? to - from : -1;
+    }
+
+    @Override
+    public String toString() {
+        return "CallTimings{" +
+                "queue=" + millis(getQueueNanos()) +
+                ", connect=" + millis(getConnectNanos()) +
+                ", server=" + millis(getServerNanos()) +
+                ", transfer=" + millis(getTransferNanos()) +
+                ", parse=" + millis(getParseNanos()) +
+                ", total=" + millis(getTotalNanos()) +
+                '}';
+    }
+
+    private static String millis(long nanos) {
+        return nanos < 0 ? "n/a" : String.format("%.3fms", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+}
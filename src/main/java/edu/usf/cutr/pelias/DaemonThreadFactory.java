@@ -0,0 +1,33 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates named daemon threads, so a PeliasClient never keeps the JVM from exiting
+ */
+class DaemonThreadFactory implements ThreadFactory {
+    private static final AtomicInteger sCount = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable r) {
+        Thread t = new Thread(r, "pelias-client-" + sCount.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    }
+}
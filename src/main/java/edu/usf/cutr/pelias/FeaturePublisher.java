@@ -0,0 +1,267 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+import edu.usf.cutr.pelias.stream.Publisher;
+import edu.usf.cutr.pelias.stream.Subscriber;
+import edu.usf.cutr.pelias.stream.Subscription;
+import org.geojson.Feature;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes the features of a list of requests, parsing each response with the Jackson streaming API so features are
+ * only read from the network as they are requested - see PeliasClient.publishFeatures()
+ */
+class FeaturePublisher implements Publisher<Feature> {
+
+    private final PeliasClient mClient;
+    private final List<PeliasRequest> mRequests;
+
+    FeaturePublisher(PeliasClient client, List<? extends PeliasRequest> requests) {
+        mClient = client;
+        mRequests = new ArrayList<PeliasRequest>(requests);
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super Feature> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("subscriber must not be null");
+        }
+        FeatureSubscription subscription = new FeatureSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    /**
+     * The stream of features for one Subscriber.  Signals are delivered by a drain loop on the client's executor, and
+     * mWip ensures only one drain loop runs at a time, so the parser state below is only touched by one thread at once.
+     */
+    private class FeatureSubscription implements Subscription, Runnable {
+
+        private final Subscriber<? super Feature> mSubscriber;
+        private final ObjectReader mFeatureReader;
+        private final AtomicLong mDemand = new AtomicLong();
+        private final AtomicInteger mWip = new AtomicInteger();
+        private volatile boolean mCancelled;
+        private volatile CallContext mContext;
+        private volatile Throwable mInvalidRequest;
+        private boolean mDone;
+        private int mNextRequest;
+        private JsonParser mParser;
+        private ScheduledFuture<?> mWatchdog;
+        // The request of the current call while it holds one of the client's call slots
+        private PeliasRequest mSlot;
+
+        FeatureSubscription(Subscriber<? super Feature> subscriber) {
+            mSubscriber = subscriber;
+            mFeatureReader = mClient.getReader().forType(Feature.class);
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                mInvalidRequest = new IllegalArgumentException("Requested " + n + " features, must be positive");
+            } else {
+                long current;
+                long next;
+                do {
+                    current = mDemand.get();
+                    next = current + n < 0 ? Long.MAX_VALUE : current + n;
+                } while (!mDemand.compareAndSet(current, next));
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            mCancelled = true;
+            CallContext context = mContext;
+            if (context != null) {
+                // Unblocks the drain loop if it's waiting on the network
+                context.cancel();
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (mWip.getAndIncrement() == 0) {
+                mClient.getExecutor().execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            do {
+                if (!mDone) {
+                    drain();
+                }
+                missed = mWip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void drain() {
+            try {
+                while (!mCancelled) {
+                    if (mInvalidRequest != null) {
+                        fail(mInvalidRequest);
+                        return;
+                    }
+                    if (mParser == null) {
+                        if (mNextRequest == mRequests.size()) {
+                            mDone = true;
+                            mSubscriber.onComplete();
+                            return;
+                        }
+                        if (mDemand.get() == 0) {
+                            // Don't make the next request until there is demand for its features
+                            return;
+                        }
+                        open(mRequests.get(mNextRequest++));
+                    } else {
+                        if (mDemand.get() == 0) {
+                            return;
+                        }
+                        Feature feature = mFeatureReader.readValue(mParser);
+                        // Looks ahead a token so the stream completes without waiting for demand after the last feature
+                        nextFeature();
+                        if (mDemand.get() != Long.MAX_VALUE) {
+                            mDemand.decrementAndGet();
+                        }
+                        mSubscriber.onNext(feature);
+                    }
+                }
+                closeResponse(cancelled());
+                mDone = true;
+            } catch (IOException e) {
+                if (mCancelled) {
+                    // Caused by cancel() aborting the connection
+                    closeResponse(cancelled());
+                    mDone = true;
+                } else {
+                    fail(e);
+                }
+            } catch (RuntimeException e) {
+                fail(e);
+            }
+        }
+
+        /**
+         * Makes the request and positions the parser at the first feature of the response
+         */
+        private void open(PeliasRequest request) throws IOException {
+            CallContext context = mClient.newContext(request);
+            // Waits for the client's concurrency limit like any other call, holding the slot until the response closes
+            mClient.acquire(request, context);
+            mSlot = request;
+            mContext = context;
+            context.start();
+            if (mCancelled) {
+                context.cancel();
+            }
+            mWatchdog = mClient.watch(context);
+            mParser = mFeatureReader.getFactory().createParser(mClient.open(request, context));
+            if (mParser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(mParser, "Expected a Pelias response object");
+            }
+            while (mParser.nextToken() == JsonToken.FIELD_NAME) {
+                if ("features".equals(mParser.getCurrentName()) && mParser.nextToken() == JsonToken.START_ARRAY) {
+                    nextFeature();
+                    return;
+                }
+                // Skips the geocoding block, or a null features value
+                mParser.nextToken();
+                mParser.skipChildren();
+            }
+            // A response without features
+            closeResponse(null);
+        }
+
+        /**
+         * Moves the parser to the start of the next feature, closing the response if there are no more
+         */
+        private void nextFeature() throws IOException {
+            JsonToken token = mParser.nextToken();
+            if (token == JsonToken.END_ARRAY) {
+                closeResponse(null);
+            } else if (token != JsonToken.START_OBJECT) {
+                throw new JsonParseException(mParser, "Expected a feature but found " + token);
+            }
+        }
+
+        /**
+         * Closes the response of the current call, and reports the end of the call
+         *
+         * @param failure why the call ended before its response was parsed, or null if it was parsed
+         */
+        private void closeResponse(IOException failure) {
+            if (mWatchdog != null) {
+                mWatchdog.cancel(false);
+                mWatchdog = null;
+            }
+            if (mParser != null) {
+                try {
+                    // Also closes the response stream
+                    mParser.close();
+                } catch (IOException e) {
+                    // The response has already been read, or the stream is being abandoned
+                }
+                mParser = null;
+            }
+            CallContext context = mContext;
+            if (context != null) {
+                if (failure == null) {
+                    context.parseComplete();
+                    context.end();
+                } else {
+                    context.failed(failure);
+                }
+            }
+            mContext = null;
+            if (mSlot != null) {
+                mClient.release(mSlot);
+                mSlot = null;
+            }
+        }
+
+        private IOException cancelled() {
+            CallContext context = mContext;
+            IOException reason = context != null ? context.getAbortReason() : null;
+            return reason != null ? reason : new InterruptedIOException("Call cancelled");
+        }
+
+        private void fail(Throwable throwable) {
+            mCancelled = true;
+            CallContext context = mContext;
+            if (context != null) {
+                context.cancel();
+            }
+            closeResponse(throwable instanceof IOException ? (IOException) throwable : new IOException(throwable));
+            mDone = true;
+            mSubscriber.onError(throwable);
+        }
+    }
+}
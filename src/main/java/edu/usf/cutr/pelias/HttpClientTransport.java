@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+
+/**
+ * A Transport that uses the java.net.http.HttpClient of Java 11 and higher, which negotiates HTTP/2 with servers that
+ * support it and multiplexes concurrent calls to a server over a single connection, rather than holding a connection
+ * per in-flight call as HTTP/1.1 does.
+ * <p>
+ * This library is a multi-release JAR.  This is the Java 7 implementation, which is unsupported - on Java 11 and higher
+ * the implementation in META-INF/versions/11 is loaded instead.  Use isSupported() to check before creating one.
+ */
+public class HttpClientTransport implements Transport {
+
+    /**
+     * Returns true if this JVM supports HttpClientTransport
+     *
+     * @return true if this JVM supports HttpClientTransport (Java 11 and higher)
+     */
+    public static boolean isSupported() {
+        return false;
+    }
+
+    /**
+     * Creates a transport with its own HttpClient, which prefers HTTP/2 and follows redirects
+     *
+     * @throws UnsupportedOperationException if this JVM doesn't support java.net.http.HttpClient
+     */
+    public HttpClientTransport() {
+        throw new UnsupportedOperationException("HttpClientTransport requires Java 11 or higher");
+    }
+
+    @Override
+    public InputStream open(URL url, CallContext context) throws IOException {
+        throw new UnsupportedOperationException("HttpClientTransport requires Java 11 or higher");
+    }
+}
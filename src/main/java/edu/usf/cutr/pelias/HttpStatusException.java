@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias;
+
+import java.io.IOException;
+
+/**
+ * Thrown when the Pelias API responds with an HTTP error status (e.g., 401 for an invalid API key, or 429 when the
+ * key's rate limit is exceeded)
+ */
+public class HttpStatusException extends IOException {
+
+    private final int mStatusCode;
+    private final long mRetryAfterSeconds;
+
+    /**
+     * @param statusCode        the HTTP status code of the response
+     * @param retryAfterSeconds the number of seconds the server asked the client to wait before retrying, from the
+     *                          Retry-After header, or -1 if the response didn't say
+     * @param message           the detail message
+     */
+    public HttpStatusException(int statusCode, long retryAfterSeconds, String message) {
+        super(message);
+        mStatusCode = statusCode;
+        mRetryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Returns the HTTP status code of the response
+     *
+     * @return the HTTP status code of the response
+     */
+    public int getStatusCode() {
+        return mStatusCode;
+    }
+
+    /**
+     * Returns the number of seconds the server asked the client to wait before retrying
+     *
+     * @return the number of seconds from the Retry-After header of the response, or -1 if the response didn't say
+     */
+    public long getRetryAfterSeconds() {
+        return mRetryAfterSeconds;
+    }
+}
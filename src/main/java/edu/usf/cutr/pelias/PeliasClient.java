@@ -0,0 +1,820 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import edu.usf.cutr.pelias.cache.EmptyResultFilter;
+import edu.usf.cutr.pelias.cache.PeliasCache;
+import edu.usf.cutr.pelias.model.Geocoding;
+import edu.usf.cutr.pelias.model.Query;
+import edu.usf.cutr.pelias.processing.ResponseProcessor;
+import edu.usf.cutr.pelias.stream.Publisher;
+import edu.usf.cutr.pelias.util.StringPool;
+import org.geojson.Feature;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executes PeliasRequests.  A PeliasClient is immutable once built - it owns its own Jackson reader, transport, cache
+ * and executor, so several differently configured clients can be used side by side without sharing any global state.
+ * <p>
+ * PeliasRequest.call() uses the default client, which can be replaced via setDefault().
+ */
+public class PeliasClient {
+
+    /**
+     * A minimal response containing each element of a Pelias response, used to force Jackson to build all
+     * deserializers when the client is created rather than on the first call
+     */
+    private static final String WARM_UP_JSON = "{\"geocoding\":{\"version\":\"0.2\",\"attribution\":\"\"," +
+            "\"query\":{\"text\":\"\",\"size\":1,\"private\":false,\"focus.point.lat\":0,\"focus.point.lon\":0," +
+            "\"querySize\":1,\"sources\":[\"\"],\"tokens\":[\"\"],\"parsed_text\":{\"street\":\"\",\"state\":\"\"}}," +
+            "\"engine\":{\"name\":\"\",\"author\":\"\",\"version\":\"\"},\"timestamp\":0}," +
+            "\"type\":\"FeatureCollection\",\"features\":[{\"type\":\"Feature\",\"geometry\":{\"type\":\"Point\"," +
+            "\"coordinates\":[0.0,0.0]},\"properties\":{\"gid\":\"\",\"confidence\":1.0}}],\"bbox\":[0,0,0,0]}";
+
+    /**
+     * Aborts calls that pass their deadline, shared by all clients so a client that is replaced without being shut down
+     * can't leak a thread.  Its thread is only started when a deadline is scheduled, and exits once idle.
+     */
+    private static final ScheduledThreadPoolExecutor sWatchdog = newWatchdog();
+
+    private static volatile PeliasClient sDefault = new Builder().build();
+
+    private final ObjectReader mReader;
+    private final Transport mTransport;
+    private final PeliasCache mCache;
+    private final EmptyResultFilter mEmptyResultFilter;
+    private final ApiKeyPool mApiKeyPool;
+    private final ExecutorService mExecutor;
+    private final CallScheduler mScheduler;
+    private final List<ResponseProcessor> mProcessors;
+    private final CallListener mCallListener;
+    private final CallProfiler mCallProfiler;
+    private final int mConnectTimeoutMillis;
+    private final int mReadTimeoutMillis;
+    private final long mCallTimeoutMillis;
+
+    public static class Builder {
+        private boolean mFailOnUnknownProperties = false;
+        private Transport mTransport;
+        private PeliasCache mCache;
+        private EmptyResultFilter mEmptyResultFilter;
+        private ApiKeyPool mApiKeyPool;
+        private ExecutorService mExecutor;
+        private int mMaxConcurrentCalls;
+        private int mReservedInteractiveCalls = -1;
+        private StringPool mStringPool;
+        private CallListener mCallListener;
+        private CallProfiler mCallProfiler;
+        private long mConnectTimeoutMillis;
+        private long mReadTimeoutMillis;
+        private long mCallTimeoutMillis;
+        private final List<ResponseProcessor> mProcessors = new ArrayList<ResponseProcessor>();
+
+        /**
+         * Sets the Jackson value for "fail on unknown properties" for responses parsed by this client.  Default is
+         * false.
+         *
+         * @param value true if Jackson should fail on unknown properties, false of it should not (default is false)
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setFailOnUnknownProperties(boolean value) {
+            mFailOnUnknownProperties = value;
+            return this;
+        }
+
+        /**
+         * Sets the Transport used to fetch responses from the server.  By default a UrlConnectionTransport is used.
+         *
+         * @param transport the Transport used to fetch responses from the server
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setTransport(Transport transport) {
+            mTransport = transport;
+            return this;
+        }
+
+        /**
+         * Sets the cache consulted before, and populated after, each call.  By default responses are not cached.
+         *
+         * @param cache the cache consulted before, and populated after, each call
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setCache(PeliasCache cache) {
+            mCache = cache;
+            return this;
+        }
+
+        /**
+         * Sets a filter that remembers which requests returned no features.  Requests the filter reports as empty are
+         * answered with an empty response without contacting the server - note a small fraction of other requests may
+         * be too, at the filter's false positive rate.  Cached responses are returned before the filter is consulted.
+         * The empty response's geocoding block only has the query text and a timestamp.  By default empty results
+         * are not remembered.
+         *
+         * @param filter the filter that remembers which requests returned no features
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setEmptyResultFilter(EmptyResultFilter filter) {
+            mEmptyResultFilter = filter;
+            return this;
+        }
+
+        /**
+         * Sets the executor used for asynchronous calls made via submit() and submitAll().  By default
+         * PeliasExecutors.newDefaultExecutor() is used, which runs calls on virtual threads on Java 21 and higher, and
+         * on an unbounded pool of daemon threads otherwise.
+         *
+         * @param executor the executor used for asynchronous calls made via submit() and submitAll()
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setExecutor(ExecutorService executor) {
+            mExecutor = executor;
+            return this;
+        }
+
+        /**
+         * Limits the number of calls this client runs at once.  Calls over the limit wait in a queue per
+         * PeliasRequest.Priority, and waiting INTERACTIVE calls (e.g., autocomplete) start ahead of waiting BATCH
+         * calls, so a bulk job can't make users wait behind it.  Synchronous calls wait on the calling thread, and
+         * count their wait towards their deadline.  By default there is no limit, and calls start in the order they
+         * are made.
+         *
+         * @param maxCalls the maximum number of calls running at once, or 0 for no limit
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setMaxConcurrentCalls(int maxCalls) {
+            if (maxCalls < 0) {
+                throw new IllegalArgumentException("maxCalls must not be negative");
+            }
+            mMaxConcurrentCalls = maxCalls;
+            return this;
+        }
+
+        /**
+         * Sets how many of the calls allowed by setMaxConcurrentCalls() only INTERACTIVE calls may use, so they start
+         * immediately even while BATCH calls use all the others.  Must be less than the maximum.  Default is a quarter
+         * of the maximum.
+         *
+         * @param reservedCalls the number of calls reserved for INTERACTIVE requests
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setReservedInteractiveCalls(int reservedCalls) {
+            if (reservedCalls < 0) {
+                throw new IllegalArgumentException("reservedCalls must not be negative");
+            }
+            mReservedInteractiveCalls = reservedCalls;
+            return this;
+        }
+
+        /**
+         * Sets the maximum time to wait for a connection to the server.  By default there is no connect timeout.
+         *
+         * @param timeout the maximum time to wait for a connection, or 0 for no timeout
+         * @param unit    the unit of the timeout
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setConnectTimeout(long timeout, TimeUnit unit) {
+            mConnectTimeoutMillis = unit.toMillis(timeout);
+            return this;
+        }
+
+        /**
+         * Sets the maximum time to wait for the first byte of the response, and between subsequent reads of the
+         * response.  By default there is no read timeout.
+         *
+         * @param timeout the maximum time to wait for the first byte and between reads, or 0 for no timeout
+         * @param unit    the unit of the timeout
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setReadTimeout(long timeout, TimeUnit unit) {
+            mReadTimeoutMillis = unit.toMillis(timeout);
+            return this;
+        }
+
+        /**
+         * Sets the maximum total time of each call, covering connecting, waiting for the response and reading and
+         * parsing it.  When the deadline passes the connection is aborted and the call fails with a
+         * java.net.SocketTimeoutException.  A request's own timeout (PeliasRequest.Builder.setTimeout()) applies if it
+         * is shorter.  By default there is no call timeout.
+         *
+         * @param timeout the maximum total time of each call, or 0 for no timeout
+         * @param unit    the unit of the timeout
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setCallTimeout(long timeout, TimeUnit unit) {
+            mCallTimeoutMillis = unit.toMillis(timeout);
+            return this;
+        }
+
+        /**
+         * Sets a pool of canonical strings used while parsing responses.  Values of the low-cardinality feature
+         * properties accepted by the pool are replaced with the pooled instance, so long-lived responses share them.
+         * By default strings are not pooled.
+         *
+         * @param stringPool the pool of canonical strings used while parsing responses
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setStringPool(StringPool stringPool) {
+            mStringPool = stringPool;
+            return this;
+        }
+
+        /**
+         * Sets a pool of API keys whose quotas are shared by this client's calls.  Each call uses the pooled key with
+         * the most remaining budget in place of the key its request was built with.  By default requests use their
+         * own key.
+         *
+         * @param pool the pool of API keys used by this client's calls
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setApiKeyPool(ApiKeyPool pool) {
+            mApiKeyPool = pool;
+            return this;
+        }
+
+        /**
+         * Sets a listener notified of the phases of each call, with timestamps, for debugging individual slow calls.
+         * By default there is no listener, and no timestamps are taken.
+         *
+         * @param listener the listener notified of the phases of each call
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setCallListener(CallListener listener) {
+            mCallListener = listener;
+            return this;
+        }
+
+        /**
+         * Sets a profiler that records the CPU time and bytes allocated by each call, per phase and request type.  By
+         * default there is no profiler, and no counters are read.
+         *
+         * @param profiler the profiler that records the CPU time and bytes allocated by each call
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setCallProfiler(CallProfiler profiler) {
+            mCallProfiler = profiler;
+            return this;
+        }
+
+        /**
+         * Adds a post-processing stage (e.g., a FeatureDeduplicator) applied to each response after it is parsed.
+         * Stages are applied in the order they are added, and cached responses have already been processed.
+         *
+         * @param processor the post-processing stage to add
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder addProcessor(ResponseProcessor processor) {
+            mProcessors.add(processor);
+            return this;
+        }
+
+        /**
+         * Builds the PeliasClient using the specified parameters
+         *
+         * @return the PeliasClient using the specified parameters
+         */
+        public PeliasClient build() {
+            return new PeliasClient(this);
+        }
+    }
+
+    /**
+     * A call submitted to the executor, which aborts its connection when cancelled
+     */
+    static class CallTask extends FutureTask<PeliasResponse> {
+        private final CallContext mContext;
+        private volatile boolean mStarted;
+
+        CallTask(Callable<PeliasResponse> call, CallContext context) {
+            super(call);
+            mContext = context;
+        }
+
+        @Override
+        public void run() {
+            mStarted = true;
+            super.run();
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+                mContext.cancel();
+            }
+            return cancelled;
+        }
+
+        /**
+         * Returns true if the call has left the queue, and is running or done
+         *
+         * @return true if the call is running or done
+         */
+        boolean isStarted() {
+            return mStarted || isDone();
+        }
+    }
+
+    private PeliasClient(Builder builder) {
+        ObjectMapper mapper = new ObjectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, builder.mFailOnUnknownProperties);
+        if (builder.mStringPool != null) {
+            SimpleModule module = new SimpleModule("PeliasStringPool");
+            module.addDeserializer(String.class, new PooledStringDeserializer(builder.mStringPool));
+            mapper.registerModule(module);
+        }
+        mReader = mapper.readerFor(PeliasResponse.class);
+        try {
+            mReader.readValue(WARM_UP_JSON);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to initialize the PeliasResponse deserializer", e);
+        }
+        mTransport = builder.mTransport != null ? builder.mTransport : new UrlConnectionTransport();
+        mCache = builder.mCache;
+        mEmptyResultFilter = builder.mEmptyResultFilter;
+        mApiKeyPool = builder.mApiKeyPool;
+        mCallListener = builder.mCallListener;
+        mCallProfiler = builder.mCallProfiler;
+        mProcessors = Collections.unmodifiableList(new ArrayList<ResponseProcessor>(builder.mProcessors));
+        mExecutor = builder.mExecutor != null ? builder.mExecutor : PeliasExecutors.newDefaultExecutor();
+        if (builder.mMaxConcurrentCalls > 0) {
+            int reserved = builder.mReservedInteractiveCalls >= 0 ? builder.mReservedInteractiveCalls
+                    : builder.mMaxConcurrentCalls / 4;
+            if (reserved >= builder.mMaxConcurrentCalls) {
+                throw new IllegalArgumentException("Reserved interactive calls must be less than the maximum calls");
+            }
+            mScheduler = new CallScheduler(builder.mMaxConcurrentCalls, reserved);
+        } else {
+            mScheduler = null;
+        }
+        mConnectTimeoutMillis = toIntMillis(builder.mConnectTimeoutMillis);
+        mReadTimeoutMillis = toIntMillis(builder.mReadTimeoutMillis);
+        mCallTimeoutMillis = builder.mCallTimeoutMillis;
+    }
+
+    private static ScheduledThreadPoolExecutor newWatchdog() {
+        ScheduledThreadPoolExecutor watchdog = new ScheduledThreadPoolExecutor(1, new DaemonThreadFactory());
+        watchdog.setRemoveOnCancelPolicy(true);
+        watchdog.setKeepAliveTime(1, TimeUnit.SECONDS);
+        watchdog.allowCoreThreadTimeOut(true);
+        return watchdog;
+    }
+
+    /**
+     * Returns the client used by PeliasRequest.call()
+     *
+     * @return the client used by PeliasRequest.call()
+     */
+    public static PeliasClient getDefault() {
+        return sDefault;
+    }
+
+    /**
+     * Replaces the client used by PeliasRequest.call().  Calls already in progress continue to use the previous client.
+     *
+     * @param client the client to be used by PeliasRequest.call()
+     */
+    public static void setDefault(PeliasClient client) {
+        if (client == null) {
+            throw new IllegalArgumentException("client must not be null");
+        }
+        sDefault = client;
+    }
+
+    /**
+     * Makes the request to the Pelias API, and returns a PeliasResponse parsed from the returned JSON.  If this client
+     * has a cache, the cached response is returned when available.
+     *
+     * @param request the request to make
+     * @return a PeliasResponse parsed from the returned JSON
+     * @throws IOException if there is an exception making the request or reading the response from the server,
+     *                     including a java.net.SocketTimeoutException if a timeout or deadline expires
+     */
+    public PeliasResponse call(PeliasRequest request) throws IOException {
+        CallContext context = newContext(request);
+        acquire(request, context);
+        try {
+            return execute(request, context);
+        } finally {
+            release(request);
+        }
+    }
+
+    /**
+     * Makes the request to the Pelias API and fills the holder in place with the response, for loops that make many
+     * calls and only need a few fields of each response.  Reusing the holder avoids allocating a PeliasResponse and
+     * its features on every call.  This client's cache and processors are not applied, and unknown properties are
+     * always ignored.
+     *
+     * @param request the request to make
+     * @param holder  the holder to fill with the response, replacing its previous contents, which are undefined if
+     *                the call fails
+     * @throws IOException if there is an exception making the request or reading the response from the server,
+     *                     including a java.net.SocketTimeoutException if a timeout or deadline expires
+     */
+    public void call(PeliasRequest request, ResponseHolder holder) throws IOException {
+        CallContext context = newContext(request);
+        acquire(request, context);
+        try {
+            context.start();
+            ScheduledFuture<?> watchdog = watch(context);
+            try {
+                JsonParser parser = mReader.getFactory().createParser(open(request, context));
+                try {
+                    holder.read(parser);
+                } finally {
+                    // Also closes the response stream
+                    parser.close();
+                }
+                context.parseComplete();
+                context.end();
+            } catch (IOException e) {
+                context.failed(e);
+                throw e;
+            } finally {
+                if (watchdog != null) {
+                    watchdog.cancel(false);
+                }
+            }
+        } finally {
+            release(request);
+        }
+    }
+
+    /**
+     * Makes the request to the Pelias API asynchronously on this client's executor.  Cancelling the returned Future
+     * aborts the connection, so the executing thread is freed promptly even if it is blocked connecting or reading the
+     * response.  Deadlines are measured from when the request is submitted.
+     *
+     * @param request the request to make
+     * @return a Future that completes with the PeliasResponse, or with the IOException thrown by call()
+     */
+    public Future<PeliasResponse> submit(PeliasRequest request) {
+        return submitCall(request);
+    }
+
+    /**
+     * Makes the request asynchronously - see submit()
+     *
+     * @param request the request to make
+     * @return the submitted call
+     */
+    CallTask submitCall(final PeliasRequest request) {
+        final CallContext context = newContext(request);
+        CallTask task = new CallTask(new Callable<PeliasResponse>() {
+            @Override
+            public PeliasResponse call() throws IOException {
+                return execute(request, context);
+            }
+        }, context);
+        schedule(request, task);
+        return task;
+    }
+
+    /**
+     * Makes the requests to the Pelias API concurrently on this client's executor
+     *
+     * @param requests the requests to make
+     * @return a Future for each request, in the same order as the requests
+     */
+    public List<Future<PeliasResponse>> submitAll(Collection<? extends PeliasRequest> requests) {
+        List<Future<PeliasResponse>> futures = new ArrayList<Future<PeliasResponse>>(requests.size());
+        for (PeliasRequest request : requests) {
+            futures.add(submit(request));
+        }
+        return futures;
+    }
+
+    /**
+     * Prepares this client for its first calls, e.g. when a serverless function or a freshly started JVM initializes.
+     * Jackson deserializers are already built when the client is created, so this makes each request concurrently on
+     * this client's executor - resolving the host, connecting and completing any TLS handshake now, leaving the
+     * connections in the transport's keep-alive pool, and running the parsing and processing code once.  Responses are
+     * not cached, and failed requests are ignored.
+     *
+     * @param requests representative requests to the servers this client will call - the number of requests to the
+     *                 same server is the number of connections primed to it
+     * @return the number of requests that succeeded
+     */
+    public int warmUp(PeliasRequest... requests) {
+        List<Future<PeliasResponse>> futures = new ArrayList<Future<PeliasResponse>>(requests.length);
+        for (final PeliasRequest request : requests) {
+            FutureTask<PeliasResponse> task = new FutureTask<PeliasResponse>(new Callable<PeliasResponse>() {
+                @Override
+                public PeliasResponse call() throws IOException {
+                    // Not reported to the listener, as these aren't calls the application made
+                    return fetch(request, newContext(request, null, null));
+                }
+            });
+            schedule(request, task);
+            futures.add(task);
+        }
+        int succeeded = 0;
+        for (Future<PeliasResponse> future : futures) {
+            try {
+                future.get();
+                succeeded++;
+            } catch (ExecutionException e) {
+                // Warming up is best effort - the first real call will report the failure
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return succeeded;
+    }
+
+    /**
+     * Returns a cold Publisher of the features of the given requests.  Each Subscriber gets its own stream, in which
+     * the requests are made one after another on this client's executor and their features are emitted in order as
+     * they are parsed.  A response is only read as fast as the Subscriber requests features, so a slow Subscriber
+     * throttles network reads rather than buffering results, and the next request isn't made until there is demand
+     * for its features.
+     * <p>
+     * Features are emitted before their response is complete, so this client's cache and processors are not applied.
+     * Deadlines cover the whole of each response, including time spent waiting for demand, and each call counts
+     * towards this client's concurrency limit until its response is complete.
+     *
+     * @param requests the requests whose features are published
+     * @return a Publisher of the features of the given requests
+     */
+    public Publisher<Feature> publishFeatures(List<? extends PeliasRequest> requests) {
+        return new FeaturePublisher(this, requests);
+    }
+
+    /**
+     * Returns a cold Publisher of the features of the given requests - see publishFeatures(List)
+     *
+     * @param requests the requests whose features are published
+     * @return a Publisher of the features of the given requests
+     */
+    public Publisher<Feature> publishFeatures(PeliasRequest... requests) {
+        return publishFeatures(Arrays.asList(requests));
+    }
+
+    CallContext newContext(PeliasRequest request) {
+        return newContext(request, mCallListener, mCallProfiler);
+    }
+
+    private CallContext newContext(PeliasRequest request, CallListener listener, CallProfiler profiler) {
+        long timeoutMillis = shortest(mCallTimeoutMillis, request.getTimeoutMillis());
+        // Connecting and waiting for the first byte can't take longer than the whole call
+        return new CallContext(request, listener, profiler,
+                toIntMillis(shortest(mConnectTimeoutMillis, timeoutMillis)),
+                toIntMillis(shortest(mReadTimeoutMillis, timeoutMillis)), timeoutMillis);
+    }
+
+    /**
+     * Schedules the call to be aborted when its deadline passes
+     *
+     * @param context the state of the call
+     * @return the scheduled abort, to be cancelled when the call finishes, or null if the call has no deadline
+     */
+    ScheduledFuture<?> watch(final CallContext context) {
+        if (context.getDeadlineNanos() == Long.MAX_VALUE) {
+            return null;
+        }
+        return sWatchdog.schedule(new Runnable() {
+            @Override
+            public void run() {
+                context.timeout();
+            }
+        }, context.getDeadlineNanos() - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Blocks the calling thread until this client's concurrency limit lets the call start.  The caller must call
+     * release() when the call finishes.
+     *
+     * @param request the request to make
+     * @param context the state of the call, whose deadline ends the wait
+     * @throws IOException if the call passes its deadline while waiting, or the thread is interrupted
+     */
+    void acquire(PeliasRequest request, CallContext context) throws IOException {
+        if (mScheduler != null) {
+            mScheduler.acquire(request.getPriority(), context);
+        }
+    }
+
+    /**
+     * Frees the concurrency taken by acquire() for a finished call
+     *
+     * @param request the request that was made
+     */
+    void release(PeliasRequest request) {
+        if (mScheduler != null) {
+            mScheduler.release(request.getPriority());
+        }
+    }
+
+    /**
+     * Runs the call on this client's executor, once this client's concurrency limit lets it start
+     *
+     * @param request the request to make
+     * @param task    the call
+     */
+    private void schedule(PeliasRequest request, FutureTask<?> task) {
+        if (mScheduler == null) {
+            mExecutor.execute(task);
+        } else {
+            mScheduler.submit(request.getPriority(), task, mExecutor);
+        }
+    }
+
+    /**
+     * Opens the response body for the request via this client's transport
+     *
+     * @param request the request to make
+     * @param context the state of the call
+     * @return the response body, which fails reads once the call is aborted
+     * @throws IOException if there is an exception making the request, or the call has been aborted
+     */
+    InputStream open(PeliasRequest request, CallContext context) throws IOException {
+        context.checkAborted();
+        context.enter(CallProfiler.Phase.READ);
+        try {
+            return new CallStream(openWithKey(request, context), context);
+        } catch (IOException e) {
+            // Report why the call was aborted rather than the socket exception caused by aborting it
+            throw context.getAbortReason() != null ? context.getAbortReason() : e;
+        } finally {
+            context.enter(CallProfiler.Phase.PARSE);
+        }
+    }
+
+    private InputStream openWithKey(PeliasRequest request, CallContext context) throws IOException {
+        if (mApiKeyPool == null) {
+            return mTransport.open(request.getUrl(), context);
+        }
+        // A key the server rejects is taken out of rotation, and the request retried with another key
+        for (int attempt = 1; ; attempt++) {
+            String apiKey = mApiKeyPool.acquire(context);
+            try {
+                return mTransport.open(ApiKeyPool.withApiKey(request.getUrl(), apiKey), context);
+            } catch (HttpStatusException e) {
+                if (!mApiKeyPool.reject(apiKey, e) || attempt >= mApiKeyPool.size()) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private PeliasResponse execute(PeliasRequest request, CallContext context) throws IOException {
+        context.start();
+        try {
+            PeliasResponse response = executeOrCache(request, context);
+            context.end();
+            return response;
+        } catch (IOException e) {
+            context.failed(e);
+            throw e;
+        }
+    }
+
+    private PeliasResponse executeOrCache(PeliasRequest request, CallContext context) throws IOException {
+        String key = request.getUrl().toString();
+        if (mCache != null) {
+            PeliasResponse cached = mCache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        // Only consulted on a cache miss, so a false positive can't hide a cached response
+        if (mEmptyResultFilter != null && mEmptyResultFilter.mightBeEmpty(key)) {
+            return emptyResponse(request);
+        }
+        PeliasResponse response = fetch(request, context);
+        if (mEmptyResultFilter != null && (response.getFeatures() == null || response.getFeatures().length == 0)) {
+            mEmptyResultFilter.put(key);
+        }
+        if (mCache != null) {
+            mCache.put(key, response);
+        }
+        return response;
+    }
+
+    /**
+     * Makes the request and parses and processes the response, bypassing the cache
+     */
+    private PeliasResponse fetch(PeliasRequest request, CallContext context) throws IOException {
+        ScheduledFuture<?> watchdog = watch(context);
+        PeliasResponse response;
+        try {
+            InputStream in = open(request, context);
+            try {
+                response = mReader.readValue(in);
+            } finally {
+                in.close();
+            }
+            context.parseComplete();
+        } finally {
+            if (watchdog != null) {
+                watchdog.cancel(false);
+            }
+        }
+        for (ResponseProcessor processor : mProcessors) {
+            response = processor.process(response);
+        }
+        return response;
+    }
+
+    /**
+     * Returns the response for a request the empty result filter answers, with the geocoding block of a real empty
+     * response reduced to the query text and a timestamp
+     */
+    private static PeliasResponse emptyResponse(PeliasRequest request) {
+        Query query = new Query();
+        query.setText(request.getText());
+        Geocoding geocoding = new Geocoding();
+        geocoding.setQuery(query);
+        geocoding.setTimestamp(System.currentTimeMillis());
+        PeliasResponse response = new PeliasResponse();
+        response.setGeocoding(geocoding);
+        response.setType("FeatureCollection");
+        response.setFeatures(new Feature[0]);
+        return response;
+    }
+
+    /**
+     * Returns the shorter of two timeouts, where 0 means no timeout
+     */
+    private static long shortest(long a, long b) {
+        if (a <= 0) {
+            return Math.max(b, 0);
+        }
+        return b <= 0 ? a : Math.min(a, b);
+    }
+
+    private static int toIntMillis(long millis) {
+        return (int) Math.min(Math.max(millis, 0), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Shuts down this client's executor.  Synchronous calls can still be made after shutdown.
+     */
+    public void shutdown() {
+        mExecutor.shutdown();
+    }
+
+    /**
+     * Returns the Jackson reader used to parse responses
+     *
+     * @return the Jackson reader used to parse responses
+     */
+    ObjectReader getReader() {
+        return mReader;
+    }
+
+    Transport getTransport() {
+        return mTransport;
+    }
+
+    PeliasCache getCache() {
+        return mCache;
+    }
+
+    ExecutorService getExecutor() {
+        return mExecutor;
+    }
+
+    /**
+     * Returns the single thread executor, shared by all clients, that times calls out, for scheduling short tasks
+     */
+    ScheduledExecutorService getScheduler() {
+        return sWatchdog;
+    }
+}
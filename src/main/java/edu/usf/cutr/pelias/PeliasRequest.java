@@ -15,27 +15,46 @@
  */
 package edu.usf.cutr.pelias;
 
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.ObjectReader;
-
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.net.URLDecoder;
 import java.net.URLEncoder;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Encapsulates common elements of requests across multiple Mapzen Pelias APIs (e.g., Search, Autocomplete)
  */
 public class PeliasRequest {
-    private static ObjectMapper mMapper = new ObjectMapper()
-            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-    private static ObjectReader mReader = mMapper.readerFor(PeliasResponse.class);
+
+    /**
+     * The number of results Pelias returns when the request doesn't set a size
+     */
+    static final int DEFAULT_SIZE = 10;
 
     private URL mUrl;
+    private long mTimeoutMillis;
+    private Priority mPriority = Priority.BATCH;
+
+    /**
+     * The scheduling class of a request, used by a PeliasClient with a concurrency limit to decide which waiting call
+     * runs next
+     */
+    public enum Priority {
+        /**
+         * A request a user is waiting for, e.g. autocomplete while typing.  Runs ahead of waiting batch requests, and
+         * may use concurrency reserved for interactive requests.
+         */
+        INTERACTIVE,
+        /**
+         * A background request, e.g. a bulk geocoding job
+         */
+        BATCH
+    }
 
     public static class Builder {
         String mApiEndPoint;
+        Priority mPriority = Priority.BATCH;
         private String mApiKey;
         private String mText;
         private String mSources;
@@ -47,6 +66,7 @@ public class PeliasRequest {
         private Double mBoundaryMaxLon;
         private Integer mSize;
         private String mCategories;
+        private long mTimeoutMillis;
 
         /**
          * A Builder for making a request to the Pelias Search API
@@ -86,7 +106,7 @@ public class PeliasRequest {
          * @param sources the source to search.  Valid values as of Sept. 2016 are osm, oa, wof, and gn (see above).
          * @return this same Builder so Builder calls can be chained
          */
-        Builder setSources(String sources) {
+        public Builder setSources(String sources) {
             mSources = sources;
             return this;
         }
@@ -163,6 +183,45 @@ public class PeliasRequest {
             return this;
         }
 
+        /**
+         * Sets the maximum total time the request may take, covering connecting, waiting for the response and reading
+         * and parsing it.  If the PeliasClient executing the request also has a call timeout, the shorter of the two
+         * applies.  By default the request has no timeout of its own.
+         *
+         * @param timeout the maximum total time the request may take, or 0 for no timeout
+         * @param unit    the unit of the timeout
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setTimeout(long timeout, TimeUnit unit) {
+            mTimeoutMillis = unit.toMillis(timeout);
+            return this;
+        }
+
+        /**
+         * Sets the scheduling class of the request, which only matters when it is executed by a PeliasClient with a
+         * concurrency limit (see PeliasClient.Builder.setMaxConcurrentCalls()).  Autocomplete requests are INTERACTIVE
+         * by default, and other requests are BATCH - set INTERACTIVE for searches a user is waiting for.
+         *
+         * @param priority the scheduling class of the request
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setPriority(Priority priority) {
+            if (priority == null) {
+                throw new IllegalArgumentException("priority must not be null");
+            }
+            mPriority = priority;
+            return this;
+        }
+
+        /**
+         * Returns the number of results that will be requested from the API
+         *
+         * @return the number of results that will be requested from the API
+         */
+        int getSize() {
+            return mSize != null ? mSize : DEFAULT_SIZE;
+        }
+
         /**
          * Builds the PeliasRequest using the specified parameters
          *
@@ -209,7 +268,10 @@ public class PeliasRequest {
                 builder.append(mCategories);
             }
 
-            return new PeliasRequest(builder.toString());
+            PeliasRequest request = new PeliasRequest(builder.toString());
+            request.mTimeoutMillis = mTimeoutMillis;
+            request.mPriority = mPriority;
+            return request;
         }
     }
 
@@ -221,6 +283,15 @@ public class PeliasRequest {
         }
     }
 
+    /**
+     * For requests built by a Builder of their own, e.g. PlaceRequest.Builder
+     */
+    PeliasRequest(String url, long timeoutMillis, Priority priority) {
+        this(url);
+        mTimeoutMillis = timeoutMillis;
+        mPriority = priority;
+    }
+
     /**
      * Returns the URL that will be used in the API request
      *
@@ -231,24 +302,121 @@ public class PeliasRequest {
     }
 
     /**
-     * Makes the request to the Pelias Search API, and returns a PeliasResponse parsed from the returned JSON
+     * Returns the decoded text the request searches for
+     *
+     * @return the decoded text the request searches for, or null if it has none
+     */
+    String getText() {
+        String text = getParameter(mUrl, "text");
+        if (text == null) {
+            return null;
+        }
+        try {
+            return URLDecoder.decode(text, "UTF-8");
+        } catch (java.io.UnsupportedEncodingException e) {
+            return text;
+        }
+    }
+
+    /**
+     * Returns a BATCH copy of this request for different text, identical otherwise - including its URL, and so its
+     * cache key, which is the URL the Builder would make for that text
+     *
+     * @param text the text to search for
+     * @return a copy of this request for the text
+     * @throws IOException if the text can't be encoded
+     */
+    PeliasRequest withText(String text) throws IOException {
+        PeliasRequest request = new PeliasRequest(withParameter(mUrl, "text", URLEncoder.encode(text, "UTF-8"))
+                .toString());
+        request.mTimeoutMillis = mTimeoutMillis;
+        return request;
+    }
+
+    /**
+     * Returns the raw value of a query parameter of the URL
+     *
+     * @param url  the URL
+     * @param name the name of the parameter
+     * @return the raw value of the parameter, or null if the URL doesn't have it
+     */
+    static String getParameter(URL url, String name) {
+        String s = url.toString();
+        int start = indexOfParameter(s, name);
+        if (start < 0) {
+            return null;
+        }
+        start += name.length() + 2;
+        int end = s.indexOf('&', start);
+        return s.substring(start, end < 0 ? s.length() : end);
+    }
+
+    /**
+     * Returns the URL with a query parameter replaced, or added if it has none
+     *
+     * @param url   the URL
+     * @param name  the name of the parameter
+     * @param value the raw value of the parameter
+     * @return the URL with the parameter
+     * @throws MalformedURLException if the resulting URL is invalid
+     */
+    static URL withParameter(URL url, String name, String value) throws MalformedURLException {
+        String s = url.toString();
+        int start = indexOfParameter(s, name);
+        if (start < 0) {
+            return new URL(s + (s.indexOf('?') < 0 ? "?" : "&") + name + "=" + value);
+        }
+        start += name.length() + 2;
+        int end = s.indexOf('&', start);
+        return new URL(s.substring(0, start) + value + (end < 0 ? "" : s.substring(end)));
+    }
+
+    /**
+     * Returns the index of the '?' or '&' before the parameter, or -1 if the URL doesn't have it
+     */
+    private static int indexOfParameter(String url, String name) {
+        int index = url.indexOf('?' + name + '=');
+        return index >= 0 ? index : url.indexOf('&' + name + '=');
+    }
+
+    /**
+     * Returns the maximum total time the request may take
+     *
+     * @return the maximum total time the request may take in milliseconds, or 0 for no timeout
+     */
+    long getTimeoutMillis() {
+        return mTimeoutMillis;
+    }
+
+    /**
+     * Returns the scheduling class of the request
+     *
+     * @return the scheduling class of the request
+     */
+    Priority getPriority() {
+        return mPriority;
+    }
+
+    /**
+     * Makes the request to the Pelias Search API using the default PeliasClient, and returns a PeliasResponse parsed
+     * from the returned JSON
      *
      * @return a PeliasResponse parsed from the returned JSON
      * @throws IOException if there is an exception making the request or reading the response from the server
      */
     public PeliasResponse call() throws IOException {
-        return mReader.readValue(mUrl.openStream());
+        return PeliasClient.getDefault().call(this);
     }
 
     /**
-     * Sets the Jackson value for "fail on unknown properties" for all PeliasRequest instances.  Note that while this
-     * method is threadsafe, it does not guarantee that existing instances of PeliasRequest using the ObjectReader won't
-     * be negatively impacted / interrupted.  Default is false.
+     * Sets the Jackson value for "fail on unknown properties" for all PeliasRequest instances executed via call(), by
+     * replacing the default PeliasClient.  Calls already in progress are not affected.  Default is false.
      *
      * @param value true if Jackson should fail on unknown properties, false of it should not (default is false)
+     * @deprecated build a PeliasClient using PeliasClient.Builder.setFailOnUnknownProperties() instead
      */
-    public synchronized static void setFailOnUnknownProperties(boolean value) {
-        mMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, value);
-        mReader = mMapper.readerFor(PeliasResponse.class);
+    @Deprecated
+    public static void setFailOnUnknownProperties(boolean value) {
+        PeliasClient.setDefault(new PeliasClient.Builder().setFailOnUnknownProperties(value).build());
     }
 }
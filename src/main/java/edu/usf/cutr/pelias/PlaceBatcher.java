@@ -0,0 +1,286 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias;
+
+import edu.usf.cutr.pelias.util.FeatureUtils;
+import org.geojson.Feature;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looks up places by gid, collecting the lookups made by concurrent threads within a short window into a single
+ * PlaceRequest for all of their ids, and handing each thread the feature for its own id.  A batch is sent when its
+ * window ends or it reaches its maximum size, whichever is first.  Concurrent lookups of the same id share one id in
+ * the request.
+ * <p>
+ * A lookup waits up to the window for other lookups to join its batch, so batching only pays off when lookups are
+ * concurrent - a single thread looking places up one after another should build PlaceRequests of several ids itself.
+ */
+public class PlaceBatcher {
+
+    private static final long DEFAULT_WINDOW_MILLIS = 5;
+    private static final int DEFAULT_MAX_BATCH_SIZE = 20;
+
+    private final PeliasClient mClient;
+    private final String mApiKey;
+    private final String mApiEndPoint;
+    private final long mWindowMillis;
+    private final int mMaxBatchSize;
+    private final long mTimeoutMillis;
+    // The batch lookups are currently joining, or null if there is none
+    private Batch mBatch;
+    private long mRequestCount;
+
+    public static class Builder {
+        private final PeliasClient mClient;
+        private final String mApiKey;
+        private String mApiEndPoint;
+        private long mWindowMillis = DEFAULT_WINDOW_MILLIS;
+        private int mMaxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+        private long mTimeoutMillis;
+
+        /**
+         * A Builder for a batcher that makes its requests via the client
+         *
+         * @param client the client that makes the requests
+         * @param apiKey the API key to be used in the requests
+         */
+        public Builder(PeliasClient client, String apiKey) {
+            mClient = client;
+            mApiKey = apiKey;
+        }
+
+        /**
+         * Sets how long a batch collects lookups before it is sent (default is 5 ms)
+         *
+         * @param window how long a batch collects lookups
+         * @param unit   the unit of the window
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setWindow(long window, TimeUnit unit) {
+            if (window < 0) {
+                throw new IllegalArgumentException("window must not be negative");
+            }
+            mWindowMillis = unit.toMillis(window);
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of ids in each request (default is 20).  A batch is sent as soon as it is full.
+         *
+         * @param maxBatchSize the maximum number of ids in each request
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setMaxBatchSize(int maxBatchSize) {
+            if (maxBatchSize <= 0) {
+                throw new IllegalArgumentException("maxBatchSize must be positive");
+            }
+            mMaxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * Sets the API endpoint that will be used for the requests (see PlaceRequest.Builder.setApiEndpoint())
+         *
+         * @param apiEndpoint the API endpoint to be used for the requests
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setApiEndpoint(String apiEndpoint) {
+            mApiEndPoint = apiEndpoint;
+            return this;
+        }
+
+        /**
+         * Sets the maximum total time each request may take (see PeliasRequest.Builder.setTimeout()).  A lookup waits
+         * at most the window plus the timeout for its batch's response.
+         *
+         * @param timeout the maximum total time each request may take, or 0 for no timeout
+         * @param unit    the unit of the timeout
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setTimeout(long timeout, TimeUnit unit) {
+            mTimeoutMillis = unit.toMillis(timeout);
+            return this;
+        }
+
+        /**
+         * Builds the PlaceBatcher using the specified parameters
+         *
+         * @return the PlaceBatcher using the specified parameters
+         */
+        public PlaceBatcher build() {
+            return new PlaceBatcher(this);
+        }
+    }
+
+    private PlaceBatcher(Builder builder) {
+        mClient = builder.mClient;
+        mApiKey = builder.mApiKey;
+        mApiEndPoint = builder.mApiEndPoint;
+        mWindowMillis = builder.mWindowMillis;
+        mMaxBatchSize = builder.mMaxBatchSize;
+        mTimeoutMillis = builder.mTimeoutMillis;
+    }
+
+    /**
+     * The ids collected for one request, and once it is sent, its features
+     */
+    private class Batch implements Runnable {
+        private final Set<String> mIds = new LinkedHashSet<String>();
+        private final CountDownLatch mDone = new CountDownLatch(1);
+        private ScheduledFuture<?> mScheduled;
+        private Map<String, Feature> mFeatures;
+        private IOException mFailure;
+
+        /**
+         * Sends the request and hands out its features
+         */
+        @Override
+        public void run() {
+            PlaceRequest.Builder builder = new PlaceRequest.Builder(mApiKey, mIds.toArray(new String[0]))
+                    .setTimeout(mTimeoutMillis, TimeUnit.MILLISECONDS);
+            if (mApiEndPoint != null) {
+                builder.setApiEndpoint(mApiEndPoint);
+            }
+            try {
+                PeliasResponse response = mClient.call(builder.build());
+                Map<String, Feature> features = new HashMap<String, Feature>();
+                if (response.getFeatures() != null) {
+                    for (Feature feature : response.getFeatures()) {
+                        String gid = FeatureUtils.getString(feature, "gid");
+                        if (gid != null) {
+                            features.put(gid, feature);
+                        }
+                    }
+                }
+                mFeatures = features;
+            } catch (IOException e) {
+                mFailure = e;
+            } catch (RuntimeException e) {
+                mFailure = new IOException("Place lookup failed", e);
+            } finally {
+                mDone.countDown();
+            }
+        }
+
+        /**
+         * Fails the lookups of a batch that couldn't be sent
+         */
+        void fail(IOException failure) {
+            mFailure = failure;
+            mDone.countDown();
+        }
+
+        Feature await(String id) throws IOException {
+            try {
+                if (mTimeoutMillis == 0) {
+                    mDone.await();
+                } else if (!mDone.await(mWindowMillis + mTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                    throw new SocketTimeoutException("Timed out waiting for a place lookup");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted waiting for a place lookup");
+            }
+            if (mFailure != null) {
+                throw mFailure;
+            }
+            return mFeatures.get(id);
+        }
+    }
+
+    /**
+     * Looks up a place, in a request shared with the lookups of other threads made within the window
+     *
+     * @param id the gid of the place, e.g. openstreetmap:venue:node:2357470967
+     * @return the feature of the place, or null if the server has no place with the gid
+     * @throws IOException if there is an exception making the shared request or reading the response from the server
+     */
+    public Feature lookup(String id) throws IOException {
+        if (id == null || id.isEmpty()) {
+            throw new IllegalArgumentException("id must not be empty");
+        }
+        final Batch batch;
+        boolean full = false;
+        synchronized (this) {
+            if (mBatch == null) {
+                mBatch = new Batch();
+                mRequestCount++;
+                if (mMaxBatchSize > 1) {
+                    final Batch scheduled = mBatch;
+                    mBatch.mScheduled = mClient.getScheduler().schedule(new Runnable() {
+                        @Override
+                        public void run() {
+                            if (close(scheduled)) {
+                                try {
+                                    // The scheduler only runs short tasks
+                                    mClient.getExecutor().execute(scheduled);
+                                } catch (RejectedExecutionException e) {
+                                    scheduled.fail(new IOException("The client has been shut down", e));
+                                }
+                            }
+                        }
+                    }, mWindowMillis, TimeUnit.MILLISECONDS);
+                }
+            }
+            batch = mBatch;
+            batch.mIds.add(id);
+            if (batch.mIds.size() >= mMaxBatchSize) {
+                full = close(batch);
+            }
+        }
+        if (full) {
+            // The lookup that fills a batch sends it, rather than waiting for the window
+            if (batch.mScheduled != null) {
+                batch.mScheduled.cancel(false);
+            }
+            batch.run();
+        }
+        return batch.await(id);
+    }
+
+    /**
+     * Stops the batch collecting lookups
+     *
+     * @return true if the batch was collecting lookups, false if it had already been closed
+     */
+    private synchronized boolean close(Batch batch) {
+        if (mBatch != batch) {
+            return false;
+        }
+        mBatch = null;
+        return true;
+    }
+
+    /**
+     * Returns the number of requests made for lookups, for judging the window and batch size
+     *
+     * @return the number of requests made for lookups
+     */
+    public synchronized long getRequestCount() {
+        return mRequestCount;
+    }
+}
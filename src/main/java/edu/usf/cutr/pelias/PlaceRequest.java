@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encapsulates a request to the Pelias Place API, which looks up places by their gid (e.g.,
+ * openstreetmap:venue:node:2357470967) - https://github.com/pelias/documentation/blob/master/place.md
+ * <p>
+ * A single request can look up several places.  The response has a feature for each place found, so places that no
+ * longer exist are missing from it.
+ */
+public class PlaceRequest extends PeliasRequest {
+
+    private final List<String> mIds;
+
+    public static class Builder {
+        private final String mApiKey;
+        private final List<String> mIds = new ArrayList<String>();
+        private String mApiEndPoint = "https://search.mapzen.com/v1/place";
+        private long mTimeoutMillis;
+        private Priority mPriority = Priority.BATCH;
+
+        /**
+         * A Builder for making a request to the Pelias Place API
+         *
+         * @param apiKey the API key to be used in the request
+         * @param ids    the gids of the places to look up
+         */
+        public Builder(String apiKey, String... ids) {
+            mApiKey = apiKey;
+            for (String id : ids) {
+                addId(id);
+            }
+        }
+
+        /**
+         * Adds the gid of a place to look up
+         *
+         * @param id the gid of a place to look up, e.g. openstreetmap:venue:node:2357470967
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder addId(String id) {
+            if (id == null || id.isEmpty()) {
+                throw new IllegalArgumentException("id must not be empty");
+            }
+            mIds.add(id);
+            return this;
+        }
+
+        /**
+         * Sets the API endpoint that will be used for the API call.  By default https://search.mapzen.com/v1/place
+         * will be used.
+         *
+         * @param apiEndpoint the API endpoint to be used in the API call
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setApiEndpoint(String apiEndpoint) {
+            mApiEndPoint = apiEndpoint;
+            return this;
+        }
+
+        /**
+         * Sets the maximum total time the request may take (see PeliasRequest.Builder.setTimeout())
+         *
+         * @param timeout the maximum total time the request may take, or 0 for no timeout
+         * @param unit    the unit of the timeout
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setTimeout(long timeout, TimeUnit unit) {
+            mTimeoutMillis = unit.toMillis(timeout);
+            return this;
+        }
+
+        /**
+         * Sets the scheduling class of the request (see PeliasRequest.Builder.setPriority()).  Place requests are BATCH
+         * by default.
+         *
+         * @param priority the scheduling class of the request
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setPriority(Priority priority) {
+            if (priority == null) {
+                throw new IllegalArgumentException("priority must not be null");
+            }
+            mPriority = priority;
+            return this;
+        }
+
+        /**
+         * Builds the PlaceRequest using the specified parameters
+         *
+         * @return the PlaceRequest using the specified parameters
+         */
+        public PlaceRequest build() {
+            if (mIds.isEmpty()) {
+                throw new IllegalStateException("At least one id is required");
+            }
+            StringBuilder builder = new StringBuilder();
+            builder.append(mApiEndPoint);
+            builder.append("?ids=");
+            for (int i = 0; i < mIds.size(); i++) {
+                if (i > 0) {
+                    builder.append(',');
+                }
+                builder.append(encode(mIds.get(i)));
+            }
+            builder.append("&api_key=");
+            builder.append(mApiKey);
+            return new PlaceRequest(builder.toString(), mTimeoutMillis, mPriority, mIds);
+        }
+
+        private static String encode(String id) {
+            try {
+                // Colons are safe in a query, and keep the URL readable
+                return URLEncoder.encode(id, "UTF-8").replace("%3A", ":");
+            } catch (UnsupportedEncodingException e) {
+                return id;
+            }
+        }
+    }
+
+    private PlaceRequest(String url, long timeoutMillis, Priority priority, List<String> ids) {
+        super(url, timeoutMillis, priority);
+        mIds = Collections.unmodifiableList(new ArrayList<String>(ids));
+    }
+
+    /**
+     * Returns the gids of the places to look up
+     *
+     * @return the gids of the places to look up, in the order they were added
+     */
+    public List<String> getIds() {
+        return mIds;
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
+import edu.usf.cutr.pelias.util.StringPool;
+
+import java.io.IOException;
+
+/**
+ * Deserializes Strings, replacing the values of the properties accepted by a StringPool with their canonical instance.
+ * Jackson also uses this deserializer for the String values of untyped maps, such as the GeoJSON feature properties.
+ */
+class PooledStringDeserializer extends StdScalarDeserializer<String> {
+
+    private final StringPool mPool;
+
+    PooledStringDeserializer(StringPool pool) {
+        super(String.class);
+        mPool = pool;
+    }
+
+    @Override
+    public String deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_STRING) && mPool.accepts(p.getCurrentName())) {
+            return mPool.canonicalize(p.getText());
+        }
+        return StringDeserializer.instance.deserialize(p, ctxt);
+    }
+}
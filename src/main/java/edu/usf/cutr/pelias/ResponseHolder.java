@@ -0,0 +1,427 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A reusable, mutable holder for the commonly used parts of a Pelias response, filled in place by
+ * PeliasClient.call(PeliasRequest, ResponseHolder).  Text is copied into reused StringBuilders and features into a
+ * reused buffer that only grows, so once the holder has seen its largest response, parsing produces close to no
+ * garbage.
+ * <p>
+ * The CharSequences returned by the getters are overwritten by the next call that fills the holder - copy them with
+ * toString() to keep them.  A holder must not be filled and read by different threads at the same time.
+ */
+public class ResponseHolder {
+
+    private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12,
+            1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    /**
+     * The largest integer that is exactly representable as a double
+     */
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    private final String[] mPropertyNames;
+    private final StringBuilder mType = new StringBuilder();
+    private final StringBuilder mQueryText = new StringBuilder();
+    private final double[] mBbox = new double[4];
+    private boolean mHasBbox;
+    private final List<FeatureHolder> mFeatures = new ArrayList<FeatureHolder>();
+    private int mFeatureCount;
+
+    /**
+     * The fields of one feature of a ResponseHolder.  Absent text is empty, and absent numbers are NaN.
+     */
+    public static class FeatureHolder {
+        private final StringBuilder mGid = new StringBuilder();
+        private final StringBuilder mLayer = new StringBuilder();
+        private final StringBuilder mSource = new StringBuilder();
+        private final StringBuilder mName = new StringBuilder();
+        private final StringBuilder mLabel = new StringBuilder();
+        private final StringBuilder[] mProperties;
+        private double mLatitude;
+        private double mLongitude;
+        private double mConfidence;
+        private double mDistance;
+
+        FeatureHolder(int propertyCount) {
+            mProperties = new StringBuilder[propertyCount];
+            for (int i = 0; i < propertyCount; i++) {
+                mProperties[i] = new StringBuilder();
+            }
+        }
+
+        public CharSequence getGid() {
+            return mGid;
+        }
+
+        public CharSequence getLayer() {
+            return mLayer;
+        }
+
+        public CharSequence getSource() {
+            return mSource;
+        }
+
+        public CharSequence getName() {
+            return mName;
+        }
+
+        public CharSequence getLabel() {
+            return mLabel;
+        }
+
+        /**
+         * Returns the value of one of the additional properties the ResponseHolder was created with
+         *
+         * @param index the index of the property name passed to the ResponseHolder constructor
+         * @return the value of the property, or an empty CharSequence if the feature doesn't have it
+         */
+        public CharSequence getProperty(int index) {
+            return mProperties[index];
+        }
+
+        public double getLatitude() {
+            return mLatitude;
+        }
+
+        public double getLongitude() {
+            return mLongitude;
+        }
+
+        public double getConfidence() {
+            return mConfidence;
+        }
+
+        /**
+         * Returns the distance from the focus point in kilometers, as reported by Pelias
+         *
+         * @return the distance from the focus point in kilometers, or NaN if the request had no focus point
+         */
+        public double getDistance() {
+            return mDistance;
+        }
+
+        private void clear() {
+            mGid.setLength(0);
+            mLayer.setLength(0);
+            mSource.setLength(0);
+            mName.setLength(0);
+            mLabel.setLength(0);
+            for (StringBuilder property : mProperties) {
+                property.setLength(0);
+            }
+            mLatitude = Double.NaN;
+            mLongitude = Double.NaN;
+            mConfidence = Double.NaN;
+            mDistance = Double.NaN;
+        }
+
+        @Override
+        public String toString() {
+            return "FeatureHolder{" +
+                    "gid=" + mGid +
+                    ", label=" + mLabel +
+                    ", latitude=" + mLatitude +
+                    ", longitude=" + mLongitude +
+                    '}';
+        }
+    }
+
+    /**
+     * Creates a holder that captures the gid, layer, source, name, label, confidence, distance and coordinates of each
+     * feature, plus any additional string properties given
+     *
+     * @param propertyNames additional string properties to capture (e.g., "locality"), accessed by their index via
+     *                      FeatureHolder.getProperty()
+     */
+    public ResponseHolder(String... propertyNames) {
+        mPropertyNames = propertyNames.clone();
+    }
+
+    /**
+     * Returns the GeoJSON type of the response
+     *
+     * @return the GeoJSON type of the response, normally "FeatureCollection"
+     */
+    public CharSequence getType() {
+        return mType;
+    }
+
+    /**
+     * Returns the query text that Pelias echoed back in the geocoding block
+     *
+     * @return the query text that Pelias echoed back in the geocoding block
+     */
+    public CharSequence getQueryText() {
+        return mQueryText;
+    }
+
+    /**
+     * Returns the number of features in the last response
+     *
+     * @return the number of features in the last response
+     */
+    public int getFeatureCount() {
+        return mFeatureCount;
+    }
+
+    /**
+     * Returns a feature of the last response
+     *
+     * @param index the index of the feature, less than getFeatureCount()
+     * @return the feature at the given index
+     */
+    public FeatureHolder getFeature(int index) {
+        if (index < 0 || index >= mFeatureCount) {
+            throw new IndexOutOfBoundsException("Feature " + index + " of " + mFeatureCount);
+        }
+        return mFeatures.get(index);
+    }
+
+    /**
+     * Returns whether the last response had a bounding box
+     *
+     * @return true if the last response had a bounding box, false if it did not
+     */
+    public boolean hasBbox() {
+        return mHasBbox;
+    }
+
+    /**
+     * Returns a coordinate of the bounding box of the last response, in the GeoJSON order min lon, min lat, max lon,
+     * max lat
+     *
+     * @param index the index of the coordinate, from 0 to 3
+     * @return the coordinate of the bounding box
+     */
+    public double getBbox(int index) {
+        return mBbox[index];
+    }
+
+    private void clear() {
+        mType.setLength(0);
+        mQueryText.setLength(0);
+        Arrays.fill(mBbox, Double.NaN);
+        mHasBbox = false;
+        mFeatureCount = 0;
+    }
+
+    /**
+     * Replaces the contents of this holder with the response read from the parser
+     *
+     * @param p a parser positioned before the start of the response
+     * @throws IOException if the response can't be read or isn't a Pelias response
+     */
+    void read(JsonParser p) throws IOException {
+        clear();
+        expect(p, p.nextToken(), JsonToken.START_OBJECT);
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            // Field names are canonicalized by Jackson, so matching them doesn't allocate
+            String field = p.getCurrentName();
+            JsonToken token = p.nextToken();
+            if ("type".equals(field) && token == JsonToken.VALUE_STRING) {
+                copyText(p, mType);
+            } else if ("geocoding".equals(field) && token == JsonToken.START_OBJECT) {
+                readGeocoding(p);
+            } else if ("features".equals(field) && token == JsonToken.START_ARRAY) {
+                while (p.nextToken() == JsonToken.START_OBJECT) {
+                    readFeature(p, nextFeature());
+                }
+            } else if ("bbox".equals(field) && token == JsonToken.START_ARRAY) {
+                int i = 0;
+                while (p.nextToken() != JsonToken.END_ARRAY) {
+                    if (i < mBbox.length) {
+                        mBbox[i++] = readDouble(p);
+                    }
+                }
+                mHasBbox = i == mBbox.length;
+            } else {
+                p.skipChildren();
+            }
+        }
+    }
+
+    private void readGeocoding(JsonParser p) throws IOException {
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.getCurrentName();
+            JsonToken token = p.nextToken();
+            if ("query".equals(field) && token == JsonToken.START_OBJECT) {
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String queryField = p.getCurrentName();
+                    if (p.nextToken() == JsonToken.VALUE_STRING && "text".equals(queryField)) {
+                        copyText(p, mQueryText);
+                    } else {
+                        p.skipChildren();
+                    }
+                }
+            } else {
+                p.skipChildren();
+            }
+        }
+    }
+
+    private FeatureHolder nextFeature() {
+        if (mFeatureCount == mFeatures.size()) {
+            mFeatures.add(new FeatureHolder(mPropertyNames.length));
+        }
+        FeatureHolder feature = mFeatures.get(mFeatureCount++);
+        feature.clear();
+        return feature;
+    }
+
+    private void readFeature(JsonParser p, FeatureHolder feature) throws IOException {
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.getCurrentName();
+            JsonToken token = p.nextToken();
+            if ("geometry".equals(field) && token == JsonToken.START_OBJECT) {
+                readGeometry(p, feature);
+            } else if ("properties".equals(field) && token == JsonToken.START_OBJECT) {
+                readProperties(p, feature);
+            } else {
+                p.skipChildren();
+            }
+        }
+    }
+
+    private void readGeometry(JsonParser p, FeatureHolder feature) throws IOException {
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.getCurrentName();
+            JsonToken token = p.nextToken();
+            if ("coordinates".equals(field) && token == JsonToken.START_ARRAY) {
+                // Points are [lon, lat] - other geometries start with a nested array and are skipped
+                int i = 0;
+                while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+                    if (token == JsonToken.START_ARRAY || token == JsonToken.START_OBJECT) {
+                        p.skipChildren();
+                    } else if (i == 0) {
+                        feature.mLongitude = readDouble(p);
+                        i++;
+                    } else if (i == 1) {
+                        feature.mLatitude = readDouble(p);
+                        i++;
+                    }
+                }
+            } else {
+                p.skipChildren();
+            }
+        }
+    }
+
+    private void readProperties(JsonParser p, FeatureHolder feature) throws IOException {
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.getCurrentName();
+            JsonToken token = p.nextToken();
+            if (token == JsonToken.VALUE_STRING) {
+                StringBuilder target = textTarget(field, feature);
+                if (target != null) {
+                    copyText(p, target);
+                }
+            } else if (token == JsonToken.VALUE_NUMBER_FLOAT || token == JsonToken.VALUE_NUMBER_INT) {
+                if ("confidence".equals(field)) {
+                    feature.mConfidence = readDouble(p);
+                } else if ("distance".equals(field)) {
+                    feature.mDistance = readDouble(p);
+                }
+            } else {
+                p.skipChildren();
+            }
+        }
+    }
+
+    private StringBuilder textTarget(String field, FeatureHolder feature) {
+        if ("gid".equals(field)) {
+            return feature.mGid;
+        } else if ("layer".equals(field)) {
+            return feature.mLayer;
+        } else if ("source".equals(field)) {
+            return feature.mSource;
+        } else if ("name".equals(field)) {
+            return feature.mName;
+        } else if ("label".equals(field)) {
+            return feature.mLabel;
+        }
+        for (int i = 0; i < mPropertyNames.length; i++) {
+            if (mPropertyNames[i].equals(field)) {
+                return feature.mProperties[i];
+            }
+        }
+        return null;
+    }
+
+    private static void copyText(JsonParser p, StringBuilder target) throws IOException {
+        target.setLength(0);
+        target.append(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+    }
+
+    /**
+     * Reads the current number without allocating when its digits fit in the 53 bit mantissa of a double (e.g.,
+     * coordinates with 6 decimal places), by dividing the exact integer by an exact power of ten, which rounds
+     * correctly.  Other numbers fall back to Jackson, which parses via a String.
+     */
+    private static double readDouble(JsonParser p) throws IOException {
+        char[] chars = p.getTextCharacters();
+        int offset = p.getTextOffset();
+        int end = offset + p.getTextLength();
+        int i = offset;
+        boolean negative = i < end && chars[i] == '-';
+        if (negative) {
+            i++;
+        }
+        long mantissa = 0;
+        int scale = 0;
+        boolean fraction = false;
+        boolean digits = false;
+        for (; i < end; i++) {
+            char c = chars[i];
+            if (c >= '0' && c <= '9') {
+                mantissa = mantissa * 10 + (c - '0');
+                digits = true;
+                if (fraction) {
+                    scale++;
+                }
+                if (mantissa >= MAX_EXACT_MANTISSA) {
+                    return p.getDoubleValue();
+                }
+            } else if (c == '.' && !fraction) {
+                fraction = true;
+            } else {
+                // Exponents and anything unexpected
+                return p.getDoubleValue();
+            }
+        }
+        if (!digits || scale >= POWERS_OF_TEN.length) {
+            return p.getDoubleValue();
+        }
+        double value = mantissa / POWERS_OF_TEN[scale];
+        return negative ? -value : value;
+    }
+
+    private static void expect(JsonParser p, JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new JsonParseException(p, "Expected " + expected + " but found " + actual);
+        }
+    }
+}
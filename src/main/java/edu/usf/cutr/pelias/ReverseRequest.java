@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encapsulates a request to the Pelias Reverse API, which finds the places nearest a point, nearest first -
+ * https://github.com/pelias/documentation/blob/master/reverse.md
+ */
+public class ReverseRequest extends PeliasRequest {
+
+    public static class Builder {
+        private final String mApiKey;
+        private double mLat;
+        private double mLon;
+        private String mApiEndPoint = "https://search.mapzen.com/v1/reverse";
+        private Integer mSize;
+        private String mLayers;
+        private String mSources;
+        private long mTimeoutMillis;
+        private Priority mPriority = Priority.BATCH;
+
+        /**
+         * A Builder for making a request to the Pelias Reverse API
+         *
+         * @param apiKey the API key to be used in the request
+         * @param lat    the latitude of the point
+         * @param lon    the longitude of the point
+         */
+        public Builder(String apiKey, double lat, double lon) {
+            mApiKey = apiKey;
+            setPoint(lat, lon);
+        }
+
+        /**
+         * Sets the point to find the places nearest to
+         *
+         * @param lat the latitude of the point
+         * @param lon the longitude of the point
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setPoint(double lat, double lon) {
+            mLat = lat;
+            mLon = lon;
+            return this;
+        }
+
+        /**
+         * Sets the number of results to return from the API (default is 10 if unset)
+         *
+         * @param size the number of results to return from the API
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setSize(Integer size) {
+            mSize = size;
+            return this;
+        }
+
+        /**
+         * Sets the layers to return results from, e.g. "street" or "address,venue" (default is all layers)
+         *
+         * @param layers a comma separated list of layers
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setLayers(String layers) {
+            mLayers = layers;
+            return this;
+        }
+
+        /**
+         * Sets the sources to return results from (see PeliasRequest.Builder.setSources())
+         *
+         * @param sources a comma separated list of sources
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setSources(String sources) {
+            mSources = sources;
+            return this;
+        }
+
+        /**
+         * Sets the API endpoint that will be used for the API call.  By default https://search.mapzen.com/v1/reverse
+         * will be used.
+         *
+         * @param apiEndpoint the API endpoint to be used in the API call
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setApiEndpoint(String apiEndpoint) {
+            mApiEndPoint = apiEndpoint;
+            return this;
+        }
+
+        /**
+         * Sets the maximum total time the request may take (see PeliasRequest.Builder.setTimeout())
+         *
+         * @param timeout the maximum total time the request may take, or 0 for no timeout
+         * @param unit    the unit of the timeout
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setTimeout(long timeout, TimeUnit unit) {
+            mTimeoutMillis = unit.toMillis(timeout);
+            return this;
+        }
+
+        /**
+         * Sets the scheduling class of the request (see PeliasRequest.Builder.setPriority()).  Reverse requests are
+         * BATCH by default.
+         *
+         * @param priority the scheduling class of the request
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setPriority(Priority priority) {
+            if (priority == null) {
+                throw new IllegalArgumentException("priority must not be null");
+            }
+            mPriority = priority;
+            return this;
+        }
+
+        /**
+         * Builds the ReverseRequest using the specified parameters
+         *
+         * @return the ReverseRequest using the specified parameters
+         */
+        public ReverseRequest build() {
+            StringBuilder builder = new StringBuilder();
+            builder.append(mApiEndPoint);
+            builder.append("?point.lat=");
+            builder.append(mLat);
+            builder.append("&point.lon=");
+            builder.append(mLon);
+            builder.append("&api_key=");
+            builder.append(mApiKey);
+
+            if (mSize != null) {
+                builder.append("&size=");
+                builder.append(mSize);
+            }
+
+            if (mLayers != null) {
+                builder.append("&layers=");
+                builder.append(mLayers);
+            }
+
+            if (mSources != null) {
+                builder.append("&sources=");
+                builder.append(mSources);
+            }
+
+            return new ReverseRequest(builder.toString(), mTimeoutMillis, mPriority);
+        }
+    }
+
+    private ReverseRequest(String url, long timeoutMillis, Priority priority) {
+        super(url, timeoutMillis, priority);
+    }
+}
@@ -0,0 +1,325 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias;
+
+import edu.usf.cutr.pelias.util.FeatureUtils;
+import org.geojson.Feature;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+
+/**
+ * Searches a large boundary rectangle by splitting it into a grid of tiles and searching each tile, so dense areas
+ * can't crowd the rest of the rectangle out of the results.  Tiles are searched in parallel on the client's executor
+ * with bounded concurrency.  A tile that returns as many features as were requested is saturated - it may have more -
+ * and can optionally be subdivided into quadrants that are searched in turn.  The features of all tiles are merged
+ * into one response and de-duplicated by gid, as places on tile edges are returned by both tiles.
+ */
+public class TiledSearch {
+
+    private final PeliasClient mClient;
+    private final PeliasRequest.Builder mRequestBuilder;
+    private final double mMinLat;
+    private final double mMinLon;
+    private final double mMaxLat;
+    private final double mMaxLon;
+    private final int mRows;
+    private final int mColumns;
+    private final int mMaxConcurrency;
+    private final int mMaxDepth;
+
+    public static class Builder {
+        private final PeliasClient mClient;
+        private final PeliasRequest.Builder mRequestBuilder;
+        private Double mMinLat;
+        private Double mMinLon;
+        private Double mMaxLat;
+        private Double mMaxLon;
+        private int mRows = 2;
+        private int mColumns = 2;
+        private int mMaxConcurrency = 4;
+        private int mMaxDepth = 0;
+
+        /**
+         * A Builder for a tiled search
+         *
+         * @param client         the client used to make the request for each tile
+         * @param requestBuilder the Builder of the request made for each tile, e.g. a SearchRequest.Builder with the
+         *                       text and size set.  Its boundary rectangle is overwritten for each tile.
+         */
+        public Builder(PeliasClient client, PeliasRequest.Builder requestBuilder) {
+            mClient = client;
+            mRequestBuilder = requestBuilder;
+        }
+
+        /**
+         * Sets the bounding box to search, which is required
+         *
+         * @param minLat Minimum latitude of the bounding box
+         * @param minLon Minimum longitude of the bounding box
+         * @param maxLat Maximum latitude of the bounding box
+         * @param maxLon Maximum longitude of the bounding box
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setBoundaryRect(double minLat, double minLon, double maxLat, double maxLon) {
+            if (!(minLat < maxLat) || !(minLon < maxLon)) {
+                throw new IllegalArgumentException("Boundary rectangle must have positive area");
+            }
+            mMinLat = minLat;
+            mMinLon = minLon;
+            mMaxLat = maxLat;
+            mMaxLon = maxLon;
+            return this;
+        }
+
+        /**
+         * Sets the grid of tiles the bounding box is initially split into (default is 2 x 2)
+         *
+         * @param rows    the number of rows of tiles, from south to north
+         * @param columns the number of columns of tiles, from west to east
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setGrid(int rows, int columns) {
+            if (rows <= 0 || columns <= 0) {
+                throw new IllegalArgumentException("Grid must have at least one row and column");
+            }
+            mRows = rows;
+            mColumns = columns;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of tiles searched at the same time (default is 4)
+         *
+         * @param maxConcurrency the maximum number of tiles searched at the same time
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setMaxConcurrency(int maxConcurrency) {
+            if (maxConcurrency <= 0) {
+                throw new IllegalArgumentException("maxConcurrency must be positive");
+            }
+            mMaxConcurrency = maxConcurrency;
+            return this;
+        }
+
+        /**
+         * Sets how many times a saturated tile may be subdivided into quadrants (default is 0, so tiles are never
+         * subdivided).  Each level can multiply the number of requests by up to four.
+         *
+         * @param maxDepth how many times a saturated tile may be subdivided
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setMaxDepth(int maxDepth) {
+            if (maxDepth < 0) {
+                throw new IllegalArgumentException("maxDepth must not be negative");
+            }
+            mMaxDepth = maxDepth;
+            return this;
+        }
+
+        /**
+         * Builds the TiledSearch using the specified parameters
+         *
+         * @return the TiledSearch using the specified parameters
+         */
+        public TiledSearch build() {
+            if (mMinLat == null) {
+                throw new IllegalStateException("Boundary rectangle must be set");
+            }
+            return new TiledSearch(this);
+        }
+    }
+
+    private TiledSearch(Builder builder) {
+        mClient = builder.mClient;
+        mRequestBuilder = builder.mRequestBuilder;
+        mMinLat = builder.mMinLat;
+        mMinLon = builder.mMinLon;
+        mMaxLat = builder.mMaxLat;
+        mMaxLon = builder.mMaxLon;
+        mRows = builder.mRows;
+        mColumns = builder.mColumns;
+        mMaxConcurrency = builder.mMaxConcurrency;
+        mMaxDepth = builder.mMaxDepth;
+    }
+
+    /**
+     * A rectangle searched by one request
+     */
+    private class Tile implements Callable<Tile> {
+        final double mMinLat;
+        final double mMinLon;
+        final double mMaxLat;
+        final double mMaxLon;
+        final int mDepth;
+        final int mSequence;
+        PeliasRequest mRequest;
+        PeliasResponse mResponse;
+
+        Tile(double minLat, double minLon, double maxLat, double maxLon, int depth, int sequence) {
+            mMinLat = minLat;
+            mMinLon = minLon;
+            mMaxLat = maxLat;
+            mMaxLon = maxLon;
+            mDepth = depth;
+            mSequence = sequence;
+        }
+
+        @Override
+        public Tile call() throws IOException {
+            mResponse = mClient.call(mRequest);
+            return this;
+        }
+    }
+
+    /**
+     * Searches each tile, subdividing saturated tiles up to the maximum depth, and merges the results.  Features are
+     * ordered by tile - south to north, then west to east, then subdivided tiles - and by their order within each
+     * tile.
+     *
+     * @return a response with the de-duplicated features of all tiles, and the geocoding block of the first tile
+     * @throws IOException if the request for any tile fails, in which case the requests still pending are cancelled
+     */
+    public PeliasResponse call() throws IOException {
+        int saturation = mRequestBuilder.getSize();
+        ArrayDeque<Tile> pending = new ArrayDeque<Tile>();
+        double rowHeight = (mMaxLat - mMinLat) / mRows;
+        double columnWidth = (mMaxLon - mMinLon) / mColumns;
+        int sequence = 0;
+        for (int row = 0; row < mRows; row++) {
+            for (int column = 0; column < mColumns; column++) {
+                // The outer edges use the exact bounds so rounding can't shrink the searched area
+                pending.add(new Tile(
+                        row == 0 ? mMinLat : mMinLat + row * rowHeight,
+                        column == 0 ? mMinLon : mMinLon + column * columnWidth,
+                        row == mRows - 1 ? mMaxLat : mMinLat + (row + 1) * rowHeight,
+                        column == mColumns - 1 ? mMaxLon : mMinLon + (column + 1) * columnWidth,
+                        0, sequence++));
+            }
+        }
+
+        CompletionService<Tile> completion = new ExecutorCompletionService<Tile>(mClient.getExecutor());
+        List<Future<Tile>> submitted = new ArrayList<Future<Tile>>();
+        List<Tile> searched = new ArrayList<Tile>();
+        int running = 0;
+        try {
+            while (!pending.isEmpty() || running > 0) {
+                while (running < mMaxConcurrency && !pending.isEmpty()) {
+                    Tile tile = pending.poll();
+                    // The request builder isn't threadsafe, so requests are only built on this thread
+                    tile.mRequest = mRequestBuilder
+                            .setBoundaryRect(tile.mMinLat, tile.mMinLon, tile.mMaxLat, tile.mMaxLon)
+                            .build();
+                    submitted.add(completion.submit(tile));
+                    running++;
+                }
+                Tile tile = result(completion.take());
+                running--;
+                searched.add(tile);
+                Feature[] features = tile.mResponse.getFeatures();
+                if (features != null && features.length >= saturation && tile.mDepth < mMaxDepth) {
+                    double midLat = (tile.mMinLat + tile.mMaxLat) / 2;
+                    double midLon = (tile.mMinLon + tile.mMaxLon) / 2;
+                    int depth = tile.mDepth + 1;
+                    pending.add(new Tile(tile.mMinLat, tile.mMinLon, midLat, midLon, depth, sequence++));
+                    pending.add(new Tile(tile.mMinLat, midLon, midLat, tile.mMaxLon, depth, sequence++));
+                    pending.add(new Tile(midLat, tile.mMinLon, tile.mMaxLat, midLon, depth, sequence++));
+                    pending.add(new Tile(midLat, midLon, tile.mMaxLat, tile.mMaxLon, depth, sequence++));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Tiled search interrupted");
+        } finally {
+            // Only has an effect if a tile failed
+            for (Future<Tile> future : submitted) {
+                future.cancel(true);
+            }
+        }
+        return merge(searched);
+    }
+
+    private static Tile result(Future<Tile> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private static PeliasResponse merge(List<Tile> tiles) {
+        Collections.sort(tiles, new Comparator<Tile>() {
+            @Override
+            public int compare(Tile a, Tile b) {
+                return a.mSequence < b.mSequence ? -1 : (a.mSequence == b.mSequence ? 0 : 1);
+            }
+        });
+        Set<String> gids = new HashSet<String>();
+        List<Feature> features = new ArrayList<Feature>();
+        double minLat = Double.POSITIVE_INFINITY;
+        double minLon = Double.POSITIVE_INFINITY;
+        double maxLat = Double.NEGATIVE_INFINITY;
+        double maxLon = Double.NEGATIVE_INFINITY;
+        for (Tile tile : tiles) {
+            if (tile.mResponse.getFeatures() == null) {
+                continue;
+            }
+            for (Feature feature : tile.mResponse.getFeatures()) {
+                String gid = FeatureUtils.getString(feature, "gid");
+                if (gid != null && !gids.add(gid)) {
+                    continue;
+                }
+                features.add(feature);
+                double lat = FeatureUtils.getLatitude(feature);
+                double lon = FeatureUtils.getLongitude(feature);
+                if (!Double.isNaN(lat) && !Double.isNaN(lon)) {
+                    minLat = Math.min(minLat, lat);
+                    minLon = Math.min(minLon, lon);
+                    maxLat = Math.max(maxLat, lat);
+                    maxLon = Math.max(maxLon, lon);
+                }
+            }
+        }
+
+        PeliasResponse response = new PeliasResponse();
+        response.setGeocoding(tiles.get(0).mResponse.getGeocoding());
+        response.setType("FeatureCollection");
+        response.setFeatures(features.toArray(new Feature[features.size()]));
+        if (minLat <= maxLat) {
+            response.setBbox(new Float[]{(float) minLon, (float) minLat, (float) maxLon, (float) maxLat});
+        }
+        return response;
+    }
+}
@@ -0,0 +1,515 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias;
+
+import edu.usf.cutr.pelias.util.GeoUtils;
+import org.geojson.Feature;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+
+/**
+ * Reverse geocodes GPS traces - ordered sequences of points, e.g. one a second from a vehicle - without a request per
+ * point.  Consecutive points almost always resolve to the same street, so a point is only looked up when the trace has
+ * left the vicinity of the last point looked up (the anchor): it is further from the anchor than the maximum distance,
+ * or the heading has turned more than the maximum heading change since the anchor.  Each point in between is given the
+ * result of whichever of the anchors before and after it is nearer, so a point just before a turn onto a new street
+ * takes that street's result.
+ * <p>
+ * Which points are looked up depends only on the points, so the lookups of all traces are made in parallel on the
+ * client's executor with bounded concurrency, interleaving the traces so they all make progress.  Points are passed to
+ * the Listener in order within each trace, as soon as the anchors around them have been looked up.
+ * <p>
+ * geocode() takes every trace as a complete list.  A trace too long to hold in memory, or still being recorded, is
+ * geocoded a point at a time by a Session, which only holds the points since its last anchor.
+ */
+public class TraceGeocoder {
+
+    /**
+     * Consecutive points closer than this have no reliable heading, e.g. a stationary vehicle's GPS noise
+     */
+    private static final double MIN_HEADING_METERS = 5;
+
+    private final PeliasClient mClient;
+    private final ReverseRequest.Builder mRequestBuilder;
+    private final double mMaxDistanceMeters;
+    private final double mMaxHeadingChange;
+    private final int mMaxConcurrency;
+
+    public static class Builder {
+        private final PeliasClient mClient;
+        private final ReverseRequest.Builder mRequestBuilder;
+        private double mMaxDistanceMeters = 50;
+        private double mMaxHeadingChange = 45;
+        private int mMaxConcurrency = 4;
+
+        /**
+         * A Builder for a trace geocoder
+         *
+         * @param client         the client used to make the lookups
+         * @param requestBuilder the Builder of the request made for each lookup, e.g. a ReverseRequest.Builder with the
+         *                       layers and size set.  Its point is overwritten for each lookup.
+         */
+        public Builder(PeliasClient client, ReverseRequest.Builder requestBuilder) {
+            mClient = client;
+            mRequestBuilder = requestBuilder;
+        }
+
+        /**
+         * Sets how far a trace may move from the last point looked up before another point is looked up (default is
+         * 50 meters)
+         *
+         * @param meters the distance from the last point looked up at which another point is looked up
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setMaxDistance(double meters) {
+            if (!(meters >= 0)) {
+                throw new IllegalArgumentException("meters must not be negative");
+            }
+            mMaxDistanceMeters = meters;
+            return this;
+        }
+
+        /**
+         * Sets how far the heading of a trace may turn from its heading at the last point looked up before another
+         * point is looked up (default is 45 degrees)
+         *
+         * @param degrees the turn from the heading at the last point looked up at which another point is looked up,
+         *                or 180 to only look points up by distance
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setMaxHeadingChange(double degrees) {
+            if (!(degrees >= 0)) {
+                throw new IllegalArgumentException("degrees must not be negative");
+            }
+            mMaxHeadingChange = degrees;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of lookups made at the same time, across all traces (default is 4)
+         *
+         * @param maxConcurrency the maximum number of lookups made at the same time
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setMaxConcurrency(int maxConcurrency) {
+            if (maxConcurrency <= 0) {
+                throw new IllegalArgumentException("maxConcurrency must be positive");
+            }
+            mMaxConcurrency = maxConcurrency;
+            return this;
+        }
+
+        /**
+         * Builds the TraceGeocoder using the specified parameters
+         *
+         * @return the TraceGeocoder using the specified parameters
+         */
+        public TraceGeocoder build() {
+            return new TraceGeocoder(this);
+        }
+    }
+
+    private TraceGeocoder(Builder builder) {
+        mClient = builder.mClient;
+        mRequestBuilder = builder.mRequestBuilder;
+        mMaxDistanceMeters = builder.mMaxDistanceMeters;
+        mMaxHeadingChange = builder.mMaxHeadingChange;
+        mMaxConcurrency = builder.mMaxConcurrency;
+    }
+
+    /**
+     * A point of a trace, annotated with the result of the lookup it was given when it is passed to the Listener
+     */
+    public static class TracePoint {
+        private final double mLat;
+        private final double mLon;
+        private boolean mLookedUp;
+        private PeliasResponse mResponse;
+        private IOException mFailure;
+
+        /**
+         * @param lat the latitude of the point
+         * @param lon the longitude of the point
+         */
+        public TracePoint(double lat, double lon) {
+            mLat = lat;
+            mLon = lon;
+        }
+
+        public double getLatitude() {
+            return mLat;
+        }
+
+        public double getLongitude() {
+            return mLon;
+        }
+
+        /**
+         * Returns whether this point was itself looked up, rather than given the result of a nearby point
+         *
+         * @return true if this point was looked up
+         */
+        public boolean isLookedUp() {
+            return mLookedUp;
+        }
+
+        /**
+         * Returns the response of the lookup this point was given, which is shared with the other points given it
+         *
+         * @return the response of the lookup this point was given, or null if the lookup failed
+         */
+        public PeliasResponse getResponse() {
+            return mResponse;
+        }
+
+        /**
+         * Returns the nearest place to the lookup this point was given
+         *
+         * @return the first feature of the response, or null if it has none or the lookup failed
+         */
+        public Feature getFeature() {
+            Feature[] features = mResponse != null ? mResponse.getFeatures() : null;
+            return features != null && features.length > 0 ? features[0] : null;
+        }
+
+        /**
+         * Returns why the lookup this point was given failed
+         *
+         * @return the exception the lookup failed with, or null if it succeeded
+         */
+        public IOException getFailure() {
+            return mFailure;
+        }
+
+        /**
+         * Clears the annotations of a previous geocoding of this point
+         */
+        private void reset() {
+            mLookedUp = false;
+            mResponse = null;
+            mFailure = null;
+        }
+    }
+
+    /**
+     * Receives the annotated points of each trace, in order within each trace.  Called on the thread that called
+     * geocode(), or that added the points to a Session.
+     */
+    public interface Listener {
+        /**
+         * Called when a point has been annotated
+         *
+         * @param trace the index of the trace in the list passed to geocode(), or the index given to newSession()
+         * @param point the annotated point
+         */
+        void onPoint(int trace, TracePoint point);
+    }
+
+    /**
+     * Geocodes one trace a point at a time, e.g. as it is read from a file or recorded.  Each anchor is looked up on
+     * the calling thread as soon as it is added, and the points since the previous anchor are then passed to the
+     * Listener, so a Session only holds the points since its last anchor.  Not threadsafe - a Session's points must be
+     * added by one thread at a time.
+     */
+    public class Session {
+        private final int mTrace;
+        private final Listener mListener;
+        private final AnchorSelector mSelector = new AnchorSelector();
+        // The points added since the last anchor, waiting for the next anchor
+        private final List<TracePoint> mWaiting = new ArrayList<TracePoint>();
+        private TracePoint mAnchor;
+        private int mLookupCount;
+
+        private Session(int trace, Listener listener) {
+            mTrace = trace;
+            mListener = listener;
+        }
+
+        /**
+         * Adds the next point of the trace, looking it up if it is an anchor.  A failed lookup doesn't stop the
+         * trace - the points given its result carry its failure instead.
+         *
+         * @param point the next point of the trace
+         */
+        public void add(TracePoint point) {
+            point.reset();
+            if (!mSelector.isAnchor(point)) {
+                mWaiting.add(point);
+                return;
+            }
+            point.mLookedUp = true;
+            try {
+                point.mResponse = mClient.call(newRequest(point));
+            } catch (IOException e) {
+                point.mFailure = e;
+            }
+            mLookupCount++;
+            for (TracePoint waiting : mWaiting) {
+                TracePoint given = GeoUtils.distance(waiting.mLat, waiting.mLon, point.mLat, point.mLon)
+                        < GeoUtils.distance(waiting.mLat, waiting.mLon, mAnchor.mLat, mAnchor.mLon) ? point : mAnchor;
+                waiting.mResponse = given.mResponse;
+                waiting.mFailure = given.mFailure;
+                mListener.onPoint(mTrace, waiting);
+            }
+            mWaiting.clear();
+            mListener.onPoint(mTrace, point);
+            mAnchor = point;
+        }
+
+        /**
+         * Ends the trace, passing the points since the last anchor to the Listener with the last anchor's result
+         */
+        public void finish() {
+            for (TracePoint waiting : mWaiting) {
+                waiting.mResponse = mAnchor.mResponse;
+                waiting.mFailure = mAnchor.mFailure;
+                mListener.onPoint(mTrace, waiting);
+            }
+            mWaiting.clear();
+        }
+
+        /**
+         * Returns the number of lookups this session has made
+         *
+         * @return the number of lookups this session has made
+         */
+        public int getLookupCount() {
+            return mLookupCount;
+        }
+    }
+
+    /**
+     * Chooses the points of a trace to look up, a point at a time: a point is looked up when the trace has left the
+     * vicinity of the last point looked up
+     */
+    private class AnchorSelector {
+        private TracePoint mAnchor;
+        private double mAnchorHeading = Double.NaN;
+        private TracePoint mPrevious;
+
+        /**
+         * Returns whether the point, which follows the points already passed in, should be looked up
+         */
+        boolean isAnchor(TracePoint point) {
+            double heading = Double.NaN;
+            if (mPrevious != null && GeoUtils.distance(mPrevious.mLat, mPrevious.mLon, point.mLat, point.mLon)
+                    >= MIN_HEADING_METERS) {
+                heading = GeoUtils.bearing(mPrevious.mLat, mPrevious.mLon, point.mLat, point.mLon);
+            }
+            boolean anchor = mAnchor == null
+                    || GeoUtils.distance(mAnchor.mLat, mAnchor.mLon, point.mLat, point.mLon) > mMaxDistanceMeters
+                    || !Double.isNaN(heading) && !Double.isNaN(mAnchorHeading)
+                    && GeoUtils.bearingDifference(mAnchorHeading, heading) > mMaxHeadingChange;
+            if (anchor) {
+                mAnchor = point;
+                mAnchorHeading = heading;
+            } else if (Double.isNaN(mAnchorHeading)) {
+                // The heading the trace leaves the anchor on
+                mAnchorHeading = heading;
+            }
+            mPrevious = point;
+            return anchor;
+        }
+    }
+
+    /**
+     * The points of one trace, the indexes of its anchors and the progress of their lookups
+     */
+    private static class Trace {
+        final int mIndex;
+        final List<TracePoint> mPoints;
+        final List<Lookup> mLookups = new ArrayList<Lookup>();
+        int mNextLookup;
+        int mNextPoint;
+        // The last lookup at or before the next point to emit
+        int mCurrentLookup;
+
+        Trace(int index, List<TracePoint> points) {
+            mIndex = index;
+            mPoints = points;
+        }
+    }
+
+    /**
+     * The lookup of one anchor.  Catches its own failure, which is given to the points that take its result.
+     */
+    private class Lookup implements Callable<Lookup> {
+        final Trace mTrace;
+        final TracePoint mAnchor;
+        PeliasRequest mRequest;
+        PeliasResponse mResponse;
+        IOException mFailure;
+        boolean mDone;
+
+        Lookup(Trace trace, TracePoint anchor) {
+            mTrace = trace;
+            mAnchor = anchor;
+        }
+
+        @Override
+        public Lookup call() {
+            try {
+                mResponse = mClient.call(mRequest);
+            } catch (IOException e) {
+                mFailure = e;
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Reverse geocodes the traces, passing each point to the listener once it is annotated.  A failed lookup doesn't
+     * stop the traces - the points given its result carry its failure instead.  All the traces are held in memory
+     * until they are geocoded - see newSession() for traces that are too long to be.
+     *
+     * @param traces   the traces, each a list of points in the order they were recorded
+     * @param listener receives the annotated points, in order within each trace
+     * @return the number of lookups made
+     * @throws IOException if the calling thread is interrupted, in which case the lookups still pending are cancelled
+     */
+    public int geocode(List<? extends List<TracePoint>> traces, Listener listener) throws IOException {
+        ArrayDeque<Trace> pending = new ArrayDeque<Trace>();
+        int lookups = 0;
+        for (int i = 0; i < traces.size(); i++) {
+            Trace trace = new Trace(i, traces.get(i));
+            selectAnchors(trace);
+            lookups += trace.mLookups.size();
+            if (!trace.mLookups.isEmpty()) {
+                pending.add(trace);
+            }
+        }
+
+        CompletionService<Lookup> completion = new ExecutorCompletionService<Lookup>(mClient.getExecutor());
+        List<Future<Lookup>> submitted = new ArrayList<Future<Lookup>>();
+        int running = 0;
+        try {
+            while (!pending.isEmpty() || running > 0) {
+                while (running < mMaxConcurrency && !pending.isEmpty()) {
+                    // Round robin, so every trace makes progress
+                    Trace trace = pending.poll();
+                    Lookup lookup = trace.mLookups.get(trace.mNextLookup++);
+                    lookup.mRequest = newRequest(lookup.mAnchor);
+                    submitted.add(completion.submit(lookup));
+                    running++;
+                    if (trace.mNextLookup < trace.mLookups.size()) {
+                        pending.add(trace);
+                    }
+                }
+                Lookup lookup = result(completion.take());
+                running--;
+                lookup.mDone = true;
+                emit(lookup.mTrace, listener);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Trace geocoding interrupted");
+        } finally {
+            // Only has an effect if interrupted
+            for (Future<Lookup> future : submitted) {
+                future.cancel(true);
+            }
+        }
+        return lookups;
+    }
+
+    /**
+     * Starts geocoding a trace a point at a time
+     *
+     * @param trace    the index of the trace passed to the listener
+     * @param listener receives the annotated points, in order, on the thread that adds them to the Session
+     * @return a new session for the trace
+     */
+    public Session newSession(int trace, Listener listener) {
+        return new Session(trace, listener);
+    }
+
+    /**
+     * Chooses the points of the trace to look up, clearing the annotations of any previous geocoding of its points
+     */
+    private void selectAnchors(Trace trace) {
+        AnchorSelector selector = new AnchorSelector();
+        for (TracePoint point : trace.mPoints) {
+            point.reset();
+            if (selector.isAnchor(point)) {
+                point.mLookedUp = true;
+                trace.mLookups.add(new Lookup(trace, point));
+            }
+        }
+    }
+
+    private PeliasRequest newRequest(TracePoint anchor) {
+        // The request builder isn't threadsafe, and is shared by geocode() and the sessions
+        synchronized (mRequestBuilder) {
+            return mRequestBuilder.setPoint(anchor.mLat, anchor.mLon).build();
+        }
+    }
+
+    /**
+     * Passes the points of the trace whose anchors have been looked up to the listener, in order
+     */
+    private static void emit(Trace trace, Listener listener) {
+        List<Lookup> lookups = trace.mLookups;
+        while (trace.mNextPoint < trace.mPoints.size()) {
+            TracePoint point = trace.mPoints.get(trace.mNextPoint);
+            if (trace.mCurrentLookup + 1 < lookups.size() && lookups.get(trace.mCurrentLookup + 1).mAnchor == point) {
+                trace.mCurrentLookup++;
+            }
+            Lookup before = lookups.get(trace.mCurrentLookup);
+            Lookup after = trace.mCurrentLookup + 1 < lookups.size() ? lookups.get(trace.mCurrentLookup + 1) : null;
+            Lookup given;
+            if (before.mAnchor == point || after == null) {
+                given = before;
+            } else {
+                TracePoint a = before.mAnchor;
+                TracePoint b = after.mAnchor;
+                given = GeoUtils.distance(point.mLat, point.mLon, b.mLat, b.mLon)
+                        < GeoUtils.distance(point.mLat, point.mLon, a.mLat, a.mLon) ? after : before;
+                if (!after.mDone) {
+                    // Can't tell yet
+                    return;
+                }
+            }
+            if (!given.mDone) {
+                return;
+            }
+            point.mResponse = given.mResponse;
+            point.mFailure = given.mFailure;
+            listener.onPoint(trace.mIndex, point);
+            trace.mNextPoint++;
+        }
+    }
+
+    private static Lookup result(Future<Lookup> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+
+/**
+ * Fetches the body of a Pelias API response.  Implementations must be threadsafe, as a single transport is shared by
+ * all calls made through a PeliasClient.
+ */
+public interface Transport {
+
+    /**
+     * Opens the response body for the given request URL.  The caller is responsible for closing the returned stream.
+     * <p>
+     * Implementations must apply the connect and read timeouts of the context, and should register an Abortable with
+     * the context before blocking on the connection so the call can be aborted from another thread.  They should also
+     * report the phases of the call to the context (connectionAcquired(), requestSent() and firstByteReceived()) so a
+     * CallListener can tell the network from the server.
+     *
+     * @param url     the request URL
+     * @param context the state of the call
+     * @return the response body
+     * @throws IOException if there is an exception making the request, including a java.net.SocketTimeoutException if
+     *                     a timeout expires
+     */
+    InputStream open(URL url, CallContext context) throws IOException;
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+
+/**
+ * The default Transport, which uses the JDK URLConnection (and its keep-alive connection pool).  URLConnection writes
+ * the request inside the call that waits for the response, so this transport doesn't report requestSent() - the
+ * server time of its calls is measured from when the connection was acquired.
+ */
+public class UrlConnectionTransport implements Transport {
+
+    @Override
+    public InputStream open(URL url, CallContext context) throws IOException {
+        URLConnection connection = url.openConnection();
+        connection.setConnectTimeout(context.getConnectTimeoutMillis());
+        connection.setReadTimeout(context.getReadTimeoutMillis());
+        if (connection instanceof HttpURLConnection) {
+            final HttpURLConnection http = (HttpURLConnection) connection;
+            // Disconnecting closes the socket, which unblocks a thread connecting or reading
+            context.setAbortable(new Abortable() {
+                @Override
+                public void abort() {
+                    http.disconnect();
+                }
+            });
+        }
+        connection.connect();
+        context.connectionAcquired();
+        if (connection instanceof HttpURLConnection) {
+            HttpURLConnection http = (HttpURLConnection) connection;
+            int status = http.getResponseCode();
+            context.firstByteReceived();
+            if (status >= 400) {
+                // Reading the error body lets the connection be reused
+                InputStream error = http.getErrorStream();
+                if (error != null) {
+                    drain(error);
+                }
+                throw new HttpStatusException(status, parseRetryAfter(http.getHeaderField("Retry-After")),
+                        "Server returned HTTP response code " + status + " for URL " + url);
+            }
+            return http.getInputStream();
+        }
+        InputStream in = connection.getInputStream();
+        context.firstByteReceived();
+        return in;
+    }
+
+    private static void drain(InputStream in) {
+        byte[] buffer = new byte[1024];
+        try {
+            try {
+                while (in.read(buffer) != -1) {
+                    // Discarded
+                }
+            } finally {
+                in.close();
+            }
+        } catch (IOException e) {
+            // The connection won't be reused
+        }
+    }
+
+    /**
+     * Returns the seconds in a Retry-After header, or -1 if it is absent or an HTTP date
+     */
+    private static long parseRetryAfter(String retryAfter) {
+        if (retryAfter == null) {
+            return -1;
+        }
+        try {
+            return Math.max(0, Long.parseLong(retryAfter.trim()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
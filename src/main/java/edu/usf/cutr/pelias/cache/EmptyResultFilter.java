@@ -0,0 +1,231 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.cache;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Remembers which requests returned no features, so a PeliasClient can answer them again without a round trip and
+ * without storing their responses.  Keys are held in a Bloom filter - a fixed size bit array with several bits set per
+ * key - so memory doesn't grow with the number of keys, at the cost of a small chance of a false positive: a request
+ * that never returned empty may be treated as empty.  Choose the false positive rate accordingly.
+ * <p>
+ * Keys expire by generation.  The filter is split into several Bloom filters that each cover an equal slice of the
+ * time to live; keys are added to the newest, and the oldest is cleared and reused when its slice has passed.  A key
+ * is therefore remembered for between (generations - 1) / generations of the time to live and the full time to live.
+ * <p>
+ * Instances are threadsafe.
+ */
+public class EmptyResultFilter {
+
+    private static final int GENERATIONS = 4;
+
+    private final AtomicLongArray[] mGenerations;
+    private final int mBitCount;
+    private final int mHashCount;
+    private final long mSliceNanos;
+    private volatile int mNewest;
+    private volatile long mNextRotationNanos;
+
+    public static class Builder {
+        private int mExpectedInsertions = 100000;
+        private double mFalsePositiveRate = 0.0001;
+        private long mTimeToLiveMillis = TimeUnit.HOURS.toMillis(1);
+
+        /**
+         * Sets the number of distinct empty requests expected within the time to live (default is 100000).  Inserting
+         * more raises the false positive rate above the configured rate.
+         *
+         * @param expectedInsertions the number of distinct empty requests expected within the time to live
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setExpectedInsertions(int expectedInsertions) {
+            if (expectedInsertions <= 0) {
+                throw new IllegalArgumentException("expectedInsertions must be positive");
+            }
+            mExpectedInsertions = expectedInsertions;
+            return this;
+        }
+
+        /**
+         * Sets the probability that a request that didn't return empty is treated as empty, when no more than the
+         * expected number of requests have been inserted (default is 0.0001)
+         *
+         * @param falsePositiveRate the probability of a false positive, between 0 and 1
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setFalsePositiveRate(double falsePositiveRate) {
+            if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+                throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1");
+            }
+            mFalsePositiveRate = falsePositiveRate;
+            return this;
+        }
+
+        /**
+         * Sets how long an empty result is remembered (default is 1 hour)
+         *
+         * @param timeToLive how long an empty result is remembered
+         * @param unit       the unit of the time to live
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setTimeToLive(long timeToLive, TimeUnit unit) {
+            if (timeToLive <= 0) {
+                throw new IllegalArgumentException("timeToLive must be positive");
+            }
+            mTimeToLiveMillis = unit.toMillis(timeToLive);
+            return this;
+        }
+
+        /**
+         * Builds the EmptyResultFilter using the specified parameters
+         *
+         * @return the EmptyResultFilter using the specified parameters
+         */
+        public EmptyResultFilter build() {
+            return new EmptyResultFilter(this);
+        }
+    }
+
+    private EmptyResultFilter(Builder builder) {
+        // A key may be inserted again in every slice, so each generation is sized for all expected insertions.  A
+        // lookup checks every generation, so each gets an equal share of the false positive rate.
+        double ln2 = Math.log(2);
+        double generationRate = builder.mFalsePositiveRate / GENERATIONS;
+        long bits = (long) Math.ceil(-builder.mExpectedInsertions * Math.log(generationRate) / (ln2 * ln2));
+        // Rounded up to whole longs
+        mBitCount = (int) Math.min(Integer.MAX_VALUE - 63, Math.max(64, (bits + 63) / 64 * 64));
+        mHashCount = Math.max(1, (int) Math.round((double) mBitCount / builder.mExpectedInsertions * ln2));
+        mGenerations = new AtomicLongArray[GENERATIONS];
+        for (int i = 0; i < GENERATIONS; i++) {
+            mGenerations[i] = new AtomicLongArray(mBitCount / 64);
+        }
+        mSliceNanos = Math.max(1, TimeUnit.MILLISECONDS.toNanos(builder.mTimeToLiveMillis) / GENERATIONS);
+        mNextRotationNanos = System.nanoTime() + mSliceNanos;
+    }
+
+    /**
+     * Returns whether the request may have returned no features within the time to live
+     *
+     * @param key the request URL
+     * @return true if the request returned no features within the time to live, or in rare cases (a false positive)
+     * if it didn't, false if it definitely didn't
+     */
+    public boolean mightBeEmpty(String key) {
+        rotate();
+        long hash1 = hash(key, 0x9E3779B97F4A7C15L);
+        long hash2 = hash(key, 0xC2B2AE3D27D4EB4FL) | 1;
+        for (AtomicLongArray generation : mGenerations) {
+            if (contains(generation, hash1, hash2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Records that the request returned no features
+     *
+     * @param key the request URL
+     */
+    public void put(String key) {
+        AtomicLongArray newest = rotate();
+        long hash1 = hash(key, 0x9E3779B97F4A7C15L);
+        long hash2 = hash(key, 0xC2B2AE3D27D4EB4FL) | 1;
+        for (int i = 0; i < mHashCount; i++) {
+            int bit = bit(hash1, hash2, i);
+            int index = bit >>> 6;
+            long mask = 1L << bit;
+            long word;
+            do {
+                word = newest.get(index);
+            } while ((word & mask) == 0 && !newest.compareAndSet(index, word, word | mask));
+        }
+    }
+
+    /**
+     * Returns the memory used by the bit arrays of the filter
+     *
+     * @return the memory used by the bit arrays of the filter, in bytes
+     */
+    public long getSizeInBytes() {
+        return (long) GENERATIONS * mBitCount / 8;
+    }
+
+    private boolean contains(AtomicLongArray generation, long hash1, long hash2) {
+        for (int i = 0; i < mHashCount; i++) {
+            int bit = bit(hash1, hash2, i);
+            if ((generation.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the i-th bit for a key, by double hashing
+     */
+    private int bit(long hash1, long hash2, int i) {
+        return (int) (((hash1 + i * hash2) >>> 1) % mBitCount);
+    }
+
+    /**
+     * Clears the oldest generations whose slices have passed, and returns the newest generation
+     */
+    private AtomicLongArray rotate() {
+        if (System.nanoTime() - mNextRotationNanos >= 0) {
+            rotateGenerations();
+        }
+        return mGenerations[mNewest];
+    }
+
+    private synchronized void rotateGenerations() {
+        long now = System.nanoTime();
+        int rotations = 0;
+        while (now - mNextRotationNanos >= 0 && rotations < GENERATIONS) {
+            // The oldest generation becomes the newest
+            mNewest = (mNewest + 1) % GENERATIONS;
+            AtomicLongArray reused = mGenerations[mNewest];
+            for (int i = 0; i < reused.length(); i++) {
+                reused.set(i, 0);
+            }
+            mNextRotationNanos += mSliceNanos;
+            rotations++;
+        }
+        if (now - mNextRotationNanos >= 0) {
+            // Idle for longer than the time to live - everything has been cleared
+            mNextRotationNanos = now + mSliceNanos;
+        }
+    }
+
+    /**
+     * A 64 bit hash of the key's characters, mixed with the seed (the splitmix64 finalizer applied per character)
+     */
+    private static long hash(String key, long seed) {
+        long h = seed ^ key.length();
+        for (int i = 0; i < key.length(); i++) {
+            h = mix(h + key.charAt(i));
+        }
+        return mix(h);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
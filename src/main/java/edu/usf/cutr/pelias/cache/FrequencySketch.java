@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.cache;
+
+/**
+ * A count-min sketch of 4 bit counters that estimates how often each key has been seen recently.  Each key increments
+ * one counter in each of 4 rows, and its estimate is the smallest of them.  When the number of increments reaches 10
+ * times the width, every counter is halved, so the sketch favors recent frequency.  Not threadsafe.
+ */
+class FrequencySketch {
+
+    private static final long[] SEEDS = {0xC3A5C85C97CB3127L, 0xB492B66FBE98F273L, 0x9AE16A3B2F90404FL,
+            0xCBF29CE484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    /**
+     * 4 rows, each of width counters packed 16 to a long
+     */
+    private final long[][] mRows;
+    private final int mWidthMask;
+    private final int mSampleSize;
+    private int mSize;
+
+    /**
+     * @param expectedEntries the number of distinct keys expected to be tracked
+     */
+    FrequencySketch(int expectedEntries) {
+        int width = Integer.highestOneBit(Math.max(16, expectedEntries - 1)) << 1;
+        mWidthMask = width - 1;
+        mRows = new long[SEEDS.length][width / 16];
+        mSampleSize = 10 * width;
+    }
+
+    /**
+     * Records an occurrence of the key
+     *
+     * @param key the key
+     */
+    void increment(String key) {
+        int hash = key.hashCode();
+        boolean incremented = false;
+        for (int row = 0; row < mRows.length; row++) {
+            int counter = index(hash, row);
+            int word = counter >>> 4;
+            int shift = (counter & 15) << 2;
+            if (((mRows[row][word] >>> shift) & 15) < 15) {
+                mRows[row][word] += 1L << shift;
+                incremented = true;
+            }
+        }
+        if (incremented && ++mSize == mSampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * Returns the estimated number of recent occurrences of the key
+     *
+     * @param key the key
+     * @return the estimated number of recent occurrences of the key, from 0 to 15
+     */
+    int frequency(String key) {
+        int hash = key.hashCode();
+        int frequency = 15;
+        for (int row = 0; row < mRows.length; row++) {
+            int counter = index(hash, row);
+            frequency = Math.min(frequency, (int) ((mRows[row][counter >>> 4] >>> ((counter & 15) << 2)) & 15));
+        }
+        return frequency;
+    }
+
+    private int index(int hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        h ^= h >>> 32;
+        return (int) h & mWidthMask;
+    }
+
+    /**
+     * Halves every counter
+     */
+    private void reset() {
+        for (long[] row : mRows) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] = (row[i] >>> 1) & RESET_MASK;
+            }
+        }
+        mSize /= 2;
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.cache;
+
+import edu.usf.cutr.pelias.PeliasResponse;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A PeliasCache that holds at most a fixed number of responses, evicting the least recently used response first
+ */
+public class LruPeliasCache implements PeliasCache {
+
+    private final LinkedHashMap<String, PeliasResponse> mMap;
+
+    /**
+     * Creates a cache that holds at most maxEntries responses
+     *
+     * @param maxEntries the maximum number of responses to hold
+     */
+    public LruPeliasCache(final int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        mMap = new LinkedHashMap<String, PeliasResponse>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PeliasResponse> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public synchronized PeliasResponse get(String key) {
+        return mMap.get(key);
+    }
+
+    @Override
+    public synchronized void put(String key, PeliasResponse response) {
+        mMap.put(key, response);
+    }
+
+    /**
+     * Returns the number of responses currently held in the cache
+     *
+     * @return the number of responses currently held in the cache
+     */
+    public synchronized int size() {
+        return mMap.size();
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.cache;
+
+import edu.usf.cutr.pelias.PeliasResponse;
+
+/**
+ * A cache of PeliasResponses keyed by request URL.  Implementations must be threadsafe, as a single cache is shared by
+ * all calls made through a PeliasClient.
+ */
+public interface PeliasCache {
+
+    /**
+     * Returns the cached response for the given key, or null if there is no cached response
+     *
+     * @param key the request URL
+     * @return the cached response for the given key, or null if there is no cached response
+     */
+    PeliasResponse get(String key);
+
+    /**
+     * Stores the response for the given key
+     *
+     * @param key      the request URL
+     * @param response the response returned by the server for the given key
+     */
+    void put(String key, PeliasResponse response);
+}
@@ -0,0 +1,353 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.cache;
+
+import edu.usf.cutr.pelias.PeliasResponse;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A PeliasCache bounded by the estimated size of its responses, which keeps frequently requested responses when a burst
+ * of one-off requests (e.g., a batch of addresses) passes through it.  It follows the W-TinyLFU design:
+ * <ul>
+ * <li>New responses enter a small LRU window (1% of the capacity, but at least a few typical responses and at most half
+ * the capacity), so recent responses get a chance to be requested again.</li>
+ * <li>A response leaving the window is only admitted to the main space if it has been requested more often than the
+ * response it would evict.  Request frequencies are estimated by a count-min sketch of 4 bit counters that are halved
+ * periodically, so old popularity fades.</li>
+ * <li>The main space is a segmented LRU - responses requested again while on probation are promoted to a protected
+ * segment (80% of the main space), so one-off responses are evicted before repeatedly requested ones.</li>
+ * </ul>
+ * Sizes are estimated from the number of features in each response.  Hit and miss counts are recorded.
+ */
+public class TinyLfuPeliasCache implements PeliasCache {
+
+    /**
+     * The estimated heap used by a response, and by each of its features, in bytes
+     */
+    static final int RESPONSE_BYTES = 1024;
+    static final int FEATURE_BYTES = 2560;
+
+    /**
+     * The minimum size of the window, in typical responses of 10 features
+     */
+    private static final int MIN_WINDOW_RESPONSES = 4;
+
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    private final long mMaxBytes;
+    private final long mWindowMaxBytes;
+    private final long mProtectedMaxBytes;
+    private final Map<String, Node> mNodes = new HashMap<String, Node>();
+    private final Segment[] mSegments = {new Segment(), new Segment(), new Segment()};
+    private final FrequencySketch mSketch;
+    private long mHits;
+    private long mMisses;
+    private long mEvictions;
+
+    private static class Node {
+        final String mKey;
+        PeliasResponse mResponse;
+        long mWeight;
+        int mSegment;
+        Node mPrevious;
+        Node mNext;
+
+        Node(String key) {
+            mKey = key;
+        }
+    }
+
+    /**
+     * A doubly linked list of nodes from least to most recently used, with their total weight
+     */
+    private static class Segment {
+        final Node mHead = new Node(null);
+        long mWeight;
+
+        Segment() {
+            mHead.mPrevious = mHead;
+            mHead.mNext = mHead;
+        }
+
+        boolean isEmpty() {
+            return mHead.mNext == mHead;
+        }
+
+        Node leastRecent() {
+            return mHead.mNext;
+        }
+
+        void addMostRecent(Node node) {
+            node.mPrevious = mHead.mPrevious;
+            node.mNext = mHead;
+            mHead.mPrevious.mNext = node;
+            mHead.mPrevious = node;
+            mWeight += node.mWeight;
+        }
+
+        void remove(Node node) {
+            node.mPrevious.mNext = node.mNext;
+            node.mNext.mPrevious = node.mPrevious;
+            node.mPrevious = null;
+            node.mNext = null;
+            mWeight -= node.mWeight;
+        }
+    }
+
+    /**
+     * Creates a cache that holds responses with a total estimated size of at most maxBytes
+     *
+     * @param maxBytes the maximum total estimated size of the cached responses, in bytes
+     */
+    public TinyLfuPeliasCache(long maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes must be positive");
+        }
+        mMaxBytes = maxBytes;
+        // A window smaller than a response would send every response straight to admission
+        mWindowMaxBytes = Math.max(1, Math.min(Math.max(maxBytes / 100, MIN_WINDOW_RESPONSES * estimateBytes(10)),
+                maxBytes / 2));
+        mProtectedMaxBytes = (maxBytes - mWindowMaxBytes) * 8 / 10;
+        // Sized for the number of typical responses of 10 features that fit
+        long expectedEntries = maxBytes / estimateBytes(10);
+        mSketch = new FrequencySketch((int) Math.min(Math.max(expectedEntries, 16), 1 << 26));
+    }
+
+    /**
+     * Returns the estimated heap used by a response
+     *
+     * @param response the response
+     * @return the estimated heap used by the response, in bytes
+     */
+    static long estimateBytes(PeliasResponse response) {
+        return estimateBytes(response.getFeatures() != null ? response.getFeatures().length : 0);
+    }
+
+    private static long estimateBytes(int features) {
+        return RESPONSE_BYTES + (long) FEATURE_BYTES * features;
+    }
+
+    @Override
+    public synchronized PeliasResponse get(String key) {
+        mSketch.increment(key);
+        Node node = mNodes.get(key);
+        if (node == null) {
+            mMisses++;
+            return null;
+        }
+        mHits++;
+        onAccess(node);
+        return node.mResponse;
+    }
+
+    @Override
+    public synchronized void put(String key, PeliasResponse response) {
+        long weight = estimateBytes(response);
+        Node node = mNodes.get(key);
+        if (node != null) {
+            Segment segment = mSegments[node.mSegment];
+            segment.remove(node);
+            node.mResponse = response;
+            node.mWeight = weight;
+            segment.addMostRecent(node);
+            if (node.mSegment == WINDOW) {
+                evictFromWindow();
+            } else {
+                evictFromMain();
+            }
+            return;
+        }
+        if (weight > mMaxBytes) {
+            return;
+        }
+        node = new Node(key);
+        node.mResponse = response;
+        node.mWeight = weight;
+        node.mSegment = WINDOW;
+        mNodes.put(key, node);
+        mSegments[WINDOW].addMostRecent(node);
+        evictFromWindow();
+    }
+
+    private void onAccess(Node node) {
+        Segment segment = mSegments[node.mSegment];
+        segment.remove(node);
+        if (node.mSegment == PROBATION) {
+            // Requested again, so promoted
+            node.mSegment = PROTECTED;
+            mSegments[PROTECTED].addMostRecent(node);
+            demoteFromProtected();
+        } else {
+            segment.addMostRecent(node);
+        }
+    }
+
+    /**
+     * Moves the least recently used protected responses back to probation while the protected segment is over capacity
+     */
+    private void demoteFromProtected() {
+        Segment protectedSegment = mSegments[PROTECTED];
+        while (protectedSegment.mWeight > mProtectedMaxBytes && !protectedSegment.isEmpty()) {
+            Node demoted = protectedSegment.leastRecent();
+            protectedSegment.remove(demoted);
+            demoted.mSegment = PROBATION;
+            mSegments[PROBATION].addMostRecent(demoted);
+        }
+    }
+
+    /**
+     * Moves responses out of the window while it is over capacity, admitting each to the main space only if it is
+     * requested more often than the responses it would evict
+     */
+    private void evictFromWindow() {
+        Segment window = mSegments[WINDOW];
+        while (window.mWeight > mWindowMaxBytes && !window.isEmpty()) {
+            Node candidate = window.leastRecent();
+            window.remove(candidate);
+            if (admit(candidate)) {
+                candidate.mSegment = PROBATION;
+                mSegments[PROBATION].addMostRecent(candidate);
+            } else {
+                evict(candidate);
+            }
+        }
+    }
+
+    private boolean admit(Node candidate) {
+        long mainMaxBytes = mMaxBytes - mWindowMaxBytes;
+        long mainBytes = mSegments[PROBATION].mWeight + mSegments[PROTECTED].mWeight;
+        if (mainBytes + candidate.mWeight <= mainMaxBytes) {
+            return true;
+        }
+        int candidateFrequency = mSketch.frequency(candidate.mKey);
+        // Collects victims in eviction order until the candidate fits, and only evicts them if the candidate is more
+        // popular than all of them
+        List<Node> victims = new ArrayList<Node>();
+        Segment segment = mSegments[PROBATION];
+        Node victim = segment.leastRecent();
+        while (mainBytes + candidate.mWeight > mainMaxBytes) {
+            if (victim == segment.mHead) {
+                if (segment == mSegments[PROTECTED]) {
+                    return false;
+                }
+                segment = mSegments[PROTECTED];
+                victim = segment.leastRecent();
+                continue;
+            }
+            if (mSketch.frequency(victim.mKey) >= candidateFrequency) {
+                return false;
+            }
+            victims.add(victim);
+            mainBytes -= victim.mWeight;
+            victim = victim.mNext;
+        }
+        for (Node evicted : victims) {
+            mSegments[evicted.mSegment].remove(evicted);
+            evict(evicted);
+        }
+        return true;
+    }
+
+    private Node victim() {
+        if (!mSegments[PROBATION].isEmpty()) {
+            return mSegments[PROBATION].leastRecent();
+        }
+        if (!mSegments[PROTECTED].isEmpty()) {
+            return mSegments[PROTECTED].leastRecent();
+        }
+        return null;
+    }
+
+    /**
+     * Evicts from the main space while it is over capacity, after a response in it grew
+     */
+    private void evictFromMain() {
+        demoteFromProtected();
+        long mainMaxBytes = mMaxBytes - mWindowMaxBytes;
+        Node victim;
+        while (mSegments[PROBATION].mWeight + mSegments[PROTECTED].mWeight > mainMaxBytes
+                && (victim = victim()) != null) {
+            mSegments[victim.mSegment].remove(victim);
+            evict(victim);
+        }
+    }
+
+    private void evict(Node node) {
+        mNodes.remove(node.mKey);
+        mEvictions++;
+    }
+
+    /**
+     * Returns the number of responses currently held in the cache
+     *
+     * @return the number of responses currently held in the cache
+     */
+    public synchronized int size() {
+        return mNodes.size();
+    }
+
+    /**
+     * Returns the total estimated size of the responses currently held in the cache
+     *
+     * @return the total estimated size of the responses currently held in the cache, in bytes
+     */
+    public synchronized long getEstimatedBytes() {
+        return mSegments[WINDOW].mWeight + mSegments[PROBATION].mWeight + mSegments[PROTECTED].mWeight;
+    }
+
+    /**
+     * Returns the number of lookups that found a cached response
+     *
+     * @return the number of lookups that found a cached response
+     */
+    public synchronized long getHitCount() {
+        return mHits;
+    }
+
+    /**
+     * Returns the number of lookups that didn't find a cached response
+     *
+     * @return the number of lookups that didn't find a cached response
+     */
+    public synchronized long getMissCount() {
+        return mMisses;
+    }
+
+    /**
+     * Returns the fraction of lookups that found a cached response
+     *
+     * @return the fraction of lookups that found a cached response, or 0 if there have been no lookups
+     */
+    public synchronized double getHitRate() {
+        long lookups = mHits + mMisses;
+        return lookups == 0 ? 0 : (double) mHits / lookups;
+    }
+
+    /**
+     * Returns the number of responses evicted, or not admitted, to keep within the capacity
+     *
+     * @return the number of responses evicted
+     */
+    public synchronized long getEvictionCount() {
+        return mEvictions;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.codec;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import edu.usf.cutr.pelias.PeliasResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Encodes PeliasResponses in a compact binary form for caching and storage, and decodes them again.
+ * <p>
+ * Responses are encoded as Smile (binary JSON).  Property names and short string values are back-referenced after
+ * their first occurrence, so the keys and the low-cardinality values repeated on every feature (e.g., "United States",
+ * "whosonfirst:country:85633793", "venue") are only written once per response.  Null values are omitted.
+ * <p>
+ * Instances are threadsafe.
+ */
+public class PeliasResponseCodec {
+
+    private final ObjectReader mReader;
+    private final ObjectWriter mWriter;
+    private final ObjectReader mStreamReader;
+    private final ObjectWriter mStreamWriter;
+
+    public PeliasResponseCodec() {
+        SmileFactory factory = new SmileFactory()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_NAMES)
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES);
+        ObjectMapper mapper = new ObjectMapper(factory)
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        mReader = mapper.readerFor(PeliasResponse.class);
+        mWriter = mapper.writerFor(PeliasResponse.class);
+        // Streams belong to the caller, so leave them open
+        mStreamReader = mReader.without(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+        mStreamWriter = mWriter.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * Encodes the response
+     *
+     * @param response the response to encode
+     * @return the encoded response
+     * @throws IOException if the response can't be encoded
+     */
+    public byte[] encode(PeliasResponse response) throws IOException {
+        return mWriter.writeValueAsBytes(response);
+    }
+
+    /**
+     * Encodes the response to the given stream, which is not closed
+     *
+     * @param response the response to encode
+     * @param out      the stream to write the encoded response to
+     * @throws IOException if the response can't be encoded or written
+     */
+    public void encode(PeliasResponse response, OutputStream out) throws IOException {
+        mStreamWriter.writeValue(out, response);
+    }
+
+    /**
+     * Decodes a response encoded by encode()
+     *
+     * @param bytes the encoded response
+     * @return the decoded response
+     * @throws IOException if the bytes aren't a valid encoded response
+     */
+    public PeliasResponse decode(byte[] bytes) throws IOException {
+        return mReader.readValue(bytes);
+    }
+
+    /**
+     * Decodes a response encoded by encode() from the given stream, which is not closed
+     *
+     * @param in the stream to read the encoded response from
+     * @return the decoded response
+     * @throws IOException if the stream doesn't contain a valid encoded response
+     */
+    public PeliasResponse decode(InputStream in) throws IOException {
+        return mStreamReader.readValue(in);
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.export;
+
+import edu.usf.cutr.pelias.ResponseHolder;
+
+/**
+ * A batch of geocoded features stored by column - latitude, longitude and confidence as primitive double arrays, and
+ * gid, layer and label as DictionaryColumns.  Absent numbers are NaN and absent text is empty.  Batches are reused:
+ * clear() empties the columns, including their dictionaries, but keeps their arrays.
+ */
+public class ColumnarBatch {
+
+    /**
+     * The names of the columns, in the order they are written
+     */
+    public static final String[] COLUMN_NAMES = {"lat", "lon", "confidence", "gid", "layer", "label"};
+
+    private final int mCapacity;
+    private final double[] mLatitudes;
+    private final double[] mLongitudes;
+    private final double[] mConfidences;
+    private final DictionaryColumn mGids;
+    private final DictionaryColumn mLayers;
+    private final DictionaryColumn mLabels;
+    private int mRowCount;
+
+    /**
+     * Creates an empty batch
+     *
+     * @param capacity the maximum number of rows
+     */
+    public ColumnarBatch(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        mCapacity = capacity;
+        mLatitudes = new double[capacity];
+        mLongitudes = new double[capacity];
+        mConfidences = new double[capacity];
+        mGids = new DictionaryColumn(capacity);
+        mLayers = new DictionaryColumn(capacity);
+        mLabels = new DictionaryColumn(capacity);
+    }
+
+    /**
+     * Adds a feature as a row
+     *
+     * @param feature the feature
+     * @throws IllegalStateException if the batch is full
+     */
+    public void add(ResponseHolder.FeatureHolder feature) {
+        checkNotFull();
+        mLatitudes[mRowCount] = feature.getLatitude();
+        mLongitudes[mRowCount] = feature.getLongitude();
+        mConfidences[mRowCount] = feature.getConfidence();
+        mGids.add(feature.getGid());
+        mLayers.add(feature.getLayer());
+        mLabels.add(feature.getLabel());
+        mRowCount++;
+    }
+
+    /**
+     * Adds a row whose text is already in the dictionaries, as when reading a columnar file
+     */
+    void add(double latitude, double longitude, double confidence, int gid, int layer, int label) {
+        checkNotFull();
+        mLatitudes[mRowCount] = latitude;
+        mLongitudes[mRowCount] = longitude;
+        mConfidences[mRowCount] = confidence;
+        mGids.addCode(gid);
+        mLayers.addCode(layer);
+        mLabels.addCode(label);
+        mRowCount++;
+    }
+
+    private void checkNotFull() {
+        if (mRowCount == mCapacity) {
+            throw new IllegalStateException("The batch is full");
+        }
+    }
+
+    /**
+     * Returns the number of rows
+     *
+     * @return the number of rows
+     */
+    public int getRowCount() {
+        return mRowCount;
+    }
+
+    /**
+     * Returns the maximum number of rows
+     *
+     * @return the maximum number of rows
+     */
+    public int getCapacity() {
+        return mCapacity;
+    }
+
+    /**
+     * Returns true if the batch can't take more rows
+     *
+     * @return true if the batch can't take more rows
+     */
+    public boolean isFull() {
+        return mRowCount == mCapacity;
+    }
+
+    /**
+     * Returns the latitude column.  Only the first getRowCount() values are rows.
+     *
+     * @return the latitude column
+     */
+    public double[] getLatitudes() {
+        return mLatitudes;
+    }
+
+    /**
+     * Returns the longitude column.  Only the first getRowCount() values are rows.
+     *
+     * @return the longitude column
+     */
+    public double[] getLongitudes() {
+        return mLongitudes;
+    }
+
+    /**
+     * Returns the confidence column.  Only the first getRowCount() values are rows.
+     *
+     * @return the confidence column
+     */
+    public double[] getConfidences() {
+        return mConfidences;
+    }
+
+    public DictionaryColumn getGids() {
+        return mGids;
+    }
+
+    public DictionaryColumn getLayers() {
+        return mLayers;
+    }
+
+    public DictionaryColumn getLabels() {
+        return mLabels;
+    }
+
+    /**
+     * Removes all rows, keeping the allocated arrays
+     */
+    public void clear() {
+        mRowCount = 0;
+        mGids.clear();
+        mLayers.clear();
+        mLabels.clear();
+    }
+}
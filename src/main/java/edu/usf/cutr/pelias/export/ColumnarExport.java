@@ -0,0 +1,169 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.export;
+
+import edu.usf.cutr.pelias.PeliasClient;
+import edu.usf.cutr.pelias.PeliasRequest;
+import edu.usf.cutr.pelias.ResponseHolder;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Geocodes requests in bulk and writes their features to a ColumnarWriter in batches.  Each response is parsed into a
+ * reused ResponseHolder and copied from it into a reused ColumnarBatch, so features are never materialized as GeoJSON
+ * objects and memory use is bounded by the batch size, however many results there are.  The client's cache and
+ * processors are not applied (see PeliasClient.call(PeliasRequest, ResponseHolder)).
+ * <p>
+ * Requests are made one after another - to export faster, run several exports over partitions of the requests, each
+ * with its own writer.
+ */
+public class ColumnarExport {
+
+    private static final int DEFAULT_BATCH_SIZE = 4096;
+
+    private final PeliasClient mClient;
+    private final ColumnarWriter mWriter;
+    private final boolean mSkipFailures;
+    private final ResponseHolder mHolder = new ResponseHolder();
+    private final ColumnarBatch mBatch;
+    private long mRowCount;
+    private int mFailureCount;
+
+    public static class Builder {
+        private final PeliasClient mClient;
+        private final ColumnarWriter mWriter;
+        private int mBatchSize = DEFAULT_BATCH_SIZE;
+        private boolean mSkipFailures;
+
+        /**
+         * A Builder for an export of responses from the client to the writer
+         *
+         * @param client the client that makes the requests
+         * @param writer the writer the features are written to
+         */
+        public Builder(PeliasClient client, ColumnarWriter writer) {
+            mClient = client;
+            mWriter = writer;
+        }
+
+        /**
+         * Sets the maximum number of features in each batch written (default is 4096)
+         *
+         * @param batchSize the maximum number of features in each batch written
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setBatchSize(int batchSize) {
+            if (batchSize <= 0) {
+                throw new IllegalArgumentException("batchSize must be positive");
+            }
+            mBatchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Sets whether a failed request is counted and skipped, rather than ending the export (default is false)
+         *
+         * @param skipFailures true to skip failed requests, false to end the export with their exception
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setSkipFailures(boolean skipFailures) {
+            mSkipFailures = skipFailures;
+            return this;
+        }
+
+        /**
+         * Builds the ColumnarExport using the specified parameters
+         *
+         * @return the ColumnarExport using the specified parameters
+         */
+        public ColumnarExport build() {
+            return new ColumnarExport(this);
+        }
+    }
+
+    private ColumnarExport(Builder builder) {
+        mClient = builder.mClient;
+        mWriter = builder.mWriter;
+        mSkipFailures = builder.mSkipFailures;
+        mBatch = new ColumnarBatch(builder.mBatchSize);
+    }
+
+    /**
+     * Makes the requests and adds the features of their responses to the export, writing each batch as it fills
+     *
+     * @param requests the requests to make
+     * @throws IOException if a request fails (unless failures are skipped), or a batch can't be written
+     */
+    public void add(List<? extends PeliasRequest> requests) throws IOException {
+        for (PeliasRequest request : requests) {
+            try {
+                mClient.call(request, mHolder);
+            } catch (IOException e) {
+                if (!mSkipFailures) {
+                    throw e;
+                }
+                mFailureCount++;
+                continue;
+            }
+            for (int i = 0; i < mHolder.getFeatureCount(); i++) {
+                if (mBatch.isFull()) {
+                    flush();
+                }
+                mBatch.add(mHolder.getFeature(i));
+                mRowCount++;
+            }
+        }
+    }
+
+    /**
+     * Writes the features not yet written, and closes the writer
+     *
+     * @throws IOException if the features can't be written
+     */
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            mWriter.close();
+        }
+    }
+
+    private void flush() throws IOException {
+        if (mBatch.getRowCount() > 0) {
+            mWriter.write(mBatch);
+            mBatch.clear();
+        }
+    }
+
+    /**
+     * Returns the number of features exported
+     *
+     * @return the number of features exported
+     */
+    public long getRowCount() {
+        return mRowCount;
+    }
+
+    /**
+     * Returns the number of requests that failed and were skipped
+     *
+     * @return the number of requests that failed and were skipped
+     */
+    public int getFailureCount() {
+        return mFailureCount;
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.export;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads the batches of a file written by ColumnarFileWriter
+ */
+public class ColumnarFileReader implements Closeable {
+
+    private final DataInputStream mIn;
+    private boolean mEnded;
+
+    /**
+     * Reads the file header
+     *
+     * @param in the stream the file is read from, which is closed by close()
+     * @throws IOException if the header can't be read, or isn't a columnar file of a supported version
+     */
+    public ColumnarFileReader(InputStream in) throws IOException {
+        mIn = new DataInputStream(new BufferedInputStream(in));
+        if (mIn.readInt() != ColumnarFileWriter.MAGIC) {
+            throw new IOException("Not a columnar file");
+        }
+        int version = mIn.readInt();
+        if (version != ColumnarFileWriter.VERSION) {
+            throw new IOException("Unsupported columnar file version " + version);
+        }
+        int columns = mIn.readInt();
+        if (columns != ColumnarBatch.COLUMN_NAMES.length) {
+            throw new IOException("Expected " + ColumnarBatch.COLUMN_NAMES.length + " columns, not " + columns);
+        }
+        for (int i = 0; i < columns; i++) {
+            String name = mIn.readUTF();
+            byte type = mIn.readByte();
+            if (!name.equals(ColumnarBatch.COLUMN_NAMES[i]) || type != ColumnarFileWriter.COLUMN_TYPES[i]) {
+                throw new IOException("Unexpected column " + name + " of type " + type);
+            }
+        }
+    }
+
+    /**
+     * Replaces the contents of the batch with the next batch of the file
+     *
+     * @param batch the batch to fill, whose capacity must be at least that of the batches written
+     * @return true if a batch was read, or false at the end of the file
+     * @throws IOException if the batch can't be read
+     */
+    public boolean read(ColumnarBatch batch) throws IOException {
+        batch.clear();
+        if (mEnded) {
+            return false;
+        }
+        int rows = mIn.readInt();
+        if (rows == 0) {
+            mEnded = true;
+            return false;
+        }
+        if (rows < 0 || rows > batch.getCapacity()) {
+            throw new IOException("Batch of " + rows + " rows doesn't fit a batch of " + batch.getCapacity());
+        }
+        double[] latitudes = readDoubles(rows);
+        double[] longitudes = readDoubles(rows);
+        double[] confidences = readDoubles(rows);
+        int[] gids = readDictionary(batch.getGids(), rows);
+        int[] layers = readDictionary(batch.getLayers(), rows);
+        int[] labels = readDictionary(batch.getLabels(), rows);
+        for (int row = 0; row < rows; row++) {
+            batch.add(latitudes[row], longitudes[row], confidences[row], gids[row], layers[row], labels[row]);
+        }
+        return true;
+    }
+
+    private double[] readDoubles(int rows) throws IOException {
+        double[] values = new double[rows];
+        for (int i = 0; i < rows; i++) {
+            values[i] = mIn.readDouble();
+        }
+        return values;
+    }
+
+    /**
+     * Reads the dictionary of a column into the column, returning the codes of its rows
+     */
+    private int[] readDictionary(DictionaryColumn column, int rows) throws IOException {
+        int size = readVarint();
+        for (int code = 0; code < size; code++) {
+            if (column.encode(mIn.readUTF()) != code) {
+                throw new IOException("Duplicate dictionary value");
+            }
+        }
+        int[] codes = new int[rows];
+        for (int row = 0; row < rows; row++) {
+            codes[row] = readVarint();
+        }
+        return codes;
+    }
+
+    private int readVarint() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = mIn.readUnsignedByte();
+            value |= (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    @Override
+    public void close() throws IOException {
+        mIn.close();
+    }
+}
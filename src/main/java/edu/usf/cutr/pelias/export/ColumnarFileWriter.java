@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.export;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes batches in a compact binary columnar format, read by ColumnarFileReader.  All integers are big-endian.
+ * <pre>
+ * file   := "PCOL" version:int columnCount:int (name:UTF type:byte)* batch* 0:int
+ * batch  := rowCount:int column*
+ * column := double[rowCount]                                   for type 0 (double)
+ *         | dictionarySize:varint value:UTF* code:varint[rowCount] for type 1 (dictionary encoded text)
+ * </pre>
+ * Each batch carries its own dictionaries, so a reader only ever holds one batch.
+ */
+public class ColumnarFileWriter implements ColumnarWriter {
+
+    static final int MAGIC = 0x50434F4C;
+    static final int VERSION = 1;
+    static final byte TYPE_DOUBLE = 0;
+    static final byte TYPE_DICTIONARY = 1;
+    static final byte[] COLUMN_TYPES = {TYPE_DOUBLE, TYPE_DOUBLE, TYPE_DOUBLE, TYPE_DICTIONARY, TYPE_DICTIONARY,
+            TYPE_DICTIONARY};
+
+    private final DataOutputStream mOut;
+
+    /**
+     * Writes the file header
+     *
+     * @param out the stream the file is written to, which is closed by close()
+     * @throws IOException if the header can't be written
+     */
+    public ColumnarFileWriter(OutputStream out) throws IOException {
+        mOut = new DataOutputStream(new BufferedOutputStream(out));
+        mOut.writeInt(MAGIC);
+        mOut.writeInt(VERSION);
+        mOut.writeInt(ColumnarBatch.COLUMN_NAMES.length);
+        for (int i = 0; i < ColumnarBatch.COLUMN_NAMES.length; i++) {
+            mOut.writeUTF(ColumnarBatch.COLUMN_NAMES[i]);
+            mOut.writeByte(COLUMN_TYPES[i]);
+        }
+    }
+
+    @Override
+    public void write(ColumnarBatch batch) throws IOException {
+        int rows = batch.getRowCount();
+        if (rows == 0) {
+            // A row count of 0 ends the file
+            return;
+        }
+        mOut.writeInt(rows);
+        writeDoubles(batch.getLatitudes(), rows);
+        writeDoubles(batch.getLongitudes(), rows);
+        writeDoubles(batch.getConfidences(), rows);
+        writeDictionary(batch.getGids());
+        writeDictionary(batch.getLayers());
+        writeDictionary(batch.getLabels());
+    }
+
+    private void writeDoubles(double[] values, int rows) throws IOException {
+        for (int i = 0; i < rows; i++) {
+            mOut.writeDouble(values[i]);
+        }
+    }
+
+    private void writeDictionary(DictionaryColumn column) throws IOException {
+        writeVarint(column.getDictionarySize());
+        for (int code = 0; code < column.getDictionarySize(); code++) {
+            mOut.writeUTF(column.getValue(code));
+        }
+        for (int row = 0; row < column.getRowCount(); row++) {
+            writeVarint(column.getCode(row));
+        }
+    }
+
+    private void writeVarint(int value) throws IOException {
+        while ((value & ~0x7f) != 0) {
+            mOut.writeByte((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        mOut.writeByte(value);
+    }
+
+    /**
+     * Ends the file and closes the stream
+     *
+     * @throws IOException if the file can't be ended
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            mOut.writeInt(0);
+        } finally {
+            mOut.close();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Writes batches of features, e.g. to a file.  The batch may be cleared and reused as soon as write() returns.
+ */
+public interface ColumnarWriter extends Closeable {
+
+    /**
+     * Writes the rows of the batch
+     *
+     * @param batch the batch to write
+     * @throws IOException if the batch can't be written
+     */
+    void write(ColumnarBatch batch) throws IOException;
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.export;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes batches as CSV (RFC 4180), with a header row of the column names.  Absent numbers are written as empty fields.
+ */
+public class CsvColumnarWriter implements ColumnarWriter {
+
+    private final Writer mWriter;
+    private boolean mHeaderWritten;
+
+    /**
+     * @param writer the writer the CSV is written to, which is closed by close()
+     */
+    public CsvColumnarWriter(Writer writer) {
+        mWriter = writer;
+    }
+
+    @Override
+    public void write(ColumnarBatch batch) throws IOException {
+        if (!mHeaderWritten) {
+            for (int i = 0; i < ColumnarBatch.COLUMN_NAMES.length; i++) {
+                if (i > 0) {
+                    mWriter.write(',');
+                }
+                mWriter.write(ColumnarBatch.COLUMN_NAMES[i]);
+            }
+            mWriter.write("\r\n");
+            mHeaderWritten = true;
+        }
+        for (int row = 0; row < batch.getRowCount(); row++) {
+            writeDouble(batch.getLatitudes()[row]);
+            mWriter.write(',');
+            writeDouble(batch.getLongitudes()[row]);
+            mWriter.write(',');
+            writeDouble(batch.getConfidences()[row]);
+            mWriter.write(',');
+            writeText(batch.getGids().get(row));
+            mWriter.write(',');
+            writeText(batch.getLayers().get(row));
+            mWriter.write(',');
+            writeText(batch.getLabels().get(row));
+            mWriter.write("\r\n");
+        }
+    }
+
+    private void writeDouble(double value) throws IOException {
+        if (!Double.isNaN(value)) {
+            mWriter.write(Double.toString(value));
+        }
+    }
+
+    private void writeText(String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!quote) {
+            mWriter.write(value);
+            return;
+        }
+        mWriter.write('"');
+        mWriter.write(value.replace("\"", "\"\""));
+        mWriter.write('"');
+    }
+
+    @Override
+    public void close() throws IOException {
+        mWriter.close();
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.export;
+
+import java.util.Arrays;
+
+/**
+ * A column of strings stored as an int code per row plus a dictionary of the distinct values, so repeated values (e.g.,
+ * layers) are stored once.  Values are added as CharSequences and only copied into a String the first time they are
+ * seen, so adding the rows of a reused ResponseHolder allocates nothing for values already in the dictionary.
+ */
+public class DictionaryColumn {
+
+    private int[] mCodes;
+    private int mRowCount;
+    private String[] mValues = new String[16];
+    private int mValueCount;
+    // Open addressing hash table of code + 1, or 0 for an empty slot
+    private int[] mTable = new int[32];
+
+    /**
+     * @param capacity the maximum number of rows
+     */
+    DictionaryColumn(int capacity) {
+        mCodes = new int[capacity];
+    }
+
+    /**
+     * Adds a row
+     *
+     * @param value the value of the row
+     */
+    void add(CharSequence value) {
+        mCodes[mRowCount++] = encode(value);
+    }
+
+    /**
+     * Adds a row with a value that is already in the dictionary
+     *
+     * @param code the code of the value
+     */
+    void addCode(int code) {
+        if (code < 0 || code >= mValueCount) {
+            throw new IllegalArgumentException("Code " + code + " is not in the dictionary of " + mValueCount);
+        }
+        mCodes[mRowCount++] = code;
+    }
+
+    /**
+     * Returns the code of the value, adding it to the dictionary if it isn't already there
+     *
+     * @param value the value
+     * @return the code of the value
+     */
+    int encode(CharSequence value) {
+        int mask = mTable.length - 1;
+        int slot = hash(value) & mask;
+        while (mTable[slot] != 0) {
+            int code = mTable[slot] - 1;
+            if (contentEquals(mValues[code], value)) {
+                return code;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (mValueCount == mValues.length) {
+            mValues = Arrays.copyOf(mValues, mValueCount * 2);
+        }
+        int code = mValueCount++;
+        mValues[code] = value.toString();
+        mTable[slot] = code + 1;
+        if (mValueCount * 2 > mTable.length) {
+            rehash(mTable.length * 2);
+        }
+        return code;
+    }
+
+    /**
+     * Returns the number of rows
+     *
+     * @return the number of rows
+     */
+    public int getRowCount() {
+        return mRowCount;
+    }
+
+    /**
+     * Returns the dictionary code of a row
+     *
+     * @param row the row, less than getRowCount()
+     * @return the dictionary code of the row
+     */
+    public int getCode(int row) {
+        if (row >= mRowCount) {
+            throw new IndexOutOfBoundsException("Row " + row + " of " + mRowCount);
+        }
+        return mCodes[row];
+    }
+
+    /**
+     * Returns the value of a row
+     *
+     * @param row the row, less than getRowCount()
+     * @return the value of the row
+     */
+    public String get(int row) {
+        return mValues[getCode(row)];
+    }
+
+    /**
+     * Returns the number of distinct values
+     *
+     * @return the number of distinct values
+     */
+    public int getDictionarySize() {
+        return mValueCount;
+    }
+
+    /**
+     * Returns a value from the dictionary
+     *
+     * @param code the code of the value, less than getDictionarySize()
+     * @return the value
+     */
+    public String getValue(int code) {
+        if (code >= mValueCount) {
+            throw new IndexOutOfBoundsException("Code " + code + " of " + mValueCount);
+        }
+        return mValues[code];
+    }
+
+    /**
+     * Removes all rows and the dictionary, keeping the allocated arrays
+     */
+    void clear() {
+        mRowCount = 0;
+        Arrays.fill(mValues, 0, mValueCount, null);
+        mValueCount = 0;
+        Arrays.fill(mTable, 0);
+    }
+
+    private void rehash(int size) {
+        mTable = new int[size];
+        int mask = size - 1;
+        for (int code = 0; code < mValueCount; code++) {
+            int slot = hash(mValues[code]) & mask;
+            while (mTable[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            mTable[slot] = code + 1;
+        }
+    }
+
+    /**
+     * The same hash as String.hashCode(), spread so consecutive hashes don't cluster
+     */
+    private static int hash(CharSequence value) {
+        int h = 0;
+        for (int i = 0; i < value.length(); i++) {
+            h = 31 * h + value.charAt(i);
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean contentEquals(String a, CharSequence b) {
+        if (a.length() != b.length()) {
+            return false;
+        }
+        for (int i = 0; i < a.length(); i++) {
+            if (a.charAt(i) != b.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
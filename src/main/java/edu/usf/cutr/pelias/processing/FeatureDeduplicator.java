@@ -0,0 +1,253 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.processing;
+
+import edu.usf.cutr.pelias.PeliasResponse;
+import edu.usf.cutr.pelias.util.FeatureUtils;
+import edu.usf.cutr.pelias.util.GeoUtils;
+import org.geojson.Feature;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Merges duplicate features, such as the same venue returned from several data sources.  Two features are duplicates
+ * if they have the same gid, or if they have the same normalized name and are within the distance threshold of each
+ * other.
+ * <p>
+ * The first occurrence of a place is kept and the gids of its duplicates are added to it as the "merged_gids"
+ * property.  Features are bucketed by name and by a grid of cells the size of the distance threshold, so only the
+ * features in neighboring cells are compared and deduplication runs in linear time.
+ */
+public class FeatureDeduplicator implements ResponseProcessor {
+
+    /**
+     * Feature property holding the gids of the duplicates merged into a feature
+     */
+    public static final String MERGED_GIDS = "merged_gids";
+
+    private final double mDistanceThreshold;
+
+    public static class Builder {
+        private double mDistanceThreshold = 100d;
+
+        /**
+         * Sets the maximum distance in meters between two features with the same name for them to be considered
+         * duplicates (default is 100)
+         *
+         * @param meters the maximum distance in meters between two features with the same name
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setDistanceThreshold(double meters) {
+            if (!(meters > 0)) {
+                throw new IllegalArgumentException("Distance threshold must be positive");
+            }
+            mDistanceThreshold = meters;
+            return this;
+        }
+
+        /**
+         * Builds the FeatureDeduplicator using the specified parameters
+         *
+         * @return the FeatureDeduplicator using the specified parameters
+         */
+        public FeatureDeduplicator build() {
+            return new FeatureDeduplicator(mDistanceThreshold);
+        }
+    }
+
+    private FeatureDeduplicator(double distanceThreshold) {
+        mDistanceThreshold = distanceThreshold;
+    }
+
+    /**
+     * Replaces the features of the response with the deduplicated features
+     *
+     * @param response the response to deduplicate
+     * @return the same response
+     */
+    @Override
+    public PeliasResponse process(PeliasResponse response) {
+        if (response.getFeatures() != null) {
+            response.setFeatures(deduplicate(response.getFeatures()));
+        }
+        return response;
+    }
+
+    /**
+     * Merges duplicates across one or more sets of features (e.g., the features of several responses), keeping the
+     * order in which the features are first seen
+     *
+     * @param featureSets the features to deduplicate
+     * @return the deduplicated features
+     */
+    public Feature[] deduplicate(Feature[]... featureSets) {
+        int total = 0;
+        for (Feature[] features : featureSets) {
+            total += features.length;
+        }
+        List<Feature> kept = new ArrayList<Feature>(total);
+        Map<String, Feature> byGid = new HashMap<String, Feature>(total * 2);
+        Map<CellKey, List<Integer>> byCell = new HashMap<CellKey, List<Integer>>(total * 2);
+        // Coordinates of the kept features, indexed as in kept
+        double[] lats = new double[total];
+        double[] lons = new double[total];
+
+        for (Feature[] features : featureSets) {
+            for (Feature feature : features) {
+                String gid = FeatureUtils.getString(feature, "gid");
+                if (gid != null && byGid.containsKey(gid)) {
+                    // Same place returned twice - nothing to record
+                    continue;
+                }
+
+                double lat = FeatureUtils.getLatitude(feature);
+                double lon = FeatureUtils.getLongitude(feature);
+                String name = FeatureUtils.normalizeName(FeatureUtils.getString(feature, "name"));
+                Feature duplicateOf = null;
+                CellKey key = null;
+                if (name != null && !Double.isNaN(lat) && !Double.isNaN(lon)) {
+                    long y = cellY(lat);
+                    long x = cellX(y, lon);
+                    key = new CellKey(name, x, y);
+                    duplicateOf = findNearby(kept, byCell, lats, lons, name, y, lat, lon);
+                }
+
+                if (duplicateOf != null) {
+                    addMergedGid(duplicateOf, gid);
+                    if (gid != null) {
+                        byGid.put(gid, duplicateOf);
+                    }
+                    continue;
+                }
+
+                int index = kept.size();
+                kept.add(feature);
+                lats[index] = lat;
+                lons[index] = lon;
+                if (gid != null) {
+                    byGid.put(gid, feature);
+                }
+                if (key != null) {
+                    List<Integer> bucket = byCell.get(key);
+                    if (bucket == null) {
+                        bucket = new ArrayList<Integer>(2);
+                        byCell.put(key, bucket);
+                    }
+                    bucket.add(index);
+                }
+            }
+        }
+        return kept.toArray(new Feature[kept.size()]);
+    }
+
+    private Feature findNearby(List<Feature> kept, Map<CellKey, List<Integer>> byCell, double[] lats, double[] lons,
+                               String name, long y, double lat, double lon) {
+        for (long row = y - 1; row <= y + 1; row++) {
+            // Each row has its own longitude scale, so the cells within the threshold are found at that scale
+            double rowEdge = Math.max(Math.abs(rowLatitude(row, 0)), Math.abs(rowLatitude(row, 1)));
+            double maxDegrees = maxLongitudeDegrees(Math.max(Math.abs(lat), rowEdge));
+            long last = cellX(row, lon + maxDegrees);
+            for (long column = cellX(row, lon - maxDegrees); column <= last; column++) {
+                List<Integer> bucket = byCell.get(new CellKey(name, column, row));
+                if (bucket == null) {
+                    continue;
+                }
+                for (int i : bucket) {
+                    if (GeoUtils.distance(lat, lon, lats[i], lons[i]) <= mDistanceThreshold) {
+                        return kept.get(i);
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Cells are laid out in rows of latitude the height of the distance threshold.  Within a row, longitude is scaled
+     * at the latitude of the row's center, so the cells of a row are about as wide as the threshold (the exact
+     * distance is always checked before merging).
+     */
+    private long cellX(long row, double lon) {
+        double meters = lon * Math.cos(Math.toRadians(rowLatitude(row, 0.5))) * GeoUtils.METERS_PER_DEGREE;
+        return (long) Math.floor(meters / mDistanceThreshold);
+    }
+
+    /**
+     * Returns the latitude at a fraction of the height of a row, 0 being its southern edge
+     */
+    private double rowLatitude(long row, double fraction) {
+        return Math.max(-90d, Math.min(90d, (row + fraction) * mDistanceThreshold / GeoUtils.METERS_PER_DEGREE));
+    }
+
+    /**
+     * Returns the largest difference in longitude between two features within the threshold of each other, with
+     * neither further from the equator than the latitude
+     */
+    private double maxLongitudeDegrees(double absLat) {
+        double cos = Math.cos(Math.toRadians(absLat));
+        double degrees = mDistanceThreshold / (GeoUtils.METERS_PER_DEGREE * cos);
+        return cos > 0 && degrees < 180d ? degrees : 180d;
+    }
+
+    private long cellY(double lat) {
+        return (long) Math.floor(lat * GeoUtils.METERS_PER_DEGREE / mDistanceThreshold);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void addMergedGid(Feature feature, String gid) {
+        if (gid == null) {
+            return;
+        }
+        Object merged = feature.getProperties().get(MERGED_GIDS);
+        if (!(merged instanceof List)) {
+            merged = new ArrayList<String>(2);
+            feature.setProperty(MERGED_GIDS, merged);
+        }
+        ((List<String>) merged).add(gid);
+    }
+
+    private static class CellKey {
+        final String mName;
+        final long mX;
+        final long mY;
+
+        CellKey(String name, long x, long y) {
+            mName = name;
+            mX = x;
+            mY = y;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof CellKey)) {
+                return false;
+            }
+            CellKey other = (CellKey) o;
+            return mX == other.mX && mY == other.mY && mName.equals(other.mName);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = mName.hashCode();
+            result = 31 * result + (int) (mX ^ (mX >>> 32));
+            result = 31 * result + (int) (mY ^ (mY >>> 32));
+            return result;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.processing;
+
+import edu.usf.cutr.pelias.PeliasResponse;
+import edu.usf.cutr.pelias.util.FeatureUtils;
+import edu.usf.cutr.pelias.util.GeoUtils;
+import org.geojson.Feature;
+
+/**
+ * Re-ranks features client-side by their true distance from a reference point, by confidence, or by any other
+ * ScoringFunction.  The coordinates and confidence of each feature are read once into primitive arrays, and the
+ * distances and scores are computed and sorted without boxing.
+ */
+public class FeatureRanker implements ResponseProcessor {
+
+    private final double mLat;
+    private final double mLon;
+    private final ScoringFunction mScoringFunction;
+
+    public static class Builder {
+        private final double mLat;
+        private final double mLon;
+        private ScoringFunction mScoringFunction = ScoringFunctions.DISTANCE;
+
+        /**
+         * A Builder for a FeatureRanker that measures distances from the given reference point
+         *
+         * @param lat Latitude of the reference point
+         * @param lon Longitude of the reference point
+         */
+        public Builder(double lat, double lon) {
+            mLat = lat;
+            mLon = lon;
+        }
+
+        /**
+         * Sets the function used to score features (default is ScoringFunctions.DISTANCE, closest first)
+         *
+         * @param scoringFunction the function used to score features
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setScoringFunction(ScoringFunction scoringFunction) {
+            mScoringFunction = scoringFunction;
+            return this;
+        }
+
+        /**
+         * Builds the FeatureRanker using the specified parameters
+         *
+         * @return the FeatureRanker using the specified parameters
+         */
+        public FeatureRanker build() {
+            return new FeatureRanker(this);
+        }
+    }
+
+    private FeatureRanker(Builder builder) {
+        mLat = builder.mLat;
+        mLon = builder.mLon;
+        mScoringFunction = builder.mScoringFunction;
+    }
+
+    /**
+     * Ranks the features.  Features with equal scores keep their original relative order.
+     *
+     * @param features the features to rank, which are not modified
+     * @return a sorted view over the features
+     */
+    public RankedFeatures rank(Feature[] features) {
+        int n = features.length;
+        double[] lats = new double[n];
+        double[] lons = new double[n];
+        double[] confidences = new double[n];
+        for (int i = 0; i < n; i++) {
+            lats[i] = FeatureUtils.getLatitude(features[i]);
+            lons[i] = FeatureUtils.getLongitude(features[i]);
+            confidences[i] = FeatureUtils.getDouble(features[i], "confidence", 0d);
+        }
+
+        double[] distances = new double[n];
+        double[] scores = new double[n];
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            double distance = GeoUtils.distance(mLat, mLon, lats[i], lons[i]);
+            // Features without a point geometry have NaN coordinates
+            distances[i] = Double.isNaN(distance) ? Double.POSITIVE_INFINITY : distance;
+            double score = mScoringFunction.score(distances[i], confidences[i]);
+            scores[i] = Double.isNaN(score) ? Double.NEGATIVE_INFINITY : score;
+            order[i] = i;
+        }
+        sort(order, scores);
+        return new RankedFeatures(features, order, distances, scores);
+    }
+
+    /**
+     * Replaces the features of the response with the ranked features
+     *
+     * @param response the response to rank
+     * @return the same response
+     */
+    @Override
+    public PeliasResponse process(PeliasResponse response) {
+        Feature[] features = response.getFeatures();
+        if (features != null) {
+            response.setFeatures(rank(features).toArray(new Feature[features.length]));
+        }
+        return response;
+    }
+
+    /**
+     * Stable merge sort of the indices by descending score
+     */
+    private static void sort(int[] order, double[] scores) {
+        int[] buffer = new int[order.length];
+        for (int width = 1; width < order.length; width *= 2) {
+            for (int lo = 0; lo < order.length - width; lo += 2 * width) {
+                int mid = lo + width;
+                int hi = Math.min(lo + 2 * width, order.length);
+                int i = lo;
+                int j = mid;
+                int k = lo;
+                while (i < mid && j < hi) {
+                    buffer[k++] = Double.compare(scores[order[j]], scores[order[i]]) > 0 ? order[j++] : order[i++];
+                }
+                while (i < mid) {
+                    buffer[k++] = order[i++];
+                }
+                while (j < hi) {
+                    buffer[k++] = order[j++];
+                }
+                System.arraycopy(buffer, lo, order, lo, hi - lo);
+            }
+        }
+    }
+}
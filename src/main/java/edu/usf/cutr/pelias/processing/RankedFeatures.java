@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.processing;
+
+import org.geojson.Feature;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * A read-only, sorted view over an array of features produced by a FeatureRanker.  The features themselves are not
+ * copied - the view holds the original array and the ranked order of its indices.
+ */
+public class RankedFeatures extends AbstractList<Feature> implements RandomAccess {
+
+    private final Feature[] mFeatures;
+    private final int[] mOrder;
+    private final double[] mDistances;
+    private final double[] mScores;
+
+    RankedFeatures(Feature[] features, int[] order, double[] distances, double[] scores) {
+        mFeatures = features;
+        mOrder = order;
+        mDistances = distances;
+        mScores = scores;
+    }
+
+    /**
+     * Returns the feature at the given rank
+     *
+     * @param rank the rank, starting at 0 for the best ranked feature
+     * @return the feature at the given rank
+     */
+    @Override
+    public Feature get(int rank) {
+        return mFeatures[mOrder[rank]];
+    }
+
+    @Override
+    public int size() {
+        return mOrder.length;
+    }
+
+    /**
+     * Returns the distance in meters from the reference point to the feature at the given rank
+     *
+     * @param rank the rank, starting at 0 for the best ranked feature
+     * @return the distance in meters from the reference point to the feature at the given rank, or positive infinity
+     * if the feature doesn't have a point geometry
+     */
+    public double getDistance(int rank) {
+        return mDistances[mOrder[rank]];
+    }
+
+    /**
+     * Returns the score of the feature at the given rank
+     *
+     * @param rank the rank, starting at 0 for the best ranked feature
+     * @return the score of the feature at the given rank
+     */
+    public double getScore(int rank) {
+        return mScores[mOrder[rank]];
+    }
+
+    /**
+     * Returns the index in the original array of the feature at the given rank
+     *
+     * @param rank the rank, starting at 0 for the best ranked feature
+     * @return the index in the original array of the feature at the given rank
+     */
+    public int getOriginalIndex(int rank) {
+        return mOrder[rank];
+    }
+}
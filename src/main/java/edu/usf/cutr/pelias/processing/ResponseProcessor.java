@@ -0,0 +1,32 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.processing;
+
+import edu.usf.cutr.pelias.PeliasResponse;
+
+/**
+ * A post-processing stage applied by a PeliasClient to each response after it is parsed, and before it is cached
+ */
+public interface ResponseProcessor {
+
+    /**
+     * Processes the response
+     *
+     * @param response the response parsed from the server
+     * @return the processed response, which may be the same instance
+     */
+    PeliasResponse process(PeliasResponse response);
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.processing;
+
+/**
+ * Scores a feature for re-ranking by a FeatureRanker.  Features with higher scores are ranked first.
+ */
+public interface ScoringFunction {
+
+    /**
+     * Returns the score of a feature
+     *
+     * @param distance   the distance in meters from the reference point to the feature, or positive infinity if the
+     *                   feature doesn't have a point geometry
+     * @param confidence the Pelias "confidence" of the feature (0 to 1), or 0 if the feature has no confidence
+     * @return the score of the feature - features with higher scores are ranked first
+     */
+    double score(double distance, double confidence);
+}
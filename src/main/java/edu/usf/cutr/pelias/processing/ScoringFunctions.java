@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.processing;
+
+/**
+ * Common ScoringFunctions
+ */
+public class ScoringFunctions {
+
+    /**
+     * Ranks the closest features first
+     */
+    public static final ScoringFunction DISTANCE = new ScoringFunction() {
+        @Override
+        public double score(double distance, double confidence) {
+            return -distance;
+        }
+    };
+
+    /**
+     * Ranks the features with the highest confidence first
+     */
+    public static final ScoringFunction CONFIDENCE = new ScoringFunction() {
+        @Override
+        public double score(double distance, double confidence) {
+            return confidence;
+        }
+    };
+
+    private ScoringFunctions() {
+    }
+
+    /**
+     * Returns a function that blends confidence with proximity.  The score is
+     * confidenceWeight * confidence + (1 - confidenceWeight) * exp(-distance / distanceScale), so proximity contributes
+     * fully at the reference point and decays smoothly with distance rather than cutting off at 100 km like the
+     * Pelias focus point boost.
+     *
+     * @param confidenceWeight the weight given to confidence, from 0 (distance only) to 1 (confidence only)
+     * @param distanceScale    the distance in meters at which the proximity term has decayed to 1/e
+     * @return a function that blends confidence with proximity
+     */
+    public static ScoringFunction blend(final double confidenceWeight, final double distanceScale) {
+        if (confidenceWeight < 0 || confidenceWeight > 1) {
+            throw new IllegalArgumentException("confidenceWeight must be between 0 and 1");
+        }
+        if (!(distanceScale > 0)) {
+            throw new IllegalArgumentException("distanceScale must be positive");
+        }
+        return new ScoringFunction() {
+            @Override
+            public double score(double distance, double confidence) {
+                return confidenceWeight * confidence + (1 - confidenceWeight) * Math.exp(-distance / distanceScale);
+            }
+        };
+    }
+}
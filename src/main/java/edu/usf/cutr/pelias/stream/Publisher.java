@@ -0,0 +1,34 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.stream;
+
+/**
+ * A source of items that are emitted to a Subscriber as it requests them.  This mirrors java.util.concurrent.Flow
+ * .Publisher and org.reactivestreams.Publisher, which this library can't depend on while it supports Java 7, so
+ * adapting to either is a matter of forwarding each method.
+ *
+ * @param <T> the type of item published
+ */
+public interface Publisher<T> {
+
+    /**
+     * Starts emitting items to the subscriber.  Subscriber.onSubscribe() is called first, and no items are emitted
+     * until the subscriber requests them via its Subscription.
+     *
+     * @param subscriber the subscriber to emit items to
+     */
+    void subscribe(Subscriber<? super T> subscriber);
+}
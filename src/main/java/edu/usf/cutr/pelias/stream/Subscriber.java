@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.stream;
+
+/**
+ * Receives the items emitted by a Publisher.  Signals are never delivered concurrently, but may be delivered on
+ * different threads.  Mirrors java.util.concurrent.Flow.Subscriber.
+ *
+ * @param <T> the type of item received
+ */
+public interface Subscriber<T> {
+
+    /**
+     * Called before any other signal, with the Subscription used to request items or cancel
+     *
+     * @param subscription the Subscription used to request items or cancel
+     */
+    void onSubscribe(Subscription subscription);
+
+    /**
+     * Called for each item, at most as many times as items have been requested
+     *
+     * @param item the next item
+     */
+    void onNext(T item);
+
+    /**
+     * Called once if the Publisher fails, after which no further signals are delivered
+     *
+     * @param throwable the cause of the failure
+     */
+    void onError(Throwable throwable);
+
+    /**
+     * Called once when all items have been emitted, after which no further signals are delivered
+     */
+    void onComplete();
+}
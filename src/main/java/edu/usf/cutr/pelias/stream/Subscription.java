@@ -0,0 +1,37 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.stream;
+
+/**
+ * Links a Subscriber to a Publisher.  Methods may be called from any thread, including from within the Subscriber's
+ * signals.  Mirrors java.util.concurrent.Flow.Subscription.
+ */
+public interface Subscription {
+
+    /**
+     * Adds n items to the number the Subscriber is ready to receive.  Requests are cumulative, and Long.MAX_VALUE
+     * requests all remaining items.
+     *
+     * @param n the number of additional items to receive, which must be positive
+     */
+    void request(long n);
+
+    /**
+     * Stops emitting items to the Subscriber and releases any resources held.  Signals already in progress may still
+     * be delivered.
+     */
+    void cancel();
+}
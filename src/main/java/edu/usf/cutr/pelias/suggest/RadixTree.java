@@ -0,0 +1,316 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.suggest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * A radix tree (a trie with single-child paths collapsed into one edge) from keys to entries, which finds the highest
+ * weighted entries under a prefix.  Each node records an upper bound of the weights (and sequences) below it, so the
+ * search expands the most promising nodes first and stops after finding the requested number of entries.  Not
+ * threadsafe.
+ */
+class RadixTree {
+
+    /**
+     * An entry stored in the tree under one or more keys
+     */
+    interface Weighted {
+        long getWeight();
+
+        /**
+         * Orders entries of equal weight - higher comes first.  Like the weight, it may only increase while the entry
+         * is in the tree.
+         */
+        long getSequence();
+    }
+
+    private static final Weighted[] NO_ENTRIES = new Weighted[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private static class Node {
+        String mLabel;
+        Node[] mChildren = NO_CHILDREN;
+        Weighted[] mEntries = NO_ENTRIES;
+        /**
+         * At least the (weight, sequence) of every entry at or below this node, compared by weight then sequence - it
+         * isn't lowered when entries are removed
+         */
+        long mMaxWeight = Long.MIN_VALUE;
+        long mMaxSequence = Long.MIN_VALUE;
+
+        void raiseBound(long weight, long sequence) {
+            if (weight > mMaxWeight || (weight == mMaxWeight && sequence > mMaxSequence)) {
+                mMaxWeight = weight;
+                mMaxSequence = sequence;
+            }
+        }
+
+        Node(String label) {
+            mLabel = label;
+        }
+
+        int childIndex(char c) {
+            int low = 0;
+            int high = mChildren.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char midChar = mChildren[mid].mLabel.charAt(0);
+                if (midChar < c) {
+                    low = mid + 1;
+                } else if (midChar > c) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        void insertChild(int index, Node child) {
+            Node[] children = new Node[mChildren.length + 1];
+            System.arraycopy(mChildren, 0, children, 0, index);
+            children[index] = child;
+            System.arraycopy(mChildren, index, children, index + 1, mChildren.length - index);
+            mChildren = children;
+        }
+
+        void removeChild(int index) {
+            Node[] children = new Node[mChildren.length - 1];
+            System.arraycopy(mChildren, 0, children, 0, index);
+            System.arraycopy(mChildren, index + 1, children, index, children.length - index);
+            mChildren = children.length == 0 ? NO_CHILDREN : children;
+        }
+    }
+
+    /**
+     * A node or entry waiting to be expanded by top()
+     */
+    private static class Candidate implements Comparable<Candidate> {
+        final long mWeight;
+        final long mSequence;
+        final Node mNode;
+        final Weighted mEntry;
+
+        Candidate(Node node) {
+            mWeight = node.mMaxWeight;
+            mSequence = node.mMaxSequence;
+            mNode = node;
+            mEntry = null;
+        }
+
+        Candidate(Weighted entry) {
+            mWeight = entry.getWeight();
+            mSequence = entry.getSequence();
+            mNode = null;
+            mEntry = entry;
+        }
+
+        @Override
+        public int compareTo(Candidate other) {
+            int byWeight = Long.compare(other.mWeight, mWeight);
+            if (byWeight != 0) {
+                return byWeight;
+            }
+            int bySequence = Long.compare(other.mSequence, mSequence);
+            if (bySequence != 0) {
+                return bySequence;
+            }
+            // Entries before nodes, as a node can at best tie with an entry
+            if ((mEntry != null) != (other.mEntry != null)) {
+                return mEntry != null ? -1 : 1;
+            }
+            return 0;
+        }
+    }
+
+    private final Node mRoot = new Node("");
+    private int mNodeCount = 1;
+
+    /**
+     * Adds the entry under the key, or raises the bounds on its path if it is already there
+     *
+     * @param key   the key
+     * @param entry the entry
+     */
+    void put(String key, Weighted entry) {
+        Node node = mRoot;
+        int i = 0;
+        while (true) {
+            node.raiseBound(entry.getWeight(), entry.getSequence());
+            if (i == key.length()) {
+                for (Weighted existing : node.mEntries) {
+                    if (existing == entry) {
+                        return;
+                    }
+                }
+                node.mEntries = Arrays.copyOf(node.mEntries, node.mEntries.length + 1);
+                node.mEntries[node.mEntries.length - 1] = entry;
+                return;
+            }
+            int index = node.childIndex(key.charAt(i));
+            if (index < 0) {
+                Node leaf = new Node(key.substring(i));
+                leaf.mEntries = new Weighted[]{entry};
+                leaf.raiseBound(entry.getWeight(), entry.getSequence());
+                node.insertChild(-(index + 1), leaf);
+                mNodeCount++;
+                return;
+            }
+            Node child = node.mChildren[index];
+            int common = commonPrefix(child.mLabel, key, i);
+            if (common < child.mLabel.length()) {
+                // Splits the edge where the key diverges from it
+                Node split = new Node(child.mLabel.substring(0, common));
+                split.raiseBound(child.mMaxWeight, child.mMaxSequence);
+                child.mLabel = child.mLabel.substring(common);
+                split.mChildren = new Node[]{child};
+                node.mChildren[index] = split;
+                mNodeCount++;
+                child = split;
+            }
+            node = child;
+            i += common;
+        }
+    }
+
+    /**
+     * Removes the entry from under the key, collapsing nodes that are no longer needed
+     *
+     * @param key   the key
+     * @param entry the entry
+     */
+    void remove(String key, Weighted entry) {
+        List<Node> path = new ArrayList<Node>();
+        Node node = mRoot;
+        int i = 0;
+        path.add(node);
+        while (i < key.length()) {
+            int index = node.childIndex(key.charAt(i));
+            if (index < 0) {
+                return;
+            }
+            Node child = node.mChildren[index];
+            if (!key.startsWith(child.mLabel, i)) {
+                return;
+            }
+            node = child;
+            i += child.mLabel.length();
+            path.add(node);
+        }
+        int found = -1;
+        for (int j = 0; j < node.mEntries.length; j++) {
+            if (node.mEntries[j] == entry) {
+                found = j;
+            }
+        }
+        if (found < 0) {
+            return;
+        }
+        Weighted[] entries = new Weighted[node.mEntries.length - 1];
+        System.arraycopy(node.mEntries, 0, entries, 0, found);
+        System.arraycopy(node.mEntries, found + 1, entries, found, entries.length - found);
+        node.mEntries = entries.length == 0 ? NO_ENTRIES : entries;
+
+        // Removes the node if it's now empty, then collapses whichever node is left with a single child and no entries
+        for (int depth = path.size() - 1; depth > 0; depth--) {
+            Node current = path.get(depth);
+            Node parent = path.get(depth - 1);
+            int index = parent.childIndex(current.mLabel.charAt(0));
+            if (current.mEntries.length == 0 && current.mChildren.length == 0) {
+                parent.removeChild(index);
+                mNodeCount--;
+                continue;
+            }
+            if (current.mEntries.length == 0 && current.mChildren.length == 1) {
+                Node only = current.mChildren[0];
+                only.mLabel = current.mLabel + only.mLabel;
+                parent.mChildren[index] = only;
+                mNodeCount--;
+            }
+            break;
+        }
+    }
+
+    /**
+     * Returns the highest weighted entries with a key starting with the prefix, each entry once
+     *
+     * @param prefix the prefix
+     * @param limit  the maximum number of entries to return
+     * @return the entries, highest weighted first
+     */
+    List<Weighted> top(String prefix, int limit) {
+        List<Weighted> results = new ArrayList<Weighted>();
+        Node node = mRoot;
+        int i = 0;
+        while (i < prefix.length()) {
+            int index = node.childIndex(prefix.charAt(i));
+            if (index < 0) {
+                return results;
+            }
+            Node child = node.mChildren[index];
+            int common = commonPrefix(child.mLabel, prefix, i);
+            if (i + common < prefix.length() && common < child.mLabel.length()) {
+                // The prefix diverges from the edge
+                return results;
+            }
+            node = child;
+            i += common;
+        }
+
+        // Best first - nodes are queued by their weight bound and entries by their weight
+        PriorityQueue<Candidate> queue = new PriorityQueue<Candidate>();
+        queue.add(new Candidate(node));
+        while (!queue.isEmpty() && results.size() < limit) {
+            Candidate candidate = queue.poll();
+            if (candidate.mEntry != null) {
+                // An entry can be reached via several keys under the prefix
+                if (!results.contains(candidate.mEntry)) {
+                    results.add(candidate.mEntry);
+                }
+                continue;
+            }
+            for (Weighted entry : candidate.mNode.mEntries) {
+                queue.add(new Candidate(entry));
+            }
+            for (Node child : candidate.mNode.mChildren) {
+                queue.add(new Candidate(child));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Returns the number of nodes in the tree, including the root
+     *
+     * @return the number of nodes in the tree
+     */
+    int getNodeCount() {
+        return mNodeCount;
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,351 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.suggest;
+
+import edu.usf.cutr.pelias.PeliasResponse;
+import edu.usf.cutr.pelias.codec.PeliasResponseCodec;
+import edu.usf.cutr.pelias.processing.ResponseProcessor;
+import edu.usf.cutr.pelias.util.FeatureUtils;
+import org.geojson.Feature;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * A local index of places seen in previous responses, which suggests places for a prefix of their name or label
+ * without a round trip to the server.  Places are ranked by how often the user selected them.
+ * <p>
+ * Add the index to a PeliasClient as a processor to index the features of every response, and call select() when the
+ * user picks a place.  Names and labels are normalized (see FeatureUtils.normalizeName()) and stored in a radix tree,
+ * so a lookup only touches the nodes under the prefix and the highest weighted places.  Memory is bounded by a maximum
+ * number of places - when it is exceeded, the least selected place is evicted, oldest first.  The index can be saved
+ * to and restored from a stream.
+ * <p>
+ * Instances are threadsafe.
+ */
+public class SuggestionIndex implements ResponseProcessor {
+
+    /**
+     * Identifies the snapshot format, so an incompatible stream is rejected rather than misread
+     */
+    private static final int SNAPSHOT_VERSION = 0x50530001;
+
+    private final int mMaxEntries;
+    private final RadixTree mTree = new RadixTree();
+    private final Map<String, Entry> mEntries = new HashMap<String, Entry>();
+    /**
+     * Entries in eviction order - least selected, then least recently seen, first
+     */
+    private final TreeSet<Entry> mEvictionOrder = new TreeSet<Entry>();
+    private final PeliasResponseCodec mCodec = new PeliasResponseCodec();
+    private long mSequence;
+
+    private static class Entry implements RadixTree.Weighted, Comparable<Entry> {
+        final String mGid;
+        Feature mFeature;
+        String[] mKeys;
+        long mWeight;
+        long mSequence;
+
+        Entry(String gid) {
+            mGid = gid;
+        }
+
+        @Override
+        public long getWeight() {
+            return mWeight;
+        }
+
+        @Override
+        public long getSequence() {
+            return mSequence;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            if (mWeight != other.mWeight) {
+                return mWeight < other.mWeight ? -1 : 1;
+            }
+            return mSequence < other.mSequence ? -1 : (mSequence == other.mSequence ? 0 : 1);
+        }
+    }
+
+    public static class Builder {
+        private int mMaxEntries = 10000;
+
+        /**
+         * Sets the maximum number of places held in the index (default is 10000)
+         *
+         * @param maxEntries the maximum number of places held in the index
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setMaxEntries(int maxEntries) {
+            if (maxEntries <= 0) {
+                throw new IllegalArgumentException("maxEntries must be positive");
+            }
+            mMaxEntries = maxEntries;
+            return this;
+        }
+
+        /**
+         * Builds the SuggestionIndex using the specified parameters
+         *
+         * @return the SuggestionIndex using the specified parameters
+         */
+        public SuggestionIndex build() {
+            return new SuggestionIndex(mMaxEntries);
+        }
+    }
+
+    private SuggestionIndex(int maxEntries) {
+        mMaxEntries = maxEntries;
+    }
+
+    /**
+     * Indexes the features of the response, which is returned unchanged
+     *
+     * @param response the response to index
+     * @return the response
+     */
+    @Override
+    public PeliasResponse process(PeliasResponse response) {
+        if (response.getFeatures() != null) {
+            for (Feature feature : response.getFeatures()) {
+                add(feature);
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Indexes the feature, replacing any feature with the same gid without changing its selection count.  Features
+     * without a gid, or without a name or label, are ignored.
+     *
+     * @param feature the feature to index
+     */
+    public synchronized void add(Feature feature) {
+        put(feature, 0);
+    }
+
+    /**
+     * Records that the user selected the feature, ranking it above less frequently selected places.  The feature is
+     * indexed if it isn't already.
+     *
+     * @param feature the feature the user selected
+     */
+    public synchronized void select(Feature feature) {
+        put(feature, 1);
+    }
+
+    private void put(Feature feature, long addedWeight) {
+        String gid = FeatureUtils.getString(feature, "gid");
+        if (gid == null) {
+            return;
+        }
+        String[] keys = keys(feature);
+        if (keys.length == 0) {
+            return;
+        }
+        Entry entry = mEntries.get(gid);
+        if (entry == null) {
+            entry = new Entry(gid);
+            mEntries.put(gid, entry);
+        } else {
+            mEvictionOrder.remove(entry);
+            for (String key : entry.mKeys) {
+                mTree.remove(key, entry);
+            }
+        }
+        entry.mFeature = feature;
+        entry.mKeys = keys;
+        entry.mWeight += addedWeight;
+        entry.mSequence = ++mSequence;
+        mEvictionOrder.add(entry);
+        for (String key : keys) {
+            mTree.put(key, entry);
+        }
+        while (mEntries.size() > mMaxEntries) {
+            evict(mEvictionOrder.first());
+        }
+    }
+
+    private void evict(Entry entry) {
+        mEvictionOrder.remove(entry);
+        mEntries.remove(entry.mGid);
+        for (String key : entry.mKeys) {
+            mTree.remove(key, entry);
+        }
+    }
+
+    /**
+     * Returns the distinct normalized name and label of the feature
+     */
+    private static String[] keys(Feature feature) {
+        Set<String> keys = new HashSet<String>(2);
+        String name = FeatureUtils.normalizeName(FeatureUtils.getString(feature, "name"));
+        if (name != null && !name.isEmpty()) {
+            keys.add(name);
+        }
+        String label = FeatureUtils.normalizeName(FeatureUtils.getString(feature, "label"));
+        if (label != null && !label.isEmpty()) {
+            keys.add(label);
+        }
+        return keys.toArray(new String[keys.size()]);
+    }
+
+    /**
+     * Returns the places whose normalized name or label starts with the normalized text, most frequently selected
+     * first, then most recently seen
+     *
+     * @param text  the text the user has typed
+     * @param limit the maximum number of places to return
+     * @return the matching places
+     */
+    public synchronized List<Feature> suggest(String text, int limit) {
+        String prefix = FeatureUtils.normalizeName(text);
+        List<Feature> features = new ArrayList<Feature>();
+        if (prefix == null || prefix.isEmpty() || limit <= 0) {
+            return features;
+        }
+        for (RadixTree.Weighted entry : mTree.top(prefix, limit)) {
+            features.add(((Entry) entry).mFeature);
+        }
+        return features;
+    }
+
+    /**
+     * Merges local suggestions with the remote results when they arrive.  Local suggestions come first, followed by
+     * the remote features that aren't already suggested (by gid).
+     *
+     * @param local  the local suggestions from suggest()
+     * @param remote the response from the server
+     * @param limit  the maximum number of features to return
+     * @return the merged features
+     */
+    public static List<Feature> merge(List<Feature> local, PeliasResponse remote, int limit) {
+        List<Feature> merged = new ArrayList<Feature>(limit);
+        Set<String> gids = new HashSet<String>();
+        for (Feature feature : local) {
+            if (merged.size() == limit) {
+                return merged;
+            }
+            merged.add(feature);
+            gids.add(FeatureUtils.getString(feature, "gid"));
+        }
+        if (remote.getFeatures() != null) {
+            for (Feature feature : remote.getFeatures()) {
+                if (merged.size() == limit) {
+                    break;
+                }
+                String gid = FeatureUtils.getString(feature, "gid");
+                if (gid == null || gids.add(gid)) {
+                    merged.add(feature);
+                }
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Returns the number of places in the index
+     *
+     * @return the number of places in the index
+     */
+    public synchronized int size() {
+        return mEntries.size();
+    }
+
+    /**
+     * Returns the number of radix tree nodes, a measure of the index's memory use
+     *
+     * @return the number of radix tree nodes
+     */
+    synchronized int getNodeCount() {
+        return mTree.getNodeCount();
+    }
+
+    /**
+     * Writes the places in the index and their selection counts to the stream, which is not closed
+     *
+     * @param out the stream to write to
+     * @throws IOException if the index can't be written
+     */
+    public synchronized void snapshot(OutputStream out) throws IOException {
+        List<Feature> features = new ArrayList<Feature>(mEntries.size());
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(SNAPSHOT_VERSION);
+        data.writeInt(mEvictionOrder.size());
+        // In eviction order, so restoring them in turn reproduces the recency order
+        for (Entry entry : mEvictionOrder) {
+            data.writeLong(entry.mWeight);
+            features.add(entry.mFeature);
+        }
+        data.flush();
+        PeliasResponse response = new PeliasResponse();
+        response.setFeatures(features.toArray(new Feature[features.size()]));
+        mCodec.encode(response, out);
+    }
+
+    /**
+     * Adds the places written by snapshot() to this index, adding their selection counts to those of places already
+     * in the index
+     *
+     * @param in the stream to read from, which is not closed
+     * @throws IOException if the stream can't be read or wasn't written by snapshot()
+     */
+    public synchronized void restore(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != SNAPSHOT_VERSION) {
+            throw new IOException("Not a SuggestionIndex snapshot");
+        }
+        int count = data.readInt();
+        if (count < 0) {
+            throw new IOException("Corrupt SuggestionIndex snapshot");
+        }
+        // The count isn't trusted to size the array, so a corrupt one fails at the end of the stream instead of
+        // allocating whatever it claims
+        long[] weights = new long[Math.min(count, mMaxEntries)];
+        try {
+            for (int i = 0; i < count; i++) {
+                if (i == weights.length) {
+                    weights = Arrays.copyOf(weights, (int) Math.min(count, 2L * weights.length));
+                }
+                weights[i] = data.readLong();
+            }
+        } catch (EOFException e) {
+            throw new IOException("Corrupt SuggestionIndex snapshot", e);
+        }
+        Feature[] features = mCodec.decode(in).getFeatures();
+        if (features == null || features.length != count) {
+            throw new IOException("Corrupt SuggestionIndex snapshot");
+        }
+        for (int i = 0; i < features.length; i++) {
+            put(features[i], weights[i]);
+        }
+    }
+}
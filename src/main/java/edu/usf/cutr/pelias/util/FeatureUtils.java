@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.util;
+
+import org.geojson.Feature;
+import org.geojson.GeoJsonObject;
+import org.geojson.Point;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Helper methods for reading the Pelias properties of GeoJSON Features
+ */
+public class FeatureUtils {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private FeatureUtils() {
+    }
+
+    /**
+     * Returns the latitude of the feature's point geometry, or NaN if the feature doesn't have a point geometry
+     *
+     * @param feature the feature
+     * @return the latitude of the feature's point geometry, or NaN if the feature doesn't have a point geometry
+     */
+    public static double getLatitude(Feature feature) {
+        GeoJsonObject geometry = feature.getGeometry();
+        if (geometry instanceof Point && ((Point) geometry).getCoordinates() != null) {
+            return ((Point) geometry).getCoordinates().getLatitude();
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * Returns the longitude of the feature's point geometry, or NaN if the feature doesn't have a point geometry
+     *
+     * @param feature the feature
+     * @return the longitude of the feature's point geometry, or NaN if the feature doesn't have a point geometry
+     */
+    public static double getLongitude(Feature feature) {
+        GeoJsonObject geometry = feature.getGeometry();
+        if (geometry instanceof Point && ((Point) geometry).getCoordinates() != null) {
+            return ((Point) geometry).getCoordinates().getLongitude();
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * Returns the given property as a String, or null if the property isn't set
+     *
+     * @param feature the feature
+     * @param name    the property name (e.g., "gid", "layer", "label")
+     * @return the given property as a String, or null if the property isn't set
+     */
+    public static String getString(Feature feature, String name) {
+        Object value = feature.getProperties().get(name);
+        return value != null ? value.toString() : null;
+    }
+
+    /**
+     * Returns the given property as a double, or the default value if the property isn't set or isn't numeric
+     *
+     * @param feature      the feature
+     * @param name         the property name (e.g., "confidence", "distance")
+     * @param defaultValue the value to return if the property isn't set or isn't numeric
+     * @return the given property as a double, or the default value if the property isn't set or isn't numeric
+     */
+    public static double getDouble(Feature feature, String name, double defaultValue) {
+        Object value = feature.getProperties().get(name);
+        return value instanceof Number ? ((Number) value).doubleValue() : defaultValue;
+    }
+
+    /**
+     * Normalizes a place name for comparison - accents are removed, the name is lower cased and runs of punctuation and
+     * whitespace are collapsed to a single space
+     *
+     * @param name the name to normalize
+     * @return the normalized name, or null if name is null
+     */
+    public static String normalizeName(String name) {
+        if (name == null) {
+            return null;
+        }
+        String stripped = DIACRITICS.matcher(Normalizer.normalize(name, Normalizer.Form.NFD)).replaceAll("");
+        return NON_ALPHANUMERIC.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+}
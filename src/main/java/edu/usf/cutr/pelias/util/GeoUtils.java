@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.util;
+
+/**
+ * Geodesic helper methods
+ */
+public class GeoUtils {
+
+    /**
+     * Mean radius of the Earth in meters
+     */
+    public static final double EARTH_RADIUS_METERS = 6371008.8d;
+
+    /**
+     * Approximate length of one degree of latitude in meters
+     */
+    public static final double METERS_PER_DEGREE = Math.PI * EARTH_RADIUS_METERS / 180d;
+
+    private GeoUtils() {
+    }
+
+    /**
+     * Returns the great-circle distance between two points in meters, using the haversine formula
+     *
+     * @param lat1 latitude of the first point in degrees
+     * @param lon1 longitude of the first point in degrees
+     * @param lat2 latitude of the second point in degrees
+     * @param lon2 longitude of the second point in degrees
+     * @return the great-circle distance between the two points in meters
+     */
+    public static double distance(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double sinLat = Math.sin(dLat / 2);
+        double sinLon = Math.sin(dLon / 2);
+        double a = sinLat * sinLat +
+                Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * sinLon * sinLon;
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1d, Math.sqrt(a)));
+    }
+
+    /**
+     * Returns the initial bearing of the great circle from the first point to the second
+     *
+     * @param lat1 latitude of the first point in degrees
+     * @param lon1 longitude of the first point in degrees
+     * @param lat2 latitude of the second point in degrees
+     * @param lon2 longitude of the second point in degrees
+     * @return the bearing in degrees clockwise from north, from 0 (inclusive) to 360 (exclusive)
+     */
+    public static double bearing(double lat1, double lon1, double lat2, double lon2) {
+        double phi1 = Math.toRadians(lat1);
+        double phi2 = Math.toRadians(lat2);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double y = Math.sin(dLon) * Math.cos(phi2);
+        double x = Math.cos(phi1) * Math.sin(phi2) - Math.sin(phi1) * Math.cos(phi2) * Math.cos(dLon);
+        double bearing = Math.toDegrees(Math.atan2(y, x));
+        return bearing < 0 ? bearing + 360d : bearing;
+    }
+
+    /**
+     * Returns the smallest angle between two bearings
+     *
+     * @param bearing1 the first bearing in degrees
+     * @param bearing2 the second bearing in degrees
+     * @return the smallest angle between the bearings in degrees, from 0 to 180
+     */
+    public static double bearingDifference(double bearing1, double bearing2) {
+        double difference = Math.abs(bearing1 - bearing2) % 360d;
+        return difference > 180d ? 360d - difference : difference;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.util;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A bounded pool of canonical String instances.  When set on a PeliasClient, the values of low-cardinality feature
+ * properties (e.g., "country", "layer", "source" and the "*_gid" and "*_a" properties) are replaced with the pooled
+ * instance as they are parsed, so a long-running process retains one copy of "United States" instead of one per
+ * feature.
+ * <p>
+ * Once the pool holds maxSize strings, new strings are no longer added, which bounds the memory held by the pool if a
+ * property turns out to have a higher cardinality than expected.  This class is threadsafe.
+ */
+public class StringPool {
+
+    private static final Set<String> DEFAULT_PROPERTIES = Collections.unmodifiableSet(new HashSet<String>(Arrays.asList(
+            "layer", "source", "accuracy", "continent", "country", "dependency", "macroregion", "region",
+            "macrocounty", "county", "localadmin", "locality", "borough", "neighbourhood")));
+
+    private final ConcurrentMap<String, String> mPool;
+    private final int mMaxSize;
+    private final Set<String> mProperties;
+
+    /**
+     * Creates a pool that holds at most maxSize strings, and accepts the default set of low-cardinality properties
+     *
+     * @param maxSize the maximum number of strings to hold
+     */
+    public StringPool(int maxSize) {
+        this(maxSize, DEFAULT_PROPERTIES);
+    }
+
+    /**
+     * Creates a pool that holds at most maxSize strings.  Values of the given properties, and of any property ending in
+     * "_gid" or "_a", are pooled.
+     *
+     * @param maxSize    the maximum number of strings to hold
+     * @param properties the names of the properties whose values are pooled
+     */
+    public StringPool(int maxSize, Set<String> properties) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        mMaxSize = maxSize;
+        mProperties = Collections.unmodifiableSet(new HashSet<String>(properties));
+        mPool = new ConcurrentHashMap<String, String>(Math.min(maxSize, 1024));
+    }
+
+    /**
+     * Returns true if values of the given property should be pooled
+     *
+     * @param property the property name, may be null
+     * @return true if values of the given property should be pooled
+     */
+    public boolean accepts(String property) {
+        return property != null &&
+                (mProperties.contains(property) || property.endsWith("_gid") || property.endsWith("_a"));
+    }
+
+    /**
+     * Returns the canonical instance of the string.  If the string isn't yet pooled and the pool is full, the string
+     * itself is returned.
+     *
+     * @param value the string
+     * @return the canonical instance of the string
+     */
+    public String canonicalize(String value) {
+        String canonical = mPool.get(value);
+        if (canonical != null) {
+            return canonical;
+        }
+        if (mPool.size() >= mMaxSize) {
+            return value;
+        }
+        canonical = mPool.putIfAbsent(value, value);
+        return canonical != null ? canonical : value;
+    }
+
+    /**
+     * Returns the number of strings held in the pool
+     *
+     * @return the number of strings held in the pool
+     */
+    public int size() {
+        return mPool.size();
+    }
+}
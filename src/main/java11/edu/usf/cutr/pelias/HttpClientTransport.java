@@ -0,0 +1,195 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * A Transport that uses the java.net.http.HttpClient of Java 11 and higher, which negotiates HTTP/2 with servers that
+ * support it and multiplexes concurrent calls to a server over a single connection, rather than holding a connection
+ * per in-flight call as HTTP/1.1 does.
+ * <p>
+ * This is the Java 11 implementation from the multi-release JAR.  The connect timeout of a call bounds connecting, and
+ * its read timeout bounds the time until the response headers arrive.  HttpClient only takes a connect timeout when it
+ * is built, so calls with different connect timeouts use separate HttpClients, which don't share connections.
+ * HttpClient doesn't report when it acquires a connection, so CallTimings from this transport only have the
+ * requestSent() and firstByteReceived() phases.
+ * <p>
+ * Concurrent calls to a server that hasn't been called yet wait for the first call's response, so they share its HTTP/2
+ * connection rather than each negotiating one.
+ */
+public class HttpClientTransport implements Transport {
+
+    // The HttpClient for each connect timeout in milliseconds, 0 meaning none
+    private final ConcurrentHashMap<Integer, HttpClient> mClients = new ConcurrentHashMap<Integer, HttpClient>();
+    // Completes, for each connect timeout, scheme, host and port, when the first call to it has a response
+    private final ConcurrentHashMap<String, CompletableFuture<Void>> mOrigins =
+            new ConcurrentHashMap<String, CompletableFuture<Void>>();
+
+    /**
+     * Returns true if this JVM supports HttpClientTransport
+     *
+     * @return true if this JVM supports HttpClientTransport (Java 11 and higher)
+     */
+    public static boolean isSupported() {
+        return true;
+    }
+
+    /**
+     * Creates a transport with its own HttpClients, which prefer HTTP/2 and follow redirects
+     */
+    public HttpClientTransport() {
+    }
+
+    @Override
+    public InputStream open(URL url, CallContext context) throws IOException {
+        String origin = context.getConnectTimeoutMillis() + " " + url.getProtocol() + "://" + url.getAuthority();
+        CompletableFuture<Void> first = mOrigins.get(origin);
+        if (first == null) {
+            CompletableFuture<Void> opening = new CompletableFuture<Void>();
+            first = mOrigins.putIfAbsent(origin, opening);
+            if (first == null) {
+                try {
+                    InputStream in = send(url, context);
+                    opening.complete(null);
+                    return in;
+                } catch (IOException | RuntimeException e) {
+                    if (!(e instanceof HttpStatusException)) {
+                        // Not connected - the next call tries again, and the waiting calls go ahead on their own
+                        mOrigins.remove(origin, opening);
+                    }
+                    opening.complete(null);
+                    throw e;
+                }
+            }
+        }
+        if (!first.isDone()) {
+            CompletableFuture<Void> wait = first.copy();
+            context.setAbortable(() -> wait.cancel(true));
+            await(wait);
+        }
+        return send(url, context);
+    }
+
+    private InputStream send(URL url, CallContext context) throws IOException {
+        HttpRequest.Builder builder;
+        try {
+            builder = HttpRequest.newBuilder(url.toURI()).GET();
+        } catch (URISyntaxException e) {
+            throw new IOException("Invalid request URL " + url, e);
+        }
+        if (context.getReadTimeoutMillis() > 0) {
+            builder.timeout(Duration.ofMillis(context.getReadTimeoutMillis()));
+        }
+        HttpClient client = mClients.computeIfAbsent(context.getConnectTimeoutMillis(), HttpClientTransport::newClient);
+        final CompletableFuture<HttpResponse<InputStream>> future = client.sendAsync(builder.build(),
+                HttpResponse.BodyHandlers.ofInputStream());
+        context.setAbortable(() -> {
+            future.cancel(true);
+            // Closing the body of a response that already arrived resets its stream
+            future.thenAccept(response -> closeQuietly(response.body()));
+        });
+        context.requestSent();
+        HttpResponse<InputStream> response = await(future);
+        context.firstByteReceived();
+        int status = response.statusCode();
+        if (status >= 400) {
+            // Reading the error body leaves the stream, or connection, reusable
+            InputStream error = response.body();
+            try {
+                error.readAllBytes();
+            } finally {
+                error.close();
+            }
+            throw new HttpStatusException(status, parseRetryAfter(response.headers().firstValue("Retry-After")
+                    .orElse(null)), "Server returned HTTP response code " + status + " for URL " + url);
+        }
+        return response.body();
+    }
+
+    private static HttpClient newClient(int connectTimeoutMillis) {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL);
+        if (connectTimeoutMillis > 0) {
+            builder.connectTimeout(Duration.ofMillis(connectTimeoutMillis));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Waits for the future, translating its failure into the exceptions a Transport throws
+     */
+    private static <T> T await(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for the response");
+        } catch (CancellationException e) {
+            throw new InterruptedIOException("Call aborted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof HttpTimeoutException) {
+                // Timeouts are reported as SocketTimeoutException, as by UrlConnectionTransport
+                SocketTimeoutException timeout = new SocketTimeoutException(cause.getMessage());
+                timeout.initCause(cause);
+                throw timeout;
+            }
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private static void closeQuietly(InputStream in) {
+        try {
+            in.close();
+        } catch (IOException e) {
+            // Already aborted
+        }
+    }
+
+    /**
+     * Returns the seconds in a Retry-After header, or -1 if it is absent or an HTTP date
+     */
+    private static long parseRetryAfter(String retryAfter) {
+        if (retryAfter == null) {
+            return -1;
+        }
+        try {
+            return Math.max(0, Long.parseLong(retryAfter.trim()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
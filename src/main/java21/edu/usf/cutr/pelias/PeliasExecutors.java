@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Factory methods for the executors that run PeliasClient calls.
+ * <p>
+ * This is the Java 21 implementation from the multi-release JAR - the default executor runs each call on its own
+ * virtual thread, so many thousands of concurrent blocking calls use only a handful of platform threads.
+ */
+public class PeliasExecutors {
+
+    private PeliasExecutors() {
+    }
+
+    /**
+     * Returns true if this JVM supports virtual threads
+     *
+     * @return true if this JVM supports virtual threads (Java 21 and higher)
+     */
+    public static boolean isVirtualThreadSupported() {
+        return true;
+    }
+
+    /**
+     * Returns the executor used by a PeliasClient when none is set - virtual threads if supported, and an unbounded
+     * pool of daemon platform threads otherwise
+     *
+     * @return a new executor
+     */
+    public static ExecutorService newDefaultExecutor() {
+        return newVirtualThreadExecutor();
+    }
+
+    /**
+     * Returns an unbounded pool of daemon platform threads
+     *
+     * @return a new executor
+     */
+    public static ExecutorService newPlatformThreadExecutor() {
+        return Executors.newCachedThreadPool(new DaemonThreadFactory());
+    }
+
+    /**
+     * Returns an executor that runs each task on a new virtual thread
+     *
+     * @return a new executor
+     */
+    public static ExecutorService newVirtualThreadExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("pelias-client-virtual-", 1).factory());
+    }
+}
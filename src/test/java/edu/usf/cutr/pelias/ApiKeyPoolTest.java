@@ -0,0 +1,176 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias;
+
+import edu.usf.cutr.pelias.load.PeliasStandInServer;
+import junit.framework.TestCase;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for ApiKeyPool
+ */
+public class ApiKeyPoolTest extends TestCase {
+
+    private static final String JSON = "{\"type\":\"FeatureCollection\",\"features\":[]}";
+
+    private static CallContext context(long timeoutMillis) {
+        return new CallContext(new SearchRequest.Builder("dummyApiKey", "tampa").build(), null, null, 0, 0,
+                timeoutMillis);
+    }
+
+    private static String apiKey(URL url) {
+        String query = url.getQuery();
+        int start = query.indexOf("api_key=") + "api_key=".length();
+        int end = query.indexOf('&', start);
+        return query.substring(start, end < 0 ? query.length() : end);
+    }
+
+    @Test
+    public void testWithApiKey() throws Exception {
+        assertEquals("https://search.mapzen.com/v1/search?text=tampa&api_key=b&size=5",
+                ApiKeyPool.withApiKey(new URL("https://search.mapzen.com/v1/search?text=tampa&api_key=a&size=5"),
+                        "b").toString());
+        assertEquals("https://search.mapzen.com/v1/search?api_key=b",
+                ApiKeyPool.withApiKey(new URL("https://search.mapzen.com/v1/search?api_key=a"), "b").toString());
+        assertEquals("https://search.mapzen.com/v1/search?text=tampa&api_key=b",
+                ApiKeyPool.withApiKey(new URL("https://search.mapzen.com/v1/search?text=tampa"), "b").toString());
+    }
+
+    @Test
+    public void testSpreadsByRemainingBudget() throws Exception {
+        ApiKeyPool pool = new ApiKeyPool.Builder()
+                .addKey("large", 6, 1, TimeUnit.HOURS)
+                .addKey("small", 3, 1, TimeUnit.HOURS)
+                .build();
+        int large = 0;
+        int small = 0;
+        for (int i = 0; i < 9; i++) {
+            if (pool.acquire(context(0)).equals("large")) {
+                large++;
+            } else {
+                small++;
+            }
+            // The key with more budget is used first, then they alternate
+            assertTrue(large >= small);
+        }
+        assertEquals(6, large);
+        assertEquals(3, small);
+        // Both quotas are used up, so the call waits until its deadline
+        long start = System.nanoTime();
+        try {
+            pool.acquire(context(100));
+            fail("No key should have budget left");
+        } catch (SocketTimeoutException e) {
+            // Expected
+        }
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(90));
+    }
+
+    @Test
+    public void testWaitsForRefill() throws Exception {
+        ApiKeyPool pool = new ApiKeyPool.Builder()
+                .addKey("a", 20, 1, TimeUnit.SECONDS)
+                .build();
+        long start = System.nanoTime();
+        for (int i = 0; i < 30; i++) {
+            assertEquals("a", pool.acquire(context(0)));
+        }
+        // The burst of 20, then 10 more at 20 per second
+        long elapsed = System.nanoTime() - start;
+        assertTrue(elapsed >= TimeUnit.MILLISECONDS.toNanos(400));
+        assertTrue(elapsed < TimeUnit.SECONDS.toNanos(5));
+    }
+
+    @Test
+    public void testRejectedKeysAreEjected() throws Exception {
+        final List<String> used = Collections.synchronizedList(new ArrayList<String>());
+        Transport transport = new Transport() {
+            @Override
+            public InputStream open(URL url, CallContext context) throws IOException {
+                String apiKey = apiKey(url);
+                used.add(apiKey);
+                if (apiKey.equals("revoked")) {
+                    throw new HttpStatusException(401, -1, "Unauthorized");
+                }
+                if (apiKey.equals("limited")) {
+                    throw new HttpStatusException(429, 1, "Too Many Requests");
+                }
+                return new ByteArrayInputStream(JSON.getBytes("UTF-8"));
+            }
+        };
+        ApiKeyPool pool = new ApiKeyPool.Builder()
+                .addKey("revoked", 100, 1, TimeUnit.SECONDS)
+                .addKey("limited", 100, 1, TimeUnit.SECONDS)
+                .addKey("good", 10, 1, TimeUnit.SECONDS)
+                .build();
+        PeliasClient client = new PeliasClient.Builder()
+                .setTransport(transport)
+                .setApiKeyPool(pool)
+                .build();
+        // Callers build requests with any key
+        PeliasRequest request = new SearchRequest.Builder("placeholder", "tampa").build();
+        for (int i = 0; i < 5; i++) {
+            assertNotNull(client.call(request));
+        }
+        assertEquals(1, pool.getAvailableKeyCount());
+        assertEquals(1, Collections.frequency(used, "revoked"));
+        assertEquals(1, Collections.frequency(used, "limited"));
+        assertEquals(5, Collections.frequency(used, "good"));
+        assertFalse(used.contains("placeholder"));
+
+        // The rate limited key returns after its Retry-After time
+        Thread.sleep(1100);
+        assertEquals(2, pool.getAvailableKeyCount());
+    }
+
+    @Test
+    public void testHttpStatusException() throws Exception {
+        PeliasStandInServer server = new PeliasStandInServer.Builder()
+                .setRateLimit(1)
+                .build()
+                .start();
+        try {
+            PeliasClient client = new PeliasClient.Builder().build();
+            PeliasRequest request = new SearchRequest.Builder("dummyApiKey", "subway")
+                    .setApiEndpoint(server.getBaseUrl() + "/v1/search")
+                    .build();
+            HttpStatusException throttled = null;
+            // 3 calls span at most two one second windows
+            for (int i = 0; i < 3; i++) {
+                try {
+                    client.call(request);
+                } catch (HttpStatusException e) {
+                    throttled = e;
+                }
+            }
+            assertNotNull(throttled);
+            assertEquals(429, throttled.getStatusCode());
+            assertEquals(1, throttled.getRetryAfterSeconds());
+        } finally {
+            server.stop();
+        }
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias;
+
+import edu.usf.cutr.pelias.cache.LruPeliasCache;
+import junit.framework.TestCase;
+import org.geojson.Feature;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for AutocompletePrefetcher
+ */
+public class AutocompletePrefetcherTest extends TestCase {
+
+    private static final String[] PLACES = {"Tampa", "Tampa Bay", "Tamarac", "Tallahassee", "Tarpon Springs"};
+
+    /**
+     * Serves the places whose names start with the text, recording the text of each request.  A request for "blocker"
+     * blocks until released.
+     */
+    private static class PlacesTransport implements Transport {
+        final List<String> mTexts = Collections.synchronizedList(new ArrayList<String>());
+        final CountDownLatch mGate = new CountDownLatch(1);
+
+        @Override
+        public InputStream open(URL url, CallContext context) throws IOException {
+            String query = url.getQuery();
+            String text = URLDecoder.decode(query.substring("text=".length(), query.indexOf('&')), "UTF-8");
+            mTexts.add(text);
+            if (text.equals("blocker")) {
+                try {
+                    mGate.await();
+                } catch (InterruptedException e) {
+                    throw new InterruptedIOException();
+                }
+            }
+            StringBuilder json = new StringBuilder("{\"type\":\"FeatureCollection\",\"features\":[");
+            boolean first = true;
+            for (String place : PLACES) {
+                if (place.toLowerCase().startsWith(text.toLowerCase())) {
+                    json.append(first ? "" : ",").append("{\"type\":\"Feature\",\"properties\":{\"name\":\"")
+                            .append(place).append("\",\"label\":\"").append(place).append(", FL, USA\"}}");
+                    first = false;
+                }
+            }
+            return new ByteArrayInputStream(json.append("]}").toString().getBytes("UTF-8"));
+        }
+    }
+
+    private static Feature feature(String name) {
+        Feature feature = new Feature();
+        feature.setProperty("name", name);
+        return feature;
+    }
+
+    private static PeliasRequest autocomplete(String text) {
+        return new AutocompleteRequest.Builder("dummyApiKey", text).build();
+    }
+
+    private static void awaitPrefetches(AutocompletePrefetcher.Session session, PlacesTransport transport, int calls)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (transport.mTexts.size() < calls && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(calls, transport.mTexts.size());
+    }
+
+    @Test
+    public void testNextPrefixes() {
+        Feature[] features = {feature("Tampa"), feature("Tamarac"), feature("Tampa Bay"), feature("Orlando")};
+        assertEquals(Arrays.asList("tamp", "tama"), AutocompletePrefetcher.nextPrefixes("tam", features));
+        // The user's capitalization is kept
+        // Users who type in lower case keep doing so
+        assertEquals(Arrays.asList("tamp"), AutocompletePrefetcher.nextPrefixes("tam",
+                new Feature[]{feature("TAMPA")}));
+        assertEquals(Arrays.asList("TAMP"), AutocompletePrefetcher.nextPrefixes("TAM",
+                new Feature[]{feature("TAMPA")}));
+        assertEquals(Arrays.asList("tampa "), AutocompletePrefetcher.nextPrefixes("tampa",
+                new Feature[]{feature("Tampa Bay"), feature("Tampa")}));
+        assertTrue(AutocompletePrefetcher.nextPrefixes("", features).isEmpty());
+    }
+
+    @Test
+    public void testPrefetchedPrefixIsServedFromCache() throws Exception {
+        PlacesTransport transport = new PlacesTransport();
+        PeliasClient client = new PeliasClient.Builder()
+                .setTransport(transport)
+                .setCache(new LruPeliasCache(100))
+                .build();
+        AutocompletePrefetcher prefetcher = new AutocompletePrefetcher.Builder(client)
+                .setIdleDelay(20, TimeUnit.MILLISECONDS)
+                .setPrefetchesPerKeystroke(1)
+                .build();
+        AutocompletePrefetcher.Session session = prefetcher.newSession();
+
+        assertEquals(3, session.call(autocomplete("tam")).getFeatures().length);
+        // "tamp" is predicted by Tampa and Tampa Bay
+        awaitPrefetches(session, transport, 2);
+        assertEquals(Arrays.asList("tam", "tamp"), transport.mTexts);
+        assertEquals(1, session.getPrefetchCount());
+
+        assertEquals(2, session.call(autocomplete("tamp")).getFeatures().length);
+        assertEquals(1, session.getHitCount());
+        // Then "tampa" is prefetched
+        awaitPrefetches(session, transport, 3);
+        assertEquals("tampa", transport.mTexts.get(2));
+        client.shutdown();
+    }
+
+    @Test
+    public void testTypingCancelsPrefetch() throws Exception {
+        PlacesTransport transport = new PlacesTransport();
+        PeliasClient client = new PeliasClient.Builder()
+                .setTransport(transport)
+                .setCache(new LruPeliasCache(100))
+                .build();
+        AutocompletePrefetcher prefetcher = new AutocompletePrefetcher.Builder(client)
+                .setIdleDelay(200, TimeUnit.MILLISECONDS)
+                .build();
+        AutocompletePrefetcher.Session session = prefetcher.newSession();
+        session.call(autocomplete("ta"));
+        session.call(autocomplete("tal"));
+        // Only "tall" from the last keystroke is prefetched
+        awaitPrefetches(session, transport, 3);
+        Thread.sleep(300);
+        assertEquals(Arrays.asList("ta", "tal", "tall"), transport.mTexts);
+        client.shutdown();
+    }
+
+    private static void awaitPrefetchCount(AutocompletePrefetcher.Session session, int count)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (session.getPrefetchCount() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(count, session.getPrefetchCount());
+    }
+
+    @Test
+    public void testQueuedPrefetchIsNotWaitedFor() throws Exception {
+        PlacesTransport transport = new PlacesTransport();
+        PeliasClient client = new PeliasClient.Builder()
+                .setTransport(transport)
+                .setCache(new LruPeliasCache(100))
+                .setMaxConcurrentCalls(2)
+                .setReservedInteractiveCalls(1)
+                .build();
+        AutocompletePrefetcher prefetcher = new AutocompletePrefetcher.Builder(client)
+                .setIdleDelay(20, TimeUnit.MILLISECONDS)
+                .setPrefetchesPerKeystroke(1)
+                .build();
+        AutocompletePrefetcher.Session session = prefetcher.newSession();
+        // A batch job uses the only call not reserved for interactive calls, so prefetches wait behind it
+        Future<PeliasResponse> blocker = client.submit(new SearchRequest.Builder("dummyApiKey", "blocker").build());
+
+        session.call(autocomplete("tam"));
+        awaitPrefetchCount(session, 1);
+        // The next keystroke cancels the queued "tamp" prefetch
+        session.call(autocomplete("tal"));
+        awaitPrefetchCount(session, 1);
+        // The queued "tall" prefetch is cancelled, and the call made without waiting for it
+        assertEquals(1, session.call(autocomplete("tall")).getFeatures().length);
+        assertEquals(0, session.getHitCount());
+
+        transport.mGate.countDown();
+        assertNotNull(blocker.get(5, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        assertFalse(transport.mTexts.contains("tamp"));
+        assertEquals(1, Collections.frequency(transport.mTexts, "tall"));
+        client.shutdown();
+    }
+
+    @Test
+    public void testBudget() throws Exception {
+        PlacesTransport transport = new PlacesTransport();
+        PeliasClient client = new PeliasClient.Builder()
+                .setTransport(transport)
+                .setCache(new LruPeliasCache(100))
+                .build();
+        AutocompletePrefetcher prefetcher = new AutocompletePrefetcher.Builder(client)
+                .setIdleDelay(1, TimeUnit.MILLISECONDS)
+                .setPrefetchesPerKeystroke(5)
+                .setMaxPrefetchesPerSession(3)
+                .build();
+        AutocompletePrefetcher.Session session = prefetcher.newSession();
+        String[] keystrokes = {"t", "ta", "tam", "tamp", "tampa"};
+        for (String text : keystrokes) {
+            session.call(autocomplete(text));
+            Thread.sleep(50);
+        }
+        assertEquals(3, session.getPrefetchCount());
+        assertTrue(transport.mTexts.size() <= keystrokes.length + 3);
+
+        try {
+            new AutocompletePrefetcher.Builder(new PeliasClient.Builder().build());
+            fail("A client without a cache should be rejected");
+        } catch (IllegalArgumentException e) {
+            // Expected
+        }
+        client.shutdown();
+    }
+}
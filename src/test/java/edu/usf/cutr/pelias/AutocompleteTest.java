@@ -15,6 +15,7 @@
  */
 package edu.usf.cutr.pelias;
 
+import edu.usf.cutr.pelias.load.PeliasStandInServer;
 import junit.framework.TestCase;
 import org.geojson.Feature;
 import org.geojson.Point;
@@ -28,31 +29,39 @@ import java.util.ArrayList;
  */
 public class AutocompleteTest extends TestCase {
 
-    private static final String AUTOCOMPLETE_WITH_FOCUS_ENDPOINT = "https://raw.githubusercontent.com/CUTR-at-USF/pelias-client-library/master/src/test/resources/autocomplete-with-focus.json";
-    private static final String AUTOCOMPLETE_WITH_SOURCES_ENDPOINT = "https://raw.githubusercontent.com/CUTR-at-USF/pelias-client-library/master/src/test/resources/autocomplete-with-sources.json";
-    private static final String AUTOCOMPLETE_WITH_CATEGORIES_ENDPOINT = "https://raw.githubusercontent.com/CUTR-at-USF/pelias-client-library/master/src/test/resources/autocomplete-with-categories.json";
+    private static final String AUTOCOMPLETE_WITH_FOCUS_ENDPOINT = "/autocomplete-with-focus.json";
+    private static final String AUTOCOMPLETE_WITH_SOURCES_ENDPOINT = "/autocomplete-with-sources.json";
+    private static final String AUTOCOMPLETE_WITH_CATEGORIES_ENDPOINT = "/autocomplete-with-categories.json";
 
     private static final String API_KEY = "dummyApiKey";
     private static final String TEXT = "union square";
 
+    // For tests, make sure that we can parse all known properties
+    private final PeliasClient mClient = new PeliasClient.Builder().setFailOnUnknownProperties(true).build();
+    private PeliasStandInServer mServer;
+
+    @Override
+    protected void setUp() throws IOException {
+        // Serve the fixtures in src/test/resources locally
+        mServer = new PeliasStandInServer.Builder().build().start();
+    }
+
     @Override
-    protected void setUp() {
-        // For tests, make sure that we can parse all known properties
-        SearchRequest.setFailOnUnknownProperties(true);
+    protected void tearDown() {
+        mServer.stop();
     }
 
     @Test
     public void testAutocompleteWithFocus() throws IOException {
         PeliasRequest request = new SearchRequest.Builder(API_KEY, TEXT)
-                .setApiEndpoint(AUTOCOMPLETE_WITH_FOCUS_ENDPOINT)
+                .setApiEndpoint(mServer.getBaseUrl() + AUTOCOMPLETE_WITH_FOCUS_ENDPOINT)
                 .setFocusPoint(37.7d, -122.4d)
                 .build();
 
-        assertEquals("https://raw.githubusercontent.com/CUTR-at-USF/pelias-client-library/master/src/test/" +
-                        "resources/autocomplete-with-focus.json?text=union+square&api_key=dummyApiKey&focus.point.lat=37.7&focus.point.lon=-122.4",
+        assertEquals(mServer.getBaseUrl() + "/autocomplete-with-focus.json?text=union+square&api_key=dummyApiKey&focus.point.lat=37.7&focus.point.lon=-122.4",
                 request.getUrl().toString());
 
-        PeliasResponse response = request.call();
+        PeliasResponse response = mClient.call(request);
 
         assertEquals("0.2", response.getGeocoding().getVersion());
         assertEquals("https://search.mapzen.com/v1/attribution", response.getGeocoding().getAttribution());
@@ -126,16 +135,15 @@ public class AutocompleteTest extends TestCase {
     @Test
     public void testAutocompleteWithSources() throws IOException {
         PeliasRequest request = new SearchRequest.Builder(API_KEY, "pennsylvania")
-                .setApiEndpoint(AUTOCOMPLETE_WITH_SOURCES_ENDPOINT)
+                .setApiEndpoint(mServer.getBaseUrl() + AUTOCOMPLETE_WITH_SOURCES_ENDPOINT)
                 .setSources("openaddresses")
                 .build();
 
-        assertEquals("https://raw.githubusercontent.com/CUTR-at-USF/pelias-client-library/master/src/test/" +
-                        "resources/autocomplete-with-sources.json?" +
+        assertEquals(mServer.getBaseUrl() + "/autocomplete-with-sources.json?" +
                         "text=pennsylvania&api_key=dummyApiKey&sources=openaddresses",
                 request.getUrl().toString());
 
-        PeliasResponse response = request.call();
+        PeliasResponse response = mClient.call(request);
 
         assertEquals("0.2", response.getGeocoding().getVersion());
         assertEquals("https://search.mapzen.com/v1/attribution", response.getGeocoding().getAttribution());
@@ -191,16 +199,15 @@ public class AutocompleteTest extends TestCase {
     @Test
     public void testAutocompleteWithCategories() throws IOException {
         PeliasRequest request = new SearchRequest.Builder(API_KEY, TEXT)
-                .setApiEndpoint(AUTOCOMPLETE_WITH_CATEGORIES_ENDPOINT)
+                .setApiEndpoint(mServer.getBaseUrl() + AUTOCOMPLETE_WITH_CATEGORIES_ENDPOINT)
                 .setFocusPoint(32.85254317331236d, -117.10268815207026d)
                 .setCategories("")
                 .build();
 
-        assertEquals("https://raw.githubusercontent.com/CUTR-at-USF/pelias-client-library/master/src/test/" +
-                        "resources/autocomplete-with-categories.json?text=union+square&api_key=dummyApiKey&focus.point.lat=32.85254317331236&focus.point.lon=-117.10268815207026&categories=",
+        assertEquals(mServer.getBaseUrl() + "/autocomplete-with-categories.json?text=union+square&api_key=dummyApiKey&focus.point.lat=32.85254317331236&focus.point.lon=-117.10268815207026&categories=",
                 request.getUrl().toString());
 
-        PeliasResponse response = request.call();
+        PeliasResponse response = mClient.call(request);
 
         assertEquals("0.2", response.getGeocoding().getVersion());
         assertEquals("https://geocode.earth/guidelines", response.getGeocoding().getAttribution());
@@ -244,15 +251,14 @@ public class AutocompleteTest extends TestCase {
     @Test
     public void testRequestParameters() throws IOException {
         PeliasRequest request = new AutocompleteRequest.Builder(API_KEY, TEXT)
-                .setApiEndpoint(AUTOCOMPLETE_WITH_FOCUS_ENDPOINT)
+                .setApiEndpoint(mServer.getBaseUrl() + AUTOCOMPLETE_WITH_FOCUS_ENDPOINT)
                 .setFocusPoint(28.061062d, -82.4132d)
                 .setSources("osm")
                 .setBoundaryRect(27.959868, -82.515286, 28.131471, -82.367646)
                 .setCategories("")
                 .build();
 
-        assertEquals("https://raw.githubusercontent.com/CUTR-at-USF/pelias-client-library/master/src/test/resources/" +
-                        "autocomplete-with-focus.json?text=union+square&api_key=dummyApiKey&sources=osm" +
+        assertEquals(mServer.getBaseUrl() + "/autocomplete-with-focus.json?text=union+square&api_key=dummyApiKey&sources=osm" +
                         "&focus.point.lat=28.061062&focus.point.lon=-82.4132" +
                         "&boundary.rect.min_lat=27.959868&boundary.rect.min_lon=-82.515286" +
                         "&boundary.rect.max_lat=28.131471&boundary.rect.max_lon=-82.367646" +
@@ -261,14 +267,13 @@ public class AutocompleteTest extends TestCase {
 
         // Test space in text parameter
         request = new AutocompleteRequest.Builder(API_KEY, "burger king")
-                .setApiEndpoint(AUTOCOMPLETE_WITH_FOCUS_ENDPOINT)
+                .setApiEndpoint(mServer.getBaseUrl() + AUTOCOMPLETE_WITH_FOCUS_ENDPOINT)
                 .setFocusPoint(28.061062d, -82.4132d)
                 .setSources("osm")
                 .setBoundaryRect(27.959868, -82.515286, 28.131471, -82.367646)
                 .build();
 
-        assertEquals("https://raw.githubusercontent.com/CUTR-at-USF/pelias-client-library/master/src/test/resources/" +
-                        "autocomplete-with-focus.json?text=burger+king&api_key=dummyApiKey&sources=osm" +
+        assertEquals(mServer.getBaseUrl() + "/autocomplete-with-focus.json?text=burger+king&api_key=dummyApiKey&sources=osm" +
                         "&focus.point.lat=28.061062&focus.point.lon=-82.4132" +
                         "&boundary.rect.min_lat=27.959868&boundary.rect.min_lon=-82.515286" +
                         "&boundary.rect.max_lat=28.131471&boundary.rect.max_lon=-82.367646",
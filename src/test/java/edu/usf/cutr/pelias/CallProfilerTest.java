@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias;
+
+import edu.usf.cutr.pelias.cache.LruPeliasCache;
+import junit.framework.TestCase;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+
+/**
+ * Tests for CallProfiler
+ */
+public class CallProfilerTest extends TestCase {
+
+    private static final int CALLS = 50;
+
+    private byte[] mFixture;
+    private Transport mTransport;
+
+    @Override
+    protected void setUp() throws IOException {
+        assertTrue(CallProfiler.isSupported());
+        mFixture = PeliasClientTest.readFixture("/search-with-focus.json").getBytes("UTF-8");
+        mTransport = new Transport() {
+            @Override
+            public InputStream open(URL url, CallContext context) {
+                return new ByteArrayInputStream(mFixture);
+            }
+        };
+    }
+
+    @Test
+    public void testStatsPerRequestType() throws IOException {
+        CallProfiler profiler = new CallProfiler();
+        PeliasClient client = new PeliasClient.Builder().setTransport(mTransport).setCallProfiler(profiler).build();
+        for (int i = 0; i < CALLS; i++) {
+            client.call(new SearchRequest.Builder("dummyApiKey", "search " + i).build());
+        }
+        client.call(new AutocompleteRequest.Builder("dummyApiKey", "auto").build());
+
+        CallProfiler.Stats search = profiler.getStats("search");
+        assertEquals(CALLS, search.getCallCount());
+        assertEquals(0, search.getFailedCount());
+        assertEquals(1, profiler.getStats("autocomplete").getCallCount());
+        assertEquals("[autocomplete, search]", profiler.getStats().keySet().toString());
+
+        // Parsing a response allocates at least as many bytes as there are in it
+        assertTrue(search.getAllocatedBytes(CallProfiler.Phase.PARSE) > CALLS * (long) mFixture.length);
+        assertTrue(search.getAllocatedBytes(CallProfiler.Phase.READ) > 0);
+        assertEquals(search.getAllocatedBytes(CallProfiler.Phase.URL)
+                + search.getAllocatedBytes(CallProfiler.Phase.READ)
+                + search.getAllocatedBytes(CallProfiler.Phase.PARSE), search.getAllocatedBytes());
+        assertTrue(search.getCpuNanos() > 0);
+        assertEquals(search.getAllocatedBytes() / CALLS, search.getAllocatedBytesPerCall());
+
+        profiler.reset();
+        assertNull(profiler.getStats("search"));
+        assertTrue(profiler.getStats().isEmpty());
+    }
+
+    @Test
+    public void testCachedAndFailedCalls() throws IOException {
+        CallProfiler profiler = new CallProfiler();
+        PeliasClient client = new PeliasClient.Builder()
+                .setTransport(mTransport)
+                .setCache(new LruPeliasCache(10))
+                .setCallProfiler(profiler)
+                .build();
+        PeliasRequest request = new SearchRequest.Builder("dummyApiKey", "cached").build();
+        client.call(request);
+        profiler.reset();
+        client.call(request);
+        CallProfiler.Stats stats = profiler.getStats("search");
+        assertEquals(1, stats.getCallCount());
+        assertEquals(0, stats.getAllocatedBytes(CallProfiler.Phase.READ));
+        assertEquals(0, stats.getAllocatedBytes(CallProfiler.Phase.PARSE));
+
+        PeliasClient failing = new PeliasClient.Builder().setTransport(new Transport() {
+            @Override
+            public InputStream open(URL url, CallContext context) throws IOException {
+                throw new IOException("Unavailable");
+            }
+        }).setCallProfiler(profiler).build();
+        try {
+            failing.call(request);
+            fail("Expected an IOException");
+        } catch (IOException e) {
+            // Expected
+        }
+        assertEquals(2, stats.getCallCount());
+        assertEquals(1, stats.getFailedCount());
+    }
+
+    @Test
+    public void testResponseHolderAllocatesLess() throws IOException {
+        CallProfiler responses = new CallProfiler();
+        CallProfiler holders = new CallProfiler();
+        PeliasClient responseClient = new PeliasClient.Builder()
+                .setTransport(mTransport)
+                .setCallProfiler(responses)
+                .build();
+        PeliasClient holderClient = new PeliasClient.Builder()
+                .setTransport(mTransport)
+                .setCallProfiler(holders)
+                .build();
+        PeliasRequest request = new SearchRequest.Builder("dummyApiKey", "holder").build();
+        ResponseHolder holder = new ResponseHolder();
+        for (int i = 0; i < CALLS; i++) {
+            responseClient.call(request);
+            holderClient.call(request, holder);
+        }
+        long responseBytes = responses.getStats("search").getAllocatedBytesPerCall();
+        long holderBytes = holders.getStats("search").getAllocatedBytesPerCall();
+        assertTrue(responseBytes + " vs " + holderBytes, holderBytes < responseBytes / 2);
+    }
+}
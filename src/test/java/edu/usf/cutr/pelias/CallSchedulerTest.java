@@ -0,0 +1,202 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias;
+
+import junit.framework.TestCase;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests for priority scheduling of calls by a PeliasClient with a concurrency limit
+ */
+public class CallSchedulerTest extends TestCase {
+
+    private static final String JSON = "{\"type\":\"FeatureCollection\",\"features\":[]}";
+
+    /**
+     * Records the text of each request, and blocks searches until released
+     */
+    private static class GatedTransport implements Transport {
+        final CountDownLatch mGate = new CountDownLatch(1);
+        final AtomicInteger mBlocked = new AtomicInteger();
+        final List<String> mTexts = Collections.synchronizedList(new ArrayList<String>());
+
+        @Override
+        public InputStream open(URL url, CallContext context) throws IOException {
+            String query = url.getQuery();
+            mTexts.add(query.substring("text=".length(), query.indexOf('&')));
+            if (url.getPath().endsWith("/search")) {
+                mBlocked.incrementAndGet();
+                try {
+                    mGate.await();
+                } catch (InterruptedException e) {
+                    throw new InterruptedIOException();
+                } finally {
+                    mBlocked.decrementAndGet();
+                }
+            }
+            return new ByteArrayInputStream(JSON.getBytes("UTF-8"));
+        }
+    }
+
+    private static void awaitBlocked(GatedTransport transport, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (transport.mBlocked.get() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(count, transport.mBlocked.get());
+    }
+
+    @Test
+    public void testInteractiveUsesReservedCalls() throws Exception {
+        GatedTransport transport = new GatedTransport();
+        PeliasClient client = new PeliasClient.Builder()
+                .setTransport(transport)
+                .setMaxConcurrentCalls(4)
+                .build();
+        List<PeliasRequest> batch = new ArrayList<PeliasRequest>();
+        for (int i = 0; i < 200; i++) {
+            batch.add(new SearchRequest.Builder("dummyApiKey", "batch" + i).build());
+        }
+        List<Future<PeliasResponse>> futures = client.submitAll(batch);
+        // One of the 4 calls is reserved for interactive requests
+        awaitBlocked(transport, 3);
+        Thread.sleep(50);
+        assertEquals(3, transport.mBlocked.get());
+
+        Future<PeliasResponse> autocomplete = client.submit(
+                new AutocompleteRequest.Builder("dummyApiKey", "tam").build());
+        assertNotNull(autocomplete.get(5, TimeUnit.SECONDS));
+        // Synchronous calls are scheduled too
+        assertNotNull(client.call(new AutocompleteRequest.Builder("dummyApiKey", "tamp").build()));
+
+        transport.mGate.countDown();
+        for (Future<PeliasResponse> future : futures) {
+            assertNotNull(future.get(5, TimeUnit.SECONDS));
+        }
+        client.shutdown();
+    }
+
+    @Test
+    public void testResponseHolderCallsAreScheduled() throws Exception {
+        GatedTransport transport = new GatedTransport();
+        final PeliasClient client = new PeliasClient.Builder()
+                .setTransport(transport)
+                .setMaxConcurrentCalls(4)
+                .build();
+        // A batch job filling holders on its own threads
+        ExecutorService batchThreads = Executors.newFixedThreadPool(8);
+        List<Future<Void>> futures = new ArrayList<Future<Void>>();
+        for (int i = 0; i < 8; i++) {
+            final PeliasRequest request = new SearchRequest.Builder("dummyApiKey", "batch" + i).build();
+            futures.add(batchThreads.submit(new Callable<Void>() {
+                @Override
+                public Void call() throws IOException {
+                    client.call(request, new ResponseHolder());
+                    return null;
+                }
+            }));
+        }
+        // One of the 4 calls is reserved for interactive requests
+        awaitBlocked(transport, 3);
+        Thread.sleep(50);
+        assertEquals(3, transport.mBlocked.get());
+
+        ResponseHolder holder = new ResponseHolder();
+        client.call(new AutocompleteRequest.Builder("dummyApiKey", "tam").build(), holder);
+        assertEquals(0, holder.getFeatureCount());
+
+        transport.mGate.countDown();
+        for (Future<Void> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        assertEquals(9, transport.mTexts.size());
+        batchThreads.shutdown();
+        client.shutdown();
+    }
+
+    @Test
+    public void testInteractiveRunsAheadOfWaitingBatch() throws Exception {
+        GatedTransport transport = new GatedTransport();
+        PeliasClient client = new PeliasClient.Builder()
+                .setTransport(transport)
+                .setMaxConcurrentCalls(1)
+                .setReservedInteractiveCalls(0)
+                .build();
+        List<Future<PeliasResponse>> futures = new ArrayList<Future<PeliasResponse>>();
+        futures.add(client.submit(new SearchRequest.Builder("dummyApiKey", "batch0").build()));
+        awaitBlocked(transport, 1);
+        for (int i = 1; i <= 20; i++) {
+            futures.add(client.submit(new SearchRequest.Builder("dummyApiKey", "batch" + i).build()));
+        }
+        // A search a user is waiting for
+        futures.add(client.submit(new SearchRequest.Builder("dummyApiKey", "user")
+                .setPriority(PeliasRequest.Priority.INTERACTIVE)
+                .build()));
+
+        transport.mGate.countDown();
+        for (Future<PeliasResponse> future : futures) {
+            assertNotNull(future.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(22, transport.mTexts.size());
+        assertEquals("batch0", transport.mTexts.get(0));
+        assertEquals("user", transport.mTexts.get(1));
+        assertEquals("batch1", transport.mTexts.get(2));
+        client.shutdown();
+    }
+
+    @Test
+    public void testWaitCountsTowardsDeadline() throws Exception {
+        GatedTransport transport = new GatedTransport();
+        PeliasClient client = new PeliasClient.Builder()
+                .setTransport(transport)
+                .setMaxConcurrentCalls(1)
+                .setReservedInteractiveCalls(0)
+                .build();
+        Future<PeliasResponse> blocking = client.submit(new SearchRequest.Builder("dummyApiKey", "batch0").build());
+        awaitBlocked(transport, 1);
+        try {
+            client.call(new SearchRequest.Builder("dummyApiKey", "batch1")
+                    .setTimeout(100, TimeUnit.MILLISECONDS)
+                    .build());
+            fail("The call should time out waiting for a slot");
+        } catch (SocketTimeoutException e) {
+            // Expected
+        }
+        transport.mGate.countDown();
+        assertNotNull(blocking.get(5, TimeUnit.SECONDS));
+        // The timed out call gave up its place, so the slot is free again
+        assertNotNull(client.call(new SearchRequest.Builder("dummyApiKey", "batch2").build()));
+        assertEquals(2, transport.mTexts.size());
+        client.shutdown();
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias;
+
+import edu.usf.cutr.pelias.load.PeliasStandInServer;
+import edu.usf.cutr.pelias.stream.Subscriber;
+import edu.usf.cutr.pelias.stream.Subscription;
+import junit.framework.TestCase;
+import org.geojson.Feature;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tests for PeliasClient.publishFeatures()
+ */
+public class FeaturePublisherTest extends TestCase {
+
+    private static final String API_KEY = "dummyApiKey";
+
+    /**
+     * Records the signals it receives, requesting a fixed number of features when subscribed and optionally one more
+     * after each feature
+     */
+    private static class RecordingSubscriber implements Subscriber<Feature> {
+        final List<Feature> mFeatures = Collections.synchronizedList(new ArrayList<Feature>());
+        final CountDownLatch mTerminated = new CountDownLatch(1);
+        final long mInitialRequest;
+        final boolean mRequestMore;
+        volatile Subscription mSubscription;
+        volatile Throwable mError;
+        volatile boolean mCompleted;
+
+        RecordingSubscriber(long initialRequest, boolean requestMore) {
+            mInitialRequest = initialRequest;
+            mRequestMore = requestMore;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            mSubscription = subscription;
+            subscription.request(mInitialRequest);
+        }
+
+        @Override
+        public void onNext(Feature item) {
+            mFeatures.add(item);
+            if (mRequestMore) {
+                mSubscription.request(1);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            mError = throwable;
+            mTerminated.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            mCompleted = true;
+            mTerminated.countDown();
+        }
+    }
+
+    /**
+     * Serves a large response for every request, counting the bytes read and whether the stream was closed
+     */
+    private static class LargeResponseTransport implements Transport {
+        final byte[] mBody;
+        final AtomicInteger mOpened = new AtomicInteger();
+        final AtomicLong mBytesRead = new AtomicLong();
+        final AtomicBoolean mClosed = new AtomicBoolean();
+
+        LargeResponseTransport(int features) throws IOException {
+            StringBuilder json = new StringBuilder("{\"geocoding\":{\"version\":\"0.2\"},\"type\":\"FeatureCollection\"," +
+                    "\"features\":[");
+            for (int i = 0; i < features; i++) {
+                if (i > 0) {
+                    json.append(',');
+                }
+                json.append("{\"type\":\"Feature\",\"geometry\":{\"type\":\"Point\",\"coordinates\":[-82.4,27.9]},")
+                        .append("\"properties\":{\"gid\":\"openstreetmap:venue:").append(i).append("\"}}");
+            }
+            mBody = json.append("]}").toString().getBytes("UTF-8");
+        }
+
+        @Override
+        public InputStream open(URL url, CallContext context) throws IOException {
+            mOpened.incrementAndGet();
+            return new FilterInputStream(new ByteArrayInputStream(mBody)) {
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    int read = super.read(b, off, len);
+                    if (read > 0) {
+                        mBytesRead.addAndGet(read);
+                    }
+                    return read;
+                }
+
+                @Override
+                public void close() throws IOException {
+                    mClosed.set(true);
+                    super.close();
+                }
+            };
+        }
+    }
+
+    @Test
+    public void testPublishesFeaturesOfEachRequest() throws Exception {
+        PeliasStandInServer server = new PeliasStandInServer.Builder().build().start();
+        try {
+            PeliasClient client = new PeliasClient.Builder().build();
+            PeliasRequest search = new SearchRequest.Builder(API_KEY, "subway")
+                    .setApiEndpoint(server.getBaseUrl() + "/v1/search")
+                    .build();
+            PeliasRequest autocomplete = new AutocompleteRequest.Builder(API_KEY, "subway")
+                    .setApiEndpoint(server.getBaseUrl() + "/v1/autocomplete")
+                    .build();
+            PeliasResponse searchResponse = client.call(search);
+            PeliasResponse autocompleteResponse = client.call(autocomplete);
+
+            RecordingSubscriber subscriber = new RecordingSubscriber(1, true);
+            client.publishFeatures(search, autocomplete).subscribe(subscriber);
+            assertTrue(subscriber.mTerminated.await(5, TimeUnit.SECONDS));
+
+            assertNull(subscriber.mError);
+            assertTrue(subscriber.mCompleted);
+            List<Feature> expected = new ArrayList<Feature>(Arrays.asList(searchResponse.getFeatures()));
+            expected.addAll(Arrays.asList(autocompleteResponse.getFeatures()));
+            assertEquals(expected.size(), subscriber.mFeatures.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).getProperty("gid"), subscriber.mFeatures.get(i).getProperty("gid"));
+            }
+            client.shutdown();
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void testDemandThrottlesReads() throws Exception {
+        LargeResponseTransport transport = new LargeResponseTransport(20000);
+        PeliasClient client = new PeliasClient.Builder().setTransport(transport).build();
+        PeliasRequest request = new SearchRequest.Builder(API_KEY, "subway").build();
+
+        RecordingSubscriber subscriber = new RecordingSubscriber(5, false);
+        client.publishFeatures(request, request).subscribe(subscriber);
+        Thread.sleep(300);
+
+        // Only the requested features are emitted, and only the start of the first response has been read
+        assertEquals(5, subscriber.mFeatures.size());
+        assertEquals("openstreetmap:venue:4", subscriber.mFeatures.get(4).getProperty("gid"));
+        assertEquals(1, transport.mOpened.get());
+        assertTrue(transport.mBytesRead.get() < transport.mBody.length / 10);
+
+        subscriber.mSubscription.request(3);
+        Thread.sleep(100);
+        assertEquals(8, subscriber.mFeatures.size());
+
+        // Cancelling releases the response without further signals
+        subscriber.mSubscription.cancel();
+        Thread.sleep(100);
+        assertTrue(transport.mClosed.get());
+        assertEquals(8, subscriber.mFeatures.size());
+        assertFalse(subscriber.mCompleted);
+        assertNull(subscriber.mError);
+        client.shutdown();
+    }
+
+    @Test
+    public void testReportsCallsToListener() throws Exception {
+        final List<String> events = Collections.synchronizedList(new ArrayList<String>());
+        PeliasClient client = new PeliasClient.Builder()
+                .setTransport(new LargeResponseTransport(10))
+                .setCallListener(new CallListener() {
+                    @Override
+                    public void callStart(PeliasRequest request, long submittedNanos, long startNanos) {
+                        events.add("callStart");
+                    }
+
+                    @Override
+                    public void parseComplete(PeliasRequest request, long nanoTime) {
+                        events.add("parseComplete");
+                    }
+
+                    @Override
+                    public void callEnd(PeliasRequest request, CallTimings timings) {
+                        events.add("callEnd");
+                    }
+
+                    @Override
+                    public void callFailed(PeliasRequest request, CallTimings timings, IOException e) {
+                        events.add("callFailed");
+                    }
+                })
+                .build();
+        PeliasRequest request = new SearchRequest.Builder(API_KEY, "subway").build();
+
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE, false);
+        client.publishFeatures(request, request).subscribe(subscriber);
+        assertTrue(subscriber.mTerminated.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("callStart", "parseComplete", "callEnd", "callStart", "parseComplete", "callEnd"),
+                events);
+
+        // A call cancelled part way through fails
+        events.clear();
+        subscriber = new RecordingSubscriber(2, false);
+        client.publishFeatures(request).subscribe(subscriber);
+        Thread.sleep(100);
+        subscriber.mSubscription.cancel();
+        Thread.sleep(100);
+        assertEquals(Arrays.asList("callStart", "callFailed"), events);
+        client.shutdown();
+    }
+
+    @Test
+    public void testInvalidRequestSignalsError() throws Exception {
+        PeliasClient client = new PeliasClient.Builder().setTransport(new LargeResponseTransport(10)).build();
+        RecordingSubscriber subscriber = new RecordingSubscriber(0, false);
+        client.publishFeatures(new SearchRequest.Builder(API_KEY, "subway").build()).subscribe(subscriber);
+        assertTrue(subscriber.mTerminated.await(5, TimeUnit.SECONDS));
+        assertTrue(subscriber.mError instanceof IllegalArgumentException);
+        client.shutdown();
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias;
+
+import edu.usf.cutr.pelias.load.Http2StandInServer;
+import edu.usf.cutr.pelias.load.LatencyDistribution;
+import edu.usf.cutr.pelias.load.PeliasStandInServer;
+import junit.framework.TestCase;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for HttpClientTransport.  The Java 11 implementation is only on the classpath when testing the multi-release
+ * JAR (mvn package on Java 11 or higher) - otherwise this checks the unsupported Java 7 implementation.
+ */
+public class HttpClientTransportTest extends TestCase {
+
+    @Test
+    public void testUnsupported() {
+        if (HttpClientTransport.isSupported()) {
+            return;
+        }
+        try {
+            new HttpClientTransport();
+            fail("HttpClientTransport should be unsupported");
+        } catch (UnsupportedOperationException e) {
+            // Expected
+        }
+    }
+
+    @Test
+    public void testMultiplexesCalls() throws Exception {
+        if (!HttpClientTransport.isSupported()) {
+            return;
+        }
+        Http2StandInServer server = new Http2StandInServer.Builder()
+                .setLatency(LatencyDistribution.fixed(50))
+                .build()
+                .start();
+        PeliasClient client = new PeliasClient.Builder().setTransport(new HttpClientTransport()).build();
+        try {
+            List<PeliasRequest> requests = new ArrayList<PeliasRequest>();
+            for (int i = 0; i < 100; i++) {
+                requests.add(new SearchRequest.Builder("dummyApiKey", "subway " + i)
+                        .setApiEndpoint(server.getBaseUrl() + "/v1/search")
+                        .build());
+            }
+            for (Future<PeliasResponse> future : client.submitAll(requests)) {
+                PeliasResponse response = future.get(10, TimeUnit.SECONDS);
+                assertEquals("FeatureCollection", response.getType());
+                assertTrue(response.getFeatures().length > 0);
+            }
+            // The calls started together, but share the connection the first call upgraded to HTTP/2
+            assertEquals(100, server.getStreamCount());
+            assertEquals(1, server.getConnectionCount());
+        } finally {
+            client.shutdown();
+            server.stop();
+        }
+    }
+
+    @Test
+    public void testHttpStatusException() throws Exception {
+        if (!HttpClientTransport.isSupported()) {
+            return;
+        }
+        // An HTTP/1.1 server, which ignores the upgrade to HTTP/2
+        PeliasStandInServer server = new PeliasStandInServer.Builder()
+                .setRateLimit(1)
+                .build()
+                .start();
+        PeliasClient client = new PeliasClient.Builder().setTransport(new HttpClientTransport()).build();
+        try {
+            PeliasRequest request = new SearchRequest.Builder("dummyApiKey", "subway")
+                    .setApiEndpoint(server.getBaseUrl() + "/v1/search")
+                    .build();
+            HttpStatusException throttled = null;
+            // 3 calls span at most two one second windows
+            for (int i = 0; i < 3; i++) {
+                try {
+                    assertEquals("FeatureCollection", client.call(request).getType());
+                } catch (HttpStatusException e) {
+                    throttled = e;
+                }
+            }
+            assertNotNull(throttled);
+            assertEquals(429, throttled.getStatusCode());
+            assertEquals(1, throttled.getRetryAfterSeconds());
+        } finally {
+            client.shutdown();
+            server.stop();
+        }
+    }
+}
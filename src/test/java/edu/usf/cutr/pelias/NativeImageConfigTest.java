@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.usf.cutr.pelias.model.Engine;
+import edu.usf.cutr.pelias.model.Geocoding;
+import edu.usf.cutr.pelias.model.ParsedText;
+import edu.usf.cutr.pelias.model.Query;
+import junit.framework.TestCase;
+import org.geojson.Feature;
+import org.geojson.LngLatAlt;
+import org.geojson.Point;
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Checks the GraalVM native-image metadata shipped in the JAR stays in step with the classes Jackson binds
+ */
+public class NativeImageConfigTest extends TestCase {
+
+    private static final String CONFIG =
+            "/META-INF/native-image/edu.usf.cutr/pelias-client-library/reflect-config.json";
+
+    @Test
+    public void testReflectionConfig() throws Exception {
+        InputStream in = NativeImageConfigTest.class.getResourceAsStream(CONFIG);
+        assertNotNull(in);
+        Set<String> names = new HashSet<String>();
+        try {
+            for (JsonNode entry : new ObjectMapper().readTree(in)) {
+                String name = entry.get("name").asText();
+                // Fails if a class has been renamed or removed
+                Class.forName(name);
+                names.add(name);
+            }
+        } finally {
+            in.close();
+        }
+        Class<?>[] bound = {PeliasResponse.class, Geocoding.class, Query.class, Engine.class, ParsedText.class,
+                Feature.class, Point.class, LngLatAlt.class};
+        for (Class<?> type : bound) {
+            assertTrue(type.getName() + " is missing", names.contains(type.getName()));
+        }
+    }
+}
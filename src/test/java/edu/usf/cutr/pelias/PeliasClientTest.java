@@ -0,0 +1,398 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import edu.usf.cutr.pelias.cache.EmptyResultFilter;
+import edu.usf.cutr.pelias.cache.LruPeliasCache;
+import edu.usf.cutr.pelias.load.LatencyDistribution;
+import edu.usf.cutr.pelias.load.PeliasStandInServer;
+import edu.usf.cutr.pelias.util.StringPool;
+import junit.framework.TestCase;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests for PeliasClient
+ */
+public class PeliasClientTest extends TestCase {
+
+    private static final String API_KEY = "dummyApiKey";
+
+    /**
+     * Serves the given JSON for every request, counting the number of requests made
+     */
+    private static class FixedTransport implements Transport {
+        final String mJson;
+        final AtomicInteger mCount = new AtomicInteger();
+
+        FixedTransport(String json) {
+            mJson = json;
+        }
+
+        @Override
+        public InputStream open(URL url, CallContext context) throws IOException {
+            mCount.incrementAndGet();
+            return new ByteArrayInputStream(mJson.getBytes("UTF-8"));
+        }
+    }
+
+    static String readFixture(String name) throws IOException {
+        InputStream in = PeliasClientTest.class.getResourceAsStream(name);
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toString("UTF-8");
+        } finally {
+            in.close();
+        }
+    }
+
+    @Test
+    public void testClientsAreIndependentlyConfigured() throws Exception {
+        FixedTransport transport = new FixedTransport("{\"type\":\"FeatureCollection\",\"unknown\":1}");
+        PeliasClient lenient = new PeliasClient.Builder().setTransport(transport).build();
+        PeliasClient strict = new PeliasClient.Builder()
+                .setTransport(transport)
+                .setFailOnUnknownProperties(true)
+                .build();
+        PeliasRequest request = new SearchRequest.Builder(API_KEY, "tampa").build();
+
+        assertEquals("FeatureCollection", lenient.call(request).getType());
+        try {
+            strict.call(request);
+            fail("Strict client should fail on unknown property");
+        } catch (JsonMappingException e) {
+            // Expected
+        }
+        // The strict client must not have changed the lenient one
+        assertEquals("FeatureCollection", lenient.submit(request).get().getType());
+    }
+
+    @Test
+    public void testCache() throws IOException {
+        FixedTransport transport = new FixedTransport("{\"type\":\"FeatureCollection\"}");
+        LruPeliasCache cache = new LruPeliasCache(1);
+        PeliasClient client = new PeliasClient.Builder()
+                .setTransport(transport)
+                .setCache(cache)
+                .build();
+        PeliasRequest tampa = new SearchRequest.Builder(API_KEY, "tampa").build();
+        PeliasRequest miami = new SearchRequest.Builder(API_KEY, "miami").build();
+
+        PeliasResponse first = client.call(tampa);
+        assertSame(first, client.call(tampa));
+        assertEquals(1, transport.mCount.get());
+
+        // Evicts tampa
+        client.call(miami);
+        assertEquals(1, cache.size());
+        client.call(tampa);
+        assertEquals(3, transport.mCount.get());
+    }
+
+    @Test
+    public void testEmptyResultFilter() throws IOException {
+        FixedTransport transport = new FixedTransport("{\"type\":\"FeatureCollection\",\"features\":[]}");
+        PeliasClient client = new PeliasClient.Builder()
+                .setTransport(transport)
+                .setEmptyResultFilter(new EmptyResultFilter.Builder().build())
+                .build();
+        PeliasRequest junk = new SearchRequest.Builder(API_KEY, "qwxzv").build();
+
+        assertEquals(0, client.call(junk).getFeatures().length);
+        assertEquals(0, client.call(junk).getFeatures().length);
+        assertEquals(1, transport.mCount.get());
+        // Short-circuited responses still have a geocoding block
+        assertEquals("qwxzv", client.call(junk).getGeocoding().getQuery().getText());
+        client.call(new SearchRequest.Builder(API_KEY, "tampa").build());
+        assertEquals(2, transport.mCount.get());
+    }
+
+    @Test
+    public void testCacheIsCheckedBeforeEmptyResultFilter() throws IOException {
+        FixedTransport transport = new FixedTransport(readFixture("/simple-search.json"));
+        EmptyResultFilter filter = new EmptyResultFilter.Builder().build();
+        PeliasClient client = new PeliasClient.Builder()
+                .setTransport(transport)
+                .setCache(new LruPeliasCache(10))
+                .setEmptyResultFilter(filter)
+                .build();
+        PeliasRequest request = new SearchRequest.Builder(API_KEY, "subway").build();
+        int features = client.call(request).getFeatures().length;
+        assertTrue(features > 0);
+
+        // Stands in for a false positive
+        filter.put(request.getUrl().toString());
+        assertEquals(features, client.call(request).getFeatures().length);
+        assertEquals(1, transport.mCount.get());
+    }
+
+    @Test
+    public void testStringPool() throws IOException {
+        StringPool pool = new StringPool(100);
+        PeliasClient client = new PeliasClient.Builder()
+                .setTransport(new FixedTransport(readFixture("/search-with-focus.json")))
+                .setStringPool(pool)
+                .setFailOnUnknownProperties(true)
+                .build();
+        PeliasRequest request = new SearchRequest.Builder(API_KEY, "subway").build();
+
+        PeliasResponse first = client.call(request);
+        PeliasResponse second = client.call(request);
+
+        assertEquals("United States", first.getFeatures()[0].getProperty("country"));
+        assertSame(first.getFeatures()[0].getProperty("country"), second.getFeatures()[1].getProperty("country"));
+        assertSame(first.getFeatures()[0].getProperty("country_gid"),
+                second.getFeatures()[0].getProperty("country_gid"));
+        assertSame(first.getFeatures()[0].getProperty("layer"), second.getFeatures()[0].getProperty("layer"));
+        // High cardinality properties aren't pooled
+        assertNotSame(first.getFeatures()[0].getProperty("label"), second.getFeatures()[0].getProperty("label"));
+        assertEquals("subway", first.getGeocoding().getQuery().getText());
+        assertTrue(pool.size() > 0);
+    }
+
+    @Test
+    public void testDeadlines() throws IOException {
+        // Stands in for a hung Pelias node
+        PeliasStandInServer server = new PeliasStandInServer.Builder()
+                .setLatency(LatencyDistribution.fixed(10000))
+                .build()
+                .start();
+        try {
+            PeliasClient client = new PeliasClient.Builder()
+                    .setCallTimeout(300, TimeUnit.MILLISECONDS)
+                    .build();
+            PeliasRequest request = new SearchRequest.Builder(API_KEY, "subway")
+                    .setApiEndpoint(server.getBaseUrl() + "/v1/search")
+                    .build();
+            long start = System.nanoTime();
+            try {
+                client.call(request);
+                fail("Call should have timed out");
+            } catch (SocketTimeoutException e) {
+                // Expected
+            }
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+
+            // The request's own timeout applies when it is shorter than the client's
+            request = new SearchRequest.Builder(API_KEY, "subway")
+                    .setApiEndpoint(server.getBaseUrl() + "/v1/search")
+                    .setTimeout(50, TimeUnit.MILLISECONDS)
+                    .build();
+            start = System.nanoTime();
+            try {
+                client.call(request);
+                fail("Call should have timed out");
+            } catch (SocketTimeoutException e) {
+                // Expected
+            }
+            assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(250));
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void testCallListener() throws IOException {
+        PeliasStandInServer server = new PeliasStandInServer.Builder()
+                .setLatency(LatencyDistribution.fixed(100))
+                .build()
+                .start();
+        try {
+            final List<String> events = Collections.synchronizedList(new ArrayList<String>());
+            final CallTimings[] timings = new CallTimings[1];
+            PeliasClient client = new PeliasClient.Builder()
+                    .setCallListener(new CallListener() {
+                        @Override
+                        public void callStart(PeliasRequest request, long submittedNanos, long startNanos) {
+                            events.add("callStart");
+                        }
+
+                        @Override
+                        public void connectionAcquired(PeliasRequest request, long nanoTime) {
+                            events.add("connectionAcquired");
+                        }
+
+                        @Override
+                        public void requestSent(PeliasRequest request, long nanoTime) {
+                            events.add("requestSent");
+                        }
+
+                        @Override
+                        public void firstByteReceived(PeliasRequest request, long nanoTime) {
+                            events.add("firstByteReceived");
+                        }
+
+                        @Override
+                        public void bodyRead(PeliasRequest request, long nanoTime) {
+                            events.add("bodyRead");
+                        }
+
+                        @Override
+                        public void parseComplete(PeliasRequest request, long nanoTime) {
+                            events.add("parseComplete");
+                        }
+
+                        @Override
+                        public void callEnd(PeliasRequest request, CallTimings callTimings) {
+                            events.add("callEnd");
+                            timings[0] = callTimings;
+                        }
+
+                        @Override
+                        public void callFailed(PeliasRequest request, CallTimings callTimings, IOException e) {
+                            events.add("callFailed");
+                        }
+                    })
+                    .build();
+            client.call(new SearchRequest.Builder(API_KEY, "subway")
+                    .setApiEndpoint(server.getBaseUrl() + "/v1/search")
+                    .build());
+
+            // URLConnection doesn't report when the request is sent
+            assertEquals(Arrays.asList("callStart", "connectionAcquired", "firstByteReceived", "bodyRead",
+                    "parseComplete", "callEnd"), events);
+            // The simulated server latency is attributed to the server
+            assertTrue(timings[0].getServerNanos() >= TimeUnit.MILLISECONDS.toNanos(90));
+            assertTrue(timings[0].getTransferNanos() >= 0);
+            assertTrue(timings[0].getParseNanos() >= 0);
+            assertTrue(timings[0].getTotalNanos() >= timings[0].getServerNanos());
+
+            events.clear();
+            try {
+                client.call(new SearchRequest.Builder(API_KEY, "subway")
+                        .setApiEndpoint(server.getBaseUrl() + "/missing.json")
+                        .build());
+                fail("Call should have failed");
+            } catch (IOException e) {
+                // Expected
+            }
+            assertEquals("callFailed", events.get(events.size() - 1));
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void testQueueTimeOfReusedRequest() throws Exception {
+        final List<CallTimings> timings = Collections.synchronizedList(new ArrayList<CallTimings>());
+        PeliasClient client = new PeliasClient.Builder()
+                .setTransport(new Transport() {
+                    @Override
+                    public InputStream open(URL url, CallContext context) throws IOException {
+                        return new ByteArrayInputStream("{\"type\":\"FeatureCollection\",\"features\":[]}"
+                                .getBytes("UTF-8"));
+                    }
+                })
+                .setCallListener(new CallListener() {
+                    @Override
+                    public void callEnd(PeliasRequest request, CallTimings callTimings) {
+                        timings.add(callTimings);
+                    }
+                })
+                .build();
+        PeliasRequest request = new SearchRequest.Builder(API_KEY, "subway").build();
+        client.call(request);
+        Thread.sleep(200);
+        // The queue time is measured from each call, not from when the reused request was built
+        client.call(request);
+        client.submit(request).get(5, TimeUnit.SECONDS);
+        assertEquals(3, timings.size());
+        for (CallTimings callTimings : timings) {
+            assertTrue(callTimings.getQueueNanos() < TimeUnit.MILLISECONDS.toNanos(100));
+        }
+        client.shutdown();
+    }
+
+    @Test
+    public void testCancelFreesThread() throws Exception {
+        PeliasStandInServer slow = new PeliasStandInServer.Builder()
+                .setLatency(LatencyDistribution.fixed(10000))
+                .build()
+                .start();
+        PeliasStandInServer fast = new PeliasStandInServer.Builder().build().start();
+        try {
+            // A single thread, with no timeouts
+            PeliasClient client = new PeliasClient.Builder()
+                    .setExecutor(Executors.newSingleThreadExecutor())
+                    .build();
+            Future<PeliasResponse> hung = client.submit(new SearchRequest.Builder(API_KEY, "subway")
+                    .setApiEndpoint(slow.getBaseUrl() + "/v1/search")
+                    .build());
+            Thread.sleep(200);
+            assertTrue(hung.cancel(true));
+            try {
+                hung.get();
+                fail("Future should have been cancelled");
+            } catch (CancellationException e) {
+                // Expected
+            }
+
+            // The only thread is free again
+            Future<PeliasResponse> next = client.submit(new SearchRequest.Builder(API_KEY, "subway")
+                    .setApiEndpoint(fast.getBaseUrl() + "/v1/search")
+                    .build());
+            assertEquals("FeatureCollection", next.get(2, TimeUnit.SECONDS).getType());
+            client.shutdown();
+        } finally {
+            slow.stop();
+            fast.stop();
+        }
+    }
+
+    @Test
+    public void testWarmUp() throws Exception {
+        PeliasStandInServer server = new PeliasStandInServer.Builder().build().start();
+        try {
+            LruPeliasCache cache = new LruPeliasCache(10);
+            PeliasClient client = new PeliasClient.Builder().setCache(cache).build();
+            PeliasRequest request = new SearchRequest.Builder(API_KEY, "subway")
+                    .setApiEndpoint(server.getBaseUrl() + "/v1/search")
+                    .build();
+            PeliasRequest unreachable = new SearchRequest.Builder(API_KEY, "subway")
+                    .setApiEndpoint(server.getBaseUrl() + "/missing.json")
+                    .build();
+
+            // Failures are ignored, and warm-up responses aren't cached
+            assertEquals(2, client.warmUp(request, request, unreachable));
+            assertEquals(3, server.getRequestCount());
+            assertEquals(0, cache.size());
+            client.shutdown();
+        } finally {
+            server.stop();
+        }
+    }
+}
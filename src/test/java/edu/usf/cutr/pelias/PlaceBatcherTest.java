@@ -0,0 +1,216 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias;
+
+import junit.framework.TestCase;
+import org.geojson.Feature;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for PlaceRequest and PlaceBatcher
+ */
+public class PlaceBatcherTest extends TestCase {
+
+    private static final String GID = "openstreetmap:venue:node:2357470967";
+
+    /**
+     * Answers a place request with a feature for each id, except ids starting with "missing"
+     */
+    private static class PlaceTransport implements Transport {
+        final List<URL> mUrls = Collections.synchronizedList(new ArrayList<URL>());
+        volatile boolean mFail;
+
+        @Override
+        public InputStream open(URL url, CallContext context) throws IOException {
+            mUrls.add(url);
+            if (mFail) {
+                throw new IOException("Unavailable");
+            }
+            String ids = URLDecoder.decode(PeliasRequest.getParameter(url, "ids"), "UTF-8");
+            StringBuilder json = new StringBuilder("{\"type\":\"FeatureCollection\",\"features\":[");
+            boolean first = true;
+            for (String id : ids.split(",")) {
+                if (id.startsWith("missing")) {
+                    continue;
+                }
+                json.append(first ? "" : ",")
+                        .append("{\"type\":\"Feature\",\"geometry\":{\"type\":\"Point\",\"coordinates\":[1.0,2.0]},")
+                        .append("\"properties\":{\"gid\":\"").append(id).append("\",\"label\":\"Label of ")
+                        .append(id).append("\"}}");
+                first = false;
+            }
+            return new ByteArrayInputStream(json.append("]}").toString().getBytes("UTF-8"));
+        }
+    }
+
+    private PlaceTransport mTransport;
+    private PeliasClient mClient;
+    private ExecutorService mThreads;
+
+    @Override
+    protected void setUp() {
+        mTransport = new PlaceTransport();
+        mClient = new PeliasClient.Builder().setTransport(mTransport).build();
+        mThreads = Executors.newCachedThreadPool();
+    }
+
+    @Override
+    protected void tearDown() {
+        mThreads.shutdownNow();
+        mClient.shutdown();
+    }
+
+    @Test
+    public void testPlaceRequest() {
+        PlaceRequest request = new PlaceRequest.Builder("dummyApiKey", GID, "whosonfirst:locality:85924831").build();
+        assertEquals("https://search.mapzen.com/v1/place?ids=" + GID + ",whosonfirst:locality:85924831"
+                + "&api_key=dummyApiKey", request.getUrl().toString());
+        assertEquals(2, request.getIds().size());
+        // Commas in an id would split it
+        assertEquals("https://search.mapzen.com/v1/place?ids=a%2Cb&api_key=dummyApiKey",
+                new PlaceRequest.Builder("dummyApiKey", "a,b").build().getUrl().toString());
+        try {
+            new PlaceRequest.Builder("dummyApiKey").build();
+            fail("Expected an IllegalStateException");
+        } catch (IllegalStateException e) {
+            // Expected
+        }
+    }
+
+    @Test
+    public void testConcurrentLookupsShareRequest() throws Exception {
+        PlaceBatcher batcher = new PlaceBatcher.Builder(mClient, "dummyApiKey")
+                .setWindow(200, TimeUnit.MILLISECONDS)
+                .build();
+        List<String> ids = new ArrayList<String>();
+        for (int i = 0; i < 8; i++) {
+            ids.add("openstreetmap:venue:node:" + i);
+        }
+        // The same place twice, and one the server doesn't have
+        ids.add("openstreetmap:venue:node:0");
+        ids.add("missing:venue:1");
+        List<Future<Feature>> features = lookupConcurrently(batcher, ids);
+
+        assertEquals(1, mTransport.mUrls.size());
+        assertEquals(1, batcher.getRequestCount());
+        // Duplicates are only requested once
+        assertEquals(9, PeliasRequest.getParameter(mTransport.mUrls.get(0), "ids").split(",").length);
+        for (int i = 0; i < 9; i++) {
+            assertEquals(ids.get(i), features.get(i).get().getProperty("gid"));
+        }
+        assertNull(features.get(9).get());
+    }
+
+    @Test
+    public void testFullBatchIsSentWithoutWaiting() throws Exception {
+        PlaceBatcher batcher = new PlaceBatcher.Builder(mClient, "dummyApiKey")
+                .setWindow(1, TimeUnit.MINUTES)
+                .setMaxBatchSize(3)
+                .build();
+        List<String> ids = new ArrayList<String>();
+        for (int i = 0; i < 6; i++) {
+            ids.add("openstreetmap:venue:node:" + i);
+        }
+        long start = System.nanoTime();
+        List<Future<Feature>> features = lookupConcurrently(batcher, ids);
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals(ids.get(i), features.get(i).get(10, TimeUnit.SECONDS).getProperty("gid"));
+        }
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(10));
+        assertEquals(2, mTransport.mUrls.size());
+    }
+
+    @Test
+    public void testFailureReachesAllLookups() throws Exception {
+        mTransport.mFail = true;
+        PlaceBatcher batcher = new PlaceBatcher.Builder(mClient, "dummyApiKey")
+                .setWindow(200, TimeUnit.MILLISECONDS)
+                .build();
+        List<Future<Feature>> features = lookupConcurrently(batcher, Arrays.asList("a:b:1", "a:b:2"));
+        for (Future<Feature> feature : features) {
+            try {
+                feature.get();
+                fail("Expected an IOException");
+            } catch (ExecutionException e) {
+                assertEquals("Unavailable", e.getCause().getMessage());
+            }
+        }
+        assertEquals(1, mTransport.mUrls.size());
+
+        // The next lookup starts a new batch
+        mTransport.mFail = false;
+        assertEquals(GID, batcher.lookup(GID).getProperty("gid"));
+        assertEquals(2, batcher.getRequestCount());
+    }
+
+    @Test
+    public void testShutDownClientFailsLookup() throws Exception {
+        PlaceBatcher batcher = new PlaceBatcher.Builder(mClient, "dummyApiKey").build();
+        mClient.shutdown();
+        try {
+            batcher.lookup(GID);
+            fail("Expected an IOException");
+        } catch (IOException e) {
+            assertTrue(e.getCause() instanceof RejectedExecutionException);
+        }
+        assertTrue(mTransport.mUrls.isEmpty());
+    }
+
+    /**
+     * Looks the ids up from a thread each, all starting at once, and waits for the lookups to complete
+     */
+    private List<Future<Feature>> lookupConcurrently(final PlaceBatcher batcher, List<String> ids)
+            throws InterruptedException {
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Future<Feature>> features = new ArrayList<Future<Feature>>();
+        for (final String id : ids) {
+            features.add(mThreads.submit(new Callable<Feature>() {
+                @Override
+                public Feature call() throws Exception {
+                    start.await();
+                    return batcher.lookup(id);
+                }
+            }));
+        }
+        start.countDown();
+        for (Future<Feature> feature : features) {
+            try {
+                feature.get(10, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                // Checked by the caller
+            }
+        }
+        return features;
+    }
+}
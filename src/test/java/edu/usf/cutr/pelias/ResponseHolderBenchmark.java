@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.net.URL;
+
+/**
+ * Measures the bytes allocated and time taken per call when parsing into a new PeliasResponse compared to filling a
+ * reused ResponseHolder.  Responses are served from memory so the transport doesn't dominate.  Not run as part of the
+ * test suite - run the main method on a HotSpot JVM, which reports per-thread allocation.
+ */
+public class ResponseHolderBenchmark {
+
+    private static final int CALLS = 200000;
+
+    public static void main(String[] args) throws IOException {
+        final byte[] fixture = PeliasClientTest.readFixture("/search-with-focus.json").getBytes("UTF-8");
+        Transport transport = new Transport() {
+            @Override
+            public InputStream open(URL url, CallContext context) {
+                return new ByteArrayInputStream(fixture);
+            }
+        };
+        PeliasClient client = new PeliasClient.Builder().setTransport(transport).build();
+        PeliasRequest request = new SearchRequest.Builder("dummyApiKey", "benchmark").build();
+        ResponseHolder holder = new ResponseHolder("locality");
+
+        for (int round = 0; round < 3; round++) {
+            long allocated = allocatedBytes();
+            long start = System.nanoTime();
+            double checksum = 0;
+            for (int i = 0; i < CALLS; i++) {
+                PeliasResponse response = client.call(request);
+                checksum += response.getFeatures().length;
+            }
+            report("PeliasResponse", start, allocated, checksum);
+
+            allocated = allocatedBytes();
+            start = System.nanoTime();
+            checksum = 0;
+            for (int i = 0; i < CALLS; i++) {
+                client.call(request, holder);
+                checksum += holder.getFeatureCount();
+            }
+            report("ResponseHolder", start, allocated, checksum);
+        }
+    }
+
+    private static void report(String mode, long start, long allocatedBefore, double checksum) {
+        long elapsed = System.nanoTime() - start;
+        long allocated = allocatedBytes() - allocatedBefore;
+        System.out.println(String.format("%s: %,d bytes/call, %.1f us/call (checksum %.0f)", mode, allocated / CALLS,
+                elapsed / 1000d / CALLS, checksum));
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias;
+
+import junit.framework.TestCase;
+import org.geojson.Feature;
+import org.geojson.Point;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+
+/**
+ * Tests for PeliasClient.call(PeliasRequest, ResponseHolder)
+ */
+public class ResponseHolderTest extends TestCase {
+
+    private static final String[] FIXTURES = {
+            "/simple-search.json",
+            "/search-with-focus.json",
+            "/autocomplete-with-focus.json",
+            "/autocomplete-with-sources.json",
+            "/autocomplete-with-categories.json"
+    };
+
+    /**
+     * Serves whichever JSON was last set
+     */
+    private static class SettableTransport implements Transport {
+        volatile String mJson;
+
+        @Override
+        public InputStream open(URL url, CallContext context) throws IOException {
+            return new ByteArrayInputStream(mJson.getBytes("UTF-8"));
+        }
+    }
+
+    @Test
+    public void testMatchesDataBinding() throws IOException {
+        SettableTransport transport = new SettableTransport();
+        PeliasClient client = new PeliasClient.Builder().setTransport(transport).build();
+        PeliasRequest request = new SearchRequest.Builder("dummyApiKey", "subway").build();
+        ResponseHolder holder = new ResponseHolder("locality", "country_a");
+
+        for (String fixture : FIXTURES) {
+            transport.mJson = PeliasClientTest.readFixture(fixture);
+            PeliasResponse expected = client.call(request);
+            client.call(request, holder);
+
+            assertEquals(expected.getType(), holder.getType().toString());
+            assertEquals(expected.getGeocoding().getQuery().getText(), holder.getQueryText().toString());
+            assertEquals(expected.getFeatures().length, holder.getFeatureCount());
+            for (int i = 0; i < holder.getFeatureCount(); i++) {
+                Feature feature = expected.getFeatures()[i];
+                ResponseHolder.FeatureHolder actual = holder.getFeature(i);
+                assertEquals(feature.getProperty("gid"), actual.getGid().toString());
+                assertEquals(feature.getProperty("label"), actual.getLabel().toString());
+                assertEquals(feature.getProperty("layer"), actual.getLayer().toString());
+                assertEquals(text(feature.getProperty("locality")), actual.getProperty(0).toString());
+                assertEquals(text(feature.getProperty("country_a")), actual.getProperty(1).toString());
+                // Coordinates must be bit-for-bit identical to Jackson's parsing
+                Point point = (Point) feature.getGeometry();
+                assertEquals(point.getCoordinates().getLatitude(), actual.getLatitude(), 0);
+                assertEquals(point.getCoordinates().getLongitude(), actual.getLongitude(), 0);
+                assertNumber(feature.getProperty("confidence"), actual.getConfidence());
+                assertNumber(feature.getProperty("distance"), actual.getDistance());
+            }
+            assertEquals(expected.getBbox() != null, holder.hasBbox());
+            if (holder.hasBbox()) {
+                for (int i = 0; i < 4; i++) {
+                    assertEquals(expected.getBbox()[i], (float) holder.getBbox(i), 0);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testReuse() throws IOException {
+        SettableTransport transport = new SettableTransport();
+        PeliasClient client = new PeliasClient.Builder().setTransport(transport).build();
+        PeliasRequest request = new SearchRequest.Builder("dummyApiKey", "subway").build();
+        ResponseHolder holder = new ResponseHolder();
+
+        transport.mJson = PeliasClientTest.readFixture("/search-with-focus.json");
+        client.call(request, holder);
+        ResponseHolder.FeatureHolder first = holder.getFeature(0);
+        assertEquals(10, holder.getFeatureCount());
+
+        // Fewer features, missing fields and numbers that need the slow path
+        transport.mJson = "{\"type\":\"FeatureCollection\",\"features\":[{\"type\":\"Feature\"," +
+                "\"geometry\":{\"type\":\"Point\",\"coordinates\":[1.5e2,-0.000001]}," +
+                "\"properties\":{\"gid\":\"a\",\"confidence\":1,\"unknown\":{\"nested\":[1,2]}}}," +
+                "{\"type\":\"Feature\",\"geometry\":{\"type\":\"Point\",\"coordinates\":[12345678901234567890,0.1]}," +
+                "\"properties\":{}}]}";
+        client.call(request, holder);
+
+        assertEquals(2, holder.getFeatureCount());
+        assertSame(first, holder.getFeature(0));
+        assertEquals("a", first.getGid().toString());
+        assertEquals("", first.getLabel().toString());
+        assertEquals(150d, first.getLongitude(), 0);
+        assertEquals(-0.000001, first.getLatitude(), 0);
+        assertEquals(1d, first.getConfidence(), 0);
+        assertTrue(Double.isNaN(first.getDistance()));
+        assertEquals(12345678901234567890d, holder.getFeature(1).getLongitude(), 0);
+        assertEquals(0.1, holder.getFeature(1).getLatitude(), 0);
+        assertEquals("", holder.getQueryText().toString());
+        assertFalse(holder.hasBbox());
+        try {
+            holder.getFeature(2);
+            fail("Only 2 features");
+        } catch (IndexOutOfBoundsException e) {
+            // Expected
+        }
+    }
+
+    private static void assertNumber(Object expected, double actual) {
+        if (expected != null) {
+            assertEquals(((Number) expected).doubleValue(), actual, 0);
+        } else {
+            assertTrue(Double.isNaN(actual));
+        }
+    }
+
+    private static String text(Object value) {
+        return value != null ? value.toString() : "";
+    }
+}
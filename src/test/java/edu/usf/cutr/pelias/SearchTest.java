@@ -15,6 +15,7 @@
  */
 package edu.usf.cutr.pelias;
 
+import edu.usf.cutr.pelias.load.PeliasStandInServer;
 import junit.framework.TestCase;
 import org.geojson.Feature;
 import org.geojson.Point;
@@ -27,28 +28,36 @@ import java.io.IOException;
  */
 public class SearchTest extends TestCase {
 
-    private static final String SIMPLE_SEARCH_ENDPOINT = "https://raw.githubusercontent.com/CUTR-at-USF/pelias-client-library/master/src/test/resources/simple-search.json";
-    private static final String SEARCH_WITH_FOCUS_ENDPOINT = "https://raw.githubusercontent.com/CUTR-at-USF/pelias-client-library/master/src/test/resources/search-with-focus.json";
+    private static final String SIMPLE_SEARCH_ENDPOINT = "/simple-search.json";
+    private static final String SEARCH_WITH_FOCUS_ENDPOINT = "/search-with-focus.json";
     private static final String API_KEY = "dummyApiKey";
     private static final String TEXT = "subway";
 
+    // For tests, make sure that we can parse all known properties
+    private final PeliasClient mClient = new PeliasClient.Builder().setFailOnUnknownProperties(true).build();
+    private PeliasStandInServer mServer;
+
+    @Override
+    protected void setUp() throws IOException {
+        // Serve the fixtures in src/test/resources locally
+        mServer = new PeliasStandInServer.Builder().build().start();
+    }
+
     @Override
-    protected void setUp() {
-        // For tests, make sure that we can parse all known properties
-        SearchRequest.setFailOnUnknownProperties(true);
+    protected void tearDown() {
+        mServer.stop();
     }
 
     @Test
     public void testSimpleSearch() throws IOException {
         PeliasRequest request = new SearchRequest.Builder(API_KEY, TEXT)
-                .setApiEndpoint(SIMPLE_SEARCH_ENDPOINT)
+                .setApiEndpoint(mServer.getBaseUrl() + SIMPLE_SEARCH_ENDPOINT)
                 .build();
 
-        assertEquals("https://raw.githubusercontent.com/CUTR-at-USF/pelias-client-library/master/src/test/resources/" +
-                        "simple-search.json?text=subway&api_key=dummyApiKey",
+        assertEquals(mServer.getBaseUrl() + "/simple-search.json?text=subway&api_key=dummyApiKey",
                 request.getUrl().toString());
 
-        PeliasResponse response = request.call();
+        PeliasResponse response = mClient.call(request);
 
         assertEquals("0.1", response.getGeocoding().getVersion());
         assertEquals("https://search.mapzen.com/v1/attribution", response.getGeocoding().getAttribution());
@@ -102,15 +111,14 @@ public class SearchTest extends TestCase {
     @Test
     public void testSearchWithFocus() throws IOException {
         PeliasRequest request = new SearchRequest.Builder(API_KEY, TEXT)
-                .setApiEndpoint(SEARCH_WITH_FOCUS_ENDPOINT)
+                .setApiEndpoint(mServer.getBaseUrl() + SEARCH_WITH_FOCUS_ENDPOINT)
                 .setFocusPoint(28.061062d, -82.4132d)
                 .build();
 
-        assertEquals("https://raw.githubusercontent.com/CUTR-at-USF/pelias-client-library/master/src/test/resources/" +
-                        "search-with-focus.json?text=subway&api_key=dummyApiKey&focus.point.lat=28.061062&focus.point.lon=-82.4132",
+        assertEquals(mServer.getBaseUrl() + "/search-with-focus.json?text=subway&api_key=dummyApiKey&focus.point.lat=28.061062&focus.point.lon=-82.4132",
                 request.getUrl().toString());
 
-        PeliasResponse response = request.call();
+        PeliasResponse response = mClient.call(request);
 
         assertEquals("0.1", response.getGeocoding().getVersion());
         assertEquals("https://search.mapzen.com/v1/attribution", response.getGeocoding().getAttribution());
@@ -177,18 +185,35 @@ public class SearchTest extends TestCase {
         assertEquals(28.13147F, bbox[3]);
     }
 
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testDeprecatedFailOnUnknownProperties() throws IOException {
+        PeliasClient previous = PeliasClient.getDefault();
+        try {
+            SearchRequest.setFailOnUnknownProperties(true);
+            assertNotSame(previous, PeliasClient.getDefault());
+
+            PeliasResponse response = new SearchRequest.Builder(API_KEY, TEXT)
+                    .setApiEndpoint(mServer.getBaseUrl() + SIMPLE_SEARCH_ENDPOINT)
+                    .build()
+                    .call();
+            assertEquals("subway", response.getGeocoding().getQuery().getText());
+        } finally {
+            PeliasClient.setDefault(previous);
+        }
+    }
+
     @Test
     public void testRequestParameters() throws IOException {
         PeliasRequest request = new SearchRequest.Builder(API_KEY, TEXT)
-                .setApiEndpoint(SEARCH_WITH_FOCUS_ENDPOINT)
+                .setApiEndpoint(mServer.getBaseUrl() + SEARCH_WITH_FOCUS_ENDPOINT)
                 .setFocusPoint(28.061062d, -82.4132d)
                 .setSources("osm")
                 .setSize(35)
                 .setBoundaryRect(27.959868, -82.515286, 28.131471, -82.367646)
                 .build();
 
-        assertEquals("https://raw.githubusercontent.com/CUTR-at-USF/pelias-client-library/master/src/test/resources/" +
-                        "search-with-focus.json?text=subway&api_key=dummyApiKey&sources=osm&size=35" +
+        assertEquals(mServer.getBaseUrl() + "/search-with-focus.json?text=subway&api_key=dummyApiKey&sources=osm&size=35" +
                         "&focus.point.lat=28.061062&focus.point.lon=-82.4132" +
                         "&boundary.rect.min_lat=27.959868&boundary.rect.min_lon=-82.515286" +
                         "&boundary.rect.max_lat=28.131471&boundary.rect.max_lon=-82.367646",
@@ -196,15 +221,14 @@ public class SearchTest extends TestCase {
 
         // Test space in text parameter
         request = new SearchRequest.Builder(API_KEY, "burger king")
-                .setApiEndpoint(SEARCH_WITH_FOCUS_ENDPOINT)
+                .setApiEndpoint(mServer.getBaseUrl() + SEARCH_WITH_FOCUS_ENDPOINT)
                 .setFocusPoint(28.061062d, -82.4132d)
                 .setSources("osm")
                 .setSize(35)
                 .setBoundaryRect(27.959868, -82.515286, 28.131471, -82.367646)
                 .build();
 
-        assertEquals("https://raw.githubusercontent.com/CUTR-at-USF/pelias-client-library/master/src/test/resources/" +
-                        "search-with-focus.json?text=burger+king&api_key=dummyApiKey&sources=osm&size=35" +
+        assertEquals(mServer.getBaseUrl() + "/search-with-focus.json?text=burger+king&api_key=dummyApiKey&sources=osm&size=35" +
                         "&focus.point.lat=28.061062&focus.point.lon=-82.4132" +
                         "&boundary.rect.min_lat=27.959868&boundary.rect.min_lon=-82.515286" +
                         "&boundary.rect.max_lat=28.131471&boundary.rect.max_lon=-82.367646",
@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias;
+
+import edu.usf.cutr.pelias.util.StringPool;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures the heap retained by parsed responses with and without a StringPool.  The test fixtures are parsed
+ * repeatedly and every response is kept, as a long-running process holding results would.  Not run as part of the test
+ * suite - run the main method with a fixed heap (e.g., -Xms1g -Xmx1g).
+ */
+public class StringPoolBenchmark {
+
+    private static final String[] FIXTURES = {
+            "/simple-search.json",
+            "/search-with-focus.json",
+            "/autocomplete-with-focus.json",
+            "/autocomplete-with-sources.json",
+            "/autocomplete-with-categories.json"
+    };
+
+    private static final int RESPONSES = 20000;
+
+    public static void main(String[] args) throws IOException {
+        final byte[][] fixtures = new byte[FIXTURES.length][];
+        for (int i = 0; i < FIXTURES.length; i++) {
+            fixtures[i] = PeliasClientTest.readFixture(FIXTURES[i]).getBytes("UTF-8");
+        }
+        final AtomicInteger next = new AtomicInteger();
+        Transport transport = new Transport() {
+            @Override
+            public InputStream open(URL url, CallContext context) {
+                return new ByteArrayInputStream(fixtures[next.getAndIncrement() % fixtures.length]);
+            }
+        };
+
+        long without = retainedBytes(new PeliasClient.Builder().setTransport(transport).build());
+        StringPool pool = new StringPool(10000);
+        long with = retainedBytes(new PeliasClient.Builder().setTransport(transport).setStringPool(pool).build());
+
+        System.out.println(String.format("%d responses retained without pool: %,d bytes", RESPONSES, without));
+        System.out.println(String.format("%d responses retained with pool:    %,d bytes (%d pooled strings)",
+                RESPONSES, with, pool.size()));
+        System.out.println(String.format("Reduction: %.1f%%", 100d * (without - with) / without));
+    }
+
+    private static long retainedBytes(PeliasClient client) throws IOException {
+        PeliasRequest request = new SearchRequest.Builder("dummyApiKey", "benchmark").build();
+        long before = usedHeap();
+        List<PeliasResponse> responses = new ArrayList<PeliasResponse>(RESPONSES);
+        for (int i = 0; i < RESPONSES; i++) {
+            responses.add(client.call(request));
+        }
+        long retained = usedHeap() - before;
+        if (responses.size() != RESPONSES) {
+            throw new IllegalStateException();
+        }
+        return retained;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
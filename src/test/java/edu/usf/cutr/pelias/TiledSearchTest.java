@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias;
+
+import junit.framework.TestCase;
+import org.geojson.Feature;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests for TiledSearch
+ */
+public class TiledSearchTest extends TestCase {
+
+    private static final String API_KEY = "dummyApiKey";
+
+    /**
+     * Stands in for Pelias over a fixed set of places, returning the first "size" places within the boundary
+     * rectangle of each request
+     */
+    private static class PlacesTransport implements Transport {
+        final double[][] mPlaces;
+        final AtomicInteger mRequests = new AtomicInteger();
+        final AtomicInteger mRunning = new AtomicInteger();
+        final AtomicInteger mMaxRunning = new AtomicInteger();
+
+        PlacesTransport(double[][] places) {
+            mPlaces = places;
+        }
+
+        @Override
+        public InputStream open(URL url, CallContext context) throws IOException {
+            mRequests.incrementAndGet();
+            int running = mRunning.incrementAndGet();
+            try {
+                synchronized (mMaxRunning) {
+                    mMaxRunning.set(Math.max(mMaxRunning.get(), running));
+                }
+                Thread.sleep(10);
+                Map<String, String> query = new HashMap<String, String>();
+                for (String parameter : url.getQuery().split("&")) {
+                    String[] pair = parameter.split("=");
+                    query.put(pair[0], pair[1]);
+                }
+                int size = Integer.parseInt(query.get("size"));
+                double minLat = Double.parseDouble(query.get("boundary.rect.min_lat"));
+                double minLon = Double.parseDouble(query.get("boundary.rect.min_lon"));
+                double maxLat = Double.parseDouble(query.get("boundary.rect.max_lat"));
+                double maxLon = Double.parseDouble(query.get("boundary.rect.max_lon"));
+                StringBuilder json = new StringBuilder("{\"type\":\"FeatureCollection\",\"features\":[");
+                int count = 0;
+                for (int i = 0; i < mPlaces.length && count < size; i++) {
+                    double lat = mPlaces[i][0];
+                    double lon = mPlaces[i][1];
+                    // Boundary rectangles are inclusive, so places on tile edges are returned by both tiles
+                    if (lat >= minLat && lat <= maxLat && lon >= minLon && lon <= maxLon) {
+                        json.append(count++ > 0 ? "," : "")
+                                .append("{\"type\":\"Feature\",\"geometry\":{\"type\":\"Point\",\"coordinates\":[")
+                                .append(lon).append(',').append(lat).append("]},\"properties\":{\"gid\":\"place:")
+                                .append(i).append("\"}}");
+                    }
+                }
+                return new ByteArrayInputStream(json.append("]}").toString().getBytes("UTF-8"));
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            } finally {
+                mRunning.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * 90 places packed into the south west corner of the box (0,0)-(8,8), and one in the middle of each other 2x2 cell
+     * and on the edge between two cells
+     */
+    private static double[][] places() {
+        double[][] places = new double[90 + 15 + 1][];
+        int i = 0;
+        for (int j = 0; j < 90; j++) {
+            places[i++] = new double[]{0.1 + (j / 10) * 0.1, 0.1 + (j % 10) * 0.1};
+        }
+        for (int row = 0; row < 4; row++) {
+            for (int column = 0; column < 4; column++) {
+                if (row > 0 || column > 0) {
+                    places[i++] = new double[]{row * 2 + 1, column * 2 + 1};
+                }
+            }
+        }
+        places[i] = new double[]{4, 5};
+        return places;
+    }
+
+    @Test
+    public void testTilesCoverSparseAreas() throws IOException {
+        PlacesTransport transport = new PlacesTransport(places());
+        PeliasClient client = new PeliasClient.Builder().setTransport(transport).build();
+        SearchRequest.Builder request = new SearchRequest.Builder(API_KEY, "place");
+        request.setSize(10);
+
+        // A single request only finds the dense corner
+        request.setBoundaryRect(0d, 0d, 8d, 8d);
+        assertEquals(10, client.call(request.build()).getFeatures().length);
+
+        PeliasResponse response = new TiledSearch.Builder(client, request)
+                .setBoundaryRect(0, 0, 8, 8)
+                .setGrid(4, 4)
+                .setMaxConcurrency(3)
+                .build()
+                .call();
+        // 10 from the saturated corner, the other 15 cells and the edge place once
+        assertEquals(10 + 15 + 1, response.getFeatures().length);
+        assertEquals(1 + 16, transport.mRequests.get());
+        assertTrue(transport.mMaxRunning.get() <= 3);
+        assertEquals(0.1f, response.getBbox()[0], 1e-6);
+        assertEquals(7f, response.getBbox()[3], 1e-6);
+        client.shutdown();
+    }
+
+    @Test
+    public void testSubdividesSaturatedTiles() throws IOException {
+        double[][] places = places();
+        PlacesTransport transport = new PlacesTransport(places);
+        PeliasClient client = new PeliasClient.Builder().setTransport(transport).build();
+        SearchRequest.Builder request = new SearchRequest.Builder(API_KEY, "place");
+        request.setSize(10);
+
+        PeliasResponse response = new TiledSearch.Builder(client, request)
+                .setBoundaryRect(0, 0, 8, 8)
+                .setMaxDepth(5)
+                .build()
+                .call();
+
+        Set<String> gids = new HashSet<String>();
+        for (Feature feature : response.getFeatures()) {
+            assertTrue(gids.add((String) feature.getProperty("gid")));
+        }
+        assertEquals(places.length, gids.size());
+        client.shutdown();
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias;
+
+import edu.usf.cutr.pelias.util.GeoUtils;
+import junit.framework.TestCase;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests for ReverseRequest and TraceGeocoder
+ */
+public class TraceGeocoderTest extends TestCase {
+
+    /**
+     * One meter in degrees of latitude
+     */
+    private static final double METER = 1 / GeoUtils.METERS_PER_DEGREE;
+
+    /**
+     * Answers a reverse request with a feature whose gid names the point, and counts concurrent requests
+     */
+    private static class ReverseTransport implements Transport {
+        final AtomicInteger mRequests = new AtomicInteger();
+        final AtomicInteger mRunning = new AtomicInteger();
+        final AtomicInteger mMaxRunning = new AtomicInteger();
+        volatile double mFailAboveLat = Double.POSITIVE_INFINITY;
+
+        @Override
+        public InputStream open(URL url, CallContext context) throws IOException {
+            mRequests.incrementAndGet();
+            int running = mRunning.incrementAndGet();
+            try {
+                synchronized (mMaxRunning) {
+                    mMaxRunning.set(Math.max(mMaxRunning.get(), running));
+                }
+                Thread.sleep(5);
+                String lat = PeliasRequest.getParameter(url, "point.lat");
+                String lon = PeliasRequest.getParameter(url, "point.lon");
+                if (Double.parseDouble(lat) > mFailAboveLat) {
+                    throw new IOException("Unavailable");
+                }
+                String json = "{\"type\":\"FeatureCollection\",\"features\":[{\"type\":\"Feature\",\"geometry\":"
+                        + "{\"type\":\"Point\",\"coordinates\":[" + lon + "," + lat + "]},\"properties\":"
+                        + "{\"gid\":\"point:" + lat + "," + lon + "\"}}]}";
+                return new ByteArrayInputStream(json.getBytes("UTF-8"));
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            } finally {
+                mRunning.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Records the points passed to it, by trace
+     */
+    private static class RecordingListener implements TraceGeocoder.Listener {
+        final List<List<TraceGeocoder.TracePoint>> mTraces = new ArrayList<List<TraceGeocoder.TracePoint>>();
+
+        @Override
+        public void onPoint(int trace, TraceGeocoder.TracePoint point) {
+            while (mTraces.size() <= trace) {
+                mTraces.add(new ArrayList<TraceGeocoder.TracePoint>());
+            }
+            mTraces.get(trace).add(point);
+        }
+    }
+
+    private ReverseTransport mTransport;
+    private PeliasClient mClient;
+
+    @Override
+    protected void setUp() {
+        mTransport = new ReverseTransport();
+        mClient = new PeliasClient.Builder().setTransport(mTransport).build();
+    }
+
+    @Override
+    protected void tearDown() {
+        mClient.shutdown();
+    }
+
+    @Test
+    public void testReverseRequest() {
+        ReverseRequest request = new ReverseRequest.Builder("dummyApiKey", 28.061062, -82.4132)
+                .setSize(1)
+                .setLayers("street")
+                .build();
+        assertEquals("https://search.mapzen.com/v1/reverse?point.lat=28.061062&point.lon=-82.4132"
+                + "&api_key=dummyApiKey&size=1&layers=street", request.getUrl().toString());
+    }
+
+    @Test
+    public void testStraightTraceIsLookedUpByDistance() throws IOException {
+        // North at 10 m/s, a point a second
+        List<TraceGeocoder.TracePoint> trace = line(28, -82, 0, 10, 100);
+        RecordingListener listener = new RecordingListener();
+        int lookups = newGeocoder().geocode(Collections.singletonList(trace), listener);
+
+        // A lookup every 60 m, the first point past 55 m from the last lookup
+        assertEquals(17, lookups);
+        assertEquals(lookups, mTransport.mRequests.get());
+        assertEquals(trace, listener.mTraces.get(0));
+        int lookedUp = 0;
+        for (TraceGeocoder.TracePoint point : trace) {
+            assertNotNull(point.getFeature());
+            assertNull(point.getFailure());
+            if (point.isLookedUp()) {
+                lookedUp++;
+            }
+            // Each point is given the result of the nearest lookup
+            double[] coordinates = coordinates(point);
+            double distance = GeoUtils.distance(point.getLatitude(), point.getLongitude(), coordinates[0],
+                    coordinates[1]);
+            assertTrue(distance + " m", distance <= 30.1);
+        }
+        assertEquals(lookups, lookedUp);
+    }
+
+    @Test
+    public void testTurnIsLookedUp() throws IOException {
+        // East for 5 points, then north - all within 100 m of the start
+        List<TraceGeocoder.TracePoint> trace = line(28, -82, 90, 10, 5);
+        TraceGeocoder.TracePoint corner = trace.get(4);
+        trace.addAll(line(corner.getLatitude() + 10 * METER, corner.getLongitude(), 0, 10, 4));
+        RecordingListener listener = new RecordingListener();
+        int lookups = new TraceGeocoder.Builder(mClient, new ReverseRequest.Builder("dummyApiKey", 0, 0))
+                .setMaxDistance(100)
+                .build()
+                .geocode(Collections.singletonList(trace), listener);
+
+        assertEquals(2, lookups);
+        assertTrue(trace.get(0).isLookedUp());
+        // The first point after the turn
+        assertTrue(trace.get(5).isLookedUp());
+        assertEquals(trace.size(), listener.mTraces.get(0).size());
+    }
+
+    @Test
+    public void testTracesAreGeocodedInParallel() throws IOException {
+        List<List<TraceGeocoder.TracePoint>> traces = new ArrayList<List<TraceGeocoder.TracePoint>>();
+        for (int i = 0; i < 10; i++) {
+            traces.add(line(28 + i, -82, 45 * i, 15, 30));
+        }
+        RecordingListener listener = new RecordingListener();
+        int lookups = new TraceGeocoder.Builder(mClient, new ReverseRequest.Builder("dummyApiKey", 0, 0))
+                .setMaxConcurrency(3)
+                .build()
+                .geocode(traces, listener);
+
+        assertTrue(lookups < 10 * 30 / 3);
+        assertTrue(mTransport.mMaxRunning.get() <= 3);
+        for (int i = 0; i < traces.size(); i++) {
+            // All points, in order
+            assertEquals(traces.get(i), listener.mTraces.get(i));
+        }
+    }
+
+    @Test
+    public void testFailedLookupIsGivenToItsPoints() throws IOException {
+        List<TraceGeocoder.TracePoint> trace = line(28, -82, 0, 10, 20);
+        mTransport.mFailAboveLat = trace.get(10).getLatitude() - METER;
+        RecordingListener listener = new RecordingListener();
+        newGeocoder().geocode(Collections.singletonList(trace), listener);
+
+        assertEquals(20, listener.mTraces.get(0).size());
+        assertNotNull(trace.get(0).getFeature());
+        assertNull(trace.get(19).getFeature());
+        assertEquals("Unavailable", trace.get(19).getFailure().getMessage());
+    }
+
+    @Test
+    public void testPointsAreReset() throws IOException {
+        List<TraceGeocoder.TracePoint> trace = line(28, -82, 0, 10, 20);
+        mTransport.mFailAboveLat = trace.get(10).getLatitude() - METER;
+        TraceGeocoder geocoder = newGeocoder();
+        geocoder.geocode(Collections.singletonList(trace), new RecordingListener());
+        assertNotNull(trace.get(19).getFailure());
+
+        // The same points geocoded with a greater maximum distance
+        mTransport.mFailAboveLat = Double.POSITIVE_INFINITY;
+        new TraceGeocoder.Builder(mClient, new ReverseRequest.Builder("dummyApiKey", 0, 0))
+                .setMaxDistance(1000)
+                .build()
+                .geocode(Collections.singletonList(trace), new RecordingListener());
+        for (int i = 0; i < trace.size(); i++) {
+            assertEquals(i == 0, trace.get(i).isLookedUp());
+            assertNull(trace.get(i).getFailure());
+            assertNotNull(trace.get(i).getFeature());
+        }
+    }
+
+    @Test
+    public void testSessionMatchesGeocode() throws IOException {
+        List<TraceGeocoder.TracePoint> trace = line(28, -82, 0, 10, 100);
+        TraceGeocoder geocoder = newGeocoder();
+        geocoder.geocode(Collections.singletonList(trace), new RecordingListener());
+        List<String> expected = new ArrayList<String>();
+        for (TraceGeocoder.TracePoint point : trace) {
+            expected.add(point.isLookedUp() + " " + point.getFeature().getProperty("gid"));
+        }
+
+        RecordingListener listener = new RecordingListener();
+        TraceGeocoder.Session session = geocoder.newSession(0, listener);
+        for (TraceGeocoder.TracePoint point : trace) {
+            session.add(point);
+        }
+        session.finish();
+        assertEquals(17, session.getLookupCount());
+        assertEquals(trace, listener.mTraces.get(0));
+        List<String> actual = new ArrayList<String>();
+        for (TraceGeocoder.TracePoint point : trace) {
+            actual.add(point.isLookedUp() + " " + point.getFeature().getProperty("gid"));
+        }
+        assertEquals(expected, actual);
+    }
+
+    private TraceGeocoder newGeocoder() {
+        return new TraceGeocoder.Builder(mClient, new ReverseRequest.Builder("dummyApiKey", 0, 0).setSize(1))
+                .setMaxDistance(55)
+                .build();
+    }
+
+    /**
+     * Returns points along a straight line from the start on the bearing, a step apart
+     */
+    private static List<TraceGeocoder.TracePoint> line(double lat, double lon, double bearing, double stepMeters,
+                                                       int count) {
+        List<TraceGeocoder.TracePoint> points = new ArrayList<TraceGeocoder.TracePoint>();
+        double dLat = Math.cos(Math.toRadians(bearing)) * stepMeters * METER;
+        double dLon = Math.sin(Math.toRadians(bearing)) * stepMeters * METER / Math.cos(Math.toRadians(lat));
+        for (int i = 0; i < count; i++) {
+            points.add(new TraceGeocoder.TracePoint(lat + i * dLat, lon + i * dLon));
+        }
+        return points;
+    }
+
+    private static double[] coordinates(TraceGeocoder.TracePoint point) {
+        String[] gid = ((String) point.getFeature().getProperty("gid")).substring("point:".length()).split(",");
+        return new double[]{Double.parseDouble(gid[0]), Double.parseDouble(gid[1])};
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.cache;
+
+import edu.usf.cutr.pelias.PeliasResponse;
+import edu.usf.cutr.pelias.load.LoggedQuery;
+import edu.usf.cutr.pelias.load.QueryLogReplayer;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares the hit rates of TinyLfuPeliasCache and LruPeliasCache of the same capacity on a query trace, without any
+ * network calls.  Not run as part of the test suite - run the main method with the path of a JSON lines query log (see
+ * QueryLogReplayer), or without arguments to simulate a trace of Zipf distributed interactive queries, half of which
+ * are interleaved with a batch of one-off addresses during the middle third of the trace.
+ */
+public class CacheSimulationBenchmark {
+
+    private static final int CAPACITY_ENTRIES = 2000;
+    private static final int AVERAGE_FEATURES = 5;
+
+    public static void main(String[] args) throws IOException {
+        List<String> trace;
+        int batchStart;
+        int batchEnd;
+        if (args.length > 0) {
+            Reader reader = new FileReader(args[0]);
+            try {
+                trace = keys(QueryLogReplayer.readLog(reader));
+            } finally {
+                reader.close();
+            }
+            batchStart = trace.size() / 3;
+            batchEnd = 2 * trace.size() / 3;
+        } else {
+            trace = new ArrayList<String>();
+            batchStart = 200000;
+            batchEnd = 400000;
+            simulate(trace, 600000, batchStart, batchEnd);
+        }
+
+        long maxBytes = (long) CAPACITY_ENTRIES * (TinyLfuPeliasCache.RESPONSE_BYTES
+                + AVERAGE_FEATURES * TinyLfuPeliasCache.FEATURE_BYTES);
+        System.out.println(String.format("%,d queries, capacity %,d entries (%,d bytes)", trace.size(),
+                CAPACITY_ENTRIES, maxBytes));
+        run("LRU", new LruPeliasCache(CAPACITY_ENTRIES), trace, batchStart, batchEnd);
+        run("TinyLFU", new TinyLfuPeliasCache(maxBytes), trace, batchStart, batchEnd);
+    }
+
+    private static List<String> keys(List<LoggedQuery> queries) {
+        List<String> keys = new ArrayList<String>(queries.size());
+        for (LoggedQuery query : queries) {
+            keys.add(query.getType() + "|" + query.getText() + "|" + query.getFocusLat() + "," + query.getFocusLon()
+                    + "|" + query.getSources() + "|" + query.getCategories() + "|" + query.getSize());
+        }
+        return keys;
+    }
+
+    private static void simulate(List<String> trace, int queries, int batchStart, int batchEnd) {
+        Random random = new Random(42);
+        // Zipf (s = 1) over 50,000 distinct interactive queries
+        int distinct = 50000;
+        double[] cumulative = new double[distinct];
+        double sum = 0;
+        for (int i = 0; i < distinct; i++) {
+            sum += 1d / (i + 1);
+            cumulative[i] = sum;
+        }
+        int batch = 0;
+        for (int i = 0; i < queries; i++) {
+            if (i >= batchStart && i < batchEnd && random.nextBoolean()) {
+                trace.add("batch|" + batch++ + " Main St");
+                continue;
+            }
+            double target = random.nextDouble() * sum;
+            int low = 0;
+            int high = distinct - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (cumulative[mid] < target) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            trace.add("search|query" + low);
+        }
+    }
+
+    private static void run(String name, PeliasCache cache, List<String> trace, int batchStart, int batchEnd) {
+        int[] hits = new int[3];
+        int[] lookups = new int[3];
+        long start = System.nanoTime();
+        for (int i = 0; i < trace.size(); i++) {
+            String key = trace.get(i);
+            int phase = i < batchStart ? 0 : i < batchEnd ? 1 : 2;
+            lookups[phase]++;
+            if (cache.get(key) != null) {
+                hits[phase]++;
+            } else {
+                cache.put(key, response(key));
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        int totalHits = hits[0] + hits[1] + hits[2];
+        System.out.println(String.format("%-8s overall %5.1f%%, before batch %5.1f%%, during %5.1f%%, after %5.1f%%"
+                        + " (%.2f us/query)", name, 100d * totalHits / trace.size(), rate(hits[0], lookups[0]),
+                rate(hits[1], lookups[1]), rate(hits[2], lookups[2]), elapsed / 1000d / trace.size()));
+    }
+
+    private static double rate(int hits, int lookups) {
+        return lookups == 0 ? 0 : 100d * hits / lookups;
+    }
+
+    /**
+     * Returns a response with 1 to 10 features (no content), the same for each key
+     */
+    private static PeliasResponse response(String key) {
+        PeliasResponse response = new PeliasResponse();
+        response.setFeatures(new org.geojson.Feature[1 + (key.hashCode() & 0x7fffffff) % 10]);
+        return response;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.cache;
+
+import junit.framework.TestCase;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for EmptyResultFilter
+ */
+public class EmptyResultFilterTest extends TestCase {
+
+    private static String key(int i) {
+        return "https://search.mapzen.com/v1/search?text=junk" + i + "&api_key=dummyApiKey";
+    }
+
+    @Test
+    public void testFalsePositiveRate() {
+        EmptyResultFilter filter = new EmptyResultFilter.Builder()
+                .setExpectedInsertions(10000)
+                .setFalsePositiveRate(0.01)
+                .build();
+        for (int i = 0; i < 10000; i++) {
+            filter.put(key(i));
+        }
+        for (int i = 0; i < 10000; i++) {
+            assertTrue(filter.mightBeEmpty(key(i)));
+        }
+        int falsePositives = 0;
+        for (int i = 10000; i < 110000; i++) {
+            if (filter.mightBeEmpty(key(i))) {
+                falsePositives++;
+            }
+        }
+        assertTrue("False positive rate " + falsePositives / 100000d, falsePositives < 1000);
+        // 4 generations of about 12 bits per key
+        assertTrue(filter.getSizeInBytes() < 4 * 10000 * 2);
+    }
+
+    private static void sleepUntil(long startNanos, long millis) throws InterruptedException {
+        long remaining = millis - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        if (remaining > 0) {
+            Thread.sleep(remaining);
+        }
+    }
+
+    @Test
+    public void testExpiry() throws InterruptedException {
+        // Generations of 200 ms each
+        EmptyResultFilter filter = new EmptyResultFilter.Builder()
+                .setTimeToLive(800, TimeUnit.MILLISECONDS)
+                .build();
+        long start = System.nanoTime();
+        filter.put(key(1));
+        sleepUntil(start, 500);
+        filter.put(key(2));
+        assertTrue(filter.mightBeEmpty(key(1)));
+
+        // Keys are remembered for at least 3/4 of the time to live and at most all of it, depending on when in their
+        // generation they were added
+        sleepUntil(start, 1000);
+        assertFalse(filter.mightBeEmpty(key(1)));
+        assertTrue(filter.mightBeEmpty(key(2)));
+        sleepUntil(start, 1300);
+        assertFalse(filter.mightBeEmpty(key(2)));
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.cache;
+
+import edu.usf.cutr.pelias.PeliasResponse;
+import junit.framework.TestCase;
+import org.geojson.Feature;
+import org.junit.Test;
+
+/**
+ * Tests for TinyLfuPeliasCache
+ */
+public class TinyLfuPeliasCacheTest extends TestCase {
+
+    static PeliasResponse response(int features) {
+        PeliasResponse response = new PeliasResponse();
+        Feature[] array = new Feature[features];
+        for (int i = 0; i < features; i++) {
+            array[i] = new Feature();
+        }
+        response.setFeatures(array);
+        return response;
+    }
+
+    @Test
+    public void testGetAndStatistics() {
+        TinyLfuPeliasCache cache = new TinyLfuPeliasCache(1024 * 1024);
+        PeliasResponse response = response(10);
+        assertNull(cache.get("a"));
+        cache.put("a", response);
+        assertSame(response, cache.get("a"));
+        assertSame(response, cache.get("a"));
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(2 / 3d, cache.getHitRate(), 1e-9);
+        assertEquals(1, cache.size());
+        assertEquals(TinyLfuPeliasCache.RESPONSE_BYTES + 10 * TinyLfuPeliasCache.FEATURE_BYTES,
+                cache.getEstimatedBytes());
+
+        PeliasResponse replacement = response(2);
+        cache.put("a", replacement);
+        assertSame(replacement, cache.get("a"));
+        assertEquals(TinyLfuPeliasCache.RESPONSE_BYTES + 2 * TinyLfuPeliasCache.FEATURE_BYTES,
+                cache.getEstimatedBytes());
+    }
+
+    @Test
+    public void testBoundedByEstimatedBytes() {
+        long maxBytes = 100 * (TinyLfuPeliasCache.RESPONSE_BYTES + 10 * TinyLfuPeliasCache.FEATURE_BYTES);
+        TinyLfuPeliasCache cache = new TinyLfuPeliasCache(maxBytes);
+        for (int i = 0; i < 1000; i++) {
+            cache.get("key" + i);
+            cache.put("key" + i, response(10));
+            assertTrue(cache.getEstimatedBytes() <= maxBytes);
+        }
+        assertTrue(cache.size() <= 100);
+        assertTrue(cache.getEvictionCount() >= 900);
+        // Smaller responses take less space, so more of them fit
+        for (int i = 0; i < 1000; i++) {
+            cache.get("small" + i);
+            cache.put("small" + i, response(0));
+        }
+        assertTrue(cache.getEstimatedBytes() <= maxBytes);
+        assertTrue(cache.size() > 100);
+    }
+
+    @Test
+    public void testFrequentResponsesSurviveScan() {
+        long maxBytes = 100 * (TinyLfuPeliasCache.RESPONSE_BYTES + 10 * TinyLfuPeliasCache.FEATURE_BYTES);
+        TinyLfuPeliasCache cache = new TinyLfuPeliasCache(maxBytes);
+        LruPeliasCache lru = new LruPeliasCache(100);
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 50; i++) {
+                String key = "popular" + i;
+                if (cache.get(key) == null) {
+                    cache.put(key, response(10));
+                }
+                if (lru.get(key) == null) {
+                    lru.put(key, response(10));
+                }
+            }
+        }
+        // A batch of one-off requests, several times the capacity
+        for (int i = 0; i < 1000; i++) {
+            String key = "once" + i;
+            cache.get(key);
+            cache.put(key, response(10));
+            lru.put(key, response(10));
+        }
+        int cached = 0;
+        int lruCached = 0;
+        for (int i = 0; i < 50; i++) {
+            if (cache.get("popular" + i) != null) {
+                cached++;
+            }
+            if (lru.get("popular" + i) != null) {
+                lruCached++;
+            }
+        }
+        assertEquals(0, lruCached);
+        assertTrue("Popular responses cached " + cached, cached >= 45);
+    }
+
+    @Test
+    public void testRejectedCandidateEvictsNothing() {
+        // Responses of 50 features are larger than the window of 4 typical responses, so go straight to admission.  The
+        // main space holds two of them, and a response of 60 features needs both evicted.
+        long windowBytes = 4 * TinyLfuPeliasCache.estimateBytes(response(10));
+        long mainBytes = 2 * TinyLfuPeliasCache.estimateBytes(response(50));
+        TinyLfuPeliasCache cache = new TinyLfuPeliasCache(windowBytes + mainBytes);
+        cache.get("cold");
+        for (int i = 0; i < 10; i++) {
+            cache.get("hot");
+        }
+        for (int i = 0; i < 5; i++) {
+            cache.get("candidate");
+        }
+        cache.put("cold", response(50));
+        cache.put("hot", response(50));
+        assertEquals(2, cache.size());
+
+        // The first victim is less popular than the candidate, but the second is more popular
+        cache.put("candidate", response(60));
+        assertEquals(2, cache.size());
+        // Only the rejected candidate is evicted
+        assertEquals(1, cache.getEvictionCount());
+        assertNotNull(cache.get("cold"));
+        assertNotNull(cache.get("hot"));
+        assertNull(cache.get("candidate"));
+    }
+
+    @Test
+    public void testSmallCacheKeepsRecentResponse() {
+        // Smaller than 1% of the capacity would hold a single response
+        TinyLfuPeliasCache cache = new TinyLfuPeliasCache(200 * 1000);
+        for (int i = 0; i < 100; i++) {
+            String key = "old" + i;
+            if (cache.get(key) == null) {
+                cache.put(key, response(1));
+            }
+        }
+        // A new response is held by the window, rather than losing admission to an equally popular old response
+        assertNull(cache.get("recent"));
+        cache.put("recent", response(1));
+        assertNotNull(cache.get("recent"));
+    }
+
+    @Test
+    public void testFrequencySketch() {
+        FrequencySketch sketch = new FrequencySketch(1000);
+        for (int i = 0; i < 20; i++) {
+            sketch.increment("often");
+        }
+        sketch.increment("once");
+        assertEquals(15, sketch.frequency("often"));
+        assertTrue(sketch.frequency("once") >= 1);
+        assertTrue(sketch.frequency("once") < 15);
+        // Enough other increments to halve the counters
+        for (int i = 0; i < 1024 * 10; i++) {
+            sketch.increment("other" + i);
+        }
+        assertTrue(sketch.frequency("often") <= 8);
+    }
+}
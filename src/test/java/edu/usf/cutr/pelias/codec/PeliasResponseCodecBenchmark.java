@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.codec;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import edu.usf.cutr.pelias.PeliasResponse;
+
+import java.io.IOException;
+
+/**
+ * Compares the size and encode/decode speed of PeliasResponseCodec against JSON on the test fixtures.  Not run as part
+ * of the test suite - run with:
+ * <p>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=edu.usf.cutr.pelias.codec.PeliasResponseCodecBenchmark
+ */
+public class PeliasResponseCodecBenchmark {
+
+    private static final int WARM_UP_ITERATIONS = 20000;
+    private static final int ITERATIONS = 50000;
+
+    public static void main(String[] args) throws IOException {
+        ObjectMapper mapper = new ObjectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        ObjectReader jsonReader = mapper.readerFor(PeliasResponse.class);
+        ObjectWriter jsonWriter = mapper.writerFor(PeliasResponse.class);
+        PeliasResponseCodec codec = new PeliasResponseCodec();
+
+        System.out.println(String.format("%-36s %10s %10s %12s %12s %12s %12s", "fixture", "json B", "smile B",
+                "json enc us", "smile enc us", "json dec us", "smile dec us"));
+        for (String fixture : PeliasResponseCodecTest.FIXTURES) {
+            byte[] original = PeliasResponseCodecTest.readFixture(fixture);
+            PeliasResponse response = jsonReader.readValue(original);
+            byte[] json = jsonWriter.writeValueAsBytes(response);
+            byte[] smile = codec.encode(response);
+
+            for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+                jsonWriter.writeValueAsBytes(response);
+                codec.encode(response);
+                jsonReader.readValue(json);
+                codec.decode(smile);
+            }
+
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                jsonWriter.writeValueAsBytes(response);
+            }
+            double jsonEncode = micros(start);
+
+            start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                codec.encode(response);
+            }
+            double smileEncode = micros(start);
+
+            start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                jsonReader.readValue(json);
+            }
+            double jsonDecode = micros(start);
+
+            start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                codec.decode(smile);
+            }
+            double smileDecode = micros(start);
+
+            System.out.println(String.format("%-36s %10d %10d %12.2f %12.2f %12.2f %12.2f", fixture, json.length,
+                    smile.length, jsonEncode, smileEncode, jsonDecode, smileDecode));
+        }
+    }
+
+    private static double micros(long start) {
+        return (System.nanoTime() - start) / 1000d / ITERATIONS;
+    }
+}
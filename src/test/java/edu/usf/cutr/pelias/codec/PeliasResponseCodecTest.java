@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.usf.cutr.pelias.PeliasResponse;
+import junit.framework.TestCase;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Tests for PeliasResponseCodec
+ */
+public class PeliasResponseCodecTest extends TestCase {
+
+    static final String[] FIXTURES = {
+            "/simple-search.json",
+            "/search-with-focus.json",
+            "/autocomplete-with-focus.json",
+            "/autocomplete-with-sources.json",
+            "/autocomplete-with-categories.json"
+    };
+
+    private final ObjectMapper mMapper = new ObjectMapper();
+
+    static byte[] readFixture(String name) throws IOException {
+        InputStream in = PeliasResponseCodecTest.class.getResourceAsStream(name);
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } finally {
+            in.close();
+        }
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        PeliasResponseCodec codec = new PeliasResponseCodec();
+        for (String fixture : FIXTURES) {
+            byte[] json = readFixture(fixture);
+            PeliasResponse original = mMapper.readValue(json, PeliasResponse.class);
+
+            byte[] encoded = codec.encode(original);
+            assertTrue(fixture + " should encode smaller than JSON", encoded.length < json.length);
+
+            PeliasResponse decoded = codec.decode(encoded);
+            assertEquals(fixture, mMapper.valueToTree(original), mMapper.valueToTree(decoded));
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            codec.encode(original, out);
+            decoded = codec.decode(new ByteArrayInputStream(out.toByteArray()));
+            assertEquals(fixture, mMapper.valueToTree(original), mMapper.valueToTree(decoded));
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.export;
+
+import edu.usf.cutr.pelias.CallContext;
+import edu.usf.cutr.pelias.PeliasClient;
+import edu.usf.cutr.pelias.PeliasRequest;
+import edu.usf.cutr.pelias.SearchRequest;
+import edu.usf.cutr.pelias.Transport;
+import junit.framework.TestCase;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests for ColumnarExport and its writers
+ */
+public class ColumnarExportTest extends TestCase {
+
+    private static final int REQUESTS = 25;
+
+    private PeliasClient mClient;
+    private List<PeliasRequest> mRequests;
+
+    @Override
+    protected void setUp() throws IOException {
+        final byte[] fixture = readFixture("/simple-search.json");
+        mClient = new PeliasClient.Builder().setTransport(new Transport() {
+            @Override
+            public InputStream open(URL url, CallContext context) {
+                return new ByteArrayInputStream(fixture);
+            }
+        }).build();
+        mRequests = new ArrayList<PeliasRequest>();
+        for (int i = 0; i < REQUESTS; i++) {
+            mRequests.add(new SearchRequest.Builder("dummyApiKey", "query " + i).build());
+        }
+    }
+
+    @Test
+    public void testCsv() throws IOException {
+        StringWriter csv = new StringWriter();
+        ColumnarExport export = new ColumnarExport.Builder(mClient, new CsvColumnarWriter(csv)).build();
+        export.add(mRequests.subList(0, 1));
+        export.close();
+
+        String[] lines = csv.toString().split("\r\n");
+        assertEquals("lat,lon,confidence,gid,layer,label", lines[0]);
+        assertEquals(export.getRowCount() + 1, lines.length);
+        assertEquals("35.798729,-117.872003,0.6,openstreetmap:venue:node:2357470967,venue,"
+                + "\"Subway, Pearsonville, CA, USA\"", lines[1]);
+    }
+
+    @Test
+    public void testFileRoundTrip() throws IOException {
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+        ColumnarExport export = new ColumnarExport.Builder(mClient, new ColumnarFileWriter(file))
+                .setBatchSize(7)
+                .build();
+        export.add(mRequests);
+        export.close();
+        long rows = export.getRowCount();
+        assertTrue(rows > 7 * 2);
+
+        ColumnarExport reference = new ColumnarExport.Builder(mClient, new ColumnarWriter() {
+            @Override
+            public void write(ColumnarBatch batch) {
+            }
+
+            @Override
+            public void close() {
+            }
+        }).build();
+        reference.add(mRequests.subList(0, 1));
+        int perRequest = (int) reference.getRowCount();
+
+        ColumnarFileReader reader = new ColumnarFileReader(new ByteArrayInputStream(file.toByteArray()));
+        ColumnarBatch batch = new ColumnarBatch(7);
+        long read = 0;
+        StringWriter text = new StringWriter();
+        CsvColumnarWriter csv = new CsvColumnarWriter(text);
+        while (reader.read(batch)) {
+            assertTrue(batch.getRowCount() <= 7);
+            // Labels repeat across requests, so each batch has no more distinct labels than a response has features
+            assertTrue(batch.getLabels().getDictionarySize() <= perRequest);
+            csv.write(batch);
+            read += batch.getRowCount();
+        }
+        reader.close();
+        assertEquals(rows, read);
+        assertFalse(reader.read(batch));
+        assertEquals(0, batch.getRowCount());
+
+        // Every request returns the same response, so the CSV repeats every perRequest rows
+        String[] lines = text.toString().split("\r\n");
+        for (int i = 1 + perRequest; i < lines.length; i++) {
+            assertEquals(lines[i - perRequest], lines[i]);
+        }
+    }
+
+    @Test
+    public void testDictionaryColumn() {
+        DictionaryColumn column = new DictionaryColumn(4);
+        column.add("venue");
+        column.add(new StringBuilder("address"));
+        column.add(new StringBuilder("venue"));
+        column.add("venue");
+        assertEquals(4, column.getRowCount());
+        assertEquals(2, column.getDictionarySize());
+        assertEquals(0, column.getCode(0));
+        assertEquals(1, column.getCode(1));
+        assertEquals(0, column.getCode(2));
+        assertEquals("address", column.get(1));
+        assertSame(column.get(0), column.get(3));
+
+        column.clear();
+        assertEquals(0, column.getRowCount());
+        assertEquals(0, column.getDictionarySize());
+        column.add("address");
+        assertEquals(0, column.getCode(0));
+    }
+
+    @Test
+    public void testSkipFailures() throws IOException {
+        PeliasClient failing = new PeliasClient.Builder().setTransport(new Transport() {
+            @Override
+            public InputStream open(URL url, CallContext context) throws IOException {
+                throw new IOException("Unavailable");
+            }
+        }).build();
+        StringWriter csv = new StringWriter();
+        ColumnarExport export = new ColumnarExport.Builder(failing, new CsvColumnarWriter(csv)).build();
+        try {
+            export.add(mRequests);
+            fail("Expected an IOException");
+        } catch (IOException e) {
+            // Expected
+        }
+
+        export = new ColumnarExport.Builder(failing, new CsvColumnarWriter(csv))
+                .setSkipFailures(true)
+                .build();
+        export.add(mRequests);
+        assertEquals(REQUESTS, export.getFailureCount());
+        assertEquals(0, export.getRowCount());
+    }
+
+    private static byte[] readFixture(String name) throws IOException {
+        InputStream in = ColumnarExportTest.class.getResourceAsStream(name);
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } finally {
+            in.close();
+        }
+    }
+}
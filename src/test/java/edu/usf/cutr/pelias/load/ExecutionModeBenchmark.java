@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.load;
+
+import edu.usf.cutr.pelias.PeliasClient;
+import edu.usf.cutr.pelias.PeliasExecutors;
+import edu.usf.cutr.pelias.PeliasRequest;
+import edu.usf.cutr.pelias.PeliasResponse;
+import edu.usf.cutr.pelias.SearchRequest;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares platform threads with virtual threads for many concurrent blocking calls submitted via
+ * PeliasClient.submitAll(), against a stand-in server with 100 ms latency.  Not run as part of the test suite - run the
+ * main method on Java 21 with the multi-release JAR (built with -Djdk21.home) on the classpath to include virtual
+ * threads.  The optional argument is the number of concurrent calls.
+ */
+public class ExecutionModeBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int calls = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        PeliasStandInServer server = new PeliasStandInServer.Builder()
+                .setLatency(LatencyDistribution.fixed(100))
+                .build()
+                .start();
+        try {
+            List<PeliasRequest> requests = new ArrayList<PeliasRequest>(calls);
+            for (int i = 0; i < calls; i++) {
+                requests.add(new SearchRequest.Builder("dummyApiKey", "subway " + i)
+                        .setApiEndpoint(server.getBaseUrl() + "/v1/search")
+                        .build());
+            }
+            // Warm up class loading and the server
+            run("warm-up", PeliasExecutors.newPlatformThreadExecutor(), requests.subList(0, Math.min(100, calls)));
+
+            run("platform threads", PeliasExecutors.newPlatformThreadExecutor(), requests);
+            if (PeliasExecutors.isVirtualThreadSupported()) {
+                run("virtual threads", PeliasExecutors.newVirtualThreadExecutor(), requests);
+            } else {
+                System.out.println("virtual threads: not supported by this JVM/JAR");
+            }
+        } finally {
+            server.stop();
+        }
+    }
+
+    private static void run(String mode, ExecutorService executor, List<PeliasRequest> requests)
+            throws InterruptedException {
+        PeliasClient client = new PeliasClient.Builder().setExecutor(executor).build();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        // The threads of earlier runs have exited, so this counts the server's threads and the JVM's own
+        int baseline = threads.getThreadCount();
+        threads.resetPeakThreadCount();
+        long start = System.nanoTime();
+        int errors = 0;
+        for (Future<PeliasResponse> future : client.submitAll(requests)) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                errors++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        int peak = threads.getPeakThreadCount();
+        client.shutdown();
+        // Idle workers exit on shutdown, so the next run starts from the same baseline
+        if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+            throw new IllegalStateException("Executor didn't terminate");
+        }
+        System.out.println(String.format("%s: %d calls in %d ms, %.0f calls/s, %d errors, "
+                        + "peak platform threads %d above a baseline of %d",
+                mode, requests.size(), TimeUnit.NANOSECONDS.toMillis(elapsed),
+                requests.size() / (elapsed / 1e9d), errors, peak - baseline, baseline));
+    }
+}
@@ -0,0 +1,473 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.load;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A minimal cleartext HTTP/2 (h2c) server that stands in for Pelias, for comparing multiplexed calls with the HTTP/1.1
+ * PeliasStandInServer.  Connections start as HTTP/1.1 and are upgraded with "Upgrade: h2c", as java.net.http.HttpClient
+ * does for http URLs - requests without the upgrade get a single HTTP/1.1 response.
+ * <p>
+ * Request headers aren't decoded, so every request is served simple-search.json.  Responses honor the client's flow
+ * control windows and maximum frame size, and latency can be injected as for PeliasStandInServer.
+ */
+public class Http2StandInServer {
+
+    private static final byte[] PREFACE = "PRI * HTTP/2.0\r\n\r\nSM\r\n\r\n".getBytes();
+    private static final int DEFAULT_WINDOW = 65535;
+    private static final int DEFAULT_MAX_FRAME = 16384;
+
+    private static final int DATA = 0;
+    private static final int HEADERS = 1;
+    private static final int RST_STREAM = 3;
+    private static final int SETTINGS = 4;
+    private static final int PING = 6;
+    private static final int GOAWAY = 7;
+    private static final int WINDOW_UPDATE = 8;
+
+    private static final int FLAG_END_STREAM = 0x1;
+    private static final int FLAG_ACK = 0x1;
+    private static final int FLAG_END_HEADERS = 0x4;
+
+    private final LatencyDistribution mLatency;
+    private final int mMaxConcurrentStreams;
+    private final Random mRandom = new Random();
+    private final AtomicLong mConnections = new AtomicLong();
+    private final AtomicLong mStreams = new AtomicLong();
+    private final Set<Socket> mSockets = Collections.newSetFromMap(new ConcurrentHashMap<Socket, Boolean>());
+    private byte[] mBody;
+    private byte[] mHeaderBlock;
+
+    private ServerSocket mServerSocket;
+    private ExecutorService mExecutor;
+    private ScheduledExecutorService mScheduler;
+
+    public static class Builder {
+        private LatencyDistribution mLatency = LatencyDistribution.NONE;
+        private int mMaxConcurrentStreams = 1000;
+
+        /**
+         * Sets the distribution of latency added before each response (default is no added latency)
+         *
+         * @param latency the distribution of latency added before each response
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setLatency(LatencyDistribution latency) {
+            mLatency = latency;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of concurrent streams on each connection advertised to clients (default is 1000)
+         *
+         * @param maxConcurrentStreams the maximum number of concurrent streams on each connection
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setMaxConcurrentStreams(int maxConcurrentStreams) {
+            mMaxConcurrentStreams = maxConcurrentStreams;
+            return this;
+        }
+
+        /**
+         * Builds the Http2StandInServer using the specified parameters.  The server must be started with start().
+         *
+         * @return the Http2StandInServer using the specified parameters
+         */
+        public Http2StandInServer build() {
+            return new Http2StandInServer(this);
+        }
+    }
+
+    private Http2StandInServer(Builder builder) {
+        mLatency = builder.mLatency;
+        mMaxConcurrentStreams = builder.mMaxConcurrentStreams;
+    }
+
+    /**
+     * Starts the server on a free port of the loopback interface
+     *
+     * @return this server
+     * @throws IOException if the server can't be started
+     */
+    public Http2StandInServer start() throws IOException {
+        mBody = readFixture("/simple-search.json");
+        mHeaderBlock = headerBlock(mBody.length);
+        mServerSocket = new ServerSocket(0, 1024, InetAddress.getLoopbackAddress());
+        mExecutor = Executors.newCachedThreadPool();
+        mScheduler = Executors.newScheduledThreadPool(4);
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                while (!mServerSocket.isClosed()) {
+                    try {
+                        final Socket socket = mServerSocket.accept();
+                        mConnections.incrementAndGet();
+                        mSockets.add(socket);
+                        mExecutor.execute(new Runnable() {
+                            @Override
+                            public void run() {
+                                try {
+                                    new Connection(socket).serve();
+                                } catch (IOException e) {
+                                    // The client went away
+                                } finally {
+                                    mSockets.remove(socket);
+                                    closeQuietly(socket);
+                                }
+                            }
+                        });
+                    } catch (IOException e) {
+                        // Stopped
+                    }
+                }
+            }
+        });
+        return this;
+    }
+
+    /**
+     * Stops the server
+     */
+    public void stop() {
+        closeQuietly(mServerSocket);
+        // Unblocks the threads reading from connections
+        for (Socket socket : mSockets) {
+            closeQuietly(socket);
+        }
+        mExecutor.shutdownNow();
+        mScheduler.shutdownNow();
+    }
+
+    /**
+     * Returns the base URL of the server, e.g. http://127.0.0.1:54321
+     *
+     * @return the base URL of the server
+     */
+    public String getBaseUrl() {
+        return "http://" + mServerSocket.getInetAddress().getHostAddress() + ":" + mServerSocket.getLocalPort();
+    }
+
+    /**
+     * Returns the number of connections accepted
+     *
+     * @return the number of connections accepted
+     */
+    public long getConnectionCount() {
+        return mConnections.get();
+    }
+
+    /**
+     * Returns the number of requests received over HTTP/2, including the request each connection was upgraded with
+     *
+     * @return the number of requests received over HTTP/2
+     */
+    public long getStreamCount() {
+        return mStreams.get();
+    }
+
+    /**
+     * The state of one HTTP/2 connection.  Frames are read by the thread serving the connection, and responses are
+     * written by the scheduler when their latency passes, or by the reading thread when a window update lets a waiting
+     * response continue.
+     */
+    private class Connection {
+        final Socket mSocket;
+        final DataInputStream mIn;
+        final OutputStream mOut;
+        // Guarded by this
+        final Map<Integer, Response> mPending = new HashMap<Integer, Response>();
+        final ArrayDeque<Response> mBlocked = new ArrayDeque<Response>();
+        long mConnectionWindow = DEFAULT_WINDOW;
+        int mInitialStreamWindow = DEFAULT_WINDOW;
+        int mMaxFrame = DEFAULT_MAX_FRAME;
+
+        Connection(Socket socket) throws IOException {
+            mSocket = socket;
+            mIn = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            mOut = new BufferedOutputStream(socket.getOutputStream());
+        }
+
+        void serve() throws IOException {
+            String head = readHead();
+            if (!head.toLowerCase().contains("upgrade: h2c")) {
+                mOut.write(("HTTP/1.1 200 OK\r\nContent-Type: application/json; charset=utf-8\r\nContent-Length: "
+                        + mBody.length + "\r\nConnection: close\r\n\r\n").getBytes("US-ASCII"));
+                mOut.write(mBody);
+                mOut.flush();
+                return;
+            }
+            synchronized (this) {
+                mOut.write("HTTP/1.1 101 Switching Protocols\r\nConnection: Upgrade\r\nUpgrade: h2c\r\n\r\n"
+                        .getBytes("US-ASCII"));
+                // SETTINGS_MAX_CONCURRENT_STREAMS
+                writeFrame(SETTINGS, 0, 0, new byte[]{0, 3, (byte) (mMaxConcurrentStreams >>> 24),
+                        (byte) (mMaxConcurrentStreams >>> 16), (byte) (mMaxConcurrentStreams >>> 8),
+                        (byte) mMaxConcurrentStreams}, 0, 6);
+                mOut.flush();
+            }
+            byte[] preface = new byte[PREFACE.length];
+            mIn.readFully(preface);
+            // The upgrade request is stream 1
+            request(1);
+            while (true) {
+                int length;
+                try {
+                    length = mIn.readUnsignedByte() << 16 | mIn.readUnsignedShort();
+                } catch (EOFException e) {
+                    return;
+                }
+                int type = mIn.readUnsignedByte();
+                int flags = mIn.readUnsignedByte();
+                int stream = mIn.readInt() & 0x7fffffff;
+                byte[] payload = new byte[length];
+                mIn.readFully(payload);
+                switch (type) {
+                    case HEADERS:
+                        if ((flags & FLAG_END_STREAM) != 0) {
+                            request(stream);
+                        }
+                        break;
+                    case SETTINGS:
+                        if ((flags & FLAG_ACK) == 0) {
+                            settings(payload);
+                        }
+                        break;
+                    case WINDOW_UPDATE:
+                        windowUpdate(stream, readInt(payload, 0) & 0x7fffffff);
+                        break;
+                    case PING:
+                        if ((flags & FLAG_ACK) == 0) {
+                            synchronized (this) {
+                                writeFrame(PING, FLAG_ACK, 0, payload, 0, payload.length);
+                                mOut.flush();
+                            }
+                        }
+                        break;
+                    case RST_STREAM:
+                        synchronized (this) {
+                            mBlocked.remove(mPending.remove(stream));
+                        }
+                        break;
+                    case GOAWAY:
+                        return;
+                    default:
+                        // DATA, PRIORITY and CONTINUATION frames aren't needed to serve GET requests
+                        break;
+                }
+            }
+        }
+
+        String readHead() throws IOException {
+            ByteArrayOutputStream head = new ByteArrayOutputStream();
+            // The last 4 bytes read, ending the head at a blank line
+            int last = 0;
+            while (last != 0x0d0a0d0a) {
+                int b = mIn.read();
+                if (b < 0) {
+                    throw new EOFException();
+                }
+                head.write(b);
+                last = last << 8 | b;
+            }
+            return head.toString("US-ASCII");
+        }
+
+        void request(final int stream) {
+            mStreams.incrementAndGet();
+            long latency;
+            synchronized (mRandom) {
+                latency = mLatency.next(mRandom);
+            }
+            Runnable respond = new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        respond(stream);
+                    } catch (IOException e) {
+                        closeQuietly(mSocket);
+                    }
+                }
+            };
+            if (latency > 0) {
+                mScheduler.schedule(respond, latency, TimeUnit.MILLISECONDS);
+            } else {
+                respond.run();
+            }
+        }
+
+        synchronized void respond(int stream) throws IOException {
+            writeFrame(HEADERS, FLAG_END_HEADERS, stream, mHeaderBlock, 0, mHeaderBlock.length);
+            Response response = new Response(stream, mInitialStreamWindow);
+            mPending.put(stream, response);
+            send(response);
+            mOut.flush();
+        }
+
+        /**
+         * Writes as much of the response body as the flow control windows allow
+         */
+        void send(Response response) throws IOException {
+            while (response.mOffset < mBody.length) {
+                int length = (int) Math.min(Math.min(mBody.length - response.mOffset, mMaxFrame),
+                        Math.min(mConnectionWindow, response.mWindow));
+                if (length <= 0) {
+                    if (!mBlocked.contains(response)) {
+                        mBlocked.add(response);
+                    }
+                    return;
+                }
+                boolean last = response.mOffset + length == mBody.length;
+                writeFrame(DATA, last ? FLAG_END_STREAM : 0, response.mStream, mBody, response.mOffset, length);
+                response.mOffset += length;
+                response.mWindow -= length;
+                mConnectionWindow -= length;
+            }
+            mPending.remove(response.mStream);
+            mBlocked.remove(response);
+        }
+
+        synchronized void windowUpdate(int stream, int increment) throws IOException {
+            if (stream == 0) {
+                mConnectionWindow += increment;
+            } else {
+                Response response = mPending.get(stream);
+                if (response != null) {
+                    response.mWindow += increment;
+                }
+            }
+            resumeBlocked();
+        }
+
+        synchronized void settings(byte[] payload) throws IOException {
+            for (int i = 0; i + 6 <= payload.length; i += 6) {
+                int id = (payload[i] & 0xff) << 8 | (payload[i + 1] & 0xff);
+                int value = readInt(payload, i + 2);
+                if (id == 4) {
+                    // SETTINGS_INITIAL_WINDOW_SIZE applies to open streams too
+                    int delta = value - mInitialStreamWindow;
+                    mInitialStreamWindow = value;
+                    for (Response response : mPending.values()) {
+                        response.mWindow += delta;
+                    }
+                } else if (id == 5) {
+                    mMaxFrame = value;
+                }
+            }
+            writeFrame(SETTINGS, FLAG_ACK, 0, new byte[0], 0, 0);
+            resumeBlocked();
+        }
+
+        void resumeBlocked() throws IOException {
+            for (Iterator<Response> i = new ArrayDeque<Response>(mBlocked).iterator(); i.hasNext(); ) {
+                send(i.next());
+            }
+            mOut.flush();
+        }
+
+        void writeFrame(int type, int flags, int stream, byte[] payload, int offset, int length) throws IOException {
+            byte[] header = {(byte) (length >>> 16), (byte) (length >>> 8), (byte) length, (byte) type,
+                    (byte) flags, (byte) (stream >>> 24), (byte) (stream >>> 16), (byte) (stream >>> 8),
+                    (byte) stream};
+            mOut.write(header);
+            mOut.write(payload, offset, length);
+        }
+    }
+
+    private static class Response {
+        final int mStream;
+        long mWindow;
+        int mOffset;
+
+        Response(int stream, long window) {
+            mStream = stream;
+            mWindow = window;
+        }
+    }
+
+    /**
+     * Returns the HPACK encoded response headers - :status 200 from the static table, and content type and length as
+     * literals that aren't added to the client's dynamic table
+     */
+    private static byte[] headerBlock(int contentLength) throws IOException {
+        ByteArrayOutputStream block = new ByteArrayOutputStream();
+        block.write(0x88);
+        literal(block, 31, "application/json; charset=utf-8");
+        literal(block, 28, Integer.toString(contentLength));
+        return block.toByteArray();
+    }
+
+    private static void literal(ByteArrayOutputStream block, int nameIndex, String value) throws IOException {
+        // Literal header field without indexing, with a 4 bit prefix for the static table index of the name
+        block.write(0x0f);
+        block.write(nameIndex - 15);
+        byte[] bytes = value.getBytes("US-ASCII");
+        block.write(bytes.length);
+        block.write(bytes);
+    }
+
+    private static int readInt(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xff) << 24 | (bytes[offset + 1] & 0xff) << 16 | (bytes[offset + 2] & 0xff) << 8
+                | (bytes[offset + 3] & 0xff);
+    }
+
+    private static byte[] readFixture(String name) throws IOException {
+        InputStream in = Http2StandInServer.class.getResourceAsStream(name);
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } finally {
+            in.close();
+        }
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            // Already closed
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.load;
+
+import java.util.Random;
+
+/**
+ * A distribution of simulated server latencies, in milliseconds
+ */
+public abstract class LatencyDistribution {
+
+    /**
+     * No added latency
+     */
+    public static final LatencyDistribution NONE = fixed(0);
+
+    /**
+     * Returns the next latency in milliseconds
+     *
+     * @param random the source of randomness
+     * @return the next latency in milliseconds
+     */
+    public abstract long next(Random random);
+
+    /**
+     * Returns a distribution that always returns the same latency
+     *
+     * @param millis the latency in milliseconds
+     * @return a distribution that always returns the same latency
+     */
+    public static LatencyDistribution fixed(final long millis) {
+        return new LatencyDistribution() {
+            @Override
+            public long next(Random random) {
+                return millis;
+            }
+        };
+    }
+
+    /**
+     * Returns a distribution of latencies uniformly distributed between min and max
+     *
+     * @param minMillis the minimum latency in milliseconds
+     * @param maxMillis the maximum latency in milliseconds
+     * @return a distribution of latencies uniformly distributed between min and max
+     */
+    public static LatencyDistribution uniform(final long minMillis, final long maxMillis) {
+        return new LatencyDistribution() {
+            @Override
+            public long next(Random random) {
+                return minMillis + (long) (random.nextDouble() * (maxMillis - minMillis));
+            }
+        };
+    }
+
+    /**
+     * Returns a log-normal distribution of latencies, which has the long right tail typical of real servers
+     *
+     * @param medianMillis the median latency in milliseconds
+     * @param sigma        the standard deviation of the underlying normal distribution (e.g., 0.5 gives a p99 of about
+     *                     3.2x the median)
+     * @return a log-normal distribution of latencies
+     */
+    public static LatencyDistribution logNormal(final double medianMillis, final double sigma) {
+        return new LatencyDistribution() {
+            @Override
+            public long next(Random random) {
+                return Math.round(medianMillis * Math.exp(sigma * random.nextGaussian()));
+            }
+        };
+    }
+}
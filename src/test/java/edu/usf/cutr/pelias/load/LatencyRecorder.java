@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.load;
+
+import java.util.Arrays;
+
+/**
+ * Records request latencies and outcomes from many threads
+ */
+public class LatencyRecorder {
+
+    private long[] mLatencies = new long[1024];
+    private int mCount;
+    private long mErrors;
+
+    /**
+     * Records the outcome of a request
+     *
+     * @param latencyNanos the latency of the request in nanoseconds
+     * @param success      true if the request succeeded, false if it failed
+     */
+    public synchronized void record(long latencyNanos, boolean success) {
+        if (mCount == mLatencies.length) {
+            mLatencies = Arrays.copyOf(mLatencies, mCount * 2);
+        }
+        mLatencies[mCount++] = latencyNanos;
+        if (!success) {
+            mErrors++;
+        }
+    }
+
+    public synchronized int getCount() {
+        return mCount;
+    }
+
+    public synchronized long getErrorCount() {
+        return mErrors;
+    }
+
+    /**
+     * Returns the latencies at the given percentiles
+     *
+     * @param percentiles the percentiles, from 0 to 100
+     * @return the latencies in nanoseconds at the given percentiles, or zeros if nothing has been recorded
+     */
+    public synchronized long[] getPercentiles(double... percentiles) {
+        long[] sorted = Arrays.copyOf(mLatencies, mCount);
+        Arrays.sort(sorted);
+        long[] result = new long[percentiles.length];
+        if (mCount == 0) {
+            return result;
+        }
+        for (int i = 0; i < percentiles.length; i++) {
+            int index = (int) Math.ceil(percentiles[i] / 100d * mCount) - 1;
+            result[i] = sorted[Math.max(0, Math.min(mCount - 1, index))];
+        }
+        return result;
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.load;
+
+import edu.usf.cutr.pelias.AutocompleteRequest;
+import edu.usf.cutr.pelias.PeliasClient;
+import edu.usf.cutr.pelias.PeliasRequest;
+import edu.usf.cutr.pelias.SearchRequest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a PeliasClient at a target request rate for a fixed duration, cycling through a list of requests, and reports
+ * throughput and latency percentiles.  Requests are dispatched on a fixed schedule regardless of how long earlier
+ * requests take, and are executed by a bounded pool of worker threads.  Latency is measured from when each request
+ * was scheduled to be sent rather than when a worker picked it up, so time spent waiting behind slow requests is
+ * counted instead of omitted.
+ */
+public class LoadGenerator {
+
+    private final PeliasClient mClient;
+    private final List<PeliasRequest> mRequests;
+    private final double mRate;
+    private final long mDurationNanos;
+    private final int mConcurrency;
+
+    public static class Builder {
+        private final PeliasClient mClient;
+        private final List<PeliasRequest> mRequests;
+        private double mRate = 100d;
+        private long mDurationNanos = TimeUnit.SECONDS.toNanos(10);
+        private int mConcurrency = 32;
+
+        /**
+         * A Builder for a LoadGenerator that executes the given requests, in order and repeatedly, using the client
+         *
+         * @param client   the client to execute requests with
+         * @param requests the requests to execute
+         */
+        public Builder(PeliasClient client, List<PeliasRequest> requests) {
+            if (requests.isEmpty()) {
+                throw new IllegalArgumentException("At least one request is required");
+            }
+            mClient = client;
+            mRequests = new ArrayList<PeliasRequest>(requests);
+        }
+
+        /**
+         * Sets the target number of requests per second (default is 100)
+         *
+         * @param requestsPerSecond the target number of requests per second
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setRate(double requestsPerSecond) {
+            mRate = requestsPerSecond;
+            return this;
+        }
+
+        /**
+         * Sets how long to generate load for (default is 10 seconds)
+         *
+         * @param duration the duration
+         * @param unit     the unit of the duration
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setDuration(long duration, TimeUnit unit) {
+            mDurationNanos = unit.toNanos(duration);
+            return this;
+        }
+
+        /**
+         * Sets the number of worker threads executing requests (default is 32)
+         *
+         * @param concurrency the number of worker threads executing requests
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setConcurrency(int concurrency) {
+            mConcurrency = concurrency;
+            return this;
+        }
+
+        public LoadGenerator build() {
+            return new LoadGenerator(this);
+        }
+    }
+
+    private LoadGenerator(Builder builder) {
+        mClient = builder.mClient;
+        mRequests = builder.mRequests;
+        mRate = builder.mRate;
+        mDurationNanos = builder.mDurationNanos;
+        mConcurrency = builder.mConcurrency;
+    }
+
+    /**
+     * Generates load, and waits for all dispatched requests to complete
+     *
+     * @return the results of the run
+     * @throws InterruptedException if interrupted while generating load
+     */
+    public LoadReport run() throws InterruptedException {
+        final LatencyRecorder recorder = new LatencyRecorder();
+        ExecutorService workers = Executors.newFixedThreadPool(mConcurrency);
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / mRate);
+        long start = System.nanoTime();
+        try {
+            for (long i = 0; ; i++) {
+                final long intended = start + i * interval;
+                if (intended - start >= mDurationNanos) {
+                    break;
+                }
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                final PeliasRequest request = mRequests.get((int) (i % mRequests.size()));
+                workers.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        boolean success = true;
+                        try {
+                            mClient.call(request);
+                        } catch (IOException e) {
+                            success = false;
+                        }
+                        recorder.record(System.nanoTime() - intended, success);
+                    }
+                });
+            }
+        } finally {
+            workers.shutdown();
+        }
+        workers.awaitTermination(1, TimeUnit.MINUTES);
+        return new LoadReport(recorder, System.nanoTime() - start);
+    }
+
+    /**
+     * Runs the client against a stand-in server with log-normal latency, 1% injected errors and a rate limit, and
+     * prints the report
+     */
+    public static void main(String[] args) throws Exception {
+        double rate = args.length > 0 ? Double.parseDouble(args[0]) : 200d;
+        PeliasStandInServer server = new PeliasStandInServer.Builder()
+                .setLatency(LatencyDistribution.logNormal(20, 0.5))
+                .setErrorRate(0.01)
+                .setRateLimit((int) (rate * 1.5))
+                .build()
+                .start();
+        try {
+            List<PeliasRequest> requests = new ArrayList<PeliasRequest>();
+            requests.add(new SearchRequest.Builder("dummyApiKey", "subway")
+                    .setApiEndpoint(server.getBaseUrl() + "/v1/search")
+                    .build());
+            requests.add(new AutocompleteRequest.Builder("dummyApiKey", "union square")
+                    .setApiEndpoint(server.getBaseUrl() + "/v1/autocomplete")
+                    .setFocusPoint(37.7d, -122.4d)
+                    .build());
+            LoadReport report = new LoadGenerator.Builder(new PeliasClient.Builder().build(), requests)
+                    .setRate(rate)
+                    .setDuration(10, TimeUnit.SECONDS)
+                    .setConcurrency(64)
+                    .build()
+                    .run();
+            System.out.println(report);
+            System.out.println(String.format("server: requests=%d, injected errors=%d, throttled=%d",
+                    server.getRequestCount(), server.getErrorCount(), server.getThrottledCount()));
+        } finally {
+            server.stop();
+        }
+    }
+}
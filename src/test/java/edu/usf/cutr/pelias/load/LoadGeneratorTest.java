@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.load;
+
+import edu.usf.cutr.pelias.PeliasClient;
+import edu.usf.cutr.pelias.PeliasRequest;
+import edu.usf.cutr.pelias.SearchRequest;
+import junit.framework.TestCase;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for LoadGenerator and PeliasStandInServer
+ */
+public class LoadGeneratorTest extends TestCase {
+
+    @Test
+    public void testErrorInjectionAndThrottling() throws Exception {
+        PeliasStandInServer server = new PeliasStandInServer.Builder()
+                .setLatency(LatencyDistribution.uniform(1, 5))
+                .setErrorRate(0.2)
+                .setRateLimit(10)
+                .build()
+                .start();
+        try {
+            PeliasRequest request = new SearchRequest.Builder("dummyApiKey", "subway")
+                    .setApiEndpoint(server.getBaseUrl() + "/v1/search")
+                    .build();
+            LoadReport report = new LoadGenerator.Builder(new PeliasClient.Builder().build(),
+                    Collections.singletonList(request))
+                    .setRate(200)
+                    .setDuration(500, TimeUnit.MILLISECONDS)
+                    .setConcurrency(8)
+                    .build()
+                    .run();
+
+            assertEquals(100, report.getRequests());
+            assertEquals(100, server.getRequestCount());
+            // The run spans at most two one second windows of 10 requests, and some of those get an injected error
+            assertTrue(server.getThrottledCount() >= 80);
+            assertEquals(server.getThrottledCount() + server.getErrorCount(), report.getErrors());
+            assertTrue(report.getPercentileMillis(50) <= report.getPercentileMillis(99));
+        } finally {
+            server.stop();
+        }
+    }
+}
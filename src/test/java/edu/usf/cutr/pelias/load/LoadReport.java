@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.load;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Summary of a load run - throughput, error rate and latency percentiles
+ */
+public class LoadReport {
+
+    static final double[] PERCENTILES = {50d, 90d, 99d, 99.9d, 100d};
+
+    private final int mRequests;
+    private final long mErrors;
+    private final long mElapsedNanos;
+    private final long[] mPercentiles;
+
+    LoadReport(LatencyRecorder recorder, long elapsedNanos) {
+        mRequests = recorder.getCount();
+        mErrors = recorder.getErrorCount();
+        mElapsedNanos = elapsedNanos;
+        mPercentiles = recorder.getPercentiles(PERCENTILES);
+    }
+
+    public int getRequests() {
+        return mRequests;
+    }
+
+    public long getErrors() {
+        return mErrors;
+    }
+
+    /**
+     * Returns the fraction of requests that failed
+     *
+     * @return the fraction of requests that failed, from 0 to 1
+     */
+    public double getErrorRate() {
+        return mRequests == 0 ? 0d : (double) mErrors / mRequests;
+    }
+
+    /**
+     * Returns the number of completed requests per second
+     *
+     * @return the number of completed requests per second
+     */
+    public double getThroughput() {
+        return mRequests / (mElapsedNanos / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * Returns the latency in milliseconds at the given percentile
+     *
+     * @param percentile one of 50, 90, 99, 99.9 or 100
+     * @return the latency in milliseconds at the given percentile
+     */
+    public double getPercentileMillis(double percentile) {
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            if (PERCENTILES[i] == percentile) {
+                return mPercentiles[i] / 1e6d;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported percentile " + percentile);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("requests=%d, errors=%d (%.2f%%), throughput=%.1f req/s, " +
+                        "p50=%.2f ms, p90=%.2f ms, p99=%.2f ms, p99.9=%.2f ms, max=%.2f ms",
+                mRequests, mErrors, getErrorRate() * 100, getThroughput(),
+                getPercentileMillis(50), getPercentileMillis(90), getPercentileMillis(99),
+                getPercentileMillis(99.9), getPercentileMillis(100));
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.load;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import edu.usf.cutr.pelias.AutocompleteRequest;
+import edu.usf.cutr.pelias.PeliasRequest;
+import edu.usf.cutr.pelias.SearchRequest;
+
+/**
+ * One line of a recorded query log.  Logs are JSON lines, for example:
+ * <p>
+ * {"offset_ms":0,"type":"autocomplete","text":"union sq","focus_lat":37.7,"focus_lon":-122.4}
+ * {"offset_ms":35,"type":"search","text":"subway","sources":"osm","boundary":[27.9,-82.5,28.1,-82.3]}
+ * <p>
+ * offset_ms is the arrival time of the query relative to the start of the log.  type is "search" (default) or
+ * "autocomplete", and the remaining fields are the optional request parameters.
+ */
+public class LoggedQuery {
+    @JsonProperty("offset_ms")
+    long offsetMillis;
+    String type = "search";
+    String text;
+    @JsonProperty("focus_lat")
+    Double focusLat;
+    @JsonProperty("focus_lon")
+    Double focusLon;
+    /**
+     * min_lat, min_lon, max_lat, max_lon
+     */
+    Double[] boundary;
+    String sources;
+    String categories;
+    Integer size;
+
+    public long getOffsetMillis() {
+        return offsetMillis;
+    }
+
+    public void setOffsetMillis(long offsetMillis) {
+        this.offsetMillis = offsetMillis;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    public Double getFocusLat() {
+        return focusLat;
+    }
+
+    public void setFocusLat(Double focusLat) {
+        this.focusLat = focusLat;
+    }
+
+    public Double getFocusLon() {
+        return focusLon;
+    }
+
+    public void setFocusLon(Double focusLon) {
+        this.focusLon = focusLon;
+    }
+
+    public Double[] getBoundary() {
+        return boundary;
+    }
+
+    public void setBoundary(Double[] boundary) {
+        this.boundary = boundary;
+    }
+
+    public String getSources() {
+        return sources;
+    }
+
+    public void setSources(String sources) {
+        this.sources = sources;
+    }
+
+    public String getCategories() {
+        return categories;
+    }
+
+    public void setCategories(String categories) {
+        this.categories = categories;
+    }
+
+    public Integer getSize() {
+        return size;
+    }
+
+    public void setSize(Integer size) {
+        this.size = size;
+    }
+
+    /**
+     * Rebuilds the logged request using SearchRequest.Builder or AutocompleteRequest.Builder
+     *
+     * @param apiKey  the API key to be used in the request
+     * @param baseUrl the base URL of the Pelias server, e.g. https://search.mapzen.com
+     * @return the rebuilt request
+     */
+    PeliasRequest toRequest(String apiKey, String baseUrl) {
+        PeliasRequest.Builder builder;
+        if ("autocomplete".equals(type)) {
+            builder = new AutocompleteRequest.Builder(apiKey, text).setApiEndpoint(baseUrl + "/v1/autocomplete");
+        } else {
+            builder = new SearchRequest.Builder(apiKey, text).setApiEndpoint(baseUrl + "/v1/search");
+            if (size != null) {
+                builder.setSize(size);
+            }
+        }
+        if (focusLat != null && focusLon != null) {
+            builder.setFocusPoint(focusLat, focusLon);
+        }
+        if (boundary != null && boundary.length == 4) {
+            builder.setBoundaryRect(boundary[0], boundary[1], boundary[2], boundary[3]);
+        }
+        if (sources != null) {
+            builder.setSources(sources);
+        }
+        if (categories != null) {
+            builder.setCategories(categories);
+        }
+        return builder.build();
+    }
+}
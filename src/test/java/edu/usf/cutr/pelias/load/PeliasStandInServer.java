@@ -0,0 +1,305 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.load;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An embedded HTTP server that stands in for Pelias by serving the JSON fixtures in src/test/resources, so tests and
+ * load tests can run offline.
+ * <p>
+ * /v1/search serves search-with-focus.json if a focus point is given and simple-search.json otherwise.
+ * /v1/autocomplete serves autocomplete-with-categories.json, autocomplete-with-sources.json or
+ * autocomplete-with-focus.json depending on the parameters given.  Any other /name.json path serves that fixture
+ * directly, regardless of the query string.
+ * <p>
+ * Latency, server errors (500) and throttling (429) can be injected to test the client under realistic conditions.
+ */
+public class PeliasStandInServer {
+
+    private final LatencyDistribution mLatency;
+    private final double mErrorRate;
+    private final int mRateLimit;
+    private final Random mRandom = new Random();
+    private final Map<String, byte[]> mFixtures = new ConcurrentHashMap<String, byte[]>();
+    private final AtomicLong mRequests = new AtomicLong();
+    private final AtomicLong mErrors = new AtomicLong();
+    private final AtomicLong mThrottled = new AtomicLong();
+
+    private HttpServer mServer;
+    private ExecutorService mExecutor;
+    private ScheduledExecutorService mScheduler;
+
+    // Fixed one second window used for rate limiting
+    private long mWindowStart;
+    private int mWindowCount;
+
+    public static class Builder {
+        private LatencyDistribution mLatency = LatencyDistribution.NONE;
+        private double mErrorRate = 0d;
+        private int mRateLimit = 0;
+
+        /**
+         * Sets the distribution of latency added before each response (default is no added latency)
+         *
+         * @param latency the distribution of latency added before each response
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setLatency(LatencyDistribution latency) {
+            mLatency = latency;
+            return this;
+        }
+
+        /**
+         * Sets the fraction of requests that fail with HTTP 500 (default is 0)
+         *
+         * @param errorRate the fraction of requests that fail with HTTP 500, from 0 to 1
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setErrorRate(double errorRate) {
+            mErrorRate = errorRate;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of requests per second - requests over the limit are rejected with HTTP 429 (default
+         * is 0, unlimited)
+         *
+         * @param requestsPerSecond the maximum number of requests per second, or 0 for unlimited
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setRateLimit(int requestsPerSecond) {
+            mRateLimit = requestsPerSecond;
+            return this;
+        }
+
+        /**
+         * Builds the PeliasStandInServer using the specified parameters.  The server must be started with start().
+         *
+         * @return the PeliasStandInServer using the specified parameters
+         */
+        public PeliasStandInServer build() {
+            return new PeliasStandInServer(this);
+        }
+    }
+
+    private PeliasStandInServer(Builder builder) {
+        mLatency = builder.mLatency;
+        mErrorRate = builder.mErrorRate;
+        mRateLimit = builder.mRateLimit;
+    }
+
+    /**
+     * Starts the server on a free port of the loopback interface
+     *
+     * @return this server
+     * @throws IOException if the server can't be started
+     */
+    public PeliasStandInServer start() throws IOException {
+        mServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        mServer.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                respond(exchange);
+            }
+        });
+        mExecutor = Executors.newFixedThreadPool(8);
+        // Simulated latency is a scheduled delay rather than a sleep, so slow responses don't each hold a thread
+        mScheduler = Executors.newScheduledThreadPool(4);
+        mServer.setExecutor(mExecutor);
+        mServer.start();
+        return this;
+    }
+
+    /**
+     * Stops the server
+     */
+    public void stop() {
+        mServer.stop(0);
+        mExecutor.shutdownNow();
+        mScheduler.shutdownNow();
+    }
+
+    /**
+     * Returns the base URL of the server, e.g. http://127.0.0.1:54321
+     *
+     * @return the base URL of the server
+     */
+    public String getBaseUrl() {
+        return "http://" + mServer.getAddress().getAddress().getHostAddress() + ":" + mServer.getAddress().getPort();
+    }
+
+    public long getRequestCount() {
+        return mRequests.get();
+    }
+
+    public long getErrorCount() {
+        return mErrors.get();
+    }
+
+    public long getThrottledCount() {
+        return mThrottled.get();
+    }
+
+    private void respond(final HttpExchange exchange) throws IOException {
+        mRequests.incrementAndGet();
+        if (isThrottled()) {
+            mThrottled.incrementAndGet();
+            exchange.getResponseHeaders().add("Retry-After", "1");
+            send(exchange, 429, "{\"error\":\"rate limit exceeded\"}".getBytes("UTF-8"));
+            return;
+        }
+
+        long latency;
+        final boolean error;
+        synchronized (mRandom) {
+            latency = mLatency.next(mRandom);
+            error = mRandom.nextDouble() < mErrorRate;
+        }
+        Runnable response = new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    if (error) {
+                        mErrors.incrementAndGet();
+                        send(exchange, 500, "{\"error\":\"injected error\"}".getBytes("UTF-8"));
+                        return;
+                    }
+                    byte[] body = fixture(route(exchange.getRequestURI().getPath(),
+                            parseQuery(exchange.getRequestURI().getRawQuery())));
+                    if (body == null) {
+                        send(exchange, 404, "{\"error\":\"not found\"}".getBytes("UTF-8"));
+                        return;
+                    }
+                    send(exchange, 200, body);
+                } catch (IOException e) {
+                    // The client went away
+                    exchange.close();
+                }
+            }
+        };
+        if (latency > 0) {
+            mScheduler.schedule(response, latency, TimeUnit.MILLISECONDS);
+        } else {
+            response.run();
+        }
+    }
+
+    private synchronized boolean isThrottled() {
+        if (mRateLimit <= 0) {
+            return false;
+        }
+        long second = System.nanoTime() / TimeUnit.SECONDS.toNanos(1);
+        if (second != mWindowStart) {
+            mWindowStart = second;
+            mWindowCount = 0;
+        }
+        return ++mWindowCount > mRateLimit;
+    }
+
+    private static String route(String path, Map<String, String> query) {
+        if (path.endsWith("/v1/search")) {
+            return query.containsKey("focus.point.lat") ? "search-with-focus.json" : "simple-search.json";
+        }
+        if (path.endsWith("/v1/autocomplete")) {
+            if (query.containsKey("categories")) {
+                return "autocomplete-with-categories.json";
+            }
+            if (query.containsKey("sources")) {
+                return "autocomplete-with-sources.json";
+            }
+            return "autocomplete-with-focus.json";
+        }
+        if (path.endsWith(".json")) {
+            return path.substring(path.lastIndexOf('/') + 1);
+        }
+        return null;
+    }
+
+    private byte[] fixture(String name) throws IOException {
+        if (name == null) {
+            return null;
+        }
+        byte[] body = mFixtures.get(name);
+        if (body != null) {
+            return body;
+        }
+        InputStream in = PeliasStandInServer.class.getResourceAsStream("/" + name);
+        if (in == null) {
+            return null;
+        }
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            body = out.toByteArray();
+        } finally {
+            in.close();
+        }
+        mFixtures.put(name, body);
+        return body;
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) throws IOException {
+        Map<String, String> query = new HashMap<String, String>();
+        if (rawQuery == null) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            if (equals < 0) {
+                query.put(URLDecoder.decode(pair, "UTF-8"), "");
+            } else {
+                query.put(URLDecoder.decode(pair.substring(0, equals), "UTF-8"),
+                        URLDecoder.decode(pair.substring(equals + 1), "UTF-8"));
+            }
+        }
+        return query;
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        OutputStream out = exchange.getResponseBody();
+        try {
+            out.write(body);
+        } finally {
+            exchange.close();
+        }
+    }
+}
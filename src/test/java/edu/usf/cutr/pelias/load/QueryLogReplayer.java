@@ -0,0 +1,260 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.load;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import edu.usf.cutr.pelias.PeliasClient;
+import edu.usf.cutr.pelias.PeliasRequest;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays a recorded query log against a Pelias endpoint.  Each logged query is rebuilt with
+ * SearchRequest.Builder/AutocompleteRequest.Builder and sent open-loop at its logged arrival time (optionally sped up
+ * or slowed down), regardless of how long earlier requests take.
+ */
+public class QueryLogReplayer {
+
+    private static final ObjectReader LOG_READER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .readerFor(LoggedQuery.class);
+
+    private final PeliasClient mClient;
+    private final List<LoggedQuery> mQueries;
+    private final String mBaseUrl;
+    private final String mApiKey;
+    private final double mRateScale;
+    private final int mConcurrency;
+
+    public static class Builder {
+        private final PeliasClient mClient;
+        private final List<LoggedQuery> mQueries;
+        private String mBaseUrl = "https://search.mapzen.com";
+        private String mApiKey = "";
+        private double mRateScale = 1d;
+        private int mConcurrency = 256;
+
+        /**
+         * A Builder for a QueryLogReplayer that replays the queries using the client
+         *
+         * @param client  the client to execute requests with
+         * @param queries the logged queries
+         */
+        public Builder(PeliasClient client, List<LoggedQuery> queries) {
+            mClient = client;
+            mQueries = new ArrayList<LoggedQuery>(queries);
+        }
+
+        /**
+         * Sets the base URL of the Pelias server to replay against (default is https://search.mapzen.com)
+         *
+         * @param baseUrl the base URL of the Pelias server, without the /v1/... path
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setBaseUrl(String baseUrl) {
+            mBaseUrl = baseUrl;
+            return this;
+        }
+
+        /**
+         * Sets the API key used for all replayed requests
+         *
+         * @param apiKey the API key used for all replayed requests
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setApiKey(String apiKey) {
+            mApiKey = apiKey;
+            return this;
+        }
+
+        /**
+         * Scales the arrival rate of the log - 2 replays the log twice as fast, 0.5 half as fast (default is 1)
+         *
+         * @param rateScale the factor the arrival rate is multiplied by
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setRateScale(double rateScale) {
+            if (!(rateScale > 0)) {
+                throw new IllegalArgumentException("rateScale must be positive");
+            }
+            mRateScale = rateScale;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of requests in flight (default is 256).  Requests arriving while all workers are
+         * busy wait, and that wait is included in the response time.
+         *
+         * @param concurrency the maximum number of requests in flight
+         * @return this same Builder so Builder calls can be chained
+         */
+        public Builder setConcurrency(int concurrency) {
+            mConcurrency = concurrency;
+            return this;
+        }
+
+        public QueryLogReplayer build() {
+            return new QueryLogReplayer(this);
+        }
+    }
+
+    private QueryLogReplayer(Builder builder) {
+        mClient = builder.mClient;
+        mQueries = builder.mQueries;
+        mBaseUrl = builder.mBaseUrl;
+        mApiKey = builder.mApiKey;
+        mRateScale = builder.mRateScale;
+        mConcurrency = builder.mConcurrency;
+        // Logs merged from several sources may be slightly out of order
+        Collections.sort(mQueries, new Comparator<LoggedQuery>() {
+            @Override
+            public int compare(LoggedQuery a, LoggedQuery b) {
+                return a.offsetMillis < b.offsetMillis ? -1 : (a.offsetMillis == b.offsetMillis ? 0 : 1);
+            }
+        });
+    }
+
+    /**
+     * Reads a query log of JSON lines.  Blank lines are skipped.
+     *
+     * @param reader the log
+     * @return the logged queries
+     * @throws IOException if the log can't be read or parsed
+     */
+    public static List<LoggedQuery> readLog(Reader reader) throws IOException {
+        List<LoggedQuery> queries = new ArrayList<LoggedQuery>();
+        BufferedReader lines = new BufferedReader(reader);
+        String line;
+        while ((line = lines.readLine()) != null) {
+            if (!line.trim().isEmpty()) {
+                queries.add(LOG_READER.<LoggedQuery>readValue(line));
+            }
+        }
+        return queries;
+    }
+
+    /**
+     * Replays the log, and waits for all requests to complete
+     *
+     * @return the results of the replay
+     * @throws InterruptedException if interrupted while replaying
+     */
+    public ReplayReport run() throws InterruptedException {
+        // Build all requests up front so URL building doesn't delay dispatch
+        List<PeliasRequest> requests = new ArrayList<PeliasRequest>(mQueries.size());
+        for (LoggedQuery query : mQueries) {
+            requests.add(query.toRequest(mApiKey, mBaseUrl));
+        }
+
+        final LatencyRecorder serviceTime = new LatencyRecorder();
+        final LatencyRecorder responseTime = new LatencyRecorder();
+        ExecutorService workers = Executors.newFixedThreadPool(mConcurrency);
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < requests.size(); i++) {
+                final long intended = start + (long) (TimeUnit.MILLISECONDS.toNanos(mQueries.get(i).offsetMillis) / mRateScale);
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                final PeliasRequest request = requests.get(i);
+                workers.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        long sent = System.nanoTime();
+                        boolean success = true;
+                        try {
+                            mClient.call(request);
+                        } catch (IOException e) {
+                            success = false;
+                        }
+                        long end = System.nanoTime();
+                        serviceTime.record(end - sent, success);
+                        responseTime.record(end - intended, success);
+                    }
+                });
+            }
+        } finally {
+            workers.shutdown();
+        }
+        workers.awaitTermination(1, TimeUnit.HOURS);
+        long elapsed = System.nanoTime() - start;
+        return new ReplayReport(new LoadReport(serviceTime, elapsed), new LoadReport(responseTime, elapsed));
+    }
+
+    /**
+     * Replays a log file.  Arguments are the log file, and optionally the rate scale, the base URL of the Pelias server
+     * and the API key.  If no base URL is given the log is replayed against a PeliasStandInServer with log-normal
+     * latency.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: QueryLogReplayer <log file> [rate scale] [base URL] [API key]");
+            return;
+        }
+        List<LoggedQuery> queries;
+        Reader reader = new InputStreamReader(new FileInputStream(new File(args[0])), "UTF-8");
+        try {
+            queries = readLog(reader);
+        } finally {
+            reader.close();
+        }
+        double rateScale = args.length > 1 ? Double.parseDouble(args[1]) : 1d;
+
+        PeliasStandInServer server = null;
+        String baseUrl;
+        if (args.length > 2) {
+            baseUrl = args[2];
+        } else {
+            server = new PeliasStandInServer.Builder()
+                    .setLatency(LatencyDistribution.logNormal(20, 0.5))
+                    .build()
+                    .start();
+            baseUrl = server.getBaseUrl();
+        }
+        try {
+            ReplayReport report = new QueryLogReplayer.Builder(new PeliasClient.Builder().build(), queries)
+                    .setBaseUrl(baseUrl)
+                    .setApiKey(args.length > 3 ? args[3] : "")
+                    .setRateScale(rateScale)
+                    .build()
+                    .run();
+            System.out.println(report);
+        } finally {
+            if (server != null) {
+                server.stop();
+            }
+        }
+    }
+}
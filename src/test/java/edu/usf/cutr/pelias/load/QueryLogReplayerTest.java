@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.load;
+
+import edu.usf.cutr.pelias.PeliasClient;
+import junit.framework.TestCase;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.List;
+
+/**
+ * Tests for QueryLogReplayer
+ */
+public class QueryLogReplayerTest extends TestCase {
+
+    @Test
+    public void testReadLog() throws Exception {
+        List<LoggedQuery> queries = QueryLogReplayer.readLog(new StringReader(
+                "{\"offset_ms\":0,\"type\":\"autocomplete\",\"text\":\"union sq\",\"focus_lat\":37.7,\"focus_lon\":-122.4}\n" +
+                        "\n" +
+                        "{\"offset_ms\":35,\"text\":\"subway\",\"sources\":\"osm\",\"boundary\":[27.9,-82.5,28.1,-82.3]," +
+                        "\"size\":5,\"unknown\":true}\n"));
+
+        assertEquals(2, queries.size());
+        assertEquals("autocomplete", queries.get(0).getType());
+        assertEquals("union sq", queries.get(0).getText());
+        assertEquals(37.7, queries.get(0).getFocusLat());
+        assertEquals(-122.4, queries.get(0).getFocusLon());
+        assertEquals(35, queries.get(1).getOffsetMillis());
+        assertEquals("search", queries.get(1).getType());
+        assertEquals("osm", queries.get(1).getSources());
+        assertEquals(-82.3, queries.get(1).getBoundary()[3]);
+        assertEquals(Integer.valueOf(5), queries.get(1).getSize());
+    }
+
+    @Test
+    public void testCoordinatedOmissionIsCorrected() throws Exception {
+        // 20 queries arriving every 10 ms, against a server that takes 50 ms, with only one request in flight at a time
+        StringBuilder log = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            log.append("{\"offset_ms\":").append(i * 10).append(",\"text\":\"subway\"}\n");
+        }
+        PeliasStandInServer server = new PeliasStandInServer.Builder()
+                .setLatency(LatencyDistribution.fixed(50))
+                .build()
+                .start();
+        try {
+            ReplayReport report = new QueryLogReplayer.Builder(new PeliasClient.Builder().build(),
+                    QueryLogReplayer.readLog(new StringReader(log.toString())))
+                    .setBaseUrl(server.getBaseUrl())
+                    .setConcurrency(1)
+                    .build()
+                    .run();
+
+            assertEquals(20, report.getServiceTime().getRequests());
+            assertEquals(0, report.getResponseTime().getErrors());
+            // Each request is served in about 50 ms, but the last one was scheduled about 750 ms before it completed
+            assertTrue(report.getServiceTime().getPercentileMillis(100) < 400);
+            assertTrue(report.getResponseTime().getPercentileMillis(100) > 600);
+        } finally {
+            server.stop();
+        }
+    }
+}
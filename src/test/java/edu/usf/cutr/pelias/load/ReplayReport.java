@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.load;
+
+/**
+ * Results of a query log replay.  Service time is measured from when a request was actually sent.  Response time is
+ * measured from when the request was scheduled to arrive according to the log, so it also includes any time spent
+ * waiting for a free worker - this corrects for coordinated omission, where a slow client sends fewer requests during a
+ * stall and hides the stall from the service time percentiles.
+ */
+public class ReplayReport {
+
+    private final LoadReport mServiceTime;
+    private final LoadReport mResponseTime;
+
+    ReplayReport(LoadReport serviceTime, LoadReport responseTime) {
+        mServiceTime = serviceTime;
+        mResponseTime = responseTime;
+    }
+
+    /**
+     * Returns the report of latencies measured from when each request was actually sent
+     *
+     * @return the report of latencies measured from when each request was actually sent
+     */
+    public LoadReport getServiceTime() {
+        return mServiceTime;
+    }
+
+    /**
+     * Returns the report of latencies measured from when each request was scheduled to be sent
+     *
+     * @return the report of latencies measured from when each request was scheduled to be sent
+     */
+    public LoadReport getResponseTime() {
+        return mResponseTime;
+    }
+
+    @Override
+    public String toString() {
+        return "service time:  " + mServiceTime + "\n" +
+                "response time: " + mResponseTime;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.load;
+
+import edu.usf.cutr.pelias.HttpClientTransport;
+import edu.usf.cutr.pelias.PeliasClient;
+import edu.usf.cutr.pelias.PeliasRequest;
+import edu.usf.cutr.pelias.SearchRequest;
+import edu.usf.cutr.pelias.Transport;
+import edu.usf.cutr.pelias.UrlConnectionTransport;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the HTTP/1.1 UrlConnectionTransport, against PeliasStandInServer, with the HTTP/2 HttpClientTransport,
+ * against Http2StandInServer, for many concurrent small calls with 20 ms of server latency.  Each of the concurrent
+ * workers makes its calls one after another.  Not run as part of the test suite - run the main method on Java 11 or
+ * higher with the multi-release JAR on the classpath to include HTTP/2.  The optional arguments are the number of
+ * concurrent workers and the number of calls each makes.
+ */
+public class TransportBenchmark {
+
+    private static final long LATENCY_MILLIS = 20;
+
+    public static void main(String[] args) throws Exception {
+        int workers = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int callsPerWorker = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+
+        PeliasStandInServer http1 = new PeliasStandInServer.Builder()
+                .setLatency(LatencyDistribution.fixed(LATENCY_MILLIS))
+                .build()
+                .start();
+        try {
+            String url = http1.getBaseUrl() + "/v1/search";
+            run("warm-up", new UrlConnectionTransport(), url, workers, 5);
+            run("HTTP/1.1 UrlConnectionTransport", new UrlConnectionTransport(), url, workers, callsPerWorker);
+        } finally {
+            http1.stop();
+        }
+
+        if (!HttpClientTransport.isSupported()) {
+            System.out.println("HTTP/2 HttpClientTransport: not supported by this JVM/JAR");
+            return;
+        }
+        Http2StandInServer http2 = new Http2StandInServer.Builder()
+                .setLatency(LatencyDistribution.fixed(LATENCY_MILLIS))
+                .build()
+                .start();
+        try {
+            String url = http2.getBaseUrl() + "/v1/search";
+            HttpClientTransport transport = new HttpClientTransport();
+            run("warm-up", transport, url, workers, 5);
+            long connections = http2.getConnectionCount();
+            run("HTTP/2 HttpClientTransport", transport, url, workers, callsPerWorker);
+            System.out.println(String.format("HTTP/2: %d connections opened for %d streams",
+                    http2.getConnectionCount(), http2.getStreamCount()));
+            if (http2.getConnectionCount() > connections) {
+                System.out.println("HTTP/2: connections were opened during the measured run");
+            }
+        } finally {
+            http2.stop();
+        }
+    }
+
+    private static void run(String mode, Transport transport, String url, int workers, final int callsPerWorker)
+            throws InterruptedException {
+        final PeliasClient client = new PeliasClient.Builder().setTransport(transport).build();
+        final PeliasRequest request = new SearchRequest.Builder("dummyApiKey", "subway")
+                .setApiEndpoint(url)
+                .build();
+        final LatencyRecorder recorder = new LatencyRecorder();
+        final CountDownLatch done = new CountDownLatch(workers);
+        long start = System.nanoTime();
+        for (int i = 0; i < workers; i++) {
+            Thread worker = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int call = 0; call < callsPerWorker; call++) {
+                        long callStart = System.nanoTime();
+                        boolean success;
+                        try {
+                            success = client.call(request).getFeatures().length > 0;
+                        } catch (IOException e) {
+                            success = false;
+                        }
+                        recorder.record(System.nanoTime() - callStart, success);
+                    }
+                    done.countDown();
+                }
+            });
+            worker.setDaemon(true);
+            worker.start();
+        }
+        done.await();
+        long elapsed = System.nanoTime() - start;
+        client.shutdown();
+        long[] percentiles = recorder.getPercentiles(50, 99);
+        System.out.println(String.format("%s: %d calls in %d ms, %.0f calls/s, p50 %.1f ms, p99 %.1f ms, %d errors",
+                mode, recorder.getCount(), TimeUnit.NANOSECONDS.toMillis(elapsed), recorder.getCount() / (elapsed / 1e9d),
+                percentiles[0] / 1e6d, percentiles[1] / 1e6d, recorder.getErrorCount()));
+    }
+}
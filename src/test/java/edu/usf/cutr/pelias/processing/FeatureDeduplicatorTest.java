@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.processing;
+
+import junit.framework.TestCase;
+import org.geojson.Feature;
+import org.geojson.Point;
+import org.junit.Test;
+
+import java.util.List;
+
+/**
+ * Tests for FeatureDeduplicator
+ */
+public class FeatureDeduplicatorTest extends TestCase {
+
+    private static Feature feature(String gid, String name, double lat, double lon) {
+        Feature feature = new Feature();
+        feature.setGeometry(new Point(lon, lat));
+        feature.setProperty("gid", gid);
+        feature.setProperty("name", name);
+        return feature;
+    }
+
+    @Test
+    public void testMergesAcrossSources() {
+        Feature osm = feature("openstreetmap:venue:node:1", "Union Square", 37.7880, -122.4075);
+        Feature wof = feature("whosonfirst:venue:2", "union square", 37.7881, -122.4076);
+        Feature farAway = feature("geonames:venue:3", "Union Square", 40.7359, -73.9911);
+        Feature other = feature("openaddresses:address:4", "Macy's", 37.7880, -122.4075);
+        Feature repeated = feature("openstreetmap:venue:node:1", "Union Square", 37.7880, -122.4075);
+
+        FeatureDeduplicator deduplicator = new FeatureDeduplicator.Builder().setDistanceThreshold(50).build();
+        Feature[] result = deduplicator.deduplicate(new Feature[]{osm, wof, farAway}, new Feature[]{other, repeated});
+
+        assertEquals(3, result.length);
+        assertSame(osm, result[0]);
+        assertSame(farAway, result[1]);
+        assertSame(other, result[2]);
+        List<?> merged = (List<?>) osm.getProperties().get(FeatureDeduplicator.MERGED_GIDS);
+        assertEquals(1, merged.size());
+        assertEquals("whosonfirst:venue:2", merged.get(0));
+    }
+
+    @Test
+    public void testMergesAwayFromPrimeMeridian() {
+        // Pairs about 89 meters apart north-south, along meridians near San Francisco
+        FeatureDeduplicator deduplicator = new FeatureDeduplicator.Builder().setDistanceThreshold(100).build();
+        int merged = 0;
+        for (int i = 0; i < 1000; i++) {
+            double lat = 37.7 + i * 0.0001;
+            double lon = -122.4 - i * 0.00001;
+            Feature a = feature("a" + i, "Ferry Building", lat, lon);
+            Feature b = feature("b" + i, "Ferry Building", lat + 0.0008, lon);
+            if (deduplicator.deduplicate(new Feature[]{a, b}).length == 1) {
+                merged++;
+            }
+        }
+        assertEquals(1000, merged);
+    }
+
+    @Test
+    public void testDistanceThreshold() {
+        // About 110 meters apart
+        Feature a = feature("a", "Subway", 28.0597, -82.4105);
+        Feature b = feature("b", "Subway", 28.0607, -82.4105);
+
+        assertEquals(2, new FeatureDeduplicator.Builder().setDistanceThreshold(100).build()
+                .deduplicate(new Feature[]{a, b}).length);
+        assertEquals(1, new FeatureDeduplicator.Builder().setDistanceThreshold(120).build()
+                .deduplicate(new Feature[]{a, b}).length);
+    }
+}
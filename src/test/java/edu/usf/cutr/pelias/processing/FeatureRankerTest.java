@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.processing;
+
+import junit.framework.TestCase;
+import org.geojson.Feature;
+import org.geojson.Point;
+import org.junit.Test;
+
+/**
+ * Tests for FeatureRanker
+ */
+public class FeatureRankerTest extends TestCase {
+
+    private static Feature feature(String gid, double confidence, double lat, double lon) {
+        Feature feature = new Feature();
+        feature.setGeometry(new Point(lon, lat));
+        feature.setProperty("gid", gid);
+        feature.setProperty("confidence", confidence);
+        return feature;
+    }
+
+    @Test
+    public void testRankByDistance() {
+        Feature tampa = feature("tampa", 0.9, 27.9506, -82.4572);
+        Feature orlando = feature("orlando", 0.8, 28.5383, -81.3792);
+        Feature noGeometry = new Feature();
+        Feature usf = feature("usf", 0.7, 28.0587, -82.4139);
+        Feature[] features = {tampa, noGeometry, orlando, usf};
+
+        RankedFeatures ranked = new FeatureRanker.Builder(28.0617, -82.4132).build().rank(features);
+
+        assertEquals(4, ranked.size());
+        assertSame(usf, ranked.get(0));
+        assertSame(tampa, ranked.get(1));
+        assertSame(orlando, ranked.get(2));
+        assertSame(noGeometry, ranked.get(3));
+        assertEquals(3, ranked.getOriginalIndex(0));
+        assertEquals(340.6d, ranked.getDistance(0), 1d);
+        assertEquals(Double.POSITIVE_INFINITY, ranked.getDistance(3));
+        // The original array is untouched
+        assertSame(noGeometry, features[1]);
+    }
+
+    @Test
+    public void testRankByBlend() {
+        Feature nearLowConfidence = feature("near", 0.5, 28.0587, -82.4139);
+        Feature farHighConfidence = feature("far", 1.0, 28.5383, -81.3792);
+        Feature[] features = {nearLowConfidence, farHighConfidence};
+
+        RankedFeatures byConfidence = new FeatureRanker.Builder(28.0617, -82.4132)
+                .setScoringFunction(ScoringFunctions.CONFIDENCE)
+                .build()
+                .rank(features);
+        assertSame(farHighConfidence, byConfidence.get(0));
+
+        // Orlando is ~120 km away, so with a 10 km scale proximity dominates
+        RankedFeatures blended = new FeatureRanker.Builder(28.0617, -82.4132)
+                .setScoringFunction(ScoringFunctions.blend(0.3, 10000))
+                .build()
+                .rank(features);
+        assertSame(nearLowConfidence, blended.get(0));
+    }
+}
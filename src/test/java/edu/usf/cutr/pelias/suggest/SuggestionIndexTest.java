@@ -0,0 +1,218 @@
+/*
+ * Copyright (C) 2026 University of South Florida, Sean J. Barbeau (sjbarbeau@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.usf.cutr.pelias.suggest;
+
+import edu.usf.cutr.pelias.PeliasResponse;
+import junit.framework.TestCase;
+import org.geojson.Feature;
+import org.geojson.LngLatAlt;
+import org.geojson.Point;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests for SuggestionIndex and its RadixTree
+ */
+public class SuggestionIndexTest extends TestCase {
+
+    private static Feature feature(String gid, String name, String label) {
+        Feature feature = new Feature();
+        feature.setGeometry(new Point(new LngLatAlt(-82.4, 27.9)));
+        feature.setProperty("gid", gid);
+        feature.setProperty("name", name);
+        feature.setProperty("label", label);
+        return feature;
+    }
+
+    private static List<String> gids(List<Feature> features) {
+        List<String> gids = new ArrayList<String>();
+        for (Feature feature : features) {
+            gids.add((String) feature.getProperty("gid"));
+        }
+        return gids;
+    }
+
+    private static SuggestionIndex stops() {
+        SuggestionIndex index = new SuggestionIndex.Builder().build();
+        PeliasResponse response = new PeliasResponse();
+        response.setFeatures(new Feature[]{
+                feature("a", "Marion Transit Center", "Marion Transit Center, Tampa, FL, USA"),
+                feature("b", "Netpark Transfer Center", "Netpark Transfer Center, Tampa, FL, USA"),
+                feature("c", "M\u00e1laga Caf\u00e9", "M\u00e1laga Caf\u00e9, Tampa, FL, USA"),
+                feature("d", "Marion St @ Tyler St", "Marion St @ Tyler St, Tampa, FL, USA"),
+                feature("e", "Marion St @ Polk St", "Marion St @ Polk St, Tampa, FL, USA")
+        });
+        assertSame(response, index.process(response));
+        return index;
+    }
+
+    @Test
+    public void testSuggest() {
+        SuggestionIndex index = stops();
+        assertEquals(5, index.size());
+
+        // Normalized, and most recently seen first when nothing has been selected
+        assertEquals(Arrays.asList("e", "d", "a"), gids(index.suggest("MARION", 10)));
+        assertEquals(Arrays.asList("c"), gids(index.suggest("malaga c", 10)));
+        assertEquals(Arrays.asList("e", "d"), gids(index.suggest("marion st", 10)));
+        assertTrue(index.suggest("tampa", 10).isEmpty());
+        assertTrue(index.suggest("", 10).isEmpty());
+
+        // Selections outrank recency
+        Feature transitCenter = index.suggest("marion t", 1).get(0);
+        index.select(transitCenter);
+        index.select(transitCenter);
+        index.select(index.suggest("marion st @ t", 1).get(0));
+        assertEquals(Arrays.asList("a", "d", "e"), gids(index.suggest("marion", 10)));
+        assertEquals(Arrays.asList("a", "d"), gids(index.suggest("mar", 2)));
+
+        // Remote results follow local suggestions, without duplicates
+        PeliasResponse remote = new PeliasResponse();
+        remote.setFeatures(new Feature[]{feature("d", "Marion St @ Tyler St", null), feature("f", "Marion", null)});
+        assertEquals(Arrays.asList("a", "d", "f"),
+                gids(SuggestionIndex.merge(index.suggest("marion", 2), remote, 10)));
+    }
+
+    @Test
+    public void testEvictionAndSnapshot() throws IOException {
+        SuggestionIndex index = new SuggestionIndex.Builder().setMaxEntries(3).build();
+        index.select(feature("a", "Alpha", null));
+        index.add(feature("b", "Bravo", null));
+        index.add(feature("c", "Charlie", null));
+        index.add(feature("d", "Delta", null));
+
+        // The least selected and oldest place is evicted
+        assertEquals(3, index.size());
+        assertTrue(index.suggest("bravo", 1).isEmpty());
+        assertEquals(1, index.suggest("alpha", 1).size());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        index.snapshot(out);
+        // Selection counts and recency survive the round trip, so the smaller index evicts Charlie
+        SuggestionIndex restored = new SuggestionIndex.Builder().setMaxEntries(2).build();
+        restored.restore(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(2, restored.size());
+        assertEquals(Arrays.asList("a"), gids(restored.suggest("alpha", 5)));
+        assertEquals(Arrays.asList("d"), gids(restored.suggest("delta", 5)));
+        assertTrue(restored.suggest("charlie", 5).isEmpty());
+    }
+
+    @Test
+    public void testRestoreRejectsCorruptCount() throws IOException {
+        SuggestionIndex index = new SuggestionIndex.Builder().build();
+        index.add(feature("a", "Alpha", null));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        index.snapshot(out);
+        byte[] snapshot = out.toByteArray();
+
+        for (int count : new int[]{-1, Integer.MAX_VALUE}) {
+            ByteArrayOutputStream corrupt = new ByteArrayOutputStream();
+            new DataOutputStream(corrupt).writeInt(count);
+            // Keep the version, replace the count and keep the rest of the stream
+            byte[] bytes = snapshot.clone();
+            System.arraycopy(corrupt.toByteArray(), 0, bytes, 4, 4);
+            SuggestionIndex restored = new SuggestionIndex.Builder().build();
+            try {
+                restored.restore(new ByteArrayInputStream(bytes));
+                fail("Restored a snapshot with a count of " + count);
+            } catch (IOException e) {
+                assertEquals("Corrupt SuggestionIndex snapshot", e.getMessage());
+            }
+            assertEquals(0, restored.size());
+        }
+    }
+
+    /**
+     * An entry with a fixed weight, for checking the tree against a brute force search
+     */
+    private static class Weighted implements RadixTree.Weighted {
+        final String mKey;
+        final long mWeight;
+
+        Weighted(String key, long weight) {
+            mKey = key;
+            mWeight = weight;
+        }
+
+        @Override
+        public long getWeight() {
+            return mWeight;
+        }
+
+        @Override
+        public long getSequence() {
+            return 0;
+        }
+    }
+
+    @Test
+    public void testRadixTreeMatchesBruteForce() {
+        Random random = new Random(42);
+        RadixTree tree = new RadixTree();
+        List<Weighted> entries = new ArrayList<Weighted>();
+        for (int i = 0; i < 2000; i++) {
+            Weighted entry = new Weighted(randomKey(random), i);
+            tree.put(entry.mKey, entry);
+            entries.add(entry);
+            if (random.nextInt(3) == 0) {
+                Weighted removed = entries.remove(random.nextInt(entries.size()));
+                tree.remove(removed.mKey, removed);
+            }
+        }
+        for (int i = 0; i < 500; i++) {
+            final String prefix = randomKey(random).substring(0, 1 + random.nextInt(3));
+            List<Weighted> expected = new ArrayList<Weighted>();
+            for (Weighted entry : entries) {
+                if (entry.mKey.startsWith(prefix)) {
+                    expected.add(entry);
+                }
+            }
+            Collections.sort(expected, new Comparator<Weighted>() {
+                @Override
+                public int compare(Weighted a, Weighted b) {
+                    return Long.compare(b.mWeight, a.mWeight);
+                }
+            });
+            expected = expected.subList(0, Math.min(5, expected.size()));
+            assertEquals(prefix, expected, tree.top(prefix, 5));
+        }
+
+        // Removing everything collapses the tree back to its root
+        for (Weighted entry : entries) {
+            tree.remove(entry.mKey, entry);
+        }
+        assertEquals(1, tree.getNodeCount());
+    }
+
+    private static String randomKey(Random random) {
+        StringBuilder key = new StringBuilder();
+        int length = 3 + random.nextInt(6);
+        for (int i = 0; i < length; i++) {
+            key.append("abc ".charAt(random.nextInt(4)));
+        }
+        return key.toString();
+    }
+}